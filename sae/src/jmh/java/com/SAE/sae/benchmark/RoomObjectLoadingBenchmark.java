@@ -0,0 +1,150 @@
+package com.SAE.sae.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.SAE.sae.SaeApplication;
+import com.SAE.sae.dto.SensorLiveValues;
+import com.SAE.sae.entity.Room;
+import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.entity.RoomObjects.Plug;
+import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.RoomObjects.SensorCO2;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.projection.RoomEquipment;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.LiveSensorStore;
+import com.SAE.sae.service.RoomInventoryService;
+import com.SAE.sae.service.RoomManager;
+import com.SAE.sae.service.RoomObjects.LampManager;
+import com.SAE.sae.service.RoomObjects.PlugManager;
+import com.SAE.sae.service.RoomObjects.SensorCO2Manager;
+import com.SAE.sae.view.LazyDataProviders;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.flow.data.provider.Query;
+
+/**
+ * Chargement des objets d'une salle, contre la base de l'application (application.properties).
+ * <p>
+ * L'application est démarrée une fois par fork ; une salle de test est créée avec {@code objects}
+ * objets répartis entre lampes, prises et capteurs CO2, puis supprimée (en cascade) à la fin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomObjectLoadingBenchmark {
+    private static final String NAME_PREFIX = "jmh-";
+
+    @Param({"50", "1000"})
+    public int objects;
+
+    private ConfigurableApplicationContext context;
+    private RoomManager roomManager;
+    private RoomObjectRepository roomObjectRepository;
+    private RoomInventoryService roomInventoryService;
+    private LiveSensorStore liveSensorStore;
+    private ConfigurableFilterDataProvider<EquipmentRow, Void, String> lampGrid;
+    private int roomId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(SaeApplication.class)
+                .run("--server.port=0", "--logging.level.root=WARN", "--spring.main.banner-mode=off");
+        roomManager = context.getBean(RoomManager.class);
+        roomObjectRepository = context.getBean(RoomObjectRepository.class);
+        roomInventoryService = context.getBean(RoomInventoryService.class);
+        liveSensorStore = context.getBean(LiveSensorStore.class);
+        LampManager lampManager = context.getBean(LampManager.class);
+        lampGrid = LazyDataProviders.of(lampManager::searchRows, lampManager::count, EquipmentRow::getId);
+
+        Room room = roomManager.saveRoom(new Room(NAME_PREFIX + "room", 50, 50, 4, 1));
+        roomId = room.getId();
+        List<Lamp> lamps = new ArrayList<>();
+        List<Plug> plugs = new ArrayList<>();
+        List<SensorCO2> sensors = new ArrayList<>();
+        for (int i = 0; i < objects; i++) {
+            RoomObject object = switch (i % 3) {
+                case 0 -> add(lamps, new Lamp(NAME_PREFIX + "lamp-" + i));
+                case 1 -> add(plugs, new Plug(NAME_PREFIX + "plug-" + i));
+                default -> add(sensors, new SensorCO2(NAME_PREFIX + "co2-" + i));
+            };
+            object.setRoom(room);
+        }
+        lampManager.saveAll(lamps);
+        context.getBean(PlugManager.class).saveAll(plugs);
+        context.getBean(SensorCO2Manager.class).saveAll(sensors);
+        liveSensorStore.refreshTopology();
+    }
+
+    private static <T extends RoomObject> T add(List<T> list, T object) {
+        list.add(object);
+        return object;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        try {
+            roomManager.deleteRoomById(roomId);
+        } finally {
+            context.close();
+        }
+    }
+
+    /** Chargement polymorphe des entités (index des objets puis une requête par sous-type) */
+    @Benchmark
+    public List<RoomObject> findByRoomId() {
+        return roomObjectRepository.findByRoomId(roomId);
+    }
+
+    /** Inventaire à plat (projection sur la vue v_room_equipment) */
+    @Benchmark
+    public List<RoomEquipment> inventory() {
+        return roomInventoryService.getInventory(roomId);
+    }
+
+    /** Équivalent de RoomByIdView.loadEquipmentData : inventaire, valeurs courantes et libellés de la grille */
+    @Benchmark
+    public List<String> roomViewItems() {
+        List<SensorLiveValues> live = liveSensorStore.getRoomValues(roomId);
+        List<String> rows = roomInventoryService.getInventory(roomId).stream()
+                .map(e -> e.getType() + " " + e.getName() + " " + e.getPosX() + "/" + e.getPosY() + "/" + e.getPosZ())
+                .collect(Collectors.toList());
+        rows.add(Integer.toString(live.size()));
+        return rows;
+    }
+
+    /** Première page de la grille des lampes avec un filtre de recherche (projection paginée en base) */
+    @Benchmark
+    public List<EquipmentRow> gridFilterPage() {
+        lampGrid.setFilter(NAME_PREFIX + "lamp-1");
+        return lampGrid.fetch(new Query<>(0, 50, List.of(), null, null)).collect(Collectors.toList());
+    }
+
+    /** Comptage associé, demandé par la grille à chaque changement de filtre */
+    @Benchmark
+    public int gridFilterCount() {
+        lampGrid.setFilter(NAME_PREFIX + "lamp-1");
+        return lampGrid.size(new Query<>());
+    }
+}
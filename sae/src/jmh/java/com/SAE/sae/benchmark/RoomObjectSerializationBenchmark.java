@@ -0,0 +1,70 @@
+package com.SAE.sae.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.SAE.sae.entity.RoomObjects.Door;
+import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.entity.RoomObjects.Plug;
+import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.RoomObjects.SensorCO2;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+
+/**
+ * Sérialisation JSON d'une grande liste polymorphe de RoomObject, telle que la renvoient
+ * les contrôleurs (même stratégie de nommage que spring.jackson.property-naming-strategy).
+ * Sans base ni contexte Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomObjectSerializationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int objects;
+
+    private ObjectMapper objectMapper;
+    private List<RoomObject> roomObjects;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .build();
+        roomObjects = new ArrayList<>(objects);
+        for (int i = 0; i < objects; i++) {
+            RoomObject object = switch (i % 4) {
+                case 0 -> new Lamp("lamp-" + i);
+                case 1 -> new Plug("plug-" + i);
+                case 2 -> new SensorCO2("co2-" + i);
+                default -> new Door();
+            };
+            object.setId(i + 1);
+            roomObjects.add(object);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(roomObjects);
+    }
+}
@@ -3,8 +3,15 @@ package com.SAE.sae;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
+
+/**
+ * Push activé (WebSocket) : les vues reçoivent les changements via le ChangeEventBus
+ */
+@Push
 @SpringBootApplication
-public class SaeApplication {
+public class SaeApplication implements AppShellConfigurator {
 
 	public static void main(String[] args) {
 		SpringApplication.run(SaeApplication.class, args);
@@ -0,0 +1,67 @@
+package com.SAE.sae.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.SAE.sae.entity.RoomType;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caches applicatifs (Caffeine, en mémoire).
+ * Chaque cache est borné en taille et a une durée de vie propre ;
+ * l'invalidation se fait dans les managers à chaque écriture (@CacheEvict).
+ * Les RoomTypes sont des entités modifiables : leurs caches copient à l'écriture et à la lecture (voir CopyingCache) ;
+ * les autres caches rendent leurs valeurs telles quelles, sans payer de copie.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** RoomType par id */
+    public static final String ROOM_TYPES = "roomTypes";
+    /** Liste complète des RoomTypes */
+    public static final String ALL_ROOM_TYPES = "allRoomTypes";
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Cache adapted = super.adaptCaffeineCache(name, cache);
+                if (ROOM_TYPES.equals(name) || ALL_ROOM_TYPES.equals(name)) {
+                    return new CopyingCache(adapted, CacheConfig::copyRoomTypes);
+                }
+                return adapted;
+            }
+        };
+        cacheManager.registerCustomCache(ROOM_TYPES, Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofMinutes(30))
+                .build());
+        cacheManager.registerCustomCache(ALL_ROOM_TYPES, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofMinutes(30))
+                .build());
+        return cacheManager;
+    }
+
+    /**
+     * Copie détachée d'un RoomType ou d'une liste de RoomTypes (non modifiable) ; les autres valeurs sont rendues telles quelles
+     */
+    private static Object copyRoomTypes(Object value) {
+        if (value instanceof RoomType roomType) {
+            return new RoomType(roomType.getId(), roomType.getName());
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(CacheConfig::copyRoomTypes).toList();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,77 @@
+package com.SAE.sae.config;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.service.ResourceVersionService;
+import com.SAE.sae.service.ResourceVersionService.Stamp;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Associe les GET de l'API REST à la version dont dépend leur réponse (voir ResourceVersionService).
+ * Les mesures (live, historique, télémétrie) ne sont pas versionnées ; la scène a ses propres ETags.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ConditionalGetConfig implements WebMvcConfigurer {
+    private static final String API = "/api/v1";
+
+    /** Chemin REST de chaque type d'objet */
+    private static final Map<RoomObjectType, String> OBJECT_PATHS = Map.of(
+            RoomObjectType.LAMP, "lamps",
+            RoomObjectType.PLUG, "plugs",
+            RoomObjectType.SENSOR_CO2, "sensorco2s",
+            RoomObjectType.SENSOR_6IN1, "sensor6in1s",
+            RoomObjectType.SENSOR_9IN1, "sensor9in1s",
+            RoomObjectType.HEATER, "heaters",
+            RoomObjectType.WINDOW, "windows",
+            RoomObjectType.DOOR, "doors",
+            RoomObjectType.DATA_TABLE, "data-tables",
+            RoomObjectType.SIREN, "sirens");
+
+    private final ResourceVersionService resourceVersionService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Un bâtiment embarque ses salles
+        collections(registry, new String[] {ResourceVersionService.BUILDING, ResourceVersionService.ROOM},
+                API + "/buildings", API + "/buildings/*");
+        collections(registry, new String[] {ResourceVersionService.ROOM}, API + "/rooms", API + "/rooms/*");
+        collections(registry, new String[] {ResourceVersionService.ROOM_TYPE}, API + "/room_types", API + "/room_types/*");
+        collections(registry, new String[] {ResourceVersionService.ALERT_RULE}, API + "/alert-rules", API + "/alert-rules/*");
+        OBJECT_PATHS.forEach((type, path) -> collections(registry, new String[] {type.name()},
+                API + "/" + path, API + "/" + path + "/*", API + "/" + path + "/by-room/*"));
+
+        String[] allTypes = Arrays.stream(RoomObjectType.values()).map(Enum::name).toArray(String[]::new);
+        collections(registry, allTypes, API + "/room-objects", API + "/room-objects/*")
+                .excludePathPatterns(API + "/room-objects/export");
+
+        // Contenu d'une salle : ne change qu'avec ses propres objets
+        registry.addInterceptor(new ConditionalGetInterceptor(variables -> roomContent(variables.get("id"))))
+                .addPathPatterns(API + "/rooms/*/inventory", API + "/rooms/*/objects/*");
+        registry.addInterceptor(new ConditionalGetInterceptor(variables -> roomContent(variables.get("roomId"))))
+                .addPathPatterns(API + "/room-objects/by-room/*");
+    }
+
+    private InterceptorRegistration collections(InterceptorRegistry registry, String[] names, String... pathPatterns) {
+        Function<Map<String, String>, Optional<Stamp>> stamp = variables -> resourceVersionService.ofCollections(names);
+        return registry.addInterceptor(new ConditionalGetInterceptor(stamp)).addPathPatterns(pathPatterns);
+    }
+
+    private Optional<Stamp> roomContent(String roomId) {
+        try {
+            return roomId != null ? resourceVersionService.ofRoomContent(Integer.parseInt(roomId)) : Optional.empty();
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
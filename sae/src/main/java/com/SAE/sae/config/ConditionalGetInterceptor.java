@@ -0,0 +1,53 @@
+package com.SAE.sae.config;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.SAE.sae.service.ResourceVersionService.Stamp;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * GET conditionnel : la version de la ressource est lue avant l'appel du contrôleur.
+ * Si If-None-Match (ou à défaut If-Modified-Since) correspond, la réponse est un 304 et le contrôleur
+ * n'est pas appelé ; sinon ETag et Last-Modified sont posés et la requête suit son cours.
+ * La version étant lue avant les données, une réponse ne porte jamais un ETag plus récent qu'elle.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    private static final String NO_CACHE = CacheControl.noCache().getHeaderValue();
+
+    private final Function<Map<String, String>, Optional<Stamp>> stamp;
+
+    /**
+     * @param stamp version de la ressource à partir des variables du chemin ; vide pour laisser passer
+     *              la requête sans en-têtes (ressource inconnue, variable invalide)
+     */
+    public ConditionalGetInterceptor(Function<Map<String, String>, Optional<Stamp>> stamp) {
+        this.stamp = stamp;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        Optional<Stamp> current = stamp.apply(variables != null ? variables : Map.of());
+        if (current.isEmpty()) {
+            return true;
+        }
+        // Sans Cache-Control, Last-Modified autoriserait les navigateurs à resservir leur copie sans revalider
+        response.setHeader(HttpHeaders.CACHE_CONTROL, NO_CACHE);
+        return !new ServletWebRequest(request, response).checkNotModified(current.get().getETag(), current.get().getLastModified());
+    }
+}
@@ -0,0 +1,87 @@
+package com.SAE.sae.config;
+
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Cache stockant ses valeurs par copie : une copie est enregistrée à l'écriture et une autre rendue à chaque lecture.
+ * Les appelants ne partagent ainsi jamais l'instance en cache, qu'ils peuvent modifier sans l'altérer.
+ */
+class CopyingCache implements Cache {
+    private final Cache delegate;
+    private final UnaryOperator<Object> copier;
+
+    CopyingCache(Cache delegate, UnaryOperator<Object> copier) {
+        this.delegate = delegate;
+        this.copier = copier;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return copy(delegate.get(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) copier.apply(delegate.get(key, () -> copier.apply(valueLoader.call())));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, copier.apply(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return copy(delegate.putIfAbsent(key, copier.apply(value)));
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private ValueWrapper copy(ValueWrapper wrapper) {
+        return wrapper == null ? null : new SimpleValueWrapper(copier.apply(wrapper.get()));
+    }
+}
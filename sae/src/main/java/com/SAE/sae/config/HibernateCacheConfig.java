@@ -0,0 +1,62 @@
+package com.SAE.sae.config;
+
+import java.util.List;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Cache de second niveau Hibernate (JCache / Caffeine, local à l'instance), en read-write
+ * pour les bâtiments, les pièces et les types de pièces.
+ * <p>
+ * Les régions sont déclarées, bornées en taille et en durée de vie dans application.conf ;
+ * Hibernate refuse de démarrer si une région n'y figure pas (missing_cache_strategy = fail).
+ * Les succès et échecs sont publiés par les statistiques Hibernate (hibernate.second.level.cache.*),
+ * les évictions par les statistiques JCache (cache.evictions, cache.manager=hibernate) ;
+ * les deux sont consultables sur /actuator/metrics.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    /** Bâtiments par id */
+    public static final String BUILDINGS = "hibernate-building";
+    /** Ids des pièces de chaque bâtiment (Building.rooms) */
+    public static final String BUILDING_ROOMS = "hibernate-building-rooms";
+    /** Pièces par id */
+    public static final String ROOMS = "hibernate-room";
+    /** Types de pièces par id */
+    public static final String ROOM_TYPES = "hibernate-room-type";
+    /** Résultats de RoomRepository.findByBuilding_Id */
+    public static final String ROOMS_BY_BUILDING = "hibernate-rooms-by-building";
+
+    private static final List<String> REGIONS = List.of(BUILDINGS, BUILDING_ROOMS, ROOMS, ROOM_TYPES, ROOMS_BY_BUILDING,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+
+    /**
+     * Métriques JCache de chaque région, lues sur le CacheManager par défaut de Caffeine (celui qu'utilise Hibernate)
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics() {
+        return registry -> {
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+            for (String region : REGIONS) {
+                Cache<Object, Object> cache = cacheManager.getCache(region);
+                if (cache != null) {
+                    JCacheMetrics.monitor(registry, cache, Tags.of("cache.manager", "hibernate"));
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.SAE.sae.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches planifiées (@Scheduled), comme le calcul des agrégats des capteurs.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,91 @@
+package com.SAE.sae.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.SAE.sae.entity.AlertRule;
+import com.SAE.sae.service.AlertRuleManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contrôleur REST pour la gestion des règles d'alerte des capteurs.
+ */
+@RestController
+@RequestMapping("/api/v1/alert-rules")
+@RequiredArgsConstructor
+public class AlertRuleController {
+
+    private final AlertRuleManager alertRuleManager;
+
+    /**
+     * Récupère toutes les règles d'alerte.
+     * @return Liste de toutes les règles.
+     */
+    @GetMapping
+    public ResponseEntity<List<AlertRule>> getAllRules() {
+        return ResponseEntity.ok(alertRuleManager.getAllRules());
+    }
+
+    /**
+     * Récupère une règle par son identifiant.
+     * @param id Identifiant de la règle.
+     * @return La règle si elle existe, sinon 404.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<AlertRule> getRuleById(@PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(alertRuleManager.getRuleById(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Crée une nouvelle règle.
+     * @param rule Règle à créer (métrique, seuils, salle ou type de salle).
+     * @return La règle créée, ou 400 si elle est invalide.
+     */
+    @PostMapping
+    public ResponseEntity<AlertRule> createRule(@RequestBody AlertRule rule) {
+        return save(rule);
+    }
+
+    /**
+     * Met à jour une règle existante.
+     * @param rule Règle à mettre à jour.
+     * @return La règle mise à jour, ou 400 si elle est invalide.
+     */
+    @PutMapping
+    public ResponseEntity<AlertRule> updateRule(@RequestBody AlertRule rule) {
+        return save(rule);
+    }
+
+    /**
+     * Supprime une règle par son identifiant.
+     * @param id ID de la règle à supprimer.
+     * @return Message de confirmation.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<String> deleteRule(@PathVariable Integer id) {
+        alertRuleManager.deleteRuleById(id);
+        return ResponseEntity.ok("AlertRule supprimée avec succès");
+    }
+
+    private ResponseEntity<AlertRule> save(AlertRule rule) {
+        try {
+            return ResponseEntity.ok(alertRuleManager.saveRule(rule));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
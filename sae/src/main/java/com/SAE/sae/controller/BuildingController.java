@@ -29,15 +29,26 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class BuildingController {
     
+    private static final String EXPAND_ROOMS = "rooms";
+
     private final BuildingManager buildingManager;
 
     /**
-     * Récupère toutes les entités Building.
-     * @return Liste de toutes les Buildings.
+     * Récupère toutes les Buildings, triées par id.
+     * Par défaut sous forme résumée (id, name, room_count), calculée par une seule requête groupée ;
+     * avec expand=rooms, les Buildings complètes et leurs Rooms, chargées par une seule jointure.
+     * @param expand "rooms" pour inclure les Rooms (optionnel).
+     * @return Liste des résumés ou des Buildings, 400 si expand est inconnu.
      */
     @GetMapping
-    public ResponseEntity<List<Building>> getAllBuildings() {
-        return ResponseEntity.ok(buildingManager.getAllBuildings());
+    public ResponseEntity<List<?>> getAllBuildings(@RequestParam(required = false) String expand) {
+        if (expand == null) {
+            return ResponseEntity.ok(buildingManager.getBuildingSummaries());
+        }
+        if (!EXPAND_ROOMS.equals(expand)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(buildingManager.getAllBuildingsWithRooms());
     }
 
     /**
@@ -87,7 +98,9 @@ public class BuildingController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteBuilding(@PathVariable Integer id) {
-        buildingManager.deleteBuildingById(id);
+        if (!buildingManager.deleteBuildingById(id)) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.ok("Building supprimé avec succès");
     }
 
@@ -95,12 +108,12 @@ public class BuildingController {
     /**
      * Supprime toutes les Buildings avec un nom personnalisé spécifique.
      * @param name Nom personnalisé.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByName(@RequestParam String name) {
-        buildingManager.deleteBuildingsByName(name);
-        return ResponseEntity.ok("Tous les Buildings avec ce nom ont été supprimées");
+        int deleted = buildingManager.deleteBuildingsByName(name);
+        return ResponseEntity.ok(deleted + " Buildings avec ce nom ont été supprimés");
     }
 }
@@ -0,0 +1,34 @@
+package com.SAE.sae.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.SAE.sae.service.RoomObjectExportService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contrôleur REST pour l'export en masse des objets de salle.
+ */
+@RestController
+@RequestMapping("/api/v1/room-objects/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final RoomObjectExportService roomObjectExportService;
+
+    /**
+     * Exporte tous les objets de salle en NDJSON, écrits au fil de la lecture en base.
+     * @return Flux NDJSON, une ligne par objet.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportRoomObjects() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(roomObjectExportService::exportNdjson);
+    }
+}
@@ -0,0 +1,52 @@
+package com.SAE.sae.controller;
+
+import java.io.InputStream;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.SAE.sae.dto.ImportReport;
+import com.SAE.sae.service.BuildingImportService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contrôleur REST pour l'import en masse de bâtiments avec leurs salles et objets.
+ */
+@RestController
+@RequestMapping("/api/v1/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final BuildingImportService buildingImportService;
+
+    /**
+     * Importe un bâtiment (ou un tableau de bâtiments) décrit en JSON.
+     * @param body Document JSON, lu en flux.
+     * @return Compte rendu par chunk, ou 400 avec les chunks déjà commités en cas d'erreur.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportReport> importJson(InputStream body) {
+        return toResponse(buildingImportService.importJson(body));
+    }
+
+    /**
+     * Importe une arborescence décrite en NDJSON (une ligne par bâtiment, salle ou objet).
+     * @param body Document NDJSON, lu en flux.
+     * @return Compte rendu par chunk, ou 400 avec les chunks déjà commités en cas d'erreur.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importNdjson(InputStream body) {
+        return toResponse(buildingImportService.importNdjson(body));
+    }
+
+    private ResponseEntity<ImportReport> toResponse(ImportReport report) {
+        if (report.getError() != null) {
+            return ResponseEntity.badRequest().body(report);
+        }
+        return ResponseEntity.ok(report);
+    }
+}
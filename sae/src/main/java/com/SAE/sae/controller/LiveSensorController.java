@@ -0,0 +1,53 @@
+package com.SAE.sae.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.SAE.sae.dto.SensorLiveValues;
+import com.SAE.sae.service.LiveSensorStore;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contrôleur REST des valeurs courantes des capteurs, servies depuis la mémoire.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class LiveSensorController {
+
+    private final LiveSensorStore liveSensorStore;
+
+    /**
+     * Dernières valeurs des capteurs d'une salle.
+     * @param id Identifiant de la Room.
+     * @return Un élément par capteur, avec ses métriques, ou 404 si la salle est inconnue.
+     */
+    @GetMapping("/rooms/{id}/live")
+    public ResponseEntity<List<SensorLiveValues>> getRoomLive(@PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(liveSensorStore.getRoomValues(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Dernières valeurs des capteurs de toutes les salles d'un bâtiment.
+     * @param id Identifiant du Building.
+     * @return Un élément par capteur, avec ses métriques, ou 404 si le bâtiment est inconnu.
+     */
+    @GetMapping("/buildings/{id}/live")
+    public ResponseEntity<List<SensorLiveValues>> getBuildingLive(@PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(liveSensorStore.getBuildingValues(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
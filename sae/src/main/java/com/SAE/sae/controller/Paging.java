@@ -0,0 +1,124 @@
+package com.SAE.sae.controller;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.SAE.sae.entity.RoomObjects.RoomObject;
+
+/**
+ * Utilitaires de pagination pour les endpoints de liste.
+ * Sans paramètre page/size/after, les endpoints gardent leur comportement historique (liste complète).
+ * - page/size/sort : pagination par offset, sort au format "propriete[,asc|desc]", limité aux propriétés
+ *   triables de l'endpoint (400 sinon). L'ID départage toujours en dernier : sans ordre total, PostgreSQL
+ *   peut rendre une même ligne sur deux pages, ou n'en rendre aucune ;
+ * - after=id : pagination par clé, triée par ID, à privilégier pour les parcours complets.
+ * La page suivante est annoncée par un en-tête Link rel="next" et, en pagination par clé, X-Next-Cursor.
+ */
+public final class Paging {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_SIZE = 100;
+    public static final int MAX_SIZE = 1000;
+
+    /** Propriétés triables des objets positionnés */
+    public static final Set<String> POSITION_SORT = Set.of("id", "customName", "posX", "posY", "posZ");
+    /** Propriétés triables des objets positionnés et dimensionnés */
+    public static final Set<String> VOLUME_SORT = Set.of("id", "customName", "posX", "posY", "posZ",
+            "sizeX", "sizeY", "sizeZ");
+
+    private Paging() {
+    }
+
+    /**
+     * Indique si le client a demandé une pagination par offset
+     */
+    public static boolean isPaged(Integer page, Integer size) {
+        return page != null || size != null;
+    }
+
+    /**
+     * Taille de page bornée à [1, MAX_SIZE]
+     */
+    public static int size(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Construit le Pageable à partir des paramètres de requête, trié par ID
+     */
+    public static Pageable pageable(Integer page, Integer size) {
+        return PageRequest.of(page == null ? 0 : Math.max(0, page), size(size), Sort.by("id"));
+    }
+
+    /**
+     * Construit le Pageable à partir des paramètres de requête
+     * @param sortable propriétés acceptées dans sort
+     * @throws ResponseStatusException (400) si la propriété ou le sens de tri n'est pas reconnu
+     */
+    public static Pageable pageable(Integer page, Integer size, String sort, Set<String> sortable) {
+        Pageable pageable = pageable(page, size);
+        if (sort == null || sort.isBlank()) {
+            return pageable;
+        }
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        String order = parts.length > 1 ? parts[1].trim() : "asc";
+        if (parts.length > 2 || !sortable.contains(property)
+                || !("asc".equalsIgnoreCase(order) || "desc".equalsIgnoreCase(order))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tri non pris en charge : " + sort);
+        }
+        Sort.Direction direction = "desc".equalsIgnoreCase(order) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort by = Sort.by(direction, property);
+        if (!"id".equals(property)) {
+            by = by.and(Sort.by("id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), by);
+    }
+
+    /**
+     * Réponse d'une page par offset, avec le lien vers la page suivante s'il y en a une
+     */
+    public static <T> ResponseEntity<List<T>> page(Slice<T> slice) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.hasNext()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page", slice.getNumber() + 1)
+                    .replaceQueryParam("size", slice.getSize())
+                    .build().toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(slice.getContent());
+    }
+
+    /**
+     * Réponse d'une page par clé, avec le curseur (ID du dernier élément) de la page suivante
+     */
+    public static <T extends RoomObject> ResponseEntity<List<T>> keyset(Slice<T> slice) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            int cursor = content.get(content.size() - 1).getId();
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", cursor)
+                    .replaceQueryParam("size", slice.getSize())
+                    .replaceQueryParam("page")
+                    .build().toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(cursor));
+        }
+        return response.body(content);
+    }
+}
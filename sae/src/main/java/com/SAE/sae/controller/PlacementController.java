@@ -0,0 +1,44 @@
+package com.SAE.sae.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.SAE.sae.dto.PlacementCandidate;
+import com.SAE.sae.dto.PlacementReport;
+import com.SAE.sae.service.PlacementValidator;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contrôleur REST de validation du placement des objets d'une salle.
+ */
+@RestController
+@RequestMapping("/api/v1/rooms")
+@RequiredArgsConstructor
+public class PlacementController {
+
+    private final PlacementValidator placementValidator;
+
+    /**
+     * Valide un agencement : objets hors de la salle et chevauchements.
+     * @param id Identifiant de la Room.
+     * @param layout Objets proposés (type, id pour un objet existant, name, pos_*, size_*) ;
+     *               sans corps, l'agencement actuel de la salle est validé.
+     * @return Le rapport (valid et la liste des problèmes), ou 404 si la salle est inconnue.
+     */
+    @PostMapping("/{id}/validate")
+    public ResponseEntity<PlacementReport> validate(@PathVariable Integer id,
+                                                    @RequestBody(required = false) List<PlacementCandidate> layout) {
+        try {
+            return ResponseEntity.ok(placementValidator.validateRoom(id, layout));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -68,6 +68,37 @@ public class RoomController {
         return ResponseEntity.ok(roomManager.saveRoom(room));
     }
 
+    /**
+     * Duplique une Room avec tous ses objets, côté serveur et en une transaction.
+     * @param id ID de la Room à dupliquer.
+     * @param targetBuilding ID du bâtiment de la copie (optionnel, celui de la Room d'origine par défaut).
+     * @return Room créée, ou 404 si la Room ou le bâtiment n'existe pas.
+     */
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<Room> cloneRoom(@PathVariable Integer id,
+            @RequestParam(required = false) Integer targetBuilding) {
+        try {
+            return ResponseEntity.ok(roomManager.cloneRoom(id, targetBuilding));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Déplace une Room, avec ses objets, dans un autre bâtiment.
+     * @param id ID de la Room à déplacer.
+     * @param targetBuilding ID du bâtiment de destination.
+     * @return Room déplacée, ou 404 si la Room ou le bâtiment n'existe pas.
+     */
+    @PostMapping("/{id}/move")
+    public ResponseEntity<Room> moveRoom(@PathVariable Integer id, @RequestParam Integer targetBuilding) {
+        try {
+            return ResponseEntity.ok(roomManager.moveRoom(id, targetBuilding));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Met à jour une Room existante.
      * @param room Objet à mettre à jour.
@@ -85,7 +116,9 @@ public class RoomController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteRoom(@PathVariable Integer id) {
-        roomManager.deleteRoomById(id);
+        if (!roomManager.deleteRoomById(id)) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.ok("Room supprimée avec succès");
     }
 
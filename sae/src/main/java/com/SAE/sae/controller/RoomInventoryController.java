@@ -0,0 +1,35 @@
+package com.SAE.sae.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.SAE.sae.entity.projection.RoomEquipment;
+import com.SAE.sae.service.RoomInventoryService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contrôleur REST pour l'inventaire des équipements d'une salle.
+ */
+@RestController
+@RequestMapping("/api/v1/rooms")
+@RequiredArgsConstructor
+public class RoomInventoryController {
+
+    private final RoomInventoryService roomInventoryService;
+
+    /**
+     * Récupère tous les équipements d'une salle en une seule requête.
+     * @param id Identifiant de la Room.
+     * @return Liste à plat des équipements (type, id, nom, position, taille).
+     */
+    @GetMapping("/{id}/inventory")
+    public ResponseEntity<List<RoomEquipment>> getInventory(@PathVariable Integer id) {
+        return ResponseEntity.ok(roomInventoryService.getInventory(id));
+    }
+}
@@ -1,5 +1,6 @@
 package com.SAE.sae.controller.RoomObjects;
 
+import com.SAE.sae.controller.Paging;
 import com.SAE.sae.entity.RoomObjects.DataTable;
 import com.SAE.sae.service.RoomObjects.DataTableManager;
 import lombok.RequiredArgsConstructor;
@@ -22,10 +23,23 @@ public class DataTableController {
 
     /**
      * Récupère toutes les entités DataTable.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste de toutes les DataTables.
      */
     @GetMapping
-    public ResponseEntity<List<DataTable>> getAllDataTables() {
+    public ResponseEntity<List<DataTable>> getAllDataTables(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(dataTableManager.findAllAfter(after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(dataTableManager.findAll(Paging.pageable(page, size, sort, Paging.VOLUME_SORT)));
+        }
         return ResponseEntity.ok(dataTableManager.findAll());
     }
 
@@ -49,10 +63,24 @@ public class DataTableController {
      * Récupère toutes les DataTables associées à une salle (via l'ID de la salle).
      * 
      * @param roomId ID de la salle.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste des DataTables dans cette salle.
      */
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<List<DataTable>> getByRoomId(@PathVariable Long roomId) {
+    public ResponseEntity<List<DataTable>> getByRoomId(@PathVariable Long roomId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(dataTableManager.findByRoomIdAfter(roomId.intValue(), after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(dataTableManager.findByRoomId(roomId.intValue(), Paging.pageable(page, size, sort, Paging.VOLUME_SORT)));
+        }
         return ResponseEntity.ok(dataTableManager.findByRoomId(roomId));
     }
 
@@ -108,11 +136,11 @@ public class DataTableController {
      * Supprime toutes les DataTables avec un nom personnalisé spécifique.
      * 
      * @param customName Nom personnalisé.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByCustomName(@RequestParam String customName) {
-        dataTableManager.deleteByCustomName(customName);
-        return ResponseEntity.ok("Toutes les DataTables avec ce nom ont été supprimées");
+        int deleted = dataTableManager.deleteByCustomName(customName);
+        return ResponseEntity.ok(deleted + " DataTables avec ce nom ont été supprimées");
     }}
@@ -1,5 +1,6 @@
 package com.SAE.sae.controller.RoomObjects;
 
+import com.SAE.sae.controller.Paging;
 import com.SAE.sae.entity.RoomObjects.Door;
 import com.SAE.sae.service.RoomObjects.DoorManager;
 import lombok.RequiredArgsConstructor;
@@ -22,10 +23,23 @@ public class DoorController {
 
     /**
      * Récupère toutes les entités Door.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste de toutes les Doors.
      */
     @GetMapping
-    public ResponseEntity<List<Door>> getAllDoors() {
+    public ResponseEntity<List<Door>> getAllDoors(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(doorManager.findAllAfter(after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(doorManager.findAll(Paging.pageable(page, size, sort, Paging.VOLUME_SORT)));
+        }
         return ResponseEntity.ok(doorManager.findAll());
     }
 
@@ -47,10 +61,24 @@ public class DoorController {
     /**
      * Récupère toutes les Doors associées à une salle (via l'ID de la salle).
      * @param roomId ID de la salle.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste des Doors dans cette salle.
      */
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<List<Door>> getByRoomId(@PathVariable Long roomId) {
+    public ResponseEntity<List<Door>> getByRoomId(@PathVariable Long roomId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(doorManager.findByRoomIdAfter(roomId.intValue(), after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(doorManager.findByRoomId(roomId.intValue(), Paging.pageable(page, size, sort, Paging.VOLUME_SORT)));
+        }
         return ResponseEntity.ok(doorManager.findByRoomId(roomId));
     }
 
@@ -101,12 +129,12 @@ public class DoorController {
     /**
      * Supprime toutes les Doors avec un nom personnalisé spécifique.
      * @param customName Nom personnalisé.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByCustomName(@RequestParam String customName) {
-        doorManager.deleteByCustomName(customName);
-        return ResponseEntity.ok("Toutes les Doors avec ce nom ont été supprimées");
+        int deleted = doorManager.deleteByCustomName(customName);
+        return ResponseEntity.ok(deleted + " Doors avec ce nom ont été supprimées");
     }
 }
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.SAE.sae.controller.Paging;
 import com.SAE.sae.entity.RoomObjects.Heater;
 import com.SAE.sae.service.RoomObjects.HeaterManager;
 
@@ -32,10 +33,23 @@ public class HeaterController {
 
     /**
      * Récupère toutes les entités Heater.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste de toutes les Heaters.
      */
     @GetMapping
-    public ResponseEntity<List<Heater>> getAllHeaters() {
+    public ResponseEntity<List<Heater>> getAllHeaters(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(heaterManager.findAllAfter(after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(heaterManager.findAll(Paging.pageable(page, size, sort, Paging.VOLUME_SORT)));
+        }
         return ResponseEntity.ok(heaterManager.findAll());
     }
 
@@ -57,10 +71,24 @@ public class HeaterController {
     /**
      * Récupère toutes les Heaters associées à une salle (via l'ID de la salle).
      * @param roomId ID de la salle.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste des Heaters dans cette salle.
      */
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<List<Heater>> getByRoomId(@PathVariable Long roomId) {
+    public ResponseEntity<List<Heater>> getByRoomId(@PathVariable Long roomId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(heaterManager.findByRoomIdAfter(roomId.intValue(), after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(heaterManager.findByRoomId(roomId.intValue(), Paging.pageable(page, size, sort, Paging.VOLUME_SORT)));
+        }
         return ResponseEntity.ok(heaterManager.findByRoomId(roomId));
     }
 
@@ -111,12 +139,12 @@ public class HeaterController {
     /**
      * Supprime toutes les Heaters avec un nom personnalisé spécifique.
      * @param customName Nom personnalisé.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByCustomName(@RequestParam String customName) {
-        heaterManager.deleteByCustomName(customName);
-        return ResponseEntity.ok("Toutes les Heaters avec ce nom ont été supprimées");
+        int deleted = heaterManager.deleteByCustomName(customName);
+        return ResponseEntity.ok(deleted + " Heaters avec ce nom ont été supprimées");
     }
 }
@@ -1,5 +1,6 @@
 package com.SAE.sae.controller.RoomObjects;
 
+import com.SAE.sae.controller.Paging;
 import com.SAE.sae.entity.RoomObjects.Lamp;
 import com.SAE.sae.service.RoomObjects.LampManager;
 import lombok.RequiredArgsConstructor;
@@ -23,10 +24,23 @@ public class LampController {
     /**
      * Récupère toutes les entités Lamp.
      * 
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste de toutes les Lamps.
      */
     @GetMapping
-    public ResponseEntity<List<Lamp>> getAllLamps() {
+    public ResponseEntity<List<Lamp>> getAllLamps(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(lampManager.findAllAfter(after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(lampManager.findAll(Paging.pageable(page, size, sort, Paging.POSITION_SORT)));
+        }
         return ResponseEntity.ok(lampManager.findAll());
     }
 
@@ -50,10 +64,24 @@ public class LampController {
      * Récupère toutes les Lamps associées à une salle (via l'ID de la salle).
      * 
      * @param roomId ID de la salle.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste des Lamps dans cette salle.
      */
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<List<Lamp>> getByRoomId(@PathVariable Long roomId) {
+    public ResponseEntity<List<Lamp>> getByRoomId(@PathVariable Long roomId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(lampManager.findByRoomIdAfter(roomId.intValue(), after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(lampManager.findByRoomId(roomId.intValue(), Paging.pageable(page, size, sort, Paging.POSITION_SORT)));
+        }
         return ResponseEntity.ok(lampManager.findByRoomId(roomId));
     }
 
@@ -109,12 +137,12 @@ public class LampController {
      * Supprime toutes les Lamps avec un nom personnalisé spécifique.
      * 
      * @param customName Nom personnalisé.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByCustomName(@RequestParam String customName) {
-        lampManager.deleteByCustomName(customName);
-        return ResponseEntity.ok("Toutes les Lamps avec ce nom ont été supprimées");
+        int deleted = lampManager.deleteByCustomName(customName);
+        return ResponseEntity.ok(deleted + " Lamps avec ce nom ont été supprimées");
     }
 }
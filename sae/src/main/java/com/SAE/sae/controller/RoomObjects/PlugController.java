@@ -1,5 +1,6 @@
 package com.SAE.sae.controller.RoomObjects;
 
+import com.SAE.sae.controller.Paging;
 import com.SAE.sae.entity.RoomObjects.Plug;
 import com.SAE.sae.service.RoomObjects.PlugManager;
 import lombok.RequiredArgsConstructor;
@@ -23,10 +24,23 @@ public class PlugController {
     /**
      * Récupère toutes les entités Plug.
      * 
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste de toutes les Plugs.
      */
     @GetMapping
-    public ResponseEntity<List<Plug>> getAllPlugs() {
+    public ResponseEntity<List<Plug>> getAllPlugs(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(plugManager.findAllAfter(after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(plugManager.findAll(Paging.pageable(page, size, sort, Paging.POSITION_SORT)));
+        }
         return ResponseEntity.ok(plugManager.findAll());
     }
 
@@ -50,10 +64,24 @@ public class PlugController {
      * Récupère toutes les Plugs associées à une salle (via l'ID de la salle).
      * 
      * @param roomId ID de la salle.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste des Plugs dans cette salle.
      */
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<List<Plug>> getByRoomId(@PathVariable Long roomId) {
+    public ResponseEntity<List<Plug>> getByRoomId(@PathVariable Long roomId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(plugManager.findByRoomIdAfter(roomId.intValue(), after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(plugManager.findByRoomId(roomId.intValue(), Paging.pageable(page, size, sort, Paging.POSITION_SORT)));
+        }
         return ResponseEntity.ok(plugManager.findByRoomId(roomId));
     }
 
@@ -109,12 +137,12 @@ public class PlugController {
      * Supprime toutes les Plugs avec un nom personnalisé spécifique.
      * 
      * @param customName Nom personnalisé.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByCustomName(@RequestParam String customName) {
-        plugManager.deleteByCustomName(customName);
-        return ResponseEntity.ok("Toutes les Plugs avec ce nom ont été supprimées");
+        int deleted = plugManager.deleteByCustomName(customName);
+        return ResponseEntity.ok(deleted + " Plugs avec ce nom ont été supprimées");
     }
 }
@@ -1,8 +1,11 @@
 package com.SAE.sae.controller.RoomObjects;
 
+import com.SAE.sae.controller.Paging;
 import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.RoomObjectManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -22,35 +25,64 @@ public class RoomObjectController {
 
     /**
      * Récupère tous les objets de type RoomObject.
+     * Les pages sont toujours triées par (ID, type) : les IDs ne sont pas uniques entre sous-types.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste de tous les objets.
      */
     @GetMapping
-    public ResponseEntity<List<RoomObject>> getAllRoomObjects() {
+    public ResponseEntity<List<RoomObject>> getAllRoomObjects(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(roomObjectManager.findAllAfter(after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(roomObjectManager.findAll(Paging.pageable(page, size)));
+        }
         return ResponseEntity.ok(roomObjectManager.findAll());
     }
 
     /**
      * Récupère un objet RoomObject par son identifiant.
+     * Les IDs n'étant uniques que par sous-type, le type est requis quand plusieurs objets partagent l'ID.
      * @param id L'identifiant de l'objet.
-     * @return L'objet correspondant ou une réponse 404 s'il n'existe pas.
+     * @param type Le sous-type de l'objet (optionnel).
+     * @return L'objet correspondant, 404 s'il n'existe pas, 409 si l'ID est ambigu sans type.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<RoomObject> getDataTableById(@PathVariable Integer id) {
+    public ResponseEntity<RoomObject> getDataTableById(@PathVariable Integer id,
+            @RequestParam(required = false) RoomObjectType type) {
         try {
-            RoomObject roomObject = roomObjectManager.findById(id);
+            RoomObject roomObject = roomObjectManager.findById(id, type);
             return ResponseEntity.ok(roomObject);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
     /**
      * Récupère tous les objets associés à une salle à partir de son ID.
      * @param roomId ID de la salle.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste d'objets appartenant à la salle.
      */
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<List<RoomObject>> getObjectsByRoomId(@PathVariable Long roomId) {
+    public ResponseEntity<List<RoomObject>> getObjectsByRoomId(@PathVariable Long roomId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(roomObjectManager.findByRoomIdAfter(roomId.intValue(), after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(roomObjectManager.findByRoomId(roomId.intValue(), Paging.pageable(page, size)));
+        }
         return ResponseEntity.ok(roomObjectManager.findByRoomId(roomId));
     }
 
@@ -87,26 +119,34 @@ public class RoomObjectController {
     /**
      * Supprime un objet à partir de son ID.
      * @param id L'identifiant de l'objet à supprimer.
-     * @return Message de confirmation ou 404 si non trouvé.
+     * @param type Le sous-type de l'objet (optionnel, requis si l'ID est ambigu).
+     * @return Message de confirmation, 404 si non trouvé ou 409 si l'ID est ambigu sans type.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteRoomObject(@PathVariable Integer id) {
+    public ResponseEntity<String> deleteRoomObject(@PathVariable Integer id,
+            @RequestParam(required = false) RoomObjectType type) {
         if (!roomObjectManager.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
-        roomObjectManager.deleteById(id);
+        try {
+            roomObjectManager.deleteById(id, type);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
         return ResponseEntity.ok("Objet supprimé avec succès");
     }
 
     /**
      * Supprime tous les objets ayant un nom personnalisé spécifique.
      * @param customName Le nom personnalisé à supprimer.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByCustomName(@RequestParam String customName) {
-        roomObjectManager.deleteByCustomName(customName);
-        return ResponseEntity.ok("Objets avec ce nom supprimés");
+        int deleted = roomObjectManager.deleteByCustomName(customName);
+        return ResponseEntity.ok(deleted + " objets avec ce nom supprimés");
     }
 }
@@ -1,5 +1,6 @@
 package com.SAE.sae.controller.RoomObjects;
 
+import com.SAE.sae.controller.Paging;
 import com.SAE.sae.entity.RoomObjects.Sensor6in1;
 import com.SAE.sae.service.RoomObjects.Sensor6in1Manager;
 import lombok.RequiredArgsConstructor;
@@ -22,10 +23,23 @@ public class Sensor6in1Controller {
 
     /**
      * Récupère toutes les entités Sensor6in1.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste de toutes les Sensor6in1s.
      */
     @GetMapping
-    public ResponseEntity<List<Sensor6in1>> getAllSensor6in1s() {
+    public ResponseEntity<List<Sensor6in1>> getAllSensor6in1s(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(sensor6in1Manager.findAllAfter(after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(sensor6in1Manager.findAll(Paging.pageable(page, size, sort, Paging.POSITION_SORT)));
+        }
         return ResponseEntity.ok(sensor6in1Manager.findAll());
     }
 
@@ -47,10 +61,24 @@ public class Sensor6in1Controller {
     /**
      * Récupère toutes les Sensor6in1s associées à une salle (via l'ID de la salle).
      * @param roomId ID de la salle.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste des Sensor6in1s dans cette salle.
      */
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<List<Sensor6in1>> getByRoomId(@PathVariable Long roomId) {
+    public ResponseEntity<List<Sensor6in1>> getByRoomId(@PathVariable Long roomId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(sensor6in1Manager.findByRoomIdAfter(roomId.intValue(), after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(sensor6in1Manager.findByRoomId(roomId.intValue(), Paging.pageable(page, size, sort, Paging.POSITION_SORT)));
+        }
         return ResponseEntity.ok(sensor6in1Manager.findByRoomId(roomId));
     }
 
@@ -101,12 +129,12 @@ public class Sensor6in1Controller {
     /**
      * Supprime toutes les Sensor6in1s avec un nom personnalisé spécifique.
      * @param customName Nom personnalisé.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByCustomName(@RequestParam String customName) {
-        sensor6in1Manager.deleteByCustomName(customName);
-        return ResponseEntity.ok("Toutes les Sensor6in1s avec ce nom ont été supprimées");
+        int deleted = sensor6in1Manager.deleteByCustomName(customName);
+        return ResponseEntity.ok(deleted + " Sensor6in1s avec ce nom ont été supprimées");
     }
 }
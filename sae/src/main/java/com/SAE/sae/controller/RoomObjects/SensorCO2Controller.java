@@ -1,5 +1,6 @@
 package com.SAE.sae.controller.RoomObjects;
 
+import com.SAE.sae.controller.Paging;
 import com.SAE.sae.entity.RoomObjects.SensorCO2;
 import com.SAE.sae.service.RoomObjects.SensorCO2Manager;
 import lombok.RequiredArgsConstructor;
@@ -22,10 +23,23 @@ public class SensorCO2Controller {
 
     /**
      * Récupère toutes les entités SensorCO2.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste de toutes les SensorCO2s.
      */
     @GetMapping
-    public ResponseEntity<List<SensorCO2>> getAllSensorCO2s() {
+    public ResponseEntity<List<SensorCO2>> getAllSensorCO2s(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(sensorCO2Manager.findAllAfter(after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(sensorCO2Manager.findAll(Paging.pageable(page, size, sort, Paging.POSITION_SORT)));
+        }
         return ResponseEntity.ok(sensorCO2Manager.findAll());
     }
 
@@ -47,10 +61,24 @@ public class SensorCO2Controller {
     /**
      * Récupère toutes les SensorCO2s associées à une salle (via l'ID de la salle).
      * @param roomId ID de la salle.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste des SensorCO2s dans cette salle.
      */
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<List<SensorCO2>> getByRoomId(@PathVariable Long roomId) {
+    public ResponseEntity<List<SensorCO2>> getByRoomId(@PathVariable Long roomId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(sensorCO2Manager.findByRoomIdAfter(roomId.intValue(), after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(sensorCO2Manager.findByRoomId(roomId.intValue(), Paging.pageable(page, size, sort, Paging.POSITION_SORT)));
+        }
         return ResponseEntity.ok(sensorCO2Manager.findByRoomId(roomId));
     }
 
@@ -101,12 +129,12 @@ public class SensorCO2Controller {
     /**
      * Supprime toutes les SensorCO2s avec un nom personnalisé spécifique.
      * @param customName Nom personnalisé.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByCustomName(@RequestParam String customName) {
-        sensorCO2Manager.deleteByCustomName(customName);
-        return ResponseEntity.ok("Toutes les SensorCO2s avec ce nom ont été supprimées");
+        int deleted = sensorCO2Manager.deleteByCustomName(customName);
+        return ResponseEntity.ok(deleted + " SensorCO2s avec ce nom ont été supprimées");
     }
 }
@@ -1,5 +1,6 @@
 package com.SAE.sae.controller.RoomObjects;
 
+import com.SAE.sae.controller.Paging;
 import com.SAE.sae.entity.RoomObjects.Siren;
 import com.SAE.sae.service.RoomObjects.SirenManager;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Contrôleur REST pour la gestion des entités Siren.
@@ -18,14 +20,30 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SirenController {
 
+    /** Propriétés triables des sirènes : position et état d'alerte */
+    private static final Set<String> SORTABLE = Set.of("id", "customName", "posX", "posY", "posZ", "alertActive");
+
     private final SirenManager sirenManager;
 
     /**
      * Récupère toutes les entités Siren.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste de toutes les Sirens.
      */
     @GetMapping
-    public ResponseEntity<List<Siren>> getAllSirens() {
+    public ResponseEntity<List<Siren>> getAllSirens(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(sirenManager.findAllAfter(after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(sirenManager.findAll(Paging.pageable(page, size, sort, SORTABLE)));
+        }
         return ResponseEntity.ok(sirenManager.findAll());
     }
 
@@ -47,10 +65,24 @@ public class SirenController {
     /**
      * Récupère toutes les Sirens associées à une salle (via l'ID de la salle).
      * @param roomId ID de la salle.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste des Sirens dans cette salle.
      */
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<List<Siren>> getByRoomId(@PathVariable Long roomId) {
+    public ResponseEntity<List<Siren>> getByRoomId(@PathVariable Long roomId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(sirenManager.findByRoomIdAfter(roomId.intValue(), after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(sirenManager.findByRoomId(roomId.intValue(), Paging.pageable(page, size, sort, SORTABLE)));
+        }
         return ResponseEntity.ok(sirenManager.findByRoomId(roomId));
     }
 
@@ -101,12 +133,12 @@ public class SirenController {
     /**
      * Supprime toutes les Sirens avec un nom personnalisé spécifique.
      * @param customName Nom personnalisé.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByCustomName(@RequestParam String customName) {
-        sirenManager.deleteByCustomName(customName);
-        return ResponseEntity.ok("Toutes les Sirens avec ce nom ont été supprimées");
+        int deleted = sirenManager.deleteByCustomName(customName);
+        return ResponseEntity.ok(deleted + " Sirens avec ce nom ont été supprimées");
     }
 }
@@ -1,5 +1,6 @@
 package com.SAE.sae.controller.RoomObjects;
 
+import com.SAE.sae.controller.Paging;
 import com.SAE.sae.entity.RoomObjects.Window;
 import com.SAE.sae.service.RoomObjects.WindowManager;
 import lombok.RequiredArgsConstructor;
@@ -22,10 +23,23 @@ public class WindowController {
 
     /**
      * Récupère toutes les entités Window.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste de toutes les Windows.
      */
     @GetMapping
-    public ResponseEntity<List<Window>> getAllWindows() {
+    public ResponseEntity<List<Window>> getAllWindows(@RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(windowManager.findAllAfter(after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(windowManager.findAll(Paging.pageable(page, size, sort, Paging.VOLUME_SORT)));
+        }
         return ResponseEntity.ok(windowManager.findAll());
     }
 
@@ -47,10 +61,24 @@ public class WindowController {
     /**
      * Récupère toutes les Windows associées à une salle (via l'ID de la salle).
      * @param roomId ID de la salle.
+     * @param page Numéro de page (pagination par offset, optionnel).
+     * @param size Taille de page (optionnelle, 100 par défaut, 1000 au plus).
+     * @param sort Tri "propriete[,asc|desc]" (optionnel).
+     * @param after Curseur : ID du dernier élément reçu (pagination par clé, optionnel).
      * @return Liste des Windows dans cette salle.
      */
     @GetMapping("/by-room/{roomId}")
-    public ResponseEntity<List<Window>> getByRoomId(@PathVariable Long roomId) {
+    public ResponseEntity<List<Window>> getByRoomId(@PathVariable Long roomId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer after) {
+        if (after != null) {
+            return Paging.keyset(windowManager.findByRoomIdAfter(roomId.intValue(), after, Paging.size(size)));
+        }
+        if (Paging.isPaged(page, size)) {
+            return Paging.page(windowManager.findByRoomId(roomId.intValue(), Paging.pageable(page, size, sort, Paging.VOLUME_SORT)));
+        }
         return ResponseEntity.ok(windowManager.findByRoomId(roomId));
     }
 
@@ -101,12 +129,12 @@ public class WindowController {
     /**
      * Supprime toutes les Windows avec un nom personnalisé spécifique.
      * @param customName Nom personnalisé.
-     * @return Message de confirmation.
+     * @return Message de confirmation, avec le nombre de suppressions.
      */
     @DeleteMapping("/by-custom-name")
     @Transactional
     public ResponseEntity<String> deleteByCustomName(@RequestParam String customName) {
-        windowManager.deleteByCustomName(customName);
-        return ResponseEntity.ok("Toutes les Windows avec ce nom ont été supprimées");
+        int deleted = windowManager.deleteByCustomName(customName);
+        return ResponseEntity.ok(deleted + " Windows avec ce nom ont été supprimées");
     }
 }
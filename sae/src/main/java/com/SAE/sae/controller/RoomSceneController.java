@@ -0,0 +1,94 @@
+package com.SAE.sae.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.SAE.sae.dto.RoomScene;
+import com.SAE.sae.service.RoomSceneService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contrôleur REST de la scène 3D d'une salle, en JSON ou en binaire (Accept: application/vnd.sae.scene).
+ */
+@RestController
+@RequestMapping("/api/v1/rooms")
+@RequiredArgsConstructor
+public class RoomSceneController {
+    public static final String BINARY_SCENE = "application/vnd.sae.scene";
+
+    private final RoomSceneService roomSceneService;
+
+    /**
+     * Scène de la salle en JSON : dimensions et objets rangés par type.
+     * @param id Identifiant de la Room.
+     * @param ifNoneMatch ETag déjà connu du client.
+     * @return La scène avec son ETag, 304 si l'ETag est toujours valable (sans accès base tant que la version est en mémoire), ou 404 si la salle est inconnue.
+     */
+    @GetMapping(value = "/{id}/scene", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RoomScene> getScene(@PathVariable Integer id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String current = roomSceneService.currentETag(id, false);
+        if (matches(ifNoneMatch, current)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+        }
+        try {
+            RoomSceneService.Snapshot snapshot = roomSceneService.getScene(id);
+            return ResponseEntity.ok().eTag(snapshot.eTag(false)).cacheControl(CacheControl.noCache())
+                    .body(snapshot.getScene());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Scène de la salle au format binaire compact (voir RoomSceneService).
+     * @param id Identifiant de la Room.
+     * @param ifNoneMatch ETag déjà connu du client.
+     * @return La scène encodée avec son ETag, 304 si l'ETag est toujours valable, ou 404 si la salle est inconnue.
+     */
+    @GetMapping(value = "/{id}/scene", produces = BINARY_SCENE)
+    public ResponseEntity<byte[]> getBinaryScene(@PathVariable Integer id,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String current = roomSceneService.currentETag(id, true);
+        if (matches(ifNoneMatch, current)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+        }
+        try {
+            RoomSceneService.Snapshot snapshot = roomSceneService.getScene(id);
+            return ResponseEntity.ok().eTag(snapshot.eTag(true)).cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.parseMediaType(BINARY_SCENE))
+                    .body(snapshot.getBinary());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Comparaison faible de If-None-Match avec l'ETag courant ; * est laissé au cas général
+     * (répondre 304 demanderait de savoir si la salle existe)
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,67 @@
+package com.SAE.sae.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.SAE.sae.dto.SensorHistory;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.service.RollupStep;
+import com.SAE.sae.service.SensorHistoryService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contrôleur REST pour l'historique des mesures des capteurs.
+ */
+@RestController
+@RequestMapping("/api/v1/sensors")
+@RequiredArgsConstructor
+public class SensorHistoryController {
+
+    private final SensorHistoryService sensorHistoryService;
+
+    /**
+     * Historique agrégé d'un capteur (min, max, moyenne et nombre de mesures par intervalle).
+     * @param id Identifiant du capteur.
+     * @param type Type du capteur (SENSOR_CO2, SENSOR_6IN1, SENSOR_9IN1), si l'id est ambigu.
+     * @param metric Métrique voulue ; toutes par défaut.
+     * @param from Début de la période (ISO-8601) ; 24 heures avant la fin par défaut.
+     * @param to Fin de la période (ISO-8601) ; maintenant par défaut.
+     * @param step Pas : 1m, 15m ou 1h ; choisi selon la période par défaut, élargi s'il donnerait trop de points.
+     * @return L'historique, 400 si les paramètres sont invalides, ou 404 si le capteur est inconnu.
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<SensorHistory> getHistory(@PathVariable Integer id,
+                                                    @RequestParam(required = false) RoomObjectType type,
+                                                    @RequestParam(required = false) String metric,
+                                                    @RequestParam(required = false) Instant from,
+                                                    @RequestParam(required = false) Instant to,
+                                                    @RequestParam(required = false) String step) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        RollupStep rollupStep;
+        try {
+            rollupStep = step != null ? RollupStep.fromLabel(step) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(sensorHistoryService.getHistory(id, type, metric, start, end, rollupStep));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.SAE.sae.controller;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.SAE.sae.dto.SpatialMatch;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.service.RoomSpatialIndex;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contrôleur REST des requêtes spatiales sur les objets d'une salle.
+ */
+@RestController
+@RequestMapping("/api/v1/rooms")
+@RequiredArgsConstructor
+public class SpatialQueryController {
+
+    private final RoomSpatialIndex roomSpatialIndex;
+
+    /**
+     * Objets à une distance donnée d'un point.
+     * @param id Identifiant de la Room.
+     * @param radius Distance maximale (mètres) entre le point et la boîte de l'objet.
+     * @param type Types retenus (paramètre répétable) ; tous par défaut.
+     * @return Les objets, du plus proche au plus lointain, 400 si le rayon est négatif, ou 404 si la salle est inconnue.
+     */
+    @GetMapping("/{id}/objects/within")
+    public ResponseEntity<List<SpatialMatch>> within(@PathVariable Integer id,
+                                                     @RequestParam double x,
+                                                     @RequestParam double y,
+                                                     @RequestParam double z,
+                                                     @RequestParam double radius,
+                                                     @RequestParam(required = false) List<RoomObjectType> type) {
+        if (!(radius >= 0) || !Double.isFinite(x + y + z)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(roomSpatialIndex.within(id, x, y, z, radius, types(type)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Les k objets les plus proches d'un point.
+     * @param id Identifiant de la Room.
+     * @param k Nombre d'objets voulus (1 par défaut, 1000 au plus).
+     * @param type Types retenus (paramètre répétable), par exemple SENSOR_CO2 ; tous par défaut.
+     * @return Les objets, du plus proche au plus lointain, 400 si k est invalide, ou 404 si la salle est inconnue.
+     */
+    @GetMapping("/{id}/objects/nearest")
+    public ResponseEntity<List<SpatialMatch>> nearest(@PathVariable Integer id,
+                                                      @RequestParam double x,
+                                                      @RequestParam double y,
+                                                      @RequestParam double z,
+                                                      @RequestParam(defaultValue = "1") int k,
+                                                      @RequestParam(required = false) List<RoomObjectType> type) {
+        if (k < 1 || k > RoomSpatialIndex.MAX_NEIGHBOURS || !Double.isFinite(x + y + z)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(roomSpatialIndex.nearest(id, x, y, z, k, types(type)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private static Set<RoomObjectType> types(List<RoomObjectType> type) {
+        return type == null || type.isEmpty() ? null : EnumSet.copyOf(type);
+    }
+}
@@ -0,0 +1,48 @@
+package com.SAE.sae.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.SAE.sae.dto.TelemetryReading;
+import com.SAE.sae.service.TelemetryIngestionService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contrôleur REST pour l'envoi des mesures des capteurs.
+ */
+@RestController
+@RequestMapping("/api/v1/telemetry")
+@RequiredArgsConstructor
+public class TelemetryController {
+
+    private final TelemetryIngestionService telemetryIngestionService;
+
+    /**
+     * Dépose un lot de mesures ; elles sont écrites en base en arrière-plan.
+     * @param readings Mesures (type et id du capteur, horodatage, métrique, valeur).
+     * @return 202 avec le nombre de mesures acceptées, 400 si une mesure est invalide,
+     * ou 429 si le tampon est plein (le lot entier est à renvoyer plus tard).
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Integer>> ingest(@RequestBody List<TelemetryReading> readings) {
+        try {
+            if (!telemetryIngestionService.submit(readings)) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build();
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.accepted().body(Map.of("accepted", readings.size()));
+    }
+}
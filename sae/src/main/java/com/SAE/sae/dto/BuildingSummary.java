@@ -0,0 +1,18 @@
+package com.SAE.sae.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Représentation résumée d'un bâtiment : son id, son nom et son nombre de salles.
+ * Lue par une requête groupée (BuildingRepository), sans charger les salles ; c'est la représentation
+ * par défaut de GET /api/v1/buildings, des lignes de BuildingView et du tableau de bord.
+ */
+
+@Getter
+@AllArgsConstructor
+public class BuildingSummary {
+    private final Integer id;
+    private final String name;
+    private final long roomCount;
+}
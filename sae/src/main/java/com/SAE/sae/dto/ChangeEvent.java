@@ -0,0 +1,37 @@
+package com.SAE.sae.dto;
+
+import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+
+import lombok.Value;
+
+/**
+ * Changement publié sur le ChangeEventBus : création, modification, suppression d'un objet
+ * ou nouvelles mesures dans une salle.
+ */
+
+@Value
+public class ChangeEvent {
+    Kind kind;
+    /** Type de l'objet concerné, null pour un changement de salle */
+    RoomObjectType objectType;
+    /** Id de l'objet concerné, null pour un changement de salle ou en masse */
+    Integer objectId;
+    /** Salle concernée, null si inconnue (suppressions en masse) : toutes les salles sont notifiées */
+    Integer roomId;
+
+    public enum Kind {
+        CREATED,
+        UPDATED,
+        DELETED,
+        TELEMETRY
+    }
+
+    /**
+     * Événement concernant un objet, dans la salle à laquelle il est rattaché
+     */
+    public static ChangeEvent of(Kind kind, RoomObject roomObject) {
+        Integer roomId = roomObject.getRoom() != null ? roomObject.getRoom().getId() : null;
+        return new ChangeEvent(kind, RoomObjectType.of(roomObject), roomObject.getId(), roomId);
+    }
+}
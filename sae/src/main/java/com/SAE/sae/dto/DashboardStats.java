@@ -0,0 +1,61 @@
+package com.SAE.sae.dto;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+
+import lombok.Getter;
+
+/**
+ * Instantané des compteurs du tableau de bord, calculé en une requête par DashboardStatsService.
+ * Immuable : partagé tel quel entre toutes les sessions.
+ */
+
+@Getter
+public class DashboardStats {
+    private final Map<RoomObjectType, Long> deviceCounts;
+    private final long roomCount;
+    private final List<BuildingSummary> buildings;
+    private final Instant computedAt;
+
+    public DashboardStats(Map<RoomObjectType, Long> deviceCounts, long roomCount,
+                          List<BuildingSummary> buildings, Instant computedAt) {
+        Map<RoomObjectType, Long> counts = new EnumMap<>(RoomObjectType.class);
+        for (RoomObjectType type : RoomObjectType.values()) {
+            counts.put(type, deviceCounts.getOrDefault(type, 0L));
+        }
+        this.deviceCounts = Collections.unmodifiableMap(counts);
+        this.roomCount = roomCount;
+        this.buildings = List.copyOf(buildings);
+        this.computedAt = computedAt;
+    }
+
+    /**
+     * Nombre d'objets d'un type donné
+     */
+    public long getDeviceCount(RoomObjectType type) {
+        return deviceCounts.get(type);
+    }
+
+    /**
+     * Nombre total d'objets, tous types confondus
+     */
+    public long getTotalDevices() {
+        return deviceCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Plus grand nombre d'objets d'un même type (échelle des barres du graphique)
+     */
+    public long getMaxDeviceCount() {
+        return deviceCounts.values().stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    public int getBuildingCount() {
+        return buildings.size();
+    }
+}
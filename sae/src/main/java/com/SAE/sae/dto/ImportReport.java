@@ -0,0 +1,37 @@
+package com.SAE.sae.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compte rendu d'un import de bâtiments : totaux et progression chunk par chunk.
+ * Chaque chunk listé a été commité ; en cas d'erreur, les chunks précédents restent en base.
+ */
+
+@Data
+@NoArgsConstructor
+public class ImportReport {
+    private int buildings;
+    private int rooms;
+    private int objects;
+    private List<Chunk> chunks = new ArrayList<>();
+    private String error;
+
+    /**
+     * Progression d'un chunk commité
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chunk {
+        private int index;
+        private int rooms;
+        private int objects;
+        private int totalObjects;
+        private long durationMs;
+    }
+}
@@ -0,0 +1,36 @@
+package com.SAE.sae.dto;
+
+import lombok.Value;
+
+/**
+ * Nœud de l'arbre de navigation : un bâtiment (avec son nombre de salles) ou une salle.
+ */
+
+@Value
+public class NavigationNode {
+    public enum Kind { BUILDING, ROOM }
+
+    Kind kind;
+    Integer id;
+    String name;
+    long roomCount;
+
+    public static NavigationNode building(Integer id, String name, long roomCount) {
+        return new NavigationNode(Kind.BUILDING, id, name, roomCount);
+    }
+
+    public static NavigationNode room(Integer id, String name) {
+        return new NavigationNode(Kind.ROOM, id, name, 0);
+    }
+
+    public boolean isBuilding() {
+        return kind == Kind.BUILDING;
+    }
+
+    /**
+     * Identifiant unique dans l'arbre (les ids de bâtiments et de salles peuvent se recouper)
+     */
+    public String getKey() {
+        return kind + ":" + id;
+    }
+}
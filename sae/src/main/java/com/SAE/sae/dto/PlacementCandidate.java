@@ -0,0 +1,52 @@
+package com.SAE.sae.dto;
+
+import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.RoomEquipment;
+import com.SAE.sae.entity.transform.IPosition;
+import com.SAE.sae.entity.transform.ISize;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Objet à placer dans une salle, pour la validation d'un agencement.
+ * Un id renseigné désigne un objet existant du même type, dont la position est remplacée.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlacementCandidate implements RoomEquipment {
+    private RoomObjectType type;
+    private Integer id;
+    private String name;
+    private Double posX;
+    private Double posY;
+    private Double posZ;
+    private Double sizeX;
+    private Double sizeY;
+    private Double sizeZ;
+
+    /**
+     * Candidat correspondant à une entité (id null si elle n'est pas encore enregistrée)
+     */
+    public static PlacementCandidate of(RoomObject roomObject) {
+        PlacementCandidate candidate = new PlacementCandidate();
+        candidate.setType(RoomObjectType.of(roomObject));
+        candidate.setId(roomObject.getId() != 0 ? roomObject.getId() : null);
+        candidate.setName(roomObject.getCustomName());
+        if (roomObject instanceof IPosition position) {
+            candidate.setPosX(position.getPosX());
+            candidate.setPosY(position.getPosY());
+            candidate.setPosZ(position.getPosZ());
+        }
+        if (roomObject instanceof ISize size) {
+            candidate.setSizeX(size.getSizeX());
+            candidate.setSizeY(size.getSizeY());
+            candidate.setSizeZ(size.getSizeZ());
+        }
+        return candidate;
+    }
+}
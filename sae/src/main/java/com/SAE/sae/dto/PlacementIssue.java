@@ -0,0 +1,26 @@
+package com.SAE.sae.dto;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+
+import lombok.Value;
+
+/**
+ * Problème de placement : objet hors de sa salle, ou chevauchant un autre objet (other*).
+ */
+
+@Value
+public class PlacementIssue {
+    Kind kind;
+    RoomObjectType type;
+    Integer id;
+    String name;
+    RoomObjectType otherType;
+    Integer otherId;
+    String otherName;
+    String message;
+
+    public enum Kind {
+        OUT_OF_BOUNDS,
+        COLLISION
+    }
+}
@@ -0,0 +1,18 @@
+package com.SAE.sae.dto;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Résultat de la validation de l'agencement d'une salle.
+ */
+
+@Value
+public class PlacementReport {
+    Integer roomId;
+    /** Nombre d'objets placés vérifiés */
+    int checked;
+    boolean valid;
+    List<PlacementIssue> issues;
+}
@@ -0,0 +1,35 @@
+package com.SAE.sae.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+
+import lombok.Value;
+
+/**
+ * Géométrie complète d'une salle pour l'affichage 3D : dimensions et objets rangés par type,
+ * en colonnes (positions et tailles à plat, x, y, z à la suite pour chaque objet).
+ */
+
+@Value
+public class RoomScene {
+    Integer roomId;
+    String name;
+    double width;
+    double length;
+    double height;
+    Map<RoomObjectType, Group> objects;
+
+    /**
+     * Objets d'un même type ; l'objet i occupe les cases 3i à 3i+2 de positions et sizes
+     * (NaN pour une coordonnée absente, sizes null pour les types sans taille)
+     */
+    @Value
+    public static class Group {
+        List<Integer> ids;
+        List<String> names;
+        float[] positions;
+        float[] sizes;
+    }
+}
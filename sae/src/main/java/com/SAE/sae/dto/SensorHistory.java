@@ -0,0 +1,35 @@
+package com.SAE.sae.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+
+import lombok.Value;
+
+/**
+ * Historique agrégé d'un capteur sur une période, à un pas donné.
+ */
+
+@Value
+public class SensorHistory {
+    RoomObjectType sensorType;
+    Integer sensorId;
+    String step;
+    Instant from;
+    Instant to;
+    List<Point> points;
+
+    /**
+     * Agrégat d'une métrique sur un intervalle [bucket, bucket + pas)
+     */
+    @Value
+    public static class Point {
+        String metric;
+        Instant bucket;
+        double min;
+        double max;
+        double avg;
+        long count;
+    }
+}
@@ -0,0 +1,29 @@
+package com.SAE.sae.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+
+import lombok.Value;
+
+/**
+ * Dernières valeurs connues d'un capteur, par métrique.
+ */
+
+@Value
+public class SensorLiveValues {
+    RoomObjectType sensorType;
+    Integer sensorId;
+    Integer roomId;
+    Map<String, MetricValue> metrics;
+
+    /**
+     * Dernière mesure d'une métrique
+     */
+    @Value
+    public static class MetricValue {
+        double value;
+        Instant timestamp;
+    }
+}
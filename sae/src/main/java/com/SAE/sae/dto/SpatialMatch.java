@@ -0,0 +1,18 @@
+package com.SAE.sae.dto;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+
+import lombok.Value;
+
+/**
+ * Objet trouvé par une requête spatiale, avec sa distance au point demandé
+ * (0 si le point est dans sa boîte englobante).
+ */
+
+@Value
+public class SpatialMatch {
+    RoomObjectType type;
+    Integer id;
+    String name;
+    double distance;
+}
@@ -0,0 +1,25 @@
+package com.SAE.sae.dto;
+
+import java.time.Instant;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mesure envoyée par un capteur : le couple (type, id) identifie le capteur,
+ * les ids étant propres à chaque table de RoomObject.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryReading {
+    private RoomObjectType sensorType;
+    private Integer sensorId;
+    private Instant timestamp;
+    private String metric;
+    private Double value;
+}
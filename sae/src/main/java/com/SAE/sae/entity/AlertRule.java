@@ -0,0 +1,45 @@
+package com.SAE.sae.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Classe représentant une règle d'alerte sur une métrique des capteurs,
+ * pour une salle (roomId) ou pour toutes les salles d'un type (roomTypeId).
+ * L'alerte se déclenche à raiseThreshold et retombe à clearThreshold (hystérésis).
+ */
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "t_e_alert_rule_alr")
+public class AlertRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alert_rule_seq")
+    @SequenceGenerator(name = "alert_rule_seq", sequenceName = "t_e_alert_rule_alr_id_seq", allocationSize = 50)
+    private Integer id;
+
+    @Column(name = "alr_metric")
+    private String metric;
+
+    @Column(name = "alr_raise")
+    private double raiseThreshold;
+
+    @Column(name = "alr_clear")
+    private double clearThreshold;
+
+    @Column(name = "fk_room_id")
+    private Integer roomId;
+
+    @Column(name = "fk_room_type_id")
+    private Integer roomTypeId;
+}
@@ -3,33 +3,44 @@ package com.SAE.sae.entity;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.SAE.sae.config.HibernateCacheConfig;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /** 
- * Classe représentant les bâtiments
+ * Classe représentant les bâtiments, et la liste de leurs pièces, dans le cache de second niveau (voir HibernateCacheConfig)
  */
 
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.BUILDINGS)
 @Table(name = "t_e_building_bui")
 public class Building {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "building_seq")
+    @SequenceGenerator(name = "building_seq", sequenceName = "t_e_building_bui_id_seq", allocationSize = 50)
     private Integer id;
 
     private String name;
 
     @OneToMany(targetEntity = Room.class, mappedBy = "building")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.BUILDING_ROOMS)
     private List<Room> rooms = new ArrayList<>();
 
 
@@ -1,29 +1,48 @@
 package com.SAE.sae.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.SAE.sae.config.HibernateCacheConfig;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /** 
- * Classe représentant les pièces
+ * Classe représentant les pièces, dans le cache de second niveau (voir HibernateCacheConfig)
  */
 
 @NoArgsConstructor
-@AllArgsConstructor
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.ROOMS)
 @Table(name = "t_e_room_roo")
 public class Room {
 
+    public Room(Integer id, String name, double width, double length, double height, Building building, int fkRoomTypeId) {
+        this.id = id;
+        this.name = name;
+        this.width = width;
+        this.length = length;
+        this.height = height;
+        this.building = building;
+        this.fkRoomTypeId = fkRoomTypeId;
+    }
+
     public Room(String name, double width, double length, double height, int fkRoomTypeId) {
         this.name = name;
         this.width = width;
@@ -34,7 +53,8 @@ public class Room {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_seq")
+    @SequenceGenerator(name = "room_seq", sequenceName = "t_e_room_roo_id_seq", allocationSize = 50)
     private Integer id;
 
     private String name;
@@ -42,13 +62,29 @@ public class Room {
     private double length;
     private double height;
 
-    @ManyToOne
+    /**
+     * Bâtiment de la pièce, chargé à la demande (findById, findAll et les pages de la grille le chargent d'emblée)
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     @JoinColumn(name = "fk_building_id") 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Building building;
     
 
     private int fkRoomTypeId;
 
+    /**
+     * Type de la pièce, en lecture seule : la colonne est écrite via fkRoomTypeId.
+     * Chargé à la demande, ou d'emblée par RoomRepository.findAll.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "fk_room_type_id", insertable = false, updatable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RoomType roomType;
+
     
 }
@@ -16,6 +16,8 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * CLasse abstraite généralisant tous les objets dans les pièces
@@ -27,14 +29,20 @@ import lombok.Data;
 public abstract class RoomObject {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_object_seq")
-    @SequenceGenerator(name = "room_object_seq", sequenceName = "room_object_seq", allocationSize = 1)
+    @SequenceGenerator(name = "room_object_seq", sequenceName = "room_object_seq", allocationSize = 50)
     protected int id;
 
     @Column(name = "rob_name")
     protected String customName;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    /**
+     * Salle de l'objet, chargée à la demande : les listes n'en ont pas besoin (elle n'est pas sérialisée).
+     * Les chemins qui l'affichent la chargent d'emblée (fetch join ou @EntityGraph des repositories).
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_room")
     @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Room room;
 }
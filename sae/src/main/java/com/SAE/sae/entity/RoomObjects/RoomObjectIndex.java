@@ -0,0 +1,56 @@
+package com.SAE.sae.entity.RoomObjects;
+
+import java.io.Serializable;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Classe représentant une entrée de l'index des objets de salle.
+ * Table en lecture seule, maintenue par des triggers (voir V5__Create_Room_Object_Index.sql).
+ */
+
+@Data
+@Entity
+@Immutable
+@IdClass(RoomObjectIndex.Key.class)
+@Table(name = "t_e_room_object_index")
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomObjectIndex {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type")
+    private RoomObjectType type;
+
+    @Id
+    @Column(name = "id")
+    private Integer objectId;
+
+    @Column(name = "id_room")
+    private Integer roomId;
+
+    @Column(name = "rob_name")
+    private String customName;
+
+    /**
+     * Clé composite : les ids ne sont uniques qu'au sein d'une même table
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private RoomObjectType type;
+        private Integer objectId;
+    }
+}
@@ -0,0 +1,53 @@
+package com.SAE.sae.entity.RoomObjects;
+
+/**
+ * Enumération des types concrets de RoomObject.
+ * Sert de discriminant pour les requêtes polymorphes qui ne passent pas par Hibernate.
+ */
+
+public enum RoomObjectType {
+    LAMP(Lamp.class),
+    PLUG(Plug.class),
+    SENSOR_CO2(SensorCO2.class),
+    SENSOR_6IN1(Sensor6in1.class),
+    SENSOR_9IN1(Sensor9in1.class),
+    HEATER(Heater.class),
+    WINDOW(Window.class),
+    DOOR(Door.class),
+    DATA_TABLE(DataTable.class),
+    SIREN(Siren.class);
+
+    private final Class<? extends RoomObject> entityClass;
+
+    RoomObjectType(Class<? extends RoomObject> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Classe d'entité JPA associée à ce type
+     */
+    public Class<? extends RoomObject> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Indique si ce type est un capteur produisant des mesures (télémétrie)
+     */
+    public boolean isSensor() {
+        return this == SENSOR_CO2 || this == SENSOR_6IN1 || this == SENSOR_9IN1;
+    }
+
+    /**
+     * Retrouve le type d'un objet à partir de sa classe concrète
+     * @param roomObject l'objet dont on cherche le type
+     * @return le type correspondant
+     */
+    public static RoomObjectType of(RoomObject roomObject) {
+        for (RoomObjectType type : values()) {
+            if (type.entityClass.isInstance(roomObject)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Type d'objet inconnu : " + roomObject.getClass().getSimpleName());
+    }
+}
@@ -29,6 +29,10 @@ public class Siren  extends RoomObject implements IPosition{
     @Column(name = "sir_posz")
     private Double posZ;
 
+    /** Alerte en cours, pilotée par l'AlertEngine (jamais écrite par l'API CRUD) */
+    @Column(name = "sir_alert_active", insertable = false, updatable = false)
+    private Boolean alertActive;
+
     public Siren(String name){
         this.customName = name;
     }
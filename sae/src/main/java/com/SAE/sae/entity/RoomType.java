@@ -1,26 +1,36 @@
 package com.SAE.sae.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.SAE.sae.config.HibernateCacheConfig;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /** 
- * Classe représentant les types de pièces
+ * Classe représentant les types de pièces, dans le cache de second niveau (voir HibernateCacheConfig)
  */
 
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.ROOM_TYPES)
 @Table(name = "t_e_room_type_rty")
 public class RoomType {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_type_seq")
+    @SequenceGenerator(name = "room_type_seq", sequenceName = "t_e_room_type_rty_id_seq", allocationSize = 50)
     private int id;
 
     private String name;
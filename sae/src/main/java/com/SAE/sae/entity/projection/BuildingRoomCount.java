@@ -0,0 +1,13 @@
+package com.SAE.sae.entity.projection;
+
+/**
+ * Projection d'un bâtiment avec son nombre de salles
+ */
+
+public interface BuildingRoomCount {
+    Integer getId();
+
+    String getName();
+
+    Long getRoomCount();
+}
@@ -0,0 +1,18 @@
+package com.SAE.sae.entity.projection;
+
+/**
+ * Ligne de la requête groupée du tableau de bord.
+ * - kind = DEVICE : key = type d'objet, total = nombre d'objets de ce type ;
+ * - kind = BUILDING : key = id du bâtiment, label = son nom, total = nombre de salles ;
+ * - kind = ROOM : total = nombre total de salles (bâtiment ou non).
+ */
+
+public interface DashboardCount {
+    String getKind();
+
+    String getKey();
+
+    String getLabel();
+
+    Long getTotal();
+}
@@ -0,0 +1,10 @@
+package com.SAE.sae.entity.projection;
+
+/**
+ * Ligne de grille d'un équipement : ses champs à plat et le nom de sa salle, lus par jointure
+ * sans charger d'entité.
+ */
+
+public interface EquipmentRow extends PlacedEquipment {
+    String getRoomName();
+}
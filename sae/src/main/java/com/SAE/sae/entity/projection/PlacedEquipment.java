@@ -0,0 +1,9 @@
+package com.SAE.sae.entity.projection;
+
+/**
+ * Équipement avec sa salle, pour traiter plusieurs salles en une seule requête.
+ */
+
+public interface PlacedEquipment extends RoomEquipment {
+    Integer getRoomId();
+}
@@ -0,0 +1,28 @@
+package com.SAE.sae.entity.projection;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+
+/**
+ * Projection à plat d'un équipement de salle, quel que soit son type concret.
+ * Les tailles sont nulles pour les objets qui n'implémentent pas ISize.
+ */
+
+public interface RoomEquipment {
+    RoomObjectType getType();
+
+    Integer getId();
+
+    String getName();
+
+    Double getPosX();
+
+    Double getPosY();
+
+    Double getPosZ();
+
+    Double getSizeX();
+
+    Double getSizeY();
+
+    Double getSizeZ();
+}
@@ -0,0 +1,13 @@
+package com.SAE.sae.entity.projection;
+
+/**
+ * Projection d'une salle réduite à son id et à ceux de son bâtiment et de son type
+ */
+
+public interface RoomPlacement {
+    Integer getId();
+
+    Integer getBuildingId();
+
+    Integer getRoomTypeId();
+}
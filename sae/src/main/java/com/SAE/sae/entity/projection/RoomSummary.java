@@ -0,0 +1,11 @@
+package com.SAE.sae.entity.projection;
+
+/**
+ * Projection minimale d'une salle (id et nom), pour les listes de navigation
+ */
+
+public interface RoomSummary {
+    Integer getId();
+
+    String getName();
+}
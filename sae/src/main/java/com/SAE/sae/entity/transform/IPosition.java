@@ -5,7 +5,7 @@ package com.SAE.sae.entity.transform;
  */
 
 public interface IPosition {
-        public double posX = 0;
-        public double posY = 0;
-        public double posZ = 0;
+        Double getPosX();
+        Double getPosY();
+        Double getPosZ();
 }
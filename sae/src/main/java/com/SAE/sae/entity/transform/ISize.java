@@ -6,7 +6,7 @@ package com.SAE.sae.entity.transform;
 
 public interface ISize
     {
-        public double sizeX = 0;
-        public double sizeY = 0;
-        public double sizeZ = 0;
+        Double getSizeX();
+        Double getSizeY();
+        Double getSizeZ();
     }
@@ -0,0 +1,10 @@
+package com.SAE.sae.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.SAE.sae.entity.AlertRule;
+
+@Repository
+public interface AlertRuleRepository extends JpaRepository<AlertRule, Integer> {
+}
@@ -3,12 +3,18 @@ package com.SAE.sae.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.SAE.sae.dto.BuildingSummary;
 import com.SAE.sae.entity.Building;
+import com.SAE.sae.entity.projection.BuildingRoomCount;
+import com.SAE.sae.entity.projection.DashboardCount;
 
 @Repository
 public interface BuildingRepository extends JpaRepository<Building, Integer> {
@@ -75,9 +81,108 @@ public interface BuildingRepository extends JpaRepository<Building, Integer> {
 
 
     /**
-     * Supprimer les buildings par nom personnalisé
+     * Tous les bâtiments avec leurs salles, chargées par une seule jointure (GET /api/v1/buildings?expand=rooms)
+     */
+    @Query("SELECT DISTINCT b FROM Building b LEFT JOIN FETCH b.rooms ORDER BY b.id")
+    List<Building> findAllWithRooms();
+
+    /**
+     * Résumés de tous les bâtiments (id, nom, nombre de salles) triés par ID, en une requête groupée
+     */
+    @Query("""
+            SELECT new com.SAE.sae.dto.BuildingSummary(b.id, b.name, COUNT(r.id))
+            FROM Building b LEFT JOIN Room r ON r.building = b
+            GROUP BY b.id, b.name
+            ORDER BY b.id
+            """)
+    List<BuildingSummary> findAllSummaries();
+
+    /**
+     * Trouver une page de résumés de bâtiments triés par ID
+     */
+    @Query("""
+            SELECT new com.SAE.sae.dto.BuildingSummary(b.id, b.name, COUNT(r.id))
+            FROM Building b LEFT JOIN Room r ON r.building = b
+            GROUP BY b.id, b.name
+            ORDER BY b.id
+            """)
+    List<BuildingSummary> findSummaryPage(Pageable pageable);
+
+    /**
+     * Trouver une page de résumés de bâtiments dont le nom correspond au motif ou dont l'ID vaut id (voir SearchPatterns)
+     */
+    @Query("""
+            SELECT new com.SAE.sae.dto.BuildingSummary(b.id, b.name, COUNT(r.id))
+            FROM Building b LEFT JOIN Room r ON r.building = b
+            WHERE LOWER(b.name) LIKE :pattern ESCAPE '!'
+               OR b.id = :id
+            GROUP BY b.id, b.name
+            ORDER BY b.id
+            """)
+    List<BuildingSummary> searchSummaries(@Param("pattern") String pattern, @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Compter les bâtiments correspondant au motif de search
+     */
+    @Query("""
+            SELECT COUNT(b) FROM Building b
+            WHERE LOWER(b.name) LIKE :pattern ESCAPE '!'
+               OR b.id = :id
+            """)
+    long countSearch(@Param("pattern") String pattern, @Param("id") Integer id);
+
+    /**
+     * Ids de tous les bâtiments
+     */
+    @Query("SELECT b.id FROM Building b")
+    List<Integer> findAllIds();
+
+    /**
+     * Tous les bâtiments avec leur nombre de salles, en une requête groupée
+     */
+    @Query("""
+            SELECT b.id AS id, b.name AS name, COUNT(r.id) AS roomCount
+            FROM Building b LEFT JOIN Room r ON r.building = b
+            GROUP BY b.id, b.name
+            ORDER BY b.name, b.id
+            """)
+    List<BuildingRoomCount> findAllWithRoomCount();
+
+    /**
+     * Compteurs du tableau de bord en une seule requête : objets par type (index t_e_room_object_index),
+     * salles par bâtiment et nombre total de salles
+     */
+    @Query(value = """
+            SELECT 'DEVICE' AS "kind", type AS "key", NULL AS "label", COUNT(*) AS "total"
+            FROM t_e_room_object_index
+            GROUP BY type
+            UNION ALL
+            SELECT 'BUILDING', CAST(b.id AS varchar), b.name, COUNT(r.id)
+            FROM t_e_building_bui b
+            LEFT JOIN t_e_room_roo r ON r.fk_building_id = b.id
+            GROUP BY b.id, b.name
+            UNION ALL
+            SELECT 'ROOM', NULL, NULL, COUNT(*)
+            FROM t_e_room_roo
+            """, nativeQuery = true)
+    List<DashboardCount> countDashboard();
+
+    /**
+     * Supprimer un building en une seule requête ; ses pièces, leurs objets et leurs règles d'alerte
+     * sont supprimés en cascade par la base (ON DELETE CASCADE)
+     * @return le nombre de buildings supprimés (0 ou 1)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Building b WHERE b.id = :id")
+    int deleteCascadeById(@Param("id") Integer id);
+
+    /**
+     * Supprimer les buildings par nom personnalisé, en une seule requête (cascade comme deleteCascadeById)
+     * @return le nombre de buildings supprimés
      */
     @Modifying
     @Transactional
-    void deleteByName(String name);
+    @Query("DELETE FROM Building b WHERE b.name = :name")
+    int deleteByName(@Param("name") String name);
 }
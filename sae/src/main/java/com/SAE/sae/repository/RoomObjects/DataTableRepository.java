@@ -3,13 +3,15 @@ package com.SAE.sae.repository.RoomObjects;
 import com.SAE.sae.entity.RoomObjects.DataTable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
-public interface DataTableRepository extends JpaRepository<DataTable, Integer> {
+public interface DataTableRepository extends JpaRepository<DataTable, Integer>, RoomObjectSliceRepository<DataTable> {
 
     // ========== REQUÊTES PERSONNALISÉES ==========
 
@@ -29,9 +31,11 @@ public interface DataTableRepository extends JpaRepository<DataTable, Integer> {
     List<DataTable> findByCustomName(String customName);
 
     /**
-     * Supprimer les tables par nom personnalisé
+     * Supprimer les tables par nom personnalisé, en une seule requête
+     * @return le nombre de lignes supprimées
      */
     @Modifying
     @Transactional
-    void deleteByCustomName(String customName);
+    @Query("DELETE FROM DataTable o WHERE o.customName = :customName")
+    int deleteByCustomName(@Param("customName") String customName);
 }
@@ -3,13 +3,15 @@ package com.SAE.sae.repository.RoomObjects;
 import com.SAE.sae.entity.RoomObjects.Heater;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
-public interface HeaterRepository extends JpaRepository<Heater, Integer> {
+public interface HeaterRepository extends JpaRepository<Heater, Integer>, RoomObjectSliceRepository<Heater> {
 
     // ========== REQUÊTES PERSONNALISÉES ==========
 
@@ -29,9 +31,11 @@ public interface HeaterRepository extends JpaRepository<Heater, Integer> {
     List<Heater> findByCustomName(String customName);
 
     /**
-     * Supprimer les chauffages par nom personnalisé
+     * Supprimer les chauffages par nom personnalisé, en une seule requête
+     * @return le nombre de lignes supprimées
      */
     @Modifying
     @Transactional
-    void deleteByCustomName(String customName);
+    @Query("DELETE FROM Heater o WHERE o.customName = :customName")
+    int deleteByCustomName(@Param("customName") String customName);
 }
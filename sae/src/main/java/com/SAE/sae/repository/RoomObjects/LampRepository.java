@@ -3,13 +3,15 @@ package com.SAE.sae.repository.RoomObjects;
 import com.SAE.sae.entity.RoomObjects.Lamp;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
-public interface LampRepository extends JpaRepository<Lamp, Integer> {
+public interface LampRepository extends JpaRepository<Lamp, Integer>, RoomObjectSliceRepository<Lamp> {
 
     // ========== REQUÊTES PERSONNALISÉES ==========
 
@@ -29,9 +31,11 @@ public interface LampRepository extends JpaRepository<Lamp, Integer> {
     List<Lamp> findByCustomName(String customName);
 
     /**
-     * Supprimer les lampes par nom personnalisé
+     * Supprimer les lampes par nom personnalisé, en une seule requête
+     * @return le nombre de lignes supprimées
      */
     @Modifying
     @Transactional
-    void deleteByCustomName(String customName);
+    @Query("DELETE FROM Lamp o WHERE o.customName = :customName")
+    int deleteByCustomName(@Param("customName") String customName);
 }
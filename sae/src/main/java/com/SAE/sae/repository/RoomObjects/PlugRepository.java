@@ -3,13 +3,15 @@ package com.SAE.sae.repository.RoomObjects;
 import com.SAE.sae.entity.RoomObjects.Plug;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
-public interface PlugRepository extends JpaRepository<Plug, Integer> {
+public interface PlugRepository extends JpaRepository<Plug, Integer>, RoomObjectSliceRepository<Plug> {
 
     // ========== REQUÊTES PERSONNALISÉES ==========
 
@@ -30,9 +32,11 @@ public interface PlugRepository extends JpaRepository<Plug, Integer> {
 
 
     /**
-     * Supprimer les prises par nom personnalisé
+     * Supprimer les prises par nom personnalisé, en une seule requête
+     * @return le nombre de lignes supprimées
      */
     @Modifying
     @Transactional
-    void deleteByCustomName(String customName);
+    @Query("DELETE FROM Plug o WHERE o.customName = :customName")
+    int deleteByCustomName(@Param("customName") String customName);
 }
@@ -0,0 +1,75 @@
+package com.SAE.sae.repository.RoomObjects;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectIndex;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomObjectIndexRepository extends JpaRepository<RoomObjectIndex, RoomObjectIndex.Key> {
+
+    // ========== REQUÊTES PERSONNALISÉES ==========
+
+    /**
+     * Trouver les entrées d'index portant cet ID (un par table au plus)
+     */
+    List<RoomObjectIndex> findByObjectId(Integer objectId);
+
+    /**
+     * Trouver les entrées d'index d'une salle spécifique
+     */
+    List<RoomObjectIndex> findByRoomId(Integer roomId);
+
+    /**
+     * Trouver les entrées d'index des types donnés
+     */
+    List<RoomObjectIndex> findByTypeIn(Collection<RoomObjectType> types);
+
+    /**
+     * Trouver les entrées d'index par nom personnalisé exact
+     */
+    List<RoomObjectIndex> findByCustomName(String customName);
+
+    /**
+     * Types des objets portant ce nom personnalisé exact
+     */
+    @Query("SELECT DISTINCT i.type FROM RoomObjectIndex i WHERE i.customName = :customName")
+    List<RoomObjectType> findTypesByCustomName(@Param("customName") String customName);
+
+    /**
+     * Page d'entrées d'index, triée par (ID, type)
+     */
+    Slice<RoomObjectIndex> findAllByOrderByObjectIdAscTypeAsc(Pageable pageable);
+
+    /**
+     * Page d'entrées d'index d'une salle, triée par (ID, type)
+     */
+    Slice<RoomObjectIndex> findByRoomIdOrderByObjectIdAscTypeAsc(Integer roomId, Pageable pageable);
+
+    /**
+     * Entrées d'index d'ID supérieur au curseur (pagination par clé)
+     */
+    Slice<RoomObjectIndex> findByObjectIdGreaterThanOrderByObjectIdAscTypeAsc(Integer afterId, Pageable pageable);
+
+    /**
+     * Entrées d'index d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    Slice<RoomObjectIndex> findByRoomIdAndObjectIdGreaterThanOrderByObjectIdAscTypeAsc(Integer roomId, Integer afterId, Pageable pageable);
+
+    /**
+     * Entrées d'index d'une salle portant cet ID
+     */
+    List<RoomObjectIndex> findByRoomIdAndObjectId(Integer roomId, Integer objectId);
+
+    /**
+     * Vérifier l'existence d'un objet, tous types confondus, par son ID
+     */
+    boolean existsByObjectId(Integer objectId);
+}
@@ -1,12 +1,24 @@
 package com.SAE.sae.repository.RoomObjects;
 
 import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.projection.PlacedEquipment;
+import com.SAE.sae.entity.projection.RoomEquipment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface RoomObjectRepository extends JpaRepository<RoomObject, Integer> {
@@ -24,14 +36,79 @@ public interface RoomObjectRepository extends JpaRepository<RoomObject, Integer>
     List<RoomObject> findByRoom_Id(Long roomId);
 
     /**
-     * Trouver les objets par nom personnalisé exact
+     * Trouver tous les équipements d'une salle, tous types confondus, en une seule requête
+     * (vue v_room_equipment, voir V4__Create_Room_Equipment_View.sql)
      */
-    List<RoomObject> findByCustomName(String customName);
+    @Query(value = """
+            SELECT type AS "type", id AS "id", rob_name AS "name",
+                   posx AS "posX", posy AS "posY", posz AS "posZ",
+                   sizex AS "sizeX", sizey AS "sizeY", sizez AS "sizeZ"
+            FROM v_room_equipment
+            WHERE id_room = :roomId
+            """, nativeQuery = true)
+    List<RoomEquipment> findEquipmentByRoomId(@Param("roomId") Integer roomId);
+
+    /**
+     * Trouver les équipements de plusieurs salles en une seule requête, avec leur salle
+     */
+    @Query(value = """
+            SELECT type AS "type", id AS "id", id_room AS "roomId", rob_name AS "name",
+                   posx AS "posX", posy AS "posY", posz AS "posZ",
+                   sizex AS "sizeX", sizey AS "sizeY", sizez AS "sizeZ"
+            FROM v_room_equipment
+            WHERE id_room IN (:roomIds)
+            """, nativeQuery = true)
+    List<PlacedEquipment> findEquipmentByRoomIdIn(@Param("roomIds") Collection<Integer> roomIds);
+
+    /**
+     * Trouver une page de lignes de grille d'un type d'objet, triées par ID, avec le nom de leur salle
+     * (projection : ni l'objet ni sa salle ne sont chargés comme entités)
+     * @param type nom du RoomObjectType
+     */
+    @Query(value = """
+            SELECT e.type AS "type", e.id AS "id", e.id_room AS "roomId", r.name AS "roomName", e.rob_name AS "name",
+                   e.posx AS "posX", e.posy AS "posY", e.posz AS "posZ",
+                   e.sizex AS "sizeX", e.sizey AS "sizeY", e.sizez AS "sizeZ"
+            FROM v_room_equipment e LEFT JOIN t_e_room_roo r ON r.id = e.id_room
+            WHERE e.type = :type
+            ORDER BY e.id
+            """, nativeQuery = true)
+    List<EquipmentRow> findRows(@Param("type") String type, Pageable pageable);
 
     /**
-     * Supprimer les objets par nom personnalisé
+     * Trouver une page de lignes de grille d'un type d'objet dont le nom ou le nom de la salle
+     * correspond au motif, ou dont l'ID vaut id (voir SearchPatterns), triées par ID
+     * @param type nom du RoomObjectType
+     * @param id ID recherché, null si le terme n'est pas numérique
      */
-    @Modifying
-    @Transactional
-    void deleteByCustomName(String customName);
+    @Query(value = """
+            SELECT e.type AS "type", e.id AS "id", e.id_room AS "roomId", r.name AS "roomName", e.rob_name AS "name",
+                   e.posx AS "posX", e.posy AS "posY", e.posz AS "posZ",
+                   e.sizex AS "sizeX", e.sizey AS "sizeY", e.sizez AS "sizeZ"
+            FROM v_room_equipment e LEFT JOIN t_e_room_roo r ON r.id = e.id_room
+            WHERE e.type = :type
+              AND (LOWER(e.rob_name) LIKE :pattern ESCAPE '!'
+                   OR LOWER(r.name) LIKE :pattern ESCAPE '!'
+                   OR e.id = :id)
+            ORDER BY e.id
+            """, nativeQuery = true)
+    List<EquipmentRow> searchRows(@Param("type") String type, @Param("pattern") String pattern, @Param("id") Integer id,
+                                  Pageable pageable);
+
+    /**
+     * Parcourir tous les objets en flux, sans les charger tous en mémoire.
+     * La salle n'est pas chargée : son ID est lu sur la référence paresseuse.
+     * Doit être consommé dans une transaction, puis fermé.
+     */
+    @Query("SELECT o FROM RoomObject o")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<RoomObject> streamAll();
+
+    /**
+     * Trouver les objets par nom personnalisé exact
+     */
+    List<RoomObject> findByCustomName(String customName);
 }
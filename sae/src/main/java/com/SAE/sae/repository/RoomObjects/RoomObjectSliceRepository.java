@@ -0,0 +1,77 @@
+package com.SAE.sae.repository.RoomObjects;
+
+import com.SAE.sae.entity.RoomObjects.RoomObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Requêtes paginées communes à tous les repositories d'objets de salle.
+ * Les Slice évitent la requête COUNT d'une Page ; les méthodes "IdGreaterThan"
+ * servent à la pagination par clé (curseur after=id), stable quel que soit le volume.
+ */
+@NoRepositoryBean
+public interface RoomObjectSliceRepository<T extends RoomObject> {
+
+    /**
+     * Trouver un objet avec sa salle (éditeurs)
+     */
+    @EntityGraph(attributePaths = "room")
+    Optional<T> findWithRoomById(Integer id);
+
+    /**
+     * Trouver une page d'objets
+     */
+    Slice<T> findAllBy(Pageable pageable);
+
+    /**
+     * Trouver les objets d'ID supérieur au curseur, triés par ID
+     */
+    Slice<T> findByIdGreaterThanOrderByIdAsc(Integer afterId, Pageable pageable);
+
+    /**
+     * Trouver une page d'objets d'une salle
+     */
+    Slice<T> findByRoom_Id(Integer roomId, Pageable pageable);
+
+    /**
+     * Trouver les objets d'une salle d'ID supérieur au curseur, triés par ID
+     */
+    Slice<T> findByRoom_IdAndIdGreaterThanOrderByIdAsc(Integer roomId, Integer afterId, Pageable pageable);
+
+    /**
+     * Trouver une page d'objets triés par ID, avec leur salle
+     */
+    @Query("SELECT o FROM #{#entityName} o LEFT JOIN FETCH o.room ORDER BY o.id")
+    List<T> findAllWithRoom(Pageable pageable);
+
+    /**
+     * Trouver une page d'objets dont le nom ou le nom de la salle correspond au motif,
+     * ou dont l'ID vaut id (voir SearchPatterns), triés par ID, avec leur salle
+     */
+    @Query("""
+            SELECT o FROM #{#entityName} o LEFT JOIN FETCH o.room r
+            WHERE LOWER(o.customName) LIKE :pattern ESCAPE '!'
+               OR LOWER(r.name) LIKE :pattern ESCAPE '!'
+               OR o.id = :id
+            ORDER BY o.id
+            """)
+    List<T> search(@Param("pattern") String pattern, @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Compter les objets correspondant au motif de search
+     */
+    @Query("""
+            SELECT COUNT(o) FROM #{#entityName} o LEFT JOIN o.room r
+            WHERE LOWER(o.customName) LIKE :pattern ESCAPE '!'
+               OR LOWER(r.name) LIKE :pattern ESCAPE '!'
+               OR o.id = :id
+            """)
+    long countSearch(@Param("pattern") String pattern, @Param("id") Integer id);
+}
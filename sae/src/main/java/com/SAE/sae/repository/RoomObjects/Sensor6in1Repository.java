@@ -3,13 +3,15 @@ package com.SAE.sae.repository.RoomObjects;
 import com.SAE.sae.entity.RoomObjects.Sensor6in1;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
-public interface Sensor6in1Repository extends JpaRepository<Sensor6in1, Integer> {
+public interface Sensor6in1Repository extends JpaRepository<Sensor6in1, Integer>, RoomObjectSliceRepository<Sensor6in1> {
 
     // ========== REQUÊTES PERSONNALISÉES ==========
 
@@ -29,9 +31,11 @@ public interface Sensor6in1Repository extends JpaRepository<Sensor6in1, Integer>
     List<Sensor6in1> findByCustomName(String customName);
 
     /**
-     * Supprimer les capteurs par nom personnalisé
+     * Supprimer les capteurs par nom personnalisé, en une seule requête
+     * @return le nombre de lignes supprimées
      */
     @Modifying
     @Transactional
-    void deleteByCustomName(String customName);
+    @Query("DELETE FROM Sensor6in1 o WHERE o.customName = :customName")
+    int deleteByCustomName(@Param("customName") String customName);
 }
@@ -3,13 +3,15 @@ package com.SAE.sae.repository.RoomObjects;
 import com.SAE.sae.entity.RoomObjects.SensorCO2;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
-public interface SensorCO2Repository extends JpaRepository<SensorCO2, Integer> {
+public interface SensorCO2Repository extends JpaRepository<SensorCO2, Integer>, RoomObjectSliceRepository<SensorCO2> {
 
     // ========== REQUÊTES PERSONNALISÉES ==========
 
@@ -29,9 +31,11 @@ public interface SensorCO2Repository extends JpaRepository<SensorCO2, Integer> {
     List<SensorCO2> findByCustomName(String customName);
 
     /**
-     * Supprimer les capteurs CO₂ par nom personnalisé
+     * Supprimer les capteurs CO₂ par nom personnalisé, en une seule requête
+     * @return le nombre de lignes supprimées
      */
     @Modifying
     @Transactional
-    void deleteByCustomName(String customName);
+    @Query("DELETE FROM SensorCO2 o WHERE o.customName = :customName")
+    int deleteByCustomName(@Param("customName") String customName);
 }
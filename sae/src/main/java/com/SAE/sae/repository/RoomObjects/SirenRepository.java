@@ -1,15 +1,22 @@
 package com.SAE.sae.repository.RoomObjects;
 
 import com.SAE.sae.entity.RoomObjects.Siren;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
-public interface SirenRepository extends JpaRepository<Siren, Integer> {
+public interface SirenRepository extends JpaRepository<Siren, Integer>, RoomObjectSliceRepository<Siren> {
 
     // ========== REQUÊTES PERSONNALISÉES ==========
 
@@ -29,9 +36,31 @@ public interface SirenRepository extends JpaRepository<Siren, Integer> {
     List<Siren> findByCustomName(String customName);
 
     /**
-     * Supprimer les sirènes par nom personnalisé
+     * Activer ou couper l'alerte de toutes les sirènes d'une salle.
+     * La table modifiée est déclarée à Hibernate, qui sinon viderait tout le cache de second niveau
+     * @return le nombre de sirènes modifiées
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE t_e_siren_sir SET sir_alert_active = :active WHERE id_room = :roomId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "t_e_siren_sir"))
+    int updateAlertActiveByRoomId(@Param("roomId") Integer roomId, @Param("active") boolean active);
+
+    /**
+     * Couper l'alerte de toutes les sirènes
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE t_e_siren_sir SET sir_alert_active = FALSE WHERE sir_alert_active", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "t_e_siren_sir"))
+    int clearAllAlerts();
+
+    /**
+     * Supprimer les sirènes par nom personnalisé, en une seule requête
+     * @return le nombre de lignes supprimées
      */
     @Modifying
     @Transactional
-    void deleteByCustomName(String customName);
+    @Query("DELETE FROM Siren o WHERE o.customName = :customName")
+    int deleteByCustomName(@Param("customName") String customName);
 }
@@ -1,25 +1,128 @@
 package com.SAE.sae.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.SAE.sae.config.HibernateCacheConfig;
 import com.SAE.sae.entity.Room;
+import com.SAE.sae.entity.projection.RoomPlacement;
+import com.SAE.sae.entity.projection.RoomSummary;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Integer> {
     /**
-     * Méthode permettant de trouver les pièces d'un bâtiment en fonction de son Id
+     * Toutes les pièces, avec leur bâtiment et leur type chargés dans la même requête
+     * @return Une liste de toutes les pièces
+     */
+    @Override
+    @EntityGraph(attributePaths = {"building", "roomType"})
+    List<Room> findAll();
+
+    /**
+     * Une pièce avec son bâtiment (affiché par les vues)
+     * @param id l'Id de la pièce
+     * @return la pièce, vide si elle n'existe pas
+     */
+    @Override
+    @EntityGraph(attributePaths = "building")
+    Optional<Room> findById(Integer id);
+
+    /**
+     * Méthode permettant de trouver les pièces d'un bâtiment en fonction de son Id.
+     * Résultat mis en cache (invalidé par toute écriture Hibernate sur la table des pièces)
      * @param buildingId l'Id du bâtiment dans lequel on cherche les pièces
      * @return Une liste des pièces trouvées
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.ROOMS_BY_BUILDING)
+    })
     List<Room> findByBuilding_Id(int buildingId);
 
+    /**
+     * Une page de pièces triées par ID, avec leur bâtiment et leur type
+     * @param pageable la page demandée
+     * @return Les pièces de la page
+     */
+    @Query("SELECT r FROM Room r LEFT JOIN FETCH r.building LEFT JOIN FETCH r.roomType ORDER BY r.id")
+    List<Room> findPage(Pageable pageable);
+
+    /**
+     * Une page de pièces dont le nom, le bâtiment ou le type correspond au motif,
+     * ou dont l'ID vaut id (voir SearchPatterns)
+     * @param pattern motif LIKE en minuscules
+     * @param id ID recherché, null si le terme n'est pas numérique
+     * @param pageable la page demandée
+     * @return Les pièces de la page, avec leur bâtiment et leur type
+     */
+    @Query("""
+            SELECT r FROM Room r LEFT JOIN FETCH r.building b LEFT JOIN FETCH r.roomType t
+            WHERE LOWER(r.name) LIKE :pattern ESCAPE '!'
+               OR LOWER(b.name) LIKE :pattern ESCAPE '!'
+               OR LOWER(t.name) LIKE :pattern ESCAPE '!'
+               OR r.id = :id
+            ORDER BY r.id
+            """)
+    List<Room> search(@Param("pattern") String pattern, @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Nombre de pièces correspondant au motif de search
+     * @param pattern motif LIKE en minuscules
+     * @param id ID recherché, null si le terme n'est pas numérique
+     * @return le nombre de pièces
+     */
+    @Query("""
+            SELECT COUNT(r) FROM Room r LEFT JOIN r.building b LEFT JOIN r.roomType t
+            WHERE LOWER(r.name) LIKE :pattern ESCAPE '!'
+               OR LOWER(b.name) LIKE :pattern ESCAPE '!'
+               OR LOWER(t.name) LIKE :pattern ESCAPE '!'
+               OR r.id = :id
+            """)
+    long countSearch(@Param("pattern") String pattern, @Param("id") Integer id);
+
+    /**
+     * Id et nom des pièces d'un bâtiment, sans charger les entités
+     * @param buildingId l'Id du bâtiment
+     * @return Les pièces du bâtiment, triées par nom
+     */
+    @Query("SELECT r.id AS id, r.name AS name FROM Room r WHERE r.building.id = :buildingId ORDER BY r.name, r.id")
+    List<RoomSummary> findSummariesByBuildingId(@Param("buildingId") int buildingId);
+
+    /**
+     * Id de chaque pièce, de son bâtiment et de son type, sans charger les entités
+     * @return Toutes les pièces
+     */
+    @Query("SELECT r.id AS id, r.building.id AS buildingId, r.fkRoomTypeId AS roomTypeId FROM Room r")
+    List<RoomPlacement> findAllPlacements();
+
     /**
      * Méthode permetttant de trouver les pièces qui portent le nom cherché
      * @param name nom des pièces à trovuer
      * @return Une liste des pièces trouvées
      */
     List<Room> findByName(String name);
+
+    /**
+     * Supprimer une pièce en une seule requête ; ses objets et ses règles d'alerte
+     * sont supprimés en cascade par la base (ON DELETE CASCADE)
+     * @param id l'Id de la pièce
+     * @return le nombre de pièces supprimées (0 ou 1)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Room r WHERE r.id = :id")
+    int deleteCascadeById(@Param("id") Integer id);
 }
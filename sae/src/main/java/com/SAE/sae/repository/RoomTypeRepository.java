@@ -1,6 +1,11 @@
 package com.SAE.sae.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.SAE.sae.entity.RoomType;
 
@@ -9,5 +14,31 @@ import com.SAE.sae.entity.RoomType;
  */
 
 public interface RoomTypeRepository extends JpaRepository<RoomType, Integer>{
-    
+
+    /**
+     * Une page de RoomTypes triés par ID
+     */
+    @Query("SELECT t FROM RoomType t ORDER BY t.id")
+    List<RoomType> findPage(Pageable pageable);
+
+    /**
+     * Une page de RoomTypes dont le nom correspond au motif ou dont l'ID vaut id (voir SearchPatterns)
+     */
+    @Query("""
+            SELECT t FROM RoomType t
+            WHERE LOWER(t.name) LIKE :pattern ESCAPE '!'
+               OR t.id = :id
+            ORDER BY t.id
+            """)
+    List<RoomType> search(@Param("pattern") String pattern, @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Nombre de RoomTypes correspondant au motif de search
+     */
+    @Query("""
+            SELECT COUNT(t) FROM RoomType t
+            WHERE LOWER(t.name) LIKE :pattern ESCAPE '!'
+               OR t.id = :id
+            """)
+    long countSearch(@Param("pattern") String pattern, @Param("id") Integer id);
 }
@@ -0,0 +1,46 @@
+package com.SAE.sae.repository;
+
+import java.util.Locale;
+
+/**
+ * Construction des motifs LIKE des recherches insensibles à la casse.
+ * Les requêtes comparent LOWER(colonne) au motif avec ESCAPE '!' ;
+ * les colonnes recherchées sont couvertes par des index trigrammes (V7__Search_Indexes.sql).
+ * Les IDs ne sont jamais comparés par LIKE (la conversion en texte empêcherait l'usage de ces index) :
+ * un terme numérique est aussi cherché par égalité sur l'ID, servie par la clé primaire.
+ */
+public final class SearchPatterns {
+
+    private SearchPatterns() {
+    }
+
+    /**
+     * Indique si un terme de recherche est vide (pas de filtre)
+     */
+    public static boolean isBlank(String term) {
+        return term == null || term.isBlank();
+    }
+
+    /**
+     * Motif "contient", en minuscules, avec les caractères spéciaux de LIKE échappés
+     */
+    public static String contains(String term) {
+        String escaped = term.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * ID recherché si le terme est un entier positif, null sinon (aucun ID ne correspond)
+     */
+    public static Integer id(String term) {
+        String trimmed = term.trim();
+        if (trimmed.isEmpty() || trimmed.length() > 10 || !trimmed.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return null;
+        }
+        long value = Long.parseLong(trimmed);
+        return value <= Integer.MAX_VALUE ? (int) value : null;
+    }
+}
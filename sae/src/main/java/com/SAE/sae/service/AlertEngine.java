@@ -0,0 +1,429 @@
+package com.SAE.sae.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.SAE.sae.dto.ChangeEvent;
+import com.SAE.sae.dto.TelemetryReading;
+import com.SAE.sae.entity.AlertRule;
+import com.SAE.sae.entity.RoomObjects.RoomObjectIndex;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.RoomPlacement;
+import com.SAE.sae.repository.AlertRuleRepository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectIndexRepository;
+import com.SAE.sae.repository.RoomObjects.SirenRepository;
+import com.SAE.sae.repository.RoomRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moteur d'alertes sur les mesures des capteurs CO2 et 6 en 1.
+ * <p>
+ * Les règles (par salle ou par type de salle) sont compilées en un évaluateur par capteur, rangé dans
+ * un tableau indexé par id : chaque mesure coûte une lecture de tableau et une comparaison, sans allocation.
+ * Les mesures sans règle sont écartées dès le thread d'ingestion ; les autres sont confiées à une partition
+ * choisie par id de salle (sae.alerts.partitions threads, une file bornée chacune), ce qui garde l'ordre
+ * des mesures d'une salle et laisse l'état de chaque salle à un seul thread.
+ * <p>
+ * Une recompilation ne touche pas à cet état : les nouvelles règles sont remises à chaque partition
+ * par sa file, comme les mesures, et c'est son thread qui y reporte l'état de ses salles et ajuste leurs sirènes.
+ * <p>
+ * Quand une salle passe en alerte (au moins une métrique d'un de ses capteurs au-dessus du seuil de
+ * déclenchement), ses sirènes sont activées ; elles sont coupées quand tout est revenu sous les seuils de retour.
+ */
+@Service
+@Slf4j
+public class AlertEngine implements TelemetryListener, SmartLifecycle {
+    private static final EnumSet<RoomObjectType> WATCHED_TYPES =
+            EnumSet.of(RoomObjectType.SENSOR_CO2, RoomObjectType.SENSOR_6IN1);
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final RoomObjectIndexRepository roomObjectIndexRepository;
+    private final RoomRepository roomRepository;
+    private final SirenRepository sirenRepository;
+    private final ChangeEventBus changeEventBus;
+    private final int queueCapacity;
+    private final Partition[] partitions;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile CompiledRules rules = CompiledRules.EMPTY;
+    private volatile boolean running;
+
+    public AlertEngine(AlertRuleRepository alertRuleRepository,
+                       RoomObjectIndexRepository roomObjectIndexRepository,
+                       RoomRepository roomRepository,
+                       SirenRepository sirenRepository,
+                       ChangeEventBus changeEventBus,
+                       @Value("${sae.alerts.partitions:4}") int partitionCount,
+                       @Value("${sae.alerts.queue-capacity:65536}") int queueCapacity) {
+        this.alertRuleRepository = alertRuleRepository;
+        this.roomObjectIndexRepository = roomObjectIndexRepository;
+        this.roomRepository = roomRepository;
+        this.sirenRepository = sirenRepository;
+        this.changeEventBus = changeEventBus;
+        this.queueCapacity = queueCapacity;
+        this.partitions = new Partition[partitionCount];
+    }
+
+    // ========== INGESTION ==========
+
+    /**
+     * Aiguille les mesures surveillées vers la partition de leur salle ; ne bloque jamais
+     */
+    @Override
+    public void onReadings(List<TelemetryReading> readings) {
+        if (!running) {
+            return;
+        }
+        CompiledRules current = rules;
+        for (TelemetryReading reading : readings) {
+            SensorEvaluator evaluator = current.evaluator(reading.getSensorType(), reading.getSensorId());
+            if (evaluator != null && evaluator.indexOf(reading.getMetric()) >= 0
+                    && !partitions[evaluator.room.id % partitions.length].queue.offer(reading)) {
+                droppedCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Nombre de mesures non évaluées faute de place dans les files
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Indique si une salle est en alerte
+     */
+    public boolean isRoomAlerting(int roomId) {
+        RoomAlarm room = rules.room(roomId);
+        return room != null && room.sirensOn;
+    }
+
+    // ========== COMPILATION ==========
+
+    /**
+     * Recompile les règles (après une modification des règles, des salles ou des capteurs).
+     * L'état d'alerte de chaque capteur et de chaque salle est conservé : chaque partition le reporte
+     * dans les nouvelles règles en les recevant (voir Partition.install).
+     */
+    @Scheduled(fixedDelayString = "${sae.alerts.recompile-interval:30s}", initialDelayString = "${sae.alerts.recompile-interval:30s}")
+    public synchronized void recompile() {
+        Map<Integer, Integer> roomTypes = new HashMap<>();
+        for (RoomPlacement room : roomRepository.findAllPlacements()) {
+            roomTypes.put(room.getId(), room.getRoomTypeId());
+        }
+        Map<Integer, Map<String, AlertRule>> byRoom = new HashMap<>();
+        Map<Integer, Map<String, AlertRule>> byRoomType = new HashMap<>();
+        for (AlertRule rule : alertRuleRepository.findAll()) {
+            Map<Integer, Map<String, AlertRule>> target = rule.getRoomId() != null ? byRoom : byRoomType;
+            Integer key = rule.getRoomId() != null ? rule.getRoomId() : rule.getRoomTypeId();
+            target.computeIfAbsent(key, k -> new HashMap<>()).put(rule.getMetric(), rule);
+        }
+
+        List<RoomObjectIndex> sensors = roomObjectIndexRepository.findByTypeIn(WATCHED_TYPES);
+        SensorEvaluator[][] byType = new SensorEvaluator[RoomObjectType.values().length][];
+        for (RoomObjectType type : WATCHED_TYPES) {
+            int maxId = sensors.stream().filter(s -> s.getType() == type)
+                    .mapToInt(RoomObjectIndex::getObjectId).max().orElse(-1);
+            byType[type.ordinal()] = new SensorEvaluator[maxId + 1];
+        }
+        int maxRoomId = roomTypes.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1);
+        RoomAlarm[] rooms = new RoomAlarm[maxRoomId + 1];
+
+        for (RoomObjectIndex sensor : sensors) {
+            Integer roomId = sensor.getRoomId();
+            if (roomId == null || !roomTypes.containsKey(roomId)) {
+                continue;
+            }
+            // Règles du type de la salle, remplacées métrique par métrique par celles de la salle
+            Map<String, AlertRule> effective = new HashMap<>(byRoomType.getOrDefault(roomTypes.get(roomId), Map.of()));
+            effective.putAll(byRoom.getOrDefault(roomId, Map.of()));
+            if (effective.isEmpty()) {
+                continue;
+            }
+            if (rooms[roomId] == null) {
+                rooms[roomId] = new RoomAlarm(roomId);
+            }
+            byType[sensor.getType().ordinal()][sensor.getObjectId()] =
+                    new SensorEvaluator(rooms[roomId], new ArrayList<>(effective.values()));
+        }
+
+        CompiledRules compiled = new CompiledRules(byType, rooms);
+        // Remises avant la publication : une mesure aiguillée par les nouvelles règles arrive après elles dans sa file
+        for (Partition partition : partitions) {
+            if (running && partition != null) {
+                partition.send(compiled);
+            }
+        }
+        rules = compiled;
+        log.debug("Règles d'alerte compilées : {} salles surveillées",
+                Arrays.stream(rooms).filter(r -> r != null).count());
+    }
+
+    // ========== ÉVALUATION ==========
+
+    private void setSirens(int roomId, boolean active) {
+        sirenRepository.updateAlertActiveByRoomId(roomId, active);
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.UPDATED, RoomObjectType.SIREN, null, roomId));
+    }
+
+    // ========== CYCLE DE VIE ==========
+
+    /**
+     * L'état d'alerte n'est pas persisté : les sirènes repartent coupées et se rallument à la prochaine mesure
+     */
+    @Override
+    public synchronized void start() {
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i);
+            partitions[i].thread.start();
+        }
+        running = true;
+        try {
+            sirenRepository.clearAllAlerts();
+            recompile();
+        } catch (RuntimeException e) {
+            log.warn("Compilation initiale des règles d'alerte impossible", e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (Partition partition : partitions) {
+            if (partition != null) {
+                partition.thread.interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Une partition : une file bornée (mesures et règles recompilées) et le thread qui la vide,
+     * seul à lire et modifier l'état d'alerte des salles de la partition
+     */
+    private final class Partition {
+        private final int index;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+        /** Règles en vigueur pour cette partition, remplacées dans l'ordre de la file */
+        private CompiledRules current = CompiledRules.EMPTY;
+
+        Partition(int index) {
+            this.index = index;
+            this.thread = new Thread(this::run, "alert-engine-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Remet de nouvelles règles à la partition ; attend une place dans la file si elle est pleine
+         */
+        void send(CompiledRules compiled) {
+            try {
+                queue.put(compiled);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Recompilation des règles d'alerte interrompue", e);
+            }
+        }
+
+        private void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Object message = queue.take();
+                    if (message instanceof CompiledRules compiled) {
+                        install(compiled);
+                    } else {
+                        evaluate((TelemetryReading) message);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Échec de l'évaluation d'une mesure", e);
+                }
+            }
+        }
+
+        private boolean owns(int roomId) {
+            return roomId % partitions.length == index;
+        }
+
+        /**
+         * Reporte l'état d'alerte des capteurs et des salles de la partition dans les nouvelles règles,
+         * puis ajuste les sirènes des salles dont l'état a changé (règle modifiée ou supprimée, capteur déplacé)
+         */
+        private void install(CompiledRules compiled) {
+            CompiledRules previous = current;
+            RoomObjectType[] types = RoomObjectType.values();
+            for (int t = 0; t < compiled.byType().length; t++) {
+                SensorEvaluator[] ofType = compiled.byType()[t];
+                for (int id = 0; ofType != null && id < ofType.length; id++) {
+                    SensorEvaluator evaluator = ofType[id];
+                    if (evaluator != null && owns(evaluator.room.id)) {
+                        evaluator.restore(previous.evaluator(types[t], id));
+                        evaluator.room.activeCount += evaluator.activeCount();
+                    }
+                }
+            }
+            for (RoomAlarm room : compiled.rooms()) {
+                if (room == null || !owns(room.id)) {
+                    continue;
+                }
+                RoomAlarm old = previous.room(room.id);
+                room.sirensOn = old != null && old.sirensOn;
+                boolean shouldSound = room.activeCount > 0;
+                if (shouldSound != room.sirensOn) {
+                    setSirens(room.id, shouldSound);
+                    room.sirensOn = shouldSound;
+                }
+            }
+            // Salles qui ne sont plus surveillées
+            for (RoomAlarm old : previous.rooms()) {
+                if (old != null && owns(old.id) && old.sirensOn && compiled.room(old.id) == null) {
+                    setSirens(old.id, false);
+                }
+            }
+            current = compiled;
+        }
+
+        /**
+         * Évalue une mesure d'une salle de la partition.
+         * Une mesure aiguillée avec les règles précédentes peut désigner, dans les nouvelles, un capteur
+         * déplacé dans une salle d'une autre partition : elle est écartée, l'état de cette salle n'appartient qu'à son thread.
+         */
+        private void evaluate(TelemetryReading reading) {
+            SensorEvaluator evaluator = current.evaluator(reading.getSensorType(), reading.getSensorId());
+            if (evaluator == null) {
+                return;
+            }
+            if (!owns(evaluator.room.id)) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            int metric = evaluator.indexOf(reading.getMetric());
+            if (metric < 0) {
+                return;
+            }
+            RoomAlarm room = evaluator.room;
+            double value = reading.getValue();
+            if (!evaluator.alerting[metric] && value >= evaluator.raise[metric]) {
+                evaluator.alerting[metric] = true;
+                room.activeCount++;
+                log.info("Alerte {} dans la salle {} : {} {} = {}", reading.getMetric(), room.id,
+                        reading.getSensorType(), reading.getSensorId(), value);
+            } else if (evaluator.alerting[metric] && value <= evaluator.clear[metric]) {
+                evaluator.alerting[metric] = false;
+                room.activeCount--;
+                log.info("Fin d'alerte {} dans la salle {} : {} {} = {}", reading.getMetric(), room.id,
+                        reading.getSensorType(), reading.getSensorId(), value);
+            }
+            boolean shouldSound = room.activeCount > 0;
+            if (shouldSound != room.sirensOn) {
+                setSirens(room.id, shouldSound);
+                room.sirensOn = shouldSound;
+            }
+        }
+    }
+
+    /**
+     * Règles compilées : évaluateurs par type et id de capteur, état d'alerte par id de salle
+     */
+    private record CompiledRules(SensorEvaluator[][] byType, RoomAlarm[] rooms) {
+        static final CompiledRules EMPTY = new CompiledRules(new SensorEvaluator[RoomObjectType.values().length][], new RoomAlarm[0]);
+
+        SensorEvaluator evaluator(RoomObjectType type, Integer id) {
+            SensorEvaluator[] ofType = type == null || id == null ? null : byType[type.ordinal()];
+            return ofType != null && id >= 0 && id < ofType.length ? ofType[id] : null;
+        }
+
+        RoomAlarm room(int roomId) {
+            return roomId >= 0 && roomId < rooms.length ? rooms[roomId] : null;
+        }
+    }
+
+    /**
+     * État d'alerte d'une salle, modifié uniquement par le thread de sa partition
+     */
+    private static final class RoomAlarm {
+        private final int id;
+        /** Nombre de (capteur, métrique) en alerte */
+        private int activeCount;
+        private volatile boolean sirensOn;
+
+        RoomAlarm(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Règles applicables à un capteur, une case par métrique surveillée
+     */
+    private static final class SensorEvaluator {
+        private final RoomAlarm room;
+        private final String[] metrics;
+        private final double[] raise;
+        private final double[] clear;
+        private final boolean[] alerting;
+
+        SensorEvaluator(RoomAlarm room, List<AlertRule> rules) {
+            this.room = room;
+            int size = rules.size();
+            this.metrics = new String[size];
+            this.raise = new double[size];
+            this.clear = new double[size];
+            this.alerting = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                AlertRule rule = rules.get(i);
+                metrics[i] = rule.getMetric();
+                raise[i] = rule.getRaiseThreshold();
+                clear[i] = rule.getClearThreshold();
+            }
+        }
+
+        /**
+         * Reprend l'état d'alerte de l'évaluateur précédent du même capteur, métrique par métrique
+         */
+        void restore(SensorEvaluator previous) {
+            for (int i = 0; i < metrics.length; i++) {
+                int before = previous == null ? -1 : previous.indexOf(metrics[i]);
+                alerting[i] = before >= 0 && previous.alerting[before];
+            }
+        }
+
+        int indexOf(String metric) {
+            for (int i = 0; i < metrics.length; i++) {
+                if (metrics[i].equals(metric)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int activeCount() {
+            int count = 0;
+            for (boolean active : alerting) {
+                if (active) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.SAE.sae.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.SAE.sae.entity.AlertRule;
+import com.SAE.sae.repository.AlertRuleRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gestion des règles d'alerte ; chaque modification recompile le moteur d'alertes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlertRuleManager {
+    private final AlertRuleRepository alertRuleRepo;
+    private final AlertEngine alertEngine;
+
+    /**
+     * Récupére toutes les règles d'alerte
+     * @return une liste de règles
+     */
+    public List<AlertRule> getAllRules(){
+        return alertRuleRepo.findAll();
+    }
+
+    /**
+     * Récupére une règle avec son id
+     * @param id
+     * @return la règle
+     * @throws IllegalArgumentException si la règle n'existe pas
+     */
+    public AlertRule getRuleById(int id){
+        return alertRuleRepo.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("AlertRule not found with ID: " + id));
+    }
+
+    /**
+     * Enregistre une règle (création ou mise à jour)
+     * @param rule la règle
+     * @return la règle enregistrée
+     * @throws IllegalArgumentException si la règle est invalide
+     */
+    public AlertRule saveRule(AlertRule rule){
+        validate(rule);
+        AlertRule saved = alertRuleRepo.save(rule);
+        log.info("alertRule with id {} saved sucessfully.", saved.getId());
+        alertEngine.recompile();
+        return saved;
+    }
+
+    /**
+     * Supprime une règle par id
+     * @param id de la règle à supprimer
+     */
+    public void deleteRuleById(int id){
+        alertRuleRepo.deleteById(id);
+        log.info("alertRule with id {} has been deleted sucessfully.", id);
+        alertEngine.recompile();
+    }
+
+    private void validate(AlertRule rule){
+        if (rule.getMetric() == null || rule.getMetric().isBlank()) {
+            throw new IllegalArgumentException("La métrique est obligatoire");
+        }
+        if ((rule.getRoomId() == null) == (rule.getRoomTypeId() == null)) {
+            throw new IllegalArgumentException("Une règle vise soit une salle, soit un type de salle");
+        }
+        if (rule.getClearThreshold() > rule.getRaiseThreshold()) {
+            throw new IllegalArgumentException("Le seuil de retour doit être inférieur ou égal au seuil de déclenchement");
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.SAE.sae.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.SAE.sae.dto.ImportReport;
+import com.SAE.sae.entity.Building;
+import com.SAE.sae.entity.Room;
+import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.service.RoomObjects.RoomObjectManager;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Import en masse d'arborescences bâtiment / salles / objets.
+ * Le document est lu en flux et persisté par chunks, chacun dans sa propre transaction,
+ * avec les saveAll des managers : un chunk est commité dès qu'il atteint chunk-size salles ou chunk-size objets,
+ * le contexte de persistance ne grossit jamais au-delà.
+ *
+ * Deux formats sont acceptés :
+ * - JSON : un bâtiment ou un tableau de bâtiments
+ *   {"name": ..., "rooms": [{"name": ..., "width": ..., "objects": [{"type": "LAMP", "custom_name": ..., "pos_x": ...}]}]}
+ *   (les champs "rooms" et "objects" doivent venir après les autres champs de leur objet) ;
+ * - NDJSON : une ligne par élément, rattaché au dernier bâtiment / à la dernière salle lus
+ *   {"building": {...}} / {"room": {...}} / {"object": {"type": ..., ...}}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BuildingImportService {
+    private final BuildingManager buildingManager;
+    private final RoomManager roomManager;
+    private final RoomObjectManager roomObjectManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${sae.import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Importe un document JSON (un bâtiment ou un tableau de bâtiments)
+     * @param in flux du document
+     * @return le compte rendu de l'import
+     */
+    public ImportReport importJson(InputStream in) {
+        ImportSession session = new ImportSession();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readBuilding(parser, session);
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                readBuilding(parser, session);
+            } else {
+                throw new IllegalArgumentException("Un bâtiment ou un tableau de bâtiments est attendu");
+            }
+            session.flush();
+        } catch (IOException | RuntimeException e) {
+            session.fail(e);
+        }
+        return session.report;
+    }
+
+    /**
+     * Importe un document NDJSON (une ligne par bâtiment, salle ou objet)
+     * @param in flux du document
+     * @return le compte rendu de l'import
+     */
+    public ImportReport importNdjson(InputStream in) {
+        ImportSession session = new ImportSession();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode line = objectMapper.readTree(parser);
+                if (line.has("building")) {
+                    session.addBuilding(line.get("building"));
+                } else if (line.has("room")) {
+                    session.addRoom(line.get("room"));
+                } else if (line.has("object")) {
+                    session.addObject(line.get("object"));
+                } else {
+                    throw new IllegalArgumentException("Ligne inconnue : " + line);
+                }
+            }
+            session.flush();
+        } catch (IOException | RuntimeException e) {
+            session.fail(e);
+        }
+        return session.report;
+    }
+
+    /**
+     * Lit un bâtiment, le parser étant positionné sur son START_OBJECT
+     */
+    private void readBuilding(JsonParser parser, ImportSession session) throws IOException {
+        ObjectNode fields = objectMapper.createObjectNode();
+        boolean saved = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("rooms".equals(field)) {
+                session.addBuilding(fields);
+                saved = true;
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readRoom(parser, session);
+                }
+            } else {
+                fields.set(field, objectMapper.readTree(parser));
+            }
+        }
+        if (!saved) {
+            session.addBuilding(fields);
+        }
+    }
+
+    /**
+     * Lit une salle, le parser étant positionné sur son START_OBJECT
+     */
+    private void readRoom(JsonParser parser, ImportSession session) throws IOException {
+        ObjectNode fields = objectMapper.createObjectNode();
+        boolean added = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("objects".equals(field)) {
+                session.addRoom(fields);
+                added = true;
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    session.addObject(objectMapper.readTree(parser));
+                }
+            } else {
+                fields.set(field, objectMapper.readTree(parser));
+            }
+        }
+        if (!added) {
+            session.addRoom(fields);
+        }
+    }
+
+    /**
+     * État d'un import en cours : bâtiment et salle courants, éléments en attente du prochain commit
+     */
+    private class ImportSession {
+        private final ImportReport report = new ImportReport();
+        private final List<Room> pendingRooms = new ArrayList<>();
+        private final List<RoomObject> pendingObjects = new ArrayList<>();
+        private Building currentBuilding;
+        private Room currentRoom;
+
+        void addBuilding(JsonNode node) throws IOException {
+            flush();
+            Building building = objectMapper.treeToValue(node, Building.class);
+            building.setId(null);
+            currentBuilding = buildingManager.saveBuilding(building);
+            currentRoom = null;
+            report.setBuildings(report.getBuildings() + 1);
+        }
+
+        void addRoom(JsonNode node) throws IOException {
+            if (currentBuilding == null) {
+                throw new IllegalArgumentException("Salle sans bâtiment : " + node);
+            }
+            Room room = objectMapper.treeToValue(node, Room.class);
+            room.setId(null);
+            room.setBuilding(currentBuilding);
+            pendingRooms.add(room);
+            currentRoom = room;
+            if (pendingRooms.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void addObject(JsonNode node) throws IOException {
+            if (currentRoom == null) {
+                throw new IllegalArgumentException("Objet sans salle : " + node);
+            }
+            if (!node.hasNonNull("type")) {
+                throw new IllegalArgumentException("Objet sans type : " + node);
+            }
+            RoomObjectType type = RoomObjectType.valueOf(node.get("type").asText());
+            RoomObject roomObject = objectMapper.treeToValue(node, type.getEntityClass());
+            roomObject.setId(0);
+            roomObject.setRoom(currentRoom);
+            pendingObjects.add(roomObject);
+            if (pendingObjects.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Commite les salles et objets en attente dans une transaction dédiée
+         */
+        void flush() {
+            if (pendingRooms.isEmpty() && pendingObjects.isEmpty()) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            transactionTemplate.executeWithoutResult(status -> {
+                roomManager.saveAllRooms(pendingRooms);
+                roomObjectManager.saveAll(pendingObjects);
+            });
+
+            report.setRooms(report.getRooms() + pendingRooms.size());
+            report.setObjects(report.getObjects() + pendingObjects.size());
+            ImportReport.Chunk chunk = new ImportReport.Chunk(report.getChunks().size() + 1,
+                    pendingRooms.size(), pendingObjects.size(), report.getObjects(),
+                    System.currentTimeMillis() - start);
+            report.getChunks().add(chunk);
+            log.info("import chunk {} committed: {} rooms, {} objects ({} objects total) in {} ms",
+                    chunk.getIndex(), chunk.getRooms(), chunk.getObjects(), chunk.getTotalObjects(), chunk.getDurationMs());
+
+            pendingRooms.clear();
+            pendingObjects.clear();
+        }
+
+        void fail(Exception e) {
+            log.error("import failed after {} committed chunk(s): {}", report.getChunks().size(), e.getMessage());
+            report.setError(e.getMessage());
+        }
+    }
+}
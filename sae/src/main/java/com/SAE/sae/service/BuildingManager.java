@@ -2,9 +2,21 @@ package com.SAE.sae.service;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.Cache;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.SAE.sae.config.HibernateCacheConfig;
+import com.SAE.sae.dto.BuildingSummary;
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.Building;
+import com.SAE.sae.entity.Room;
 import com.SAE.sae.repository.BuildingRepository;
+import com.SAE.sae.repository.SearchPatterns;
+
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -13,6 +25,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class BuildingManager {
     private final BuildingRepository buildingRepo;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeEventBus changeEventBus;
 
     /**
      * Récupére tous les Buildings
@@ -21,6 +35,45 @@ public class BuildingManager {
         return buildingRepo.findAll();
     }
 
+    /**
+     * Récupére tous les Buildings avec leurs pièces, chargées en une seule requête
+     */
+    public List<Building> getAllBuildingsWithRooms(){
+        return buildingRepo.findAllWithRooms();
+    }
+
+    /**
+     * Récupére le résumé (id, nom, nombre de pièces) de tous les Buildings, triés par id
+     */
+    public List<BuildingSummary> getBuildingSummaries(){
+        return buildingRepo.findAllSummaries();
+    }
+
+    /**
+     * Récupére une page de résumés de buildings, filtrée en base (insensible à la casse)
+     * @param filter terme recherché, ou null pour tous
+     * @param pageable la page demandée
+     * @return les résumés des buildings de la page
+     */
+    public List<BuildingSummary> searchBuildingSummaries(String filter, Pageable pageable){
+        if (SearchPatterns.isBlank(filter)) {
+            return buildingRepo.findSummaryPage(pageable);
+        }
+        return buildingRepo.searchSummaries(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compte les buildings correspondant au filtre de searchBuildingSummaries
+     * @param filter terme recherché, ou null pour tous
+     * @return le nombre de buildings
+     */
+    public long countBuildings(String filter){
+        if (SearchPatterns.isBlank(filter)) {
+            return buildingRepo.count();
+        }
+        return buildingRepo.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
     /**
      * Récupére un building avec son id
      * @param id
@@ -44,9 +97,22 @@ public class BuildingManager {
     public Building saveBuilding (Building building){
         Building savedbuilding = buildingRepo.save(building);
         log.info("building with id {} saved wucessfully.", building.getId());
+        changeEventBus.publishBuilding(ChangeEvent.Kind.CREATED);
         return savedbuilding;
     }
 
+    /**
+     * Enregistre une liste de Buildings en une seule transaction (insertions par lots)
+     * @param buildings a ajouter
+     * @return les buildings ajoutés dans la base
+     */
+    public List<Building> saveAllBuildings(List<Building> buildings){
+        List<Building> savedbuildings = buildingRepo.saveAll(buildings);
+        log.info("{} buildings saved sucessfully.", savedbuildings.size());
+        changeEventBus.publishBuilding(ChangeEvent.Kind.CREATED);
+        return savedbuildings;
+    }
+
     /**
      * Met à jour un building
      * @param building modifié
@@ -57,17 +123,25 @@ public class BuildingManager {
 
         Building updatedbuilding = buildingRepo.save(building);
         log.info("building with id {} has been updated sucessfully.", building.getId());
+        changeEventBus.publishBuilding(ChangeEvent.Kind.UPDATED);
 
         return updatedbuilding;
     }
 
     /**
-     * Supprime un building par id
+     * Supprime un building par id, en une seule requête : ses pièces et leurs objets sont supprimés en cascade par la base
      * @param id du building à supprimer
+     * @return true si le building existait
      */
-    public void deleteBuildingById(int id){
-        buildingRepo.deleteById(id);
+    public boolean deleteBuildingById(int id){
+        int deleted = buildingRepo.deleteCascadeById(id);
+        if (deleted == 0) {
+            log.error("building with id {} doesn't exist.", id);
+            return false;
+        }
+        evictCascadedRooms();
         log.info("building with id {} has been deleted sucessfully.", id);
+        return true;
     }
 
     /**
@@ -81,11 +155,44 @@ public class BuildingManager {
     }
 
     /**
-     * Supprime les buildings avec ce nom
+     * Supprime les buildings avec ce nom, en une seule requête (suppression en cascade comme deleteBuildingById)
      * @param name des buildings à supprimer
+     * @return le nombre de buildings supprimés
      */
-    public void deleteBuildingsByName(String name){
-        log.info("Deleted all buildings named " + name);
-        buildingRepo.deleteByName(name);
+    public int deleteBuildingsByName(String name){
+        int deleted = buildingRepo.deleteByName(name);
+        if (deleted > 0) {
+            evictCascadedRooms();
+        }
+        log.info("Deleted {} buildings named {}", deleted, name);
+        return deleted;
+    }
+
+    /**
+     * Les pièces d'un building supprimé le sont en cascade par la base, sans qu'Hibernate le sache :
+     * on retire du cache de second niveau les pièces et les listes de pièces par building,
+     * et les vues sont notifiées comme pour une suppression en masse (salles inconnues).
+     * Dans une transaction, le cache n'est vidé qu'après la validation : vidé avant, il serait aussitôt
+     * rempli à nouveau par des lectures qui voient encore les pièces supprimées.
+     */
+    private void evictCascadedRooms(){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictRooms();
+                }
+            });
+        } else {
+            evictRooms();
+        }
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, null, null, null));
+        changeEventBus.publishBuilding(ChangeEvent.Kind.DELETED);
+    }
+
+    private void evictRooms(){
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictEntityData(Room.class);
+        cache.evictQueryRegion(HibernateCacheConfig.ROOMS_BY_BUILDING);
     }
 }
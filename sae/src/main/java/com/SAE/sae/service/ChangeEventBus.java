@@ -0,0 +1,157 @@
+package com.SAE.sae.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.SAE.sae.dto.ChangeEvent;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.vaadin.flow.shared.Registration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bus applicatif des changements, pour pousser les mises à jour vers les vues ouvertes.
+ * <p>
+ * On s'abonne à une salle (tous les changements et mesures de cette salle), à un type d'objet
+ * (créations, modifications, suppressions de ce type, et suppressions de salles qui emportent leurs objets), à tous les changements hors mesures
+ * (index et caches côté serveur) ou aux changements de bâtiments. Les abonnés sont appelés sur le thread
+ * qui publie : ils doivent rendre la main rapidement (voir UiUpdateCoalescer).
+ * <p>
+ * Publié dans une transaction, un changement n'est remis qu'après sa validation (et jamais si elle est annulée) :
+ * les abonnés qui relisent la base y trouvent toujours le changement.
+ */
+@Service
+@Slf4j
+public class ChangeEventBus {
+
+    private final Map<Integer, List<Consumer<ChangeEvent>>> roomSubscribers = new ConcurrentHashMap<>();
+    private final Map<RoomObjectType, List<Consumer<ChangeEvent>>> typeSubscribers = new ConcurrentHashMap<>();
+    private final List<Consumer<ChangeEvent>> globalSubscribers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<ChangeEvent>> buildingSubscribers = new CopyOnWriteArrayList<>();
+
+    // ========== ABONNEMENTS ==========
+
+    /**
+     * S'abonner aux changements d'une salle
+     * @return l'enregistrement à retirer quand la vue est détachée
+     */
+    public Registration subscribeRoom(int roomId, Consumer<ChangeEvent> listener) {
+        return subscribe(roomSubscribers, roomId, listener);
+    }
+
+    /**
+     * S'abonner aux créations, modifications et suppressions d'un type d'objet
+     * @return l'enregistrement à retirer quand la vue est détachée
+     */
+    public Registration subscribeType(RoomObjectType type, Consumer<ChangeEvent> listener) {
+        return subscribe(typeSubscribers, type, listener);
+    }
+
+    /**
+     * S'abonner à toutes les créations, modifications et suppressions (objets et salles), sans les mesures
+     * @return l'enregistrement à retirer
+     */
+    public Registration subscribeAll(Consumer<ChangeEvent> listener) {
+        globalSubscribers.add(listener);
+        return () -> globalSubscribers.remove(listener);
+    }
+
+    /**
+     * S'abonner aux changements de bâtiments : création, modification, suppression, ajout de salles en masse
+     * @return l'enregistrement à retirer
+     */
+    public Registration subscribeBuildings(Consumer<ChangeEvent> listener) {
+        buildingSubscribers.add(listener);
+        return () -> buildingSubscribers.remove(listener);
+    }
+
+    /**
+     * Indique si une vue suit cette salle ; évite de construire des événements que personne ne lira
+     */
+    public boolean hasRoomSubscribers(int roomId) {
+        return roomSubscribers.containsKey(roomId);
+    }
+
+    // ========== PUBLICATION ==========
+
+    /**
+     * Publie un changement aux abonnés de sa salle (de toutes les salles si elle est inconnue)
+     * et, hors mesures, aux abonnés de son type et à tous les changements
+     */
+    public void publish(ChangeEvent event) {
+        afterCommit(() -> deliver(event));
+    }
+
+    /**
+     * Publie un changement de bâtiment à ses seuls abonnés : les salles et leurs objets ne sont pas concernés
+     */
+    public void publishBuilding(ChangeEvent.Kind kind) {
+        afterCommit(() -> notify(buildingSubscribers, new ChangeEvent(kind, null, null, null)));
+    }
+
+    /**
+     * Remet tout de suite hors transaction, à la validation dans une transaction
+     */
+    private void afterCommit(Runnable delivery) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            delivery.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                delivery.run();
+            }
+        });
+    }
+
+    private void deliver(ChangeEvent event) {
+        if (event.getRoomId() != null) {
+            notify(roomSubscribers.get(event.getRoomId()), event);
+        } else {
+            roomSubscribers.values().forEach(listeners -> notify(listeners, event));
+        }
+        if (event.getKind() != ChangeEvent.Kind.TELEMETRY) {
+            if (event.getObjectType() != null) {
+                notify(typeSubscribers.get(event.getObjectType()), event);
+            } else if (event.getKind() == ChangeEvent.Kind.DELETED) {
+                // Salles supprimées (bâtiment compris) : leurs objets de tous types le sont en cascade
+                typeSubscribers.values().forEach(listeners -> notify(listeners, event));
+            }
+            notify(globalSubscribers, event);
+        }
+    }
+
+    private <K> Registration subscribe(Map<K, List<Consumer<ChangeEvent>>> subscribers, K key,
+                                       Consumer<ChangeEvent> listener) {
+        subscribers.compute(key, (k, listeners) -> {
+            List<Consumer<ChangeEvent>> updated = listeners != null ? listeners : new CopyOnWriteArrayList<>();
+            updated.add(listener);
+            return updated;
+        });
+        return () -> subscribers.computeIfPresent(key, (k, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    private void notify(List<Consumer<ChangeEvent>> listeners, ChangeEvent event) {
+        if (listeners == null) {
+            return;
+        }
+        for (Consumer<ChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Abonné en échec sur {}", event, e);
+            }
+        }
+    }
+}
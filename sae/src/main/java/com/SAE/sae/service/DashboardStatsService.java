@@ -0,0 +1,93 @@
+package com.SAE.sae.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.SAE.sae.dto.BuildingSummary;
+import com.SAE.sae.dto.DashboardStats;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.DashboardCount;
+import com.SAE.sae.repository.BuildingRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compteurs du tableau de bord (objets par type, salles par bâtiment, totaux).
+ * Ils sont calculés en une seule requête groupée et gardés en mémoire :
+ * passé le TTL (sae.dashboard.stats-ttl), l'instantané est recalculé en arrière-plan
+ * pendant que l'ancien continue d'être servi. La page d'accueil ne touche donc jamais la base.
+ */
+@Service
+@Slf4j
+public class DashboardStatsService {
+    private static final String KEY = "stats";
+
+    private final BuildingRepository buildingRepository;
+    private final LoadingCache<String, DashboardStats> cache;
+
+    public DashboardStatsService(BuildingRepository buildingRepository,
+                                 @Value("${sae.dashboard.stats-ttl:30s}") Duration ttl) {
+        this.buildingRepository = buildingRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(ttl)
+                .build(key -> compute());
+    }
+
+    /**
+     * Dernier instantané calculé (calculé sur place uniquement au tout premier appel)
+     */
+    public DashboardStats getStats() {
+        return cache.get(KEY);
+    }
+
+    /**
+     * Demande un recalcul en arrière-plan, sans attendre le TTL
+     */
+    public void refresh() {
+        cache.refresh(KEY);
+    }
+
+    /**
+     * Calcule le premier instantané au démarrage pour que la première visite soit servie depuis la mémoire
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    private DashboardStats compute() {
+        long start = System.currentTimeMillis();
+        Map<RoomObjectType, Long> deviceCounts = new EnumMap<>(RoomObjectType.class);
+        List<BuildingSummary> buildings = new ArrayList<>();
+        long roomCount = 0;
+
+        for (DashboardCount row : buildingRepository.countDashboard()) {
+            switch (row.getKind()) {
+                case "DEVICE" -> deviceCounts.put(RoomObjectType.valueOf(row.getKey()), row.getTotal());
+                case "BUILDING" -> buildings.add(new BuildingSummary(
+                        Integer.valueOf(row.getKey()), row.getLabel(), row.getTotal()));
+                case "ROOM" -> roomCount = row.getTotal();
+                default -> log.warn("unknown dashboard row kind {}", row.getKind());
+            }
+        }
+        buildings.sort(Comparator.comparing(BuildingSummary::getId));
+
+        DashboardStats stats = new DashboardStats(deviceCounts, roomCount, buildings, Instant.now());
+        log.debug("dashboard stats computed in {} ms: {} devices, {} rooms, {} buildings",
+                System.currentTimeMillis() - start, stats.getTotalDevices(), roomCount, buildings.size());
+        return stats;
+    }
+}
@@ -0,0 +1,397 @@
+package com.SAE.sae.service;
+
+import java.lang.invoke.VarHandle;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.SAE.sae.dto.ChangeEvent;
+import com.SAE.sae.dto.SensorLiveValues;
+import com.SAE.sae.dto.TelemetryReading;
+import com.SAE.sae.entity.RoomObjects.RoomObjectIndex;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.RoomPlacement;
+import com.SAE.sae.repository.BuildingRepository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectIndexRepository;
+import com.SAE.sae.repository.RoomRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dernière valeur de chaque métrique de chaque capteur, servie sans toucher la base.
+ * <p>
+ * Chaque capteur a un emplacement fixe ({@link SensorSlots}) : un tableau de valeurs et un d'horodatages,
+ * indexés par le numéro de la métrique. Les capteurs sont rangés dans des tableaux indexés par leur id
+ * (un par type) et par salle ; les salles par bâtiment. Cette topologie est relue depuis l'index des objets,
+ * en arrière-plan et en réutilisant les emplacements existants, dès qu'un capteur, une salle ou un bâtiment
+ * change (ChangeEventBus, après validation), et au plus tard toutes les sae.live.topology-ttl
+ * pour les écritures faites hors de l'application.
+ * <p>
+ * Les mesures sont écrites par un seul thread (le TelemetryWriter, après écriture en base) ;
+ * les lectures ne prennent aucun verrou. Au démarrage, avant le writer, les emplacements sont
+ * remplis avec les dernières mesures en base (sur sae.live.warm-window).
+ * Après chaque lot, les salles suivies par une vue reçoivent un événement TELEMETRY sur le ChangeEventBus.
+ */
+@Service
+@Slf4j
+public class LiveSensorStore implements SmartLifecycle {
+    private static final String KEY = "topology";
+    /** Nombre maximum de métriques distinctes suivies */
+    static final int MAX_METRICS = 32;
+    private static final Set<RoomObjectType> SENSOR_TYPES =
+            EnumSet.of(RoomObjectType.SENSOR_CO2, RoomObjectType.SENSOR_6IN1, RoomObjectType.SENSOR_9IN1);
+
+    private final RoomObjectIndexRepository roomObjectIndexRepository;
+    private final RoomRepository roomRepository;
+    private final BuildingRepository buildingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeEventBus changeEventBus;
+    private final Duration warmWindow;
+    private final LoadingCache<String, Topology> topology;
+    /** Nombre de changements de topologie signalés ; chaque topologie retient celui qu'elle a vu */
+    private final AtomicLong topologyChanges = new AtomicLong();
+
+    private final Map<String, Integer> metricIndex = new HashMap<>();
+    private volatile String[] metricNames = new String[0];
+    private volatile boolean running;
+
+    public LiveSensorStore(RoomObjectIndexRepository roomObjectIndexRepository,
+                           RoomRepository roomRepository,
+                           BuildingRepository buildingRepository,
+                           JdbcTemplate jdbcTemplate,
+                           ChangeEventBus changeEventBus,
+                           @Value("${sae.live.topology-ttl:30s}") Duration topologyTtl,
+                           @Value("${sae.live.warm-window:7d}") Duration warmWindow) {
+        this.roomObjectIndexRepository = roomObjectIndexRepository;
+        this.roomRepository = roomRepository;
+        this.buildingRepository = buildingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeEventBus = changeEventBus;
+        this.warmWindow = warmWindow;
+        this.topology = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(topologyTtl)
+                .build(key -> loadTopology());
+        changeEventBus.subscribeAll(event -> {
+            if (event.getObjectType() == null || SENSOR_TYPES.contains(event.getObjectType())) {
+                refreshTopology();
+            }
+        });
+        changeEventBus.subscribeBuildings(event -> refreshTopology());
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Dernières valeurs des capteurs d'une salle
+     * @param roomId l'id de la salle
+     * @throws IllegalArgumentException si la salle est inconnue
+     */
+    public List<SensorLiveValues> getRoomValues(int roomId) {
+        SensorSlots[] sensors = topology.get(KEY).sensorsOfRoom(roomId);
+        if (sensors == null) {
+            throw new IllegalArgumentException("Room not found with ID: " + roomId);
+        }
+        String[] names = metricNames;
+        List<SensorLiveValues> result = new ArrayList<>(sensors.length);
+        for (SensorSlots sensor : sensors) {
+            result.add(sensor.snapshot(names, roomId));
+        }
+        return result;
+    }
+
+    /**
+     * Dernières valeurs des capteurs de toutes les salles d'un bâtiment
+     * @param buildingId l'id du bâtiment
+     * @throws IllegalArgumentException si le bâtiment est inconnu
+     */
+    public List<SensorLiveValues> getBuildingValues(int buildingId) {
+        Topology current = topology.get(KEY);
+        int[] rooms = current.roomsOfBuilding(buildingId);
+        if (rooms == null) {
+            throw new IllegalArgumentException("Building not found with ID: " + buildingId);
+        }
+        String[] names = metricNames;
+        List<SensorLiveValues> result = new ArrayList<>();
+        for (int roomId : rooms) {
+            for (SensorSlots sensor : current.sensorsOfRoom(roomId)) {
+                result.add(sensor.snapshot(names, roomId));
+            }
+        }
+        return result;
+    }
+
+    // ========== ÉCRITURE ==========
+
+    /**
+     * Enregistre des mesures ; à n'appeler que depuis un seul thread à la fois (le TelemetryWriter).
+     * Les mesures de capteurs absents de la topologie courante sont ignorées.
+     */
+    public void update(List<TelemetryReading> readings) {
+        Topology current = topology.get(KEY);
+        BitSet touchedRooms = new BitSet();
+        for (TelemetryReading reading : readings) {
+            SensorSlots sensor = current.sensor(reading.getSensorType(), reading.getSensorId());
+            int metric = metricIndex(reading.getMetric());
+            if (sensor != null && metric >= 0) {
+                sensor.update(metric, reading.getTimestamp().toEpochMilli(), reading.getValue());
+                int roomId = current.roomOf(reading.getSensorType(), reading.getSensorId());
+                if (roomId >= 0) {
+                    touchedRooms.set(roomId);
+                }
+            }
+        }
+        // Un seul événement par salle et par lot, et seulement pour les salles affichées
+        for (int roomId = touchedRooms.nextSetBit(0); roomId >= 0; roomId = touchedRooms.nextSetBit(roomId + 1)) {
+            if (changeEventBus.hasRoomSubscribers(roomId)) {
+                changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.TELEMETRY, null, null, roomId));
+            }
+        }
+    }
+
+    /**
+     * Force la relecture de la topologie (création ou déplacement de capteurs, de salles)
+     */
+    public void refreshTopology() {
+        topologyChanges.incrementAndGet();
+        refreshUntilCurrent();
+    }
+
+    /**
+     * Caffeine rattache une demande de relecture à celle déjà en cours : si celle-ci a commencé
+     * avant le dernier changement signalé, elle peut ne pas le voir, et une nouvelle relecture est lancée
+     */
+    private void refreshUntilCurrent() {
+        topology.refresh(KEY).thenAccept(loaded -> {
+            if (loaded != null && loaded.changes() < topologyChanges.get()) {
+                refreshUntilCurrent();
+            }
+        });
+    }
+
+    // ========== CYCLE DE VIE ==========
+
+    /**
+     * Charge la topologie et les dernières mesures, avant le démarrage du TelemetryWriter
+     */
+    @Override
+    public void start() {
+        try {
+            Topology current = topology.get(KEY);
+            int warmed = warmUp(current);
+            log.info("Valeurs courantes des capteurs chargées : {} mesures", warmed);
+        } catch (RuntimeException e) {
+            log.warn("Préchargement des valeurs courantes des capteurs impossible", e);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Démarré avant le TelemetryWriter, seul autre écrivain
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 8192;
+    }
+
+    private int warmUp(Topology current) {
+        Instant since = Instant.now().minus(warmWindow);
+        return jdbcTemplate.query("""
+                SELECT DISTINCT ON (rea_sensor_type, rea_sensor_id, rea_metric)
+                       rea_sensor_type, rea_sensor_id, rea_metric, rea_ts, rea_value
+                FROM t_e_sensor_reading_rea
+                WHERE rea_ts >= ?
+                ORDER BY rea_sensor_type, rea_sensor_id, rea_metric, rea_ts DESC
+                """, rs -> {
+            int count = 0;
+            while (rs.next()) {
+                SensorSlots sensor = current.sensor(RoomObjectType.valueOf(rs.getString(1)), rs.getInt(2));
+                int metric = metricIndex(rs.getString(3));
+                if (sensor != null && metric >= 0) {
+                    sensor.update(metric, rs.getTimestamp(4).getTime(), rs.getDouble(5));
+                    count++;
+                }
+            }
+            return count;
+        }, Timestamp.from(since));
+    }
+
+    // ========== MÉTRIQUES ==========
+
+    private int metricIndex(String metric) {
+        Integer index = metricIndex.get(metric);
+        if (index != null) {
+            return index;
+        }
+        if (metricIndex.size() >= MAX_METRICS) {
+            return -1;
+        }
+        int created = metricIndex.size();
+        metricIndex.put(metric, created);
+        String[] names = Arrays.copyOf(metricNames, created + 1);
+        names[created] = metric;
+        metricNames = names;
+        return created;
+    }
+
+    // ========== TOPOLOGIE ==========
+
+    private Topology loadTopology() {
+        long changes = topologyChanges.get();
+        Topology previous = topology == null ? null : topology.getIfPresent(KEY);
+
+        List<RoomPlacement> rooms = roomRepository.findAllPlacements();
+        List<Integer> buildingIds = buildingRepository.findAllIds();
+        List<RoomObjectIndex> sensors = roomObjectIndexRepository.findByTypeIn(SENSOR_TYPES);
+
+        Map<Integer, List<SensorSlots>> sensorsByRoom = new HashMap<>();
+        SensorSlots[][] byType = new SensorSlots[RoomObjectType.values().length][];
+        int[][] roomByType = new int[RoomObjectType.values().length][];
+        Map<RoomObjectType, Integer> maxIds = new LinkedHashMap<>();
+        for (RoomObjectIndex entry : sensors) {
+            maxIds.merge(entry.getType(), entry.getObjectId(), Math::max);
+        }
+        maxIds.forEach((type, maxId) -> {
+            byType[type.ordinal()] = new SensorSlots[maxId + 1];
+            roomByType[type.ordinal()] = new int[maxId + 1];
+            Arrays.fill(roomByType[type.ordinal()], -1);
+        });
+        for (RoomObjectIndex entry : sensors) {
+            // Un capteur garde son emplacement d'une topologie à l'autre, même s'il change de salle
+            SensorSlots existing = previous == null ? null : previous.sensor(entry.getType(), entry.getObjectId());
+            SensorSlots slots = existing != null ? existing : new SensorSlots(entry.getType(), entry.getObjectId());
+            byType[entry.getType().ordinal()][entry.getObjectId()] = slots;
+            if (entry.getRoomId() != null) {
+                roomByType[entry.getType().ordinal()][entry.getObjectId()] = entry.getRoomId();
+                sensorsByRoom.computeIfAbsent(entry.getRoomId(), k -> new ArrayList<>()).add(slots);
+            }
+        }
+
+        int maxRoomId = rooms.stream().mapToInt(RoomPlacement::getId).max().orElse(-1);
+        SensorSlots[][] byRoom = new SensorSlots[maxRoomId + 1][];
+        Map<Integer, List<Integer>> roomsByBuildingId = new HashMap<>();
+        for (RoomPlacement room : rooms) {
+            byRoom[room.getId()] = sensorsByRoom.getOrDefault(room.getId(), List.of()).toArray(SensorSlots[]::new);
+            if (room.getBuildingId() != null) {
+                roomsByBuildingId.computeIfAbsent(room.getBuildingId(), k -> new ArrayList<>()).add(room.getId());
+            }
+        }
+
+        int maxBuildingId = buildingIds.stream().mapToInt(Integer::intValue).max().orElse(-1);
+        int[][] roomsByBuilding = new int[maxBuildingId + 1][];
+        for (Integer buildingId : buildingIds) {
+            roomsByBuilding[buildingId] = roomsByBuildingId.getOrDefault(buildingId, List.of()).stream()
+                    .mapToInt(Integer::intValue).toArray();
+        }
+        return new Topology(byType, roomByType, byRoom, roomsByBuilding, changes);
+    }
+
+    /**
+     * Instantané immuable de la répartition des capteurs : tableaux indexés par id
+     */
+    private record Topology(SensorSlots[][] byType, int[][] roomByType, SensorSlots[][] byRoom,
+                            int[][] roomsByBuilding, long changes) {
+
+        SensorSlots sensor(RoomObjectType type, int id) {
+            SensorSlots[] ofType = byType[type.ordinal()];
+            return ofType != null && id >= 0 && id < ofType.length ? ofType[id] : null;
+        }
+
+        /** Salle du capteur, -1 s'il est inconnu ou hors salle */
+        int roomOf(RoomObjectType type, int id) {
+            int[] ofType = roomByType[type.ordinal()];
+            return ofType != null && id >= 0 && id < ofType.length ? ofType[id] : -1;
+        }
+
+        SensorSlots[] sensorsOfRoom(int roomId) {
+            return roomId >= 0 && roomId < byRoom.length ? byRoom[roomId] : null;
+        }
+
+        int[] roomsOfBuilding(int buildingId) {
+            return buildingId >= 0 && buildingId < roomsByBuilding.length ? roomsByBuilding[buildingId] : null;
+        }
+    }
+
+    /**
+     * Dernières valeurs d'un capteur, une case par métrique.
+     * Un seul écrivain ; les lecteurs copient les tableaux et recommencent si une écriture
+     * a eu lieu pendant la copie (version impaire ou modifiée).
+     */
+    static final class SensorSlots {
+        private final RoomObjectType type;
+        private final int id;
+        private final double[] values = new double[MAX_METRICS];
+        /** Horodatage en millisecondes epoch, 0 si aucune mesure */
+        private final long[] timestamps = new long[MAX_METRICS];
+        private volatile int version;
+
+        SensorSlots(RoomObjectType type, int id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        void update(int metric, long timestamp, double value) {
+            if (timestamp < timestamps[metric]) {
+                return;
+            }
+            int v = version;
+            version = v + 1;
+            VarHandle.storeStoreFence();
+            values[metric] = value;
+            timestamps[metric] = timestamp;
+            version = v + 2;
+        }
+
+        SensorLiveValues snapshot(String[] names, int roomId) {
+            double[] valuesCopy = new double[MAX_METRICS];
+            long[] timestampsCopy = new long[MAX_METRICS];
+            while (true) {
+                int v = version;
+                if ((v & 1) == 0) {
+                    System.arraycopy(values, 0, valuesCopy, 0, MAX_METRICS);
+                    System.arraycopy(timestamps, 0, timestampsCopy, 0, MAX_METRICS);
+                    VarHandle.acquireFence();
+                    if (version == v) {
+                        break;
+                    }
+                }
+                Thread.onSpinWait();
+            }
+            Map<String, SensorLiveValues.MetricValue> metrics = new LinkedHashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                if (timestampsCopy[i] != 0) {
+                    metrics.put(names[i], new SensorLiveValues.MetricValue(
+                            valuesCopy[i], Instant.ofEpochMilli(timestampsCopy[i])));
+                }
+            }
+            return new SensorLiveValues(type, id, roomId, metrics);
+        }
+    }
+}
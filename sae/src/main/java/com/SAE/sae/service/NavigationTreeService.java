@@ -0,0 +1,85 @@
+package com.SAE.sae.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.SAE.sae.dto.NavigationNode;
+import com.SAE.sae.repository.BuildingRepository;
+import com.SAE.sae.repository.RoomRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+/**
+ * Données de l'arbre bâtiments / salles du menu de navigation, partagées par toutes les UI.
+ * La liste des bâtiments (avec leur nombre de salles, en une requête groupée) et les salles
+ * de chaque bâtiment déjà déplié sont gardées en mémoire pendant sae.navigation.snapshot-ttl,
+ * et oubliées à chaque changement de bâtiment ou de salle publié sur le ChangeEventBus.
+ */
+@Service
+public class NavigationTreeService {
+    private static final String KEY = "buildings";
+
+    private final BuildingRepository buildingRepository;
+    private final RoomRepository roomRepository;
+    private final LoadingCache<String, List<NavigationNode>> buildings;
+    private final LoadingCache<Integer, List<NavigationNode>> roomsByBuilding;
+
+    public NavigationTreeService(BuildingRepository buildingRepository, RoomRepository roomRepository,
+                                 ChangeEventBus changeEventBus,
+                                 @Value("${sae.navigation.snapshot-ttl:10s}") Duration ttl) {
+        this.buildingRepository = buildingRepository;
+        this.roomRepository = roomRepository;
+        this.buildings = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(ttl)
+                .build(key -> loadBuildings());
+        this.roomsByBuilding = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(ttl)
+                .build(this::loadRooms);
+        // Les changements d'objets (type renseigné) ne modifient pas l'arbre
+        changeEventBus.subscribeAll(event -> {
+            if (event.getObjectType() == null) {
+                invalidate();
+            }
+        });
+        changeEventBus.subscribeBuildings(event -> invalidate());
+    }
+
+    /**
+     * Bâtiments avec leur nombre de salles, triés par nom
+     */
+    public List<NavigationNode> getBuildings() {
+        return buildings.get(KEY);
+    }
+
+    /**
+     * Salles d'un bâtiment, triées par nom
+     */
+    public List<NavigationNode> getRooms(int buildingId) {
+        return roomsByBuilding.get(buildingId);
+    }
+
+    /**
+     * Oublie l'instantané courant (après une modification de bâtiment ou de salle)
+     */
+    public void invalidate() {
+        buildings.invalidateAll();
+        roomsByBuilding.invalidateAll();
+    }
+
+    private List<NavigationNode> loadBuildings() {
+        return buildingRepository.findAllWithRoomCount().stream()
+                .map(b -> NavigationNode.building(b.getId(), b.getName(), b.getRoomCount()))
+                .toList();
+    }
+
+    private List<NavigationNode> loadRooms(Integer buildingId) {
+        return roomRepository.findSummariesByBuildingId(buildingId).stream()
+                .map(r -> NavigationNode.room(r.getId(), r.getName()))
+                .toList();
+    }
+}
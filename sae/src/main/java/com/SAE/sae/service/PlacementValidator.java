@@ -0,0 +1,241 @@
+package com.SAE.sae.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.SAE.sae.dto.PlacementCandidate;
+import com.SAE.sae.dto.PlacementIssue;
+import com.SAE.sae.dto.PlacementReport;
+import com.SAE.sae.dto.SpatialMatch;
+import com.SAE.sae.entity.Room;
+import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.PlacedEquipment;
+import com.SAE.sae.entity.projection.RoomEquipment;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.repository.RoomRepository;
+import com.SAE.sae.service.RoomSpatialIndex.RoomGrid;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Validation du placement des objets : chaque boîte doit tenir dans sa salle (x sur la largeur,
+ * y sur la longueur, z sur la hauteur, à sae.placement.wall-tolerance près pour les portes et
+ * fenêtres posées dans un mur) et ne chevaucher aucun autre objet à volume non nul.
+ * <p>
+ * Un objet seul est comparé à la grille en cache de sa salle (RoomSpatialIndex) ; un lot est
+ * rangé, avec les objets existants de ses salles lus en une requête, dans une grille par salle.
+ * Dans les deux cas seuls les objets des cellules touchées sont comparés.
+ */
+@Service
+@Slf4j
+public class PlacementValidator {
+
+    private final RoomSpatialIndex roomSpatialIndex;
+    private final RoomObjectRepository roomObjectRepository;
+    private final RoomRepository roomRepository;
+    private final double wallTolerance;
+
+    public PlacementValidator(RoomSpatialIndex roomSpatialIndex,
+                              RoomObjectRepository roomObjectRepository,
+                              RoomRepository roomRepository,
+                              @Value("${sae.placement.wall-tolerance:0.15}") double wallTolerance) {
+        this.roomSpatialIndex = roomSpatialIndex;
+        this.roomObjectRepository = roomObjectRepository;
+        this.roomRepository = roomRepository;
+        this.wallTolerance = wallTolerance;
+    }
+
+    // ========== AVANT ENREGISTREMENT ==========
+
+    /**
+     * Vérifie un objet avant son enregistrement ; sans salle ou sans position, il n'y a rien à vérifier
+     * @throws IllegalArgumentException si l'objet sort de sa salle ou en chevauche un autre
+     */
+    public void check(RoomObject roomObject) {
+        Room room = roomOf(roomObject);
+        if (room == null || room.getId() == null) {
+            return;
+        }
+        PlacementCandidate candidate = PlacementCandidate.of(roomObject);
+        if (!RoomGrid.isPositioned(candidate)) {
+            return;
+        }
+        List<PlacementIssue> issues = new ArrayList<>();
+        double[] box = RoomGrid.box(candidate);
+        PlacementIssue bounds = outOfBounds(room, candidate, box);
+        if (bounds != null) {
+            issues.add(bounds);
+        }
+        if (RoomGrid.isSolid(candidate)) {
+            for (SpatialMatch other : roomSpatialIndex.overlapping(room.getId(), box)) {
+                if (!isSame(candidate, other.getType(), other.getId())) {
+                    issues.add(collision(candidate, other.getType(), other.getId(), other.getName()));
+                }
+            }
+        }
+        reject(issues);
+    }
+
+    /**
+     * Vérifie un lot d'objets avant leur enregistrement, entre eux et contre les objets existants de leurs salles
+     * @throws IllegalArgumentException au premier problème trouvé (le message indique le nombre total)
+     */
+    public void checkAll(Collection<? extends RoomObject> roomObjects) {
+        Map<Integer, Room> rooms = new HashMap<>();
+        Map<Integer, List<PlacementCandidate>> candidatesByRoom = new LinkedHashMap<>();
+        for (RoomObject roomObject : roomObjects) {
+            Room room = roomObject.getRoom();
+            if (room == null || room.getId() == null) {
+                continue;
+            }
+            PlacementCandidate candidate = PlacementCandidate.of(roomObject);
+            if (RoomGrid.isPositioned(candidate)) {
+                if (!rooms.containsKey(room.getId())) {
+                    rooms.put(room.getId(), roomOf(roomObject));
+                }
+                if (rooms.get(room.getId()) == null) {
+                    continue;
+                }
+                candidatesByRoom.computeIfAbsent(room.getId(), k -> new ArrayList<>()).add(candidate);
+            }
+        }
+        if (candidatesByRoom.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<PlacedEquipment>> existingByRoom = roomObjectRepository
+                .findEquipmentByRoomIdIn(candidatesByRoom.keySet()).stream()
+                .collect(Collectors.groupingBy(PlacedEquipment::getRoomId));
+
+        List<PlacementIssue> issues = new ArrayList<>();
+        candidatesByRoom.forEach((roomId, candidates) -> issues.addAll(
+                validate(rooms.get(roomId), existingByRoom.getOrDefault(roomId, List.of()), candidates)));
+        reject(issues);
+    }
+
+    // ========== AGENCEMENT D'UNE SALLE ==========
+
+    /**
+     * Valide l'agencement d'une salle : les objets proposés remplacent les objets existants de même type et id,
+     * les autres objets existants restent en place. Sans objet proposé, valide l'agencement actuel.
+     * @throws IllegalArgumentException si la salle est inconnue
+     */
+    public PlacementReport validateRoom(int roomId, List<PlacementCandidate> layout) {
+        Room room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("Room not found with ID: " + roomId));
+        List<RoomEquipment> existing = roomObjectRepository.findEquipmentByRoomId(roomId);
+        List<? extends RoomEquipment> candidates = layout == null || layout.isEmpty() ? existing : layout;
+        List<? extends RoomEquipment> kept = candidates == existing ? List.of() : existing;
+
+        List<PlacementIssue> issues = validate(room, kept, candidates);
+        int checked = (int) candidates.stream().filter(RoomGrid::isPositioned).count();
+        return new PlacementReport(roomId, checked, issues.isEmpty(), issues);
+    }
+
+    // ========== VÉRIFICATIONS ==========
+
+    /**
+     * Vérifie les candidats d'une salle : bornes, puis chevauchements avec les objets conservés et entre eux
+     * (chaque couple de candidats n'est signalé qu'une fois)
+     */
+    private List<PlacementIssue> validate(Room room, List<? extends RoomEquipment> existing,
+                                          List<? extends RoomEquipment> candidates) {
+        Set<String> replaced = new HashSet<>();
+        for (RoomEquipment candidate : candidates) {
+            if (candidate.getId() != null) {
+                replaced.add(key(candidate.getType(), candidate.getId()));
+            }
+        }
+        List<RoomEquipment> placed = new ArrayList<>();
+        for (RoomEquipment equipment : existing) {
+            if (RoomGrid.isPositioned(equipment) && !replaced.contains(key(equipment.getType(), equipment.getId()))) {
+                placed.add(equipment);
+            }
+        }
+        int firstCandidate = placed.size();
+        candidates.stream().filter(RoomGrid::isPositioned).forEach(placed::add);
+
+        RoomGrid grid = RoomGrid.ofPositioned(placed);
+        List<PlacementIssue> issues = new ArrayList<>();
+        for (int i = firstCandidate; i < placed.size(); i++) {
+            RoomEquipment candidate = placed.get(i);
+            double[] box = grid.box(i);
+            PlacementIssue bounds = outOfBounds(room, candidate, box);
+            if (bounds != null) {
+                issues.add(bounds);
+            }
+            if (grid.isSolid(i)) {
+                int index = i;
+                grid.forEachOverlap(box, j -> {
+                    if (j != index && (j < firstCandidate || j > index)) {
+                        RoomEquipment other = placed.get(j);
+                        issues.add(collision(candidate, other.getType(), other.getId(), other.getName()));
+                    }
+                });
+            }
+        }
+        return issues;
+    }
+
+    /**
+     * Salle d'un objet avec ses dimensions : relue si l'objet a été chargé sans elle (référence paresseuse)
+     */
+    private Room roomOf(RoomObject roomObject) {
+        Room room = roomObject.getRoom();
+        if (room == null || room.getId() == null || Hibernate.isInitialized(room)) {
+            return room;
+        }
+        return roomRepository.findById(room.getId()).orElse(null);
+    }
+
+    private PlacementIssue outOfBounds(Room room, RoomEquipment equipment, double[] box) {
+        double[] limits = {room.getWidth(), room.getLength(), room.getHeight()};
+        for (int a = 0; a < 3; a++) {
+            if (box[a] < -wallTolerance || box[3 + a] > limits[a] + wallTolerance) {
+                String message = String.format("%s '%s' sort de la salle %s (%.2f × %.2f × %.2f)",
+                        equipment.getType(), equipment.getName(), room.getName(), limits[0], limits[1], limits[2]);
+                return new PlacementIssue(PlacementIssue.Kind.OUT_OF_BOUNDS, equipment.getType(), equipment.getId(),
+                        equipment.getName(), null, null, null, message);
+            }
+        }
+        return null;
+    }
+
+    private static PlacementIssue collision(RoomEquipment equipment, RoomObjectType otherType, Integer otherId,
+                                            String otherName) {
+        String message = String.format("%s '%s' chevauche %s '%s' (ID %d)",
+                equipment.getType(), equipment.getName(), otherType, otherName, otherId);
+        return new PlacementIssue(PlacementIssue.Kind.COLLISION, equipment.getType(), equipment.getId(),
+                equipment.getName(), otherType, otherId, otherName, message);
+    }
+
+    private static void reject(List<PlacementIssue> issues) {
+        if (issues.isEmpty()) {
+            return;
+        }
+        String message = issues.get(0).getMessage();
+        if (issues.size() > 1) {
+            message += " (et " + (issues.size() - 1) + " autre(s) problème(s))";
+        }
+        throw new IllegalArgumentException(message);
+    }
+
+    private static boolean isSame(RoomEquipment equipment, RoomObjectType type, Integer id) {
+        return equipment.getType() == type && equipment.getId() != null && equipment.getId().equals(id);
+    }
+
+    private static String key(RoomObjectType type, Integer id) {
+        return type + ":" + id;
+    }
+}
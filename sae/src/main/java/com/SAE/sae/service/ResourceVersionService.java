@@ -0,0 +1,93 @@
+package com.SAE.sae.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+/**
+ * Versions des ressources de l'API REST, pour les requêtes GET conditionnelles.
+ * <p>
+ * Les compteurs sont tenus en base par des triggers (voir V11) : un par collection, nommée comme
+ * les constantes ci-dessous ou comme un RoomObjectType, et un par salle pour son contenu.
+ * Ils sont incrémentés à la validation de la transaction qui écrit (V14), une fois par transaction :
+ * une version lue correspond toujours à des données validées.
+ * Lire une version coûte une lecture par clé primaire, sans charger d'entité : un client à jour
+ * reçoit un 304 sans que la ressource elle-même soit lue.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResourceVersionService {
+    public static final String BUILDING = "BUILDING";
+    public static final String ROOM = "ROOM";
+    public static final String ROOM_TYPE = "ROOM_TYPE";
+    public static final String ALERT_RULE = "ALERT_RULE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Version combinée de plusieurs collections
+     * @param names collections dont dépend la représentation, dans un ordre fixe
+     * @return la version, vide si une des collections est inconnue
+     */
+    public Optional<Stamp> ofCollections(String... names) {
+        Map<String, Long> versions = new HashMap<>();
+        long[] modified = {0L};
+        String placeholders = String.join(", ", Collections.nCopies(names.length, "?"));
+        jdbcTemplate.query("SELECT rve_name, rve_version, rve_modified FROM t_e_resource_version_rve WHERE rve_name IN ("
+                + placeholders + ")", (RowCallbackHandler) rs -> {
+                    versions.put(rs.getString(1), rs.getLong(2));
+                    modified[0] = Math.max(modified[0], rs.getTimestamp(3).getTime());
+                }, (Object[]) names);
+        if (versions.size() != names.length) {
+            return Optional.empty();
+        }
+        StringBuilder eTag = new StringBuilder("\"v");
+        for (String name : names) {
+            eTag.append('-').append(versions.get(name));
+        }
+        return Optional.of(new Stamp(eTag.append('"').toString(), modified[0]));
+    }
+
+    /**
+     * Version du contenu d'une salle (ses objets, tous types confondus)
+     * @return la version, vide si la salle est inconnue
+     */
+    public Optional<Stamp> ofRoomContent(int roomId) {
+        List<Stamp> stamps = jdbcTemplate.query(
+                "SELECT roo_content_version, roo_content_modified FROM t_e_room_roo WHERE id = ?",
+                (rs, rowNum) -> new Stamp("\"c-" + rs.getLong(1) + "\"", rs.getTimestamp(2).getTime()),
+                roomId);
+        return stamps.stream().findFirst();
+    }
+
+    /**
+     * Version de la scène d'une salle : la salle elle-même (dimensions, nom) et son contenu.
+     * xmin change à chaque écriture validée de la ligne de la salle, quelle qu'en soit l'origine.
+     * @return la version, vide si la salle est inconnue
+     */
+    public Optional<Stamp> ofRoomScene(int roomId) {
+        List<Stamp> stamps = jdbcTemplate.query(
+                "SELECT CAST(xmin AS text), roo_content_version, roo_content_modified FROM t_e_room_roo WHERE id = ?",
+                (rs, rowNum) -> new Stamp("\"s-" + rs.getString(1) + "-" + rs.getLong(2) + "\"", rs.getTimestamp(3).getTime()),
+                roomId);
+        return stamps.stream().findFirst();
+    }
+
+    /**
+     * ETag et date de dernière modification (ms) d'une ressource
+     */
+    @Value
+    public static class Stamp {
+        String eTag;
+        long lastModified;
+    }
+}
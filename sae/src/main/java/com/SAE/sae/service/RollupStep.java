@@ -0,0 +1,53 @@
+package com.SAE.sae.service;
+
+import java.time.Duration;
+
+/**
+ * Pas d'agrégation des mesures des capteurs (voir V9__Create_Sensor_Rollups.sql).
+ * Chaque pas est calculé à partir du précédent, le plus fin à partir des mesures brutes.
+ */
+
+public enum RollupStep {
+    MINUTE("1m", Duration.ofMinutes(1)),
+    QUARTER_HOUR("15m", Duration.ofMinutes(15)),
+    HOUR("1h", Duration.ofHours(1));
+
+    private final String label;
+    private final Duration duration;
+
+    RollupStep(String label, Duration duration) {
+        this.label = label;
+        this.duration = duration;
+    }
+
+    /**
+     * Libellé stocké en base et accepté par l'API (1m, 15m, 1h)
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Pas dont ce pas est calculé, ou null pour les mesures brutes
+     */
+    public RollupStep getSource() {
+        return ordinal() == 0 ? null : values()[ordinal() - 1];
+    }
+
+    /**
+     * Retrouve un pas par son libellé
+     * @throws IllegalArgumentException si le libellé est inconnu
+     */
+    public static RollupStep fromLabel(String label) {
+        for (RollupStep step : values()) {
+            if (step.label.equals(label)) {
+                return step;
+            }
+        }
+        throw new IllegalArgumentException("Pas inconnu : " + label + " (1m, 15m ou 1h)");
+    }
+}
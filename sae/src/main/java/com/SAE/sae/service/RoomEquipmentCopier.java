@@ -0,0 +1,106 @@
+package com.SAE.sae.service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Copie des objets d'une salle dans une autre, sans charger d'entité : un INSERT … SELECT par table
+ * d'objets concernée. Les ids sont tirés de room_object_seq par blocs, comme le fait Hibernate (pooled-lo) :
+ * chaque nextval réserve les ID_BLOCK ids qui le suivent, les copies ne peuvent donc pas en recouvrir d'autres.
+ * L'index des objets et les versions des ressources sont tenus à jour par les triggers des tables (V11, V12).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoomEquipmentCopier {
+    /** Incrément de room_object_seq, égal à l'allocationSize de RoomObject (V6) */
+    private static final int ID_BLOCK = 50;
+
+    /**
+     * Copie d'une table ; paramètres : salle cible, rang du premier objet, salle source, nombre d'objets, débuts de blocs.
+     * Le rang de chaque objet donne son bloc (rang / ID_BLOCK) et sa place dans le bloc (rang % ID_BLOCK).
+     */
+    private static final String COPY = """
+            INSERT INTO %1$s (id, rob_name, id_room, %2$s)
+            SELECT b.lo + s.ord %% %4$d, s.rob_name, ?, %3$s
+            FROM (SELECT o.*, row_number() OVER (ORDER BY o.id) - 1 + ? AS ord
+                  FROM %1$s o WHERE o.id_room = ? ORDER BY o.id LIMIT ?) s
+            JOIN unnest(CAST(? AS bigint[])) WITH ORDINALITY AS b(lo, block) ON b.block = s.ord / %4$d + 1
+            """;
+
+    private static final Map<RoomObjectType, String> COPY_SQL = new EnumMap<>(RoomObjectType.class);
+
+    static {
+        register(RoomObjectType.LAMP, "t_e_lamp_lam", "lam", false);
+        register(RoomObjectType.PLUG, "t_e_plug_plu", "plu", false);
+        register(RoomObjectType.SENSOR_CO2, "t_e_sensorco2_co2", "co2", false);
+        register(RoomObjectType.SENSOR_6IN1, "t_e_sensor6in1_sio", "sio", false);
+        register(RoomObjectType.SENSOR_9IN1, "t_e_sensor9in1_nio", "nio", false);
+        register(RoomObjectType.HEATER, "t_e_heater_hea", "hea", true);
+        register(RoomObjectType.WINDOW, "t_e_window_win", "win", true);
+        register(RoomObjectType.DOOR, "t_e_door_doo", "doo", true);
+        register(RoomObjectType.DATA_TABLE, "t_e_table_tab", "tab", true);
+        // L'état d'alerte des sirènes n'est pas copié : il repart de sa valeur par défaut
+        register(RoomObjectType.SIREN, "t_e_siren_sir", "sir", false);
+    }
+
+    private static void register(RoomObjectType type, String table, String prefix, boolean sized) {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (String axis : sized ? List.of("posx", "posy", "posz", "sizex", "sizey", "sizez") : List.of("posx", "posy", "posz")) {
+            String column = prefix + "_" + axis;
+            columns.append(columns.isEmpty() ? "" : ", ").append(column);
+            values.append(values.isEmpty() ? "" : ", ").append("s.").append(column);
+        }
+        COPY_SQL.put(type, COPY.formatted(table, columns, values, ID_BLOCK));
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Copie tous les objets d'une salle dans une autre, dans la transaction en cours
+     * @param sourceRoomId salle dont les objets sont copiés
+     * @param targetRoomId salle qui reçoit les copies (déjà écrite en base)
+     * @return le nombre d'objets copiés par type, sans les types absents de la salle source
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<RoomObjectType, Integer> copy(int sourceRoomId, int targetRoomId) {
+        Map<RoomObjectType, Integer> counts = new EnumMap<>(RoomObjectType.class);
+        jdbcTemplate.query("SELECT type, COUNT(*) FROM t_e_room_object_index WHERE id_room = ? GROUP BY type",
+                rs -> {
+                    counts.put(RoomObjectType.valueOf(rs.getString(1)), rs.getInt(2));
+                }, sourceRoomId);
+        int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+        Map<RoomObjectType, Integer> copied = new EnumMap<>(RoomObjectType.class);
+        if (total == 0) {
+            return copied;
+        }
+
+        long[] blocks = jdbcTemplate.queryForList("SELECT nextval('room_object_seq') FROM generate_series(1, ?)",
+                Long.class, (total + ID_BLOCK - 1) / ID_BLOCK).stream().mapToLong(Long::longValue).toArray();
+        // Un type après l'autre, chacun à la suite du précédent dans les blocs réservés ;
+        // LIMIT borne chaque copie au compte lu, même si des objets ont été ajoutés entre-temps
+        int offset = 0;
+        for (Map.Entry<RoomObjectType, Integer> entry : counts.entrySet()) {
+            int rows = jdbcTemplate.update(COPY_SQL.get(entry.getKey()),
+                    targetRoomId, offset, sourceRoomId, entry.getValue(), blocks);
+            if (rows > 0) {
+                copied.put(entry.getKey(), rows);
+            }
+            offset += entry.getValue();
+        }
+        log.debug("room {} equipment copied to room {}: {}", sourceRoomId, targetRoomId, copied);
+        return copied;
+    }
+}
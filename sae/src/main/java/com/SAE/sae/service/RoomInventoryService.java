@@ -0,0 +1,33 @@
+package com.SAE.sae.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.SAE.sae.entity.projection.RoomEquipment;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service donnant l'inventaire complet des équipements d'une salle.
+ * Remplace les dix appels findByRoomId des managers de chaque type par une seule requête.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoomInventoryService {
+    private final RoomObjectRepository roomObjectRepo;
+
+    /**
+     * Récupère tous les équipements d'une salle, tous types confondus
+     * @param roomId l'ID de la salle
+     * @return une liste des équipements trouvés, vide si aucun
+     */
+    public List<RoomEquipment> getInventory(int roomId) {
+        List<RoomEquipment> inventory = roomObjectRepo.findEquipmentByRoomId(roomId);
+        log.debug("{} equipment(s) returned for room {}", inventory.size(), roomId);
+        return inventory;
+    }
+}
@@ -1,12 +1,21 @@
 package com.SAE.sae.service;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.SAE.sae.dto.ChangeEvent;
+import com.SAE.sae.entity.Building;
 import com.SAE.sae.entity.Room;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.repository.BuildingRepository;
 import com.SAE.sae.repository.RoomRepository;
+import com.SAE.sae.repository.SearchPatterns;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +25,10 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class RoomManager {
     private final RoomRepository roomRepo;
+    private final BuildingRepository buildingRepo;
+    private final RoomEquipmentCopier equipmentCopier;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeEventBus changeEventBus;
 
     /**
      * Récupére tous les Rooms
@@ -24,6 +37,31 @@ public class RoomManager {
         return roomRepo.findAll();
     }
 
+    /**
+     * Récupére une page de rooms, filtrée en base (insensible à la casse)
+     * @param filter terme recherché, ou null pour tous
+     * @param pageable la page demandée
+     * @return les rooms de la page
+     */
+    public List<Room> searchRooms(String filter, Pageable pageable){
+        if (SearchPatterns.isBlank(filter)) {
+            return roomRepo.findPage(pageable);
+        }
+        return roomRepo.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compte les rooms correspondant au filtre de searchRooms
+     * @param filter terme recherché, ou null pour tous
+     * @return le nombre de rooms
+     */
+    public long countRooms(String filter){
+        if (SearchPatterns.isBlank(filter)) {
+            return roomRepo.count();
+        }
+        return roomRepo.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
     /**
      * Récupére une room avec son id
      * @param id
@@ -47,9 +85,23 @@ public class RoomManager {
     public Room saveRoom (Room room){
         Room savedroom = roomRepo.save(room);
         log.info("room with id {} saved sucessfully.", room.getId());
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.UPDATED, null, null, savedroom.getId()));
         return savedroom;
     }
 
+    /**
+     * Enregistre une liste de Rooms en une seule transaction (insertions par lots)
+     * @param rooms a ajouter
+     * @return les rooms ajoutées dans la base
+     */
+    public List<Room> saveAllRooms(List<Room> rooms){
+        List<Room> savedrooms = roomRepo.saveAll(rooms);
+        log.info("{} rooms saved sucessfully.", savedrooms.size());
+        // Pas d'événement par room : les bâtiments concernés sont signalés en une fois
+        changeEventBus.publishBuilding(ChangeEvent.Kind.UPDATED);
+        return savedrooms;
+    }
+
     /**
      * Met à jour une room
      * @param room modifié
@@ -60,17 +112,75 @@ public class RoomManager {
 
         Room updatedroom = roomRepo.save(room);
         log.info("room with id {} has been updated sucessfully.", room.getId());
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.UPDATED, null, null, updatedroom.getId()));
 
         return updatedroom;
     }
 
     /**
-     * Supprime une room par id
+     * Supprime une room par id, en une seule requête : ses objets sont supprimés en cascade par la base
      * @param id du room à supprimer
+     * @return true si la room existait
      */
-    public void deleteRoomById(int id){
-        roomRepo.deleteById(id);
+    public boolean deleteRoomById(int id){
+        int deleted = roomRepo.deleteCascadeById(id);
+        if (deleted == 0) {
+            log.error("room with id {} doesn't exist.", id);
+            return false;
+        }
         log.info("room with id {} has been deleted sucessfully.", id);
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, null, null, id));
+        return true;
+    }
+
+    /**
+     * Duplique une room avec tous ses objets, en une transaction : la room est copiée par Hibernate,
+     * ses objets par un INSERT … SELECT par table (voir RoomEquipmentCopier)
+     * @param id de la room à dupliquer
+     * @param targetBuildingId bâtiment de la copie, celui de la room d'origine si null
+     * @return la nouvelle room
+     * @throws IllegalArgumentException si la room ou le bâtiment n'existe pas
+     */
+    public Room cloneRoom(int id, Integer targetBuildingId){
+        Map<RoomObjectType, Integer> copied = new EnumMap<>(RoomObjectType.class);
+        Room clone = transactionTemplate.execute(status -> {
+            Room source = roomRepo.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("room with id " + id + " doesn't exist."));
+            Building building = targetBuildingId != null ? findBuilding(targetBuildingId) : source.getBuilding();
+            Room copy = roomRepo.saveAndFlush(new Room(null, source.getName(), source.getWidth(), source.getLength(),
+                    source.getHeight(), building, source.getFkRoomTypeId()));
+            copied.putAll(equipmentCopier.copy(id, copy.getId()));
+            return copy;
+        });
+        log.info("room with id {} cloned as room {} with {} objects.", id, clone.getId(),
+                copied.values().stream().mapToInt(Integer::intValue).sum());
+        // Publiés une fois la transaction validée, pour que les abonnés relisent la copie complète
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.CREATED, null, null, clone.getId()));
+        copied.keySet().forEach(type ->
+                changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.CREATED, type, null, clone.getId())));
+        return clone;
+    }
+
+    /**
+     * Déplace une room dans un autre bâtiment : ses objets la suivent, ils ne référencent que la room
+     * @param id de la room à déplacer
+     * @param targetBuildingId bâtiment de destination
+     * @return la room déplacée
+     * @throws IllegalArgumentException si la room ou le bâtiment n'existe pas
+     */
+    public Room moveRoom(int id, int targetBuildingId){
+        Room room = roomRepo.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("room with id " + id + " doesn't exist."));
+        room.setBuilding(findBuilding(targetBuildingId));
+        Room movedroom = roomRepo.save(room);
+        log.info("room with id {} moved to building {}.", id, targetBuildingId);
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.UPDATED, null, null, id));
+        return movedroom;
+    }
+
+    private Building findBuilding(int buildingId) {
+        return buildingRepo.findById(buildingId)
+                .orElseThrow(() -> new IllegalArgumentException("building with id " + buildingId + " doesn't exist."));
     }
 
     /**
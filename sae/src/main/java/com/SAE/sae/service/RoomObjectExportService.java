@@ -0,0 +1,95 @@
+package com.SAE.sae.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Export de tous les objets de salle en NDJSON (une ligne par objet).
+ * Les lignes sont lues en flux depuis la base et écrites au fil de l'eau ;
+ * le contexte de persistance est vidé régulièrement pour que la mémoire reste constante.
+ * Chaque ligne est à plat : champs de l'objet, "type" et "id_room" de sa salle.
+ * Ce n'est pas le format de BuildingImportService (objets imbriqués sous leur salle et leur bâtiment) :
+ * l'export sert à l'analyse et à la sauvegarde des objets, il ne se réimporte pas tel quel.
+ */
+@Service
+@Slf4j
+public class RoomObjectExportService {
+    private final RoomObjectRepository roomObjectRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${sae.export.clear-every:500}")
+    private int clearEvery;
+
+    public RoomObjectExportService(RoomObjectRepository roomObjectRepository, ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager) {
+        this.roomObjectRepository = roomObjectRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Écrit tous les objets dans le flux, une ligne JSON par objet
+     * @param out flux de sortie (non fermé)
+     * @return le nombre d'objets exportés
+     */
+    public long exportNdjson(OutputStream out) {
+        long start = System.currentTimeMillis();
+        Long count = readOnlyTransaction.execute(status -> {
+            try (Stream<RoomObject> objects = roomObjectRepository.streamAll();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setRootValueSeparator(null);
+                long written = 0;
+                for (Iterator<RoomObject> it = objects.iterator(); it.hasNext(); ) {
+                    generator.writeTree(toLine(it.next()));
+                    generator.writeRaw('\n');
+                    if (++written % clearEvery == 0) {
+                        generator.flush();
+                        entityManager.clear();
+                    }
+                }
+                generator.flush();
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("export: {} room objects written in {} ms", count, System.currentTimeMillis() - start);
+        return count == null ? 0 : count;
+    }
+
+    private ObjectNode toLine(RoomObject roomObject) {
+        ObjectNode line = objectMapper.valueToTree(roomObject);
+        line.put("type", RoomObjectType.of(roomObject).name());
+        if (roomObject.getRoom() != null) {
+            line.put("id_room", roomObject.getRoom().getId());
+        } else {
+            line.putNull("id_room");
+        }
+        return line;
+    }
+}
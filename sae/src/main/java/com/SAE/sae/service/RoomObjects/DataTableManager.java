@@ -1,8 +1,18 @@
 package com.SAE.sae.service.RoomObjects;
 
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.RoomObjects.DataTable;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.repository.SearchPatterns;
 import com.SAE.sae.repository.RoomObjects.DataTableRepository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +22,17 @@ import java.util.List;
 public class DataTableManager {
 
     private final DataTableRepository dataTableRepository;
+    private final RoomObjectRepository roomObjectRepository;
+    private final ChangeEventBus changeEventBus;
+    private final PlacementValidator placementValidator;
 
     @Autowired
-    public DataTableManager(DataTableRepository dataTableRepository) {
+    public DataTableManager(DataTableRepository dataTableRepository, RoomObjectRepository roomObjectRepository,
+            ChangeEventBus changeEventBus, PlacementValidator placementValidator) {
         this.dataTableRepository = dataTableRepository;
+        this.roomObjectRepository = roomObjectRepository;
+        this.changeEventBus = changeEventBus;
+        this.placementValidator = placementValidator;
     }
 
     // ========= CREATE / UPDATE =========
@@ -24,14 +41,26 @@ public class DataTableManager {
      * Créer ou mettre à jour une DataTable
      */
     public DataTable save(DataTable dataTable) {
-        return dataTableRepository.save(dataTable);
+        placementValidator.check(dataTable);
+        ChangeEvent.Kind kind = dataTable.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED;
+        DataTable saved = dataTableRepository.save(dataTable);
+        changeEventBus.publish(ChangeEvent.of(kind, saved));
+        return saved;
     }
 
     /**
      * Créer ou mettre à jour une liste de DataTables
      */
     public List<DataTable> saveAll(List<DataTable> dataTables) {
-        return dataTableRepository.saveAll(dataTables);
+        placementValidator.checkAll(dataTables);
+        List<ChangeEvent.Kind> kinds = dataTables.stream()
+                .map(item -> item.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED)
+                .toList();
+        List<DataTable> saved = dataTableRepository.saveAll(dataTables);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEventBus.publish(ChangeEvent.of(kinds.get(i), saved.get(i)));
+        }
+        return saved;
     }
 
     // ========= READ =========
@@ -44,6 +73,14 @@ public class DataTableManager {
                 .orElseThrow(() -> new IllegalArgumentException("Aucune DataTable trouvée avec l'ID : " + id));
     }
 
+    /**
+     * Récupérer une DataTable par ID avec sa salle (édition)
+     */
+    public DataTable findWithRoomById(Integer id) {
+        return dataTableRepository.findWithRoomById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Aucune DataTable trouvée avec l'ID : " + id));
+    }
+
     /**
      * Récupérer toutes les DataTables
      */
@@ -65,6 +102,65 @@ public class DataTableManager {
         return dataTableRepository.findByRoom_Id(roomId);
     }
 
+    /**
+     * Récupérer une page de lignes de grille (projection avec le nom de la salle), filtrée comme search
+     */
+    public List<EquipmentRow> searchRows(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return roomObjectRepository.findRows(RoomObjectType.DATA_TABLE.name(), pageable);
+        }
+        return roomObjectRepository.searchRows(RoomObjectType.DATA_TABLE.name(), SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Récupérer une page de DataTables avec leur salle, filtrée sur le nom, la salle ou l'ID
+     * (insensible à la casse, tous les DataTables si le filtre est vide)
+     */
+    public List<DataTable> search(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return dataTableRepository.findAllWithRoom(pageable);
+        }
+        return dataTableRepository.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compter les DataTables correspondant au filtre de search
+     */
+    public long count(String filter) {
+        if (SearchPatterns.isBlank(filter)) {
+            return dataTableRepository.count();
+        }
+        return dataTableRepository.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
+    /**
+     * Récupérer une page de DataTables
+     */
+    public Slice<DataTable> findAll(Pageable pageable) {
+        return dataTableRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Récupérer les DataTables d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<DataTable> findAllAfter(Integer afterId, int size) {
+        return dataTableRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * Récupérer une page de DataTables d'une salle
+     */
+    public Slice<DataTable> findByRoomId(Integer roomId, Pageable pageable) {
+        return dataTableRepository.findByRoom_Id(roomId, pageable);
+    }
+
+    /**
+     * Récupérer les DataTables d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<DataTable> findByRoomIdAfter(Integer roomId, Integer afterId, int size) {
+        return dataTableRepository.findByRoom_IdAndIdGreaterThanOrderByIdAsc(roomId, afterId, PageRequest.ofSize(size));
+    }
+
     /**
      * Récupérer les DataTables par nom personnalisé
      */
@@ -79,6 +175,8 @@ public class DataTableManager {
      */
     public void deleteById(Integer id) {
         dataTableRepository.deleteById(id);
+        // Salle inconnue sans relire l'objet : toutes les salles suivies sont notifiées
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.DATA_TABLE, id, null));
     }
 
     /**
@@ -86,6 +184,7 @@ public class DataTableManager {
      */
     public void delete(DataTable dataTable) {
         dataTableRepository.delete(dataTable);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, dataTable));
     }
 
     /**
@@ -93,14 +192,20 @@ public class DataTableManager {
      */
     public void deleteAll() {
         dataTableRepository.deleteAll();
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.DATA_TABLE, null, null));
     }
 
     /**
-     * Supprimer les DataTables par nom personnalisé
+     * Supprimer les DataTables par nom personnalisé, en une seule requête
+     * @return le nombre de DataTables supprimés
      */
     @Transactional
-    public void deleteByCustomName(String customName) {
-        dataTableRepository.deleteByCustomName(customName);
+    public int deleteByCustomName(String customName) {
+        int deleted = dataTableRepository.deleteByCustomName(customName);
+        if (deleted > 0) {
+            changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.DATA_TABLE, null, null));
+        }
+        return deleted;
     }
 
     // ========= AUTRES =========
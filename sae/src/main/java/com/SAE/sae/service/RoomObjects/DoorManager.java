@@ -1,8 +1,18 @@
 package com.SAE.sae.service.RoomObjects;
 
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.RoomObjects.Door;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.repository.SearchPatterns;
 import com.SAE.sae.repository.RoomObjects.DoorRepository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +22,17 @@ import java.util.List;
 public class DoorManager {
 
     private final DoorRepository doorRepository;
+    private final RoomObjectRepository roomObjectRepository;
+    private final ChangeEventBus changeEventBus;
+    private final PlacementValidator placementValidator;
 
     @Autowired
-    public DoorManager(DoorRepository doorRepository) {
+    public DoorManager(DoorRepository doorRepository, RoomObjectRepository roomObjectRepository,
+            ChangeEventBus changeEventBus, PlacementValidator placementValidator) {
         this.doorRepository = doorRepository;
+        this.roomObjectRepository = roomObjectRepository;
+        this.changeEventBus = changeEventBus;
+        this.placementValidator = placementValidator;
     }
 
     // ========= CREATE / UPDATE =========
@@ -24,14 +41,26 @@ public class DoorManager {
      * Créer ou mettre à jour une Door
      */
     public Door save(Door door) {
-        return doorRepository.save(door);
+        placementValidator.check(door);
+        ChangeEvent.Kind kind = door.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED;
+        Door saved = doorRepository.save(door);
+        changeEventBus.publish(ChangeEvent.of(kind, saved));
+        return saved;
     }
 
     /**
      * Créer ou mettre à jour une liste de Doors
      */
     public List<Door> saveAll(List<Door> doors) {
-        return doorRepository.saveAll(doors);
+        placementValidator.checkAll(doors);
+        List<ChangeEvent.Kind> kinds = doors.stream()
+                .map(item -> item.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED)
+                .toList();
+        List<Door> saved = doorRepository.saveAll(doors);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEventBus.publish(ChangeEvent.of(kinds.get(i), saved.get(i)));
+        }
+        return saved;
     }
 
     // ========= READ =========
@@ -44,6 +73,14 @@ public class DoorManager {
                 .orElseThrow(() -> new IllegalArgumentException("Aucune porte trouvée avec l'ID : " + id));
     }
 
+    /**
+     * Récupérer une Door par ID avec sa salle (édition)
+     */
+    public Door findWithRoomById(Integer id) {
+        return doorRepository.findWithRoomById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Aucune porte trouvée avec l'ID : " + id));
+    }
+
     /**
      * Récupérer toutes les Doors
      */
@@ -65,6 +102,65 @@ public class DoorManager {
         return doorRepository.findByRoom_Id(roomId);
     }
 
+    /**
+     * Récupérer une page de lignes de grille (projection avec le nom de la salle), filtrée comme search
+     */
+    public List<EquipmentRow> searchRows(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return roomObjectRepository.findRows(RoomObjectType.DOOR.name(), pageable);
+        }
+        return roomObjectRepository.searchRows(RoomObjectType.DOOR.name(), SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Récupérer une page de Doors avec leur salle, filtrée sur le nom, la salle ou l'ID
+     * (insensible à la casse, tous les Doors si le filtre est vide)
+     */
+    public List<Door> search(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return doorRepository.findAllWithRoom(pageable);
+        }
+        return doorRepository.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compter les Doors correspondant au filtre de search
+     */
+    public long count(String filter) {
+        if (SearchPatterns.isBlank(filter)) {
+            return doorRepository.count();
+        }
+        return doorRepository.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
+    /**
+     * Récupérer une page de Doors
+     */
+    public Slice<Door> findAll(Pageable pageable) {
+        return doorRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Récupérer les Doors d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Door> findAllAfter(Integer afterId, int size) {
+        return doorRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * Récupérer une page de Doors d'une salle
+     */
+    public Slice<Door> findByRoomId(Integer roomId, Pageable pageable) {
+        return doorRepository.findByRoom_Id(roomId, pageable);
+    }
+
+    /**
+     * Récupérer les Doors d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Door> findByRoomIdAfter(Integer roomId, Integer afterId, int size) {
+        return doorRepository.findByRoom_IdAndIdGreaterThanOrderByIdAsc(roomId, afterId, PageRequest.ofSize(size));
+    }
+
     /**
      * Récupérer les Doors par nom personnalisé
      */
@@ -79,6 +175,8 @@ public class DoorManager {
      */
     public void deleteById(Integer id) {
         doorRepository.deleteById(id);
+        // Salle inconnue sans relire l'objet : toutes les salles suivies sont notifiées
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.DOOR, id, null));
     }
 
     /**
@@ -86,6 +184,7 @@ public class DoorManager {
      */
     public void delete(Door door) {
         doorRepository.delete(door);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, door));
     }
 
     /**
@@ -93,14 +192,20 @@ public class DoorManager {
      */
     public void deleteAll() {
         doorRepository.deleteAll();
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.DOOR, null, null));
     }
 
     /**
-     * Supprimer les Doors par nom personnalisé
+     * Supprimer les Doors par nom personnalisé, en une seule requête
+     * @return le nombre de Doors supprimés
      */
     @Transactional
-    public void deleteByCustomName(String customName) {
-        doorRepository.deleteByCustomName(customName);
+    public int deleteByCustomName(String customName) {
+        int deleted = doorRepository.deleteByCustomName(customName);
+        if (deleted > 0) {
+            changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.DOOR, null, null));
+        }
+        return deleted;
     }
 
     // ========= AUTRES =========
@@ -1,8 +1,18 @@
 package com.SAE.sae.service.RoomObjects;
 
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.RoomObjects.Heater;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.repository.SearchPatterns;
 import com.SAE.sae.repository.RoomObjects.HeaterRepository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +22,17 @@ import java.util.List;
 public class HeaterManager {
 
     private final HeaterRepository heaterRepository;
+    private final RoomObjectRepository roomObjectRepository;
+    private final ChangeEventBus changeEventBus;
+    private final PlacementValidator placementValidator;
 
     @Autowired
-    public HeaterManager(HeaterRepository heaterRepository) {
+    public HeaterManager(HeaterRepository heaterRepository, RoomObjectRepository roomObjectRepository,
+            ChangeEventBus changeEventBus, PlacementValidator placementValidator) {
         this.heaterRepository = heaterRepository;
+        this.roomObjectRepository = roomObjectRepository;
+        this.changeEventBus = changeEventBus;
+        this.placementValidator = placementValidator;
     }
 
     // ========= CREATE / UPDATE =========
@@ -24,14 +41,26 @@ public class HeaterManager {
      * Créer ou mettre à jour un Heater
      */
     public Heater save(Heater heater) {
-        return heaterRepository.save(heater);
+        placementValidator.check(heater);
+        ChangeEvent.Kind kind = heater.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED;
+        Heater saved = heaterRepository.save(heater);
+        changeEventBus.publish(ChangeEvent.of(kind, saved));
+        return saved;
     }
 
     /**
      * Créer ou mettre à jour une liste de Heaters
      */
     public List<Heater> saveAll(List<Heater> heaters) {
-        return heaterRepository.saveAll(heaters);
+        placementValidator.checkAll(heaters);
+        List<ChangeEvent.Kind> kinds = heaters.stream()
+                .map(item -> item.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED)
+                .toList();
+        List<Heater> saved = heaterRepository.saveAll(heaters);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEventBus.publish(ChangeEvent.of(kinds.get(i), saved.get(i)));
+        }
+        return saved;
     }
 
     // ========= READ =========
@@ -44,6 +73,14 @@ public class HeaterManager {
                 .orElseThrow(() -> new IllegalArgumentException("Aucun chauffage trouvé avec l'ID : " + id));
     }
 
+    /**
+     * Récupérer une Heater par ID avec sa salle (édition)
+     */
+    public Heater findWithRoomById(Integer id) {
+        return heaterRepository.findWithRoomById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Aucun chauffage trouvé avec l'ID : " + id));
+    }
+
     /**
      * Récupérer tous les Heaters
      */
@@ -65,6 +102,65 @@ public class HeaterManager {
         return heaterRepository.findByRoom_Id(roomId);
     }
 
+    /**
+     * Récupérer une page de lignes de grille (projection avec le nom de la salle), filtrée comme search
+     */
+    public List<EquipmentRow> searchRows(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return roomObjectRepository.findRows(RoomObjectType.HEATER.name(), pageable);
+        }
+        return roomObjectRepository.searchRows(RoomObjectType.HEATER.name(), SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Récupérer une page de Heaters avec leur salle, filtrée sur le nom, la salle ou l'ID
+     * (insensible à la casse, tous les Heaters si le filtre est vide)
+     */
+    public List<Heater> search(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return heaterRepository.findAllWithRoom(pageable);
+        }
+        return heaterRepository.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compter les Heaters correspondant au filtre de search
+     */
+    public long count(String filter) {
+        if (SearchPatterns.isBlank(filter)) {
+            return heaterRepository.count();
+        }
+        return heaterRepository.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
+    /**
+     * Récupérer une page de Heaters
+     */
+    public Slice<Heater> findAll(Pageable pageable) {
+        return heaterRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Récupérer les Heaters d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Heater> findAllAfter(Integer afterId, int size) {
+        return heaterRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * Récupérer une page de Heaters d'une salle
+     */
+    public Slice<Heater> findByRoomId(Integer roomId, Pageable pageable) {
+        return heaterRepository.findByRoom_Id(roomId, pageable);
+    }
+
+    /**
+     * Récupérer les Heaters d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Heater> findByRoomIdAfter(Integer roomId, Integer afterId, int size) {
+        return heaterRepository.findByRoom_IdAndIdGreaterThanOrderByIdAsc(roomId, afterId, PageRequest.ofSize(size));
+    }
+
     /**
      * Récupérer les Heaters par nom personnalisé
      */
@@ -79,6 +175,8 @@ public class HeaterManager {
      */
     public void deleteById(Integer id) {
         heaterRepository.deleteById(id);
+        // Salle inconnue sans relire l'objet : toutes les salles suivies sont notifiées
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.HEATER, id, null));
     }
 
     /**
@@ -86,6 +184,7 @@ public class HeaterManager {
      */
     public void delete(Heater heater) {
         heaterRepository.delete(heater);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, heater));
     }
 
     /**
@@ -93,14 +192,20 @@ public class HeaterManager {
      */
     public void deleteAll() {
         heaterRepository.deleteAll();
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.HEATER, null, null));
     }
 
     /**
-     * Supprimer les Heaters par nom personnalisé
+     * Supprimer les Heaters par nom personnalisé, en une seule requête
+     * @return le nombre de Heaters supprimés
      */
     @Transactional
-    public void deleteByCustomName(String customName) {
-        heaterRepository.deleteByCustomName(customName);
+    public int deleteByCustomName(String customName) {
+        int deleted = heaterRepository.deleteByCustomName(customName);
+        if (deleted > 0) {
+            changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.HEATER, null, null));
+        }
+        return deleted;
     }
 
     // ========= AUTRES =========
@@ -1,8 +1,18 @@
 package com.SAE.sae.service.RoomObjects;
 
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.repository.SearchPatterns;
 import com.SAE.sae.repository.RoomObjects.LampRepository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +22,17 @@ import java.util.List;
 public class LampManager {
 
     private final LampRepository lampRepository;
+    private final RoomObjectRepository roomObjectRepository;
+    private final ChangeEventBus changeEventBus;
+    private final PlacementValidator placementValidator;
 
     @Autowired
-    public LampManager(LampRepository lampRepository) {
+    public LampManager(LampRepository lampRepository, RoomObjectRepository roomObjectRepository,
+            ChangeEventBus changeEventBus, PlacementValidator placementValidator) {
         this.lampRepository = lampRepository;
+        this.roomObjectRepository = roomObjectRepository;
+        this.changeEventBus = changeEventBus;
+        this.placementValidator = placementValidator;
     }
 
     // ========= CREATE / UPDATE =========
@@ -24,14 +41,26 @@ public class LampManager {
      * Créer ou mettre à jour une Lamp
      */
     public Lamp save(Lamp lamp) {
-        return lampRepository.save(lamp);
+        placementValidator.check(lamp);
+        ChangeEvent.Kind kind = lamp.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED;
+        Lamp saved = lampRepository.save(lamp);
+        changeEventBus.publish(ChangeEvent.of(kind, saved));
+        return saved;
     }
 
     /**
      * Créer ou mettre à jour une liste de Lamps
      */
     public List<Lamp> saveAll(List<Lamp> lamps) {
-        return lampRepository.saveAll(lamps);
+        placementValidator.checkAll(lamps);
+        List<ChangeEvent.Kind> kinds = lamps.stream()
+                .map(item -> item.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED)
+                .toList();
+        List<Lamp> saved = lampRepository.saveAll(lamps);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEventBus.publish(ChangeEvent.of(kinds.get(i), saved.get(i)));
+        }
+        return saved;
     }
 
     // ========= READ =========
@@ -44,6 +73,14 @@ public class LampManager {
                 .orElseThrow(() -> new IllegalArgumentException("Aucune lampe trouvée avec l'ID : " + id));
     }
 
+    /**
+     * Récupérer une Lamp par ID avec sa salle (édition)
+     */
+    public Lamp findWithRoomById(Integer id) {
+        return lampRepository.findWithRoomById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Aucune lampe trouvée avec l'ID : " + id));
+    }
+
     /**
      * Récupérer toutes les Lamps
      */
@@ -65,6 +102,65 @@ public class LampManager {
         return lampRepository.findByRoom_Id(roomId);
     }
 
+    /**
+     * Récupérer une page de lignes de grille (projection avec le nom de la salle), filtrée comme search
+     */
+    public List<EquipmentRow> searchRows(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return roomObjectRepository.findRows(RoomObjectType.LAMP.name(), pageable);
+        }
+        return roomObjectRepository.searchRows(RoomObjectType.LAMP.name(), SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Récupérer une page de Lamps avec leur salle, filtrée sur le nom, la salle ou l'ID
+     * (insensible à la casse, tous les Lamps si le filtre est vide)
+     */
+    public List<Lamp> search(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return lampRepository.findAllWithRoom(pageable);
+        }
+        return lampRepository.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compter les Lamps correspondant au filtre de search
+     */
+    public long count(String filter) {
+        if (SearchPatterns.isBlank(filter)) {
+            return lampRepository.count();
+        }
+        return lampRepository.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
+    /**
+     * Récupérer une page de Lamps
+     */
+    public Slice<Lamp> findAll(Pageable pageable) {
+        return lampRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Récupérer les Lamps d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Lamp> findAllAfter(Integer afterId, int size) {
+        return lampRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * Récupérer une page de Lamps d'une salle
+     */
+    public Slice<Lamp> findByRoomId(Integer roomId, Pageable pageable) {
+        return lampRepository.findByRoom_Id(roomId, pageable);
+    }
+
+    /**
+     * Récupérer les Lamps d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Lamp> findByRoomIdAfter(Integer roomId, Integer afterId, int size) {
+        return lampRepository.findByRoom_IdAndIdGreaterThanOrderByIdAsc(roomId, afterId, PageRequest.ofSize(size));
+    }
+
     /**
      * Récupérer les Lamps par nom personnalisé
      */
@@ -79,6 +175,8 @@ public class LampManager {
      */
     public void deleteById(Integer id) {
         lampRepository.deleteById(id);
+        // Salle inconnue sans relire l'objet : toutes les salles suivies sont notifiées
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.LAMP, id, null));
     }
 
     /**
@@ -86,6 +184,7 @@ public class LampManager {
      */
     public void delete(Lamp lamp) {
         lampRepository.delete(lamp);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, lamp));
     }
 
     /**
@@ -93,14 +192,20 @@ public class LampManager {
      */
     public void deleteAll() {
         lampRepository.deleteAll();
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.LAMP, null, null));
     }
 
     /**
-     * Supprimer les Lamps par nom personnalisé
+     * Supprimer les Lamps par nom personnalisé, en une seule requête
+     * @return le nombre de Lamps supprimés
      */
     @Transactional
-    public void deleteByCustomName(String customName) {
-        lampRepository.deleteByCustomName(customName);
+    public int deleteByCustomName(String customName) {
+        int deleted = lampRepository.deleteByCustomName(customName);
+        if (deleted > 0) {
+            changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.LAMP, null, null));
+        }
+        return deleted;
     }
 
     // ========= AUTRES =========
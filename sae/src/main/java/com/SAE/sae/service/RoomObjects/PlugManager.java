@@ -1,8 +1,18 @@
 package com.SAE.sae.service.RoomObjects;
 
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.RoomObjects.Plug;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.repository.SearchPatterns;
 import com.SAE.sae.repository.RoomObjects.PlugRepository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +22,17 @@ import java.util.List;
 public class PlugManager {
 
     private final PlugRepository plugRepository;
+    private final RoomObjectRepository roomObjectRepository;
+    private final ChangeEventBus changeEventBus;
+    private final PlacementValidator placementValidator;
 
     @Autowired
-    public PlugManager(PlugRepository plugRepository) {
+    public PlugManager(PlugRepository plugRepository, RoomObjectRepository roomObjectRepository,
+            ChangeEventBus changeEventBus, PlacementValidator placementValidator) {
         this.plugRepository = plugRepository;
+        this.roomObjectRepository = roomObjectRepository;
+        this.changeEventBus = changeEventBus;
+        this.placementValidator = placementValidator;
     }
 
     // ========= CREATE / UPDATE =========
@@ -24,14 +41,26 @@ public class PlugManager {
      * Créer ou mettre à jour une Plug
      */
     public Plug save(Plug plug) {
-        return plugRepository.save(plug);
+        placementValidator.check(plug);
+        ChangeEvent.Kind kind = plug.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED;
+        Plug saved = plugRepository.save(plug);
+        changeEventBus.publish(ChangeEvent.of(kind, saved));
+        return saved;
     }
 
     /**
      * Créer ou mettre à jour une liste de Plugs
      */
     public List<Plug> saveAll(List<Plug> plugs) {
-        return plugRepository.saveAll(plugs);
+        placementValidator.checkAll(plugs);
+        List<ChangeEvent.Kind> kinds = plugs.stream()
+                .map(item -> item.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED)
+                .toList();
+        List<Plug> saved = plugRepository.saveAll(plugs);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEventBus.publish(ChangeEvent.of(kinds.get(i), saved.get(i)));
+        }
+        return saved;
     }
 
     // ========= READ =========
@@ -44,6 +73,14 @@ public class PlugManager {
                 .orElseThrow(() -> new IllegalArgumentException("Aucune prise trouvée avec l'ID : " + id));
     }
 
+    /**
+     * Récupérer une Plug par ID avec sa salle (édition)
+     */
+    public Plug findWithRoomById(Integer id) {
+        return plugRepository.findWithRoomById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Aucune prise trouvée avec l'ID : " + id));
+    }
+
     /**
      * Récupérer toutes les Plugs
      */
@@ -65,6 +102,65 @@ public class PlugManager {
         return plugRepository.findByRoom_Id(roomId);
     }
 
+    /**
+     * Récupérer une page de lignes de grille (projection avec le nom de la salle), filtrée comme search
+     */
+    public List<EquipmentRow> searchRows(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return roomObjectRepository.findRows(RoomObjectType.PLUG.name(), pageable);
+        }
+        return roomObjectRepository.searchRows(RoomObjectType.PLUG.name(), SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Récupérer une page de Plugs avec leur salle, filtrée sur le nom, la salle ou l'ID
+     * (insensible à la casse, tous les Plugs si le filtre est vide)
+     */
+    public List<Plug> search(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return plugRepository.findAllWithRoom(pageable);
+        }
+        return plugRepository.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compter les Plugs correspondant au filtre de search
+     */
+    public long count(String filter) {
+        if (SearchPatterns.isBlank(filter)) {
+            return plugRepository.count();
+        }
+        return plugRepository.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
+    /**
+     * Récupérer une page de Plugs
+     */
+    public Slice<Plug> findAll(Pageable pageable) {
+        return plugRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Récupérer les Plugs d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Plug> findAllAfter(Integer afterId, int size) {
+        return plugRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * Récupérer une page de Plugs d'une salle
+     */
+    public Slice<Plug> findByRoomId(Integer roomId, Pageable pageable) {
+        return plugRepository.findByRoom_Id(roomId, pageable);
+    }
+
+    /**
+     * Récupérer les Plugs d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Plug> findByRoomIdAfter(Integer roomId, Integer afterId, int size) {
+        return plugRepository.findByRoom_IdAndIdGreaterThanOrderByIdAsc(roomId, afterId, PageRequest.ofSize(size));
+    }
+
     /**
      * Récupérer les Plugs par nom personnalisé
      */
@@ -79,6 +175,8 @@ public class PlugManager {
      */
     public void deleteById(Integer id) {
         plugRepository.deleteById(id);
+        // Salle inconnue sans relire l'objet : toutes les salles suivies sont notifiées
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.PLUG, id, null));
     }
 
     /**
@@ -86,6 +184,7 @@ public class PlugManager {
      */
     public void delete(Plug plug) {
         plugRepository.delete(plug);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, plug));
     }
 
     /**
@@ -93,14 +192,20 @@ public class PlugManager {
      */
     public void deleteAll() {
         plugRepository.deleteAll();
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.PLUG, null, null));
     }
 
     /**
-     * Supprimer les Plugs par nom personnalisé
+     * Supprimer les Plugs par nom personnalisé, en une seule requête
+     * @return le nombre de Plugs supprimés
      */
     @Transactional
-    public void deleteByCustomName(String customName) {
-        plugRepository.deleteByCustomName(customName);
+    public int deleteByCustomName(String customName) {
+        int deleted = plugRepository.deleteByCustomName(customName);
+        if (deleted > 0) {
+            changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.PLUG, null, null));
+        }
+        return deleted;
     }
 
     // ========= AUTRES =========
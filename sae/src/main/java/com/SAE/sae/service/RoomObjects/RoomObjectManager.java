@@ -1,21 +1,59 @@
 package com.SAE.sae.service.RoomObjects;
 
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.RoomObjects.RoomObjectIndex;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.repository.RoomObjects.RoomObjectIndexRepository;
 import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
+/**
+ * Les lookups polymorphes passent par l'index t_e_room_object_index :
+ * on lit d'abord les entrées (type, id) correspondantes, puis on charge
+ * uniquement les lignes des sous-types concrets concernés.
+ */
 @Service
 public class RoomObjectManager {
 
+    /** Taille maximale des listes d'IDs passées dans un IN */
+    private static final int ID_CHUNK_SIZE = 1000;
+
     private final RoomObjectRepository roomObjectRepository;
+    private final RoomObjectIndexRepository roomObjectIndexRepository;
+    private final PlacementValidator placementValidator;
+    private final ChangeEventBus changeEventBus;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public RoomObjectManager(RoomObjectRepository roomObjectRepository) {
+    public RoomObjectManager(RoomObjectRepository roomObjectRepository,
+                             RoomObjectIndexRepository roomObjectIndexRepository,
+                             PlacementValidator placementValidator,
+                             ChangeEventBus changeEventBus) {
         this.roomObjectRepository = roomObjectRepository;
+        this.roomObjectIndexRepository = roomObjectIndexRepository;
+        this.placementValidator = placementValidator;
+        this.changeEventBus = changeEventBus;
     }
 
     // ========= CREATE / UPDATE =========
@@ -24,14 +62,26 @@ public class RoomObjectManager {
      * Créer ou mettre à jour un RoomObject
      */
     public RoomObject save(RoomObject roomObject) {
-        return roomObjectRepository.save(roomObject);
+        placementValidator.check(roomObject);
+        ChangeEvent.Kind kind = roomObject.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED;
+        RoomObject saved = roomObjectRepository.save(roomObject);
+        changeEventBus.publish(ChangeEvent.of(kind, saved));
+        return saved;
     }
 
     /**
      * Créer ou mettre à jour une liste de RoomObjects
      */
     public List<RoomObject> saveAll(List<RoomObject> roomObjects) {
-        return roomObjectRepository.saveAll(roomObjects);
+        placementValidator.checkAll(roomObjects);
+        List<ChangeEvent.Kind> kinds = roomObjects.stream()
+                .map(item -> item.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED)
+                .toList();
+        List<RoomObject> saved = roomObjectRepository.saveAll(roomObjects);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEventBus.publish(ChangeEvent.of(kinds.get(i), saved.get(i)));
+        }
+        return saved;
     }
 
     // ========= READ =========
@@ -39,9 +89,34 @@ public class RoomObjectManager {
     /**
      * Récupérer un RoomObject par ID
      */
+    @Transactional(readOnly = true)
     public RoomObject findById(Integer id) {
-        return roomObjectRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Aucun objet de salle trouvé avec l'ID : " + id));
+        return findById(id, null);
+    }
+
+    /**
+     * Récupérer un RoomObject par (ID, type) : les IDs ne sont uniques que par sous-type
+     * @param type sous-type de l'objet, facultatif si un seul objet porte cet ID
+     * @throws IllegalArgumentException si aucun objet ne correspond
+     * @throws IllegalStateException si plusieurs objets portent cet ID et que le type n'est pas précisé
+     */
+    @Transactional(readOnly = true)
+    public RoomObject findById(Integer id, RoomObjectType type) {
+        List<RoomObjectIndex> entries = roomObjectIndexRepository.findByObjectId(id).stream()
+                .filter(e -> type == null || e.getType() == type)
+                .toList();
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("Aucun objet de salle trouvé avec l'ID : " + id);
+        }
+        if (entries.size() > 1) {
+            throw new IllegalStateException("Plusieurs objets de salle portent l'ID " + id + ", préciser le type");
+        }
+        RoomObjectIndex entry = entries.get(0);
+        RoomObject roomObject = entityManager.find(entry.getType().getEntityClass(), id);
+        if (roomObject == null) {
+            throw new IllegalArgumentException("Aucun objet de salle trouvé avec l'ID : " + id);
+        }
+        return roomObject;
     }
 
     /**
@@ -54,22 +129,127 @@ public class RoomObjectManager {
     /**
      * Récupérer les RoomObjects par ID de salle
      */
+    @Transactional(readOnly = true)
     public List<RoomObject> findByRoomId(Integer roomId) {
-        return roomObjectRepository.findByRoomId(roomId);
+        return loadFromIndex(roomObjectIndexRepository.findByRoomId(roomId));
     }
 
     /**
      * Récupérer les RoomObjects via l'objet Room
      */
+    @Transactional(readOnly = true)
     public List<RoomObject> findByRoomId(Long roomId) {
-        return roomObjectRepository.findByRoom_Id(roomId);
+        return loadFromIndex(roomObjectIndexRepository.findByRoomId(roomId.intValue()));
     }
 
     /**
      * Récupérer les RoomObjects par nom personnalisé
      */
+    @Transactional(readOnly = true)
     public List<RoomObject> findByCustomName(String customName) {
-        return roomObjectRepository.findByCustomName(customName);
+        return loadFromIndex(roomObjectIndexRepository.findByCustomName(customName));
+    }
+
+    /**
+     * Récupérer une page de RoomObjects, triée par (ID, type)
+     */
+    @Transactional(readOnly = true)
+    public Slice<RoomObject> findAll(Pageable pageable) {
+        return loadFromIndex(roomObjectIndexRepository.findAllByOrderByObjectIdAscTypeAsc(unsorted(pageable)));
+    }
+
+    /**
+     * Récupérer une page de RoomObjects d'une salle, triée par (ID, type)
+     */
+    @Transactional(readOnly = true)
+    public Slice<RoomObject> findByRoomId(Integer roomId, Pageable pageable) {
+        return loadFromIndex(roomObjectIndexRepository.findByRoomIdOrderByObjectIdAscTypeAsc(roomId, unsorted(pageable)));
+    }
+
+    /**
+     * Récupérer les RoomObjects d'ID supérieur au curseur (pagination par clé).
+     * Les IDs n'étant pas uniques entre sous-types, la page est complétée par
+     * les autres objets portant le même dernier ID pour ne jamais les sauter.
+     */
+    @Transactional(readOnly = true)
+    public Slice<RoomObject> findAllAfter(Integer afterId, int size) {
+        Slice<RoomObjectIndex> entries = roomObjectIndexRepository
+                .findByObjectIdGreaterThanOrderByObjectIdAscTypeAsc(afterId, PageRequest.ofSize(size));
+        return loadFromIndex(completeLastId(entries, roomObjectIndexRepository::findByObjectId));
+    }
+
+    /**
+     * Récupérer les RoomObjects d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    @Transactional(readOnly = true)
+    public Slice<RoomObject> findByRoomIdAfter(Integer roomId, Integer afterId, int size) {
+        Slice<RoomObjectIndex> entries = roomObjectIndexRepository
+                .findByRoomIdAndObjectIdGreaterThanOrderByObjectIdAscTypeAsc(roomId, afterId, PageRequest.ofSize(size));
+        return loadFromIndex(completeLastId(entries, id -> roomObjectIndexRepository.findByRoomIdAndObjectId(roomId, id)));
+    }
+
+    /**
+     * L'ordre des pages polymorphes est toujours (ID, type) : un tri demandé par le client est ignoré
+     */
+    private static Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    /**
+     * Ajoute à une page par clé les entrées qui partagent l'ID de sa dernière entrée
+     * (le type est trié en base comme une chaîne, d'où la comparaison sur name())
+     */
+    private static Slice<RoomObjectIndex> completeLastId(Slice<RoomObjectIndex> entries,
+                                                         Function<Integer, List<RoomObjectIndex>> sameId) {
+        if (!entries.hasNext() || !entries.hasContent()) {
+            return entries;
+        }
+        List<RoomObjectIndex> content = new ArrayList<>(entries.getContent());
+        RoomObjectIndex last = content.get(content.size() - 1);
+        for (RoomObjectIndex entry : sameId.apply(last.getObjectId())) {
+            if (entry.getType().name().compareTo(last.getType().name()) > 0) {
+                content.add(entry);
+            }
+        }
+        content.sort(Comparator.comparing(RoomObjectIndex::getObjectId).thenComparing(entry -> entry.getType().name()));
+        return new SliceImpl<>(content, entries.getPageable(), true);
+    }
+
+    private Slice<RoomObject> loadFromIndex(Slice<RoomObjectIndex> entries) {
+        return new SliceImpl<>(loadFromIndex(entries.getContent()), entries.getPageable(), entries.hasNext());
+    }
+
+    /**
+     * Charge les objets désignés par des entrées d'index, une requête par sous-type présent,
+     * en conservant l'ordre des entrées
+     */
+    private List<RoomObject> loadFromIndex(List<RoomObjectIndex> entries) {
+        Map<RoomObjectType, List<Integer>> idsByType = new EnumMap<>(RoomObjectType.class);
+        for (RoomObjectIndex entry : entries) {
+            idsByType.computeIfAbsent(entry.getType(), t -> new ArrayList<>()).add(entry.getObjectId());
+        }
+
+        Map<RoomObjectIndex.Key, RoomObject> loaded = new HashMap<>();
+        idsByType.forEach((type, ids) -> {
+            String jpql = "SELECT o FROM " + type.getEntityClass().getSimpleName() + " o WHERE o.id IN :ids";
+            for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size()));
+                for (RoomObject roomObject : entityManager.createQuery(jpql, type.getEntityClass())
+                        .setParameter("ids", chunk)
+                        .getResultList()) {
+                    loaded.put(new RoomObjectIndex.Key(type, roomObject.getId()), roomObject);
+                }
+            }
+        });
+
+        List<RoomObject> result = new ArrayList<>(entries.size());
+        for (RoomObjectIndex entry : entries) {
+            RoomObject roomObject = loaded.get(new RoomObjectIndex.Key(entry.getType(), entry.getObjectId()));
+            if (roomObject != null) {
+                result.add(roomObject);
+            }
+        }
+        return result;
     }
 
     // ========= DELETE =========
@@ -77,8 +257,19 @@ public class RoomObjectManager {
     /**
      * Supprimer un RoomObject par ID
      */
+    @Transactional
     public void deleteById(Integer id) {
-        roomObjectRepository.deleteById(id);
+        deleteById(id, null);
+    }
+
+    /**
+     * Supprimer un RoomObject par (ID, type), résolu comme findById(Integer, RoomObjectType)
+     */
+    @Transactional
+    public void deleteById(Integer id, RoomObjectType type) {
+        RoomObject roomObject = findById(id, type);
+        roomObjectRepository.delete(roomObject);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, roomObject));
     }
 
     /**
@@ -86,6 +277,7 @@ public class RoomObjectManager {
      */
     public void delete(RoomObject roomObject) {
         roomObjectRepository.delete(roomObject);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, roomObject));
     }
 
     /**
@@ -96,11 +288,22 @@ public class RoomObjectManager {
     }
 
     /**
-     * Supprimer les RoomObjects par nom personnalisé
+     * Supprimer les RoomObjects par nom personnalisé : l'index donne les sous-types concernés,
+     * puis une requête DELETE par sous-type
+     * @return le nombre de RoomObjects supprimés
      */
     @Transactional
-    public void deleteByCustomName(String customName) {
-        roomObjectRepository.deleteByCustomName(customName);
+    public int deleteByCustomName(String customName) {
+        int deleted = 0;
+        for (RoomObjectType type : roomObjectIndexRepository.findTypesByCustomName(customName)) {
+            String jpql = "DELETE FROM " + type.getEntityClass().getSimpleName() + " o WHERE o.customName = :customName";
+            int count = entityManager.createQuery(jpql).setParameter("customName", customName).executeUpdate();
+            if (count > 0) {
+                changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, type, null, null));
+            }
+            deleted += count;
+        }
+        return deleted;
     }
 
     // ========= AUTRES =========
@@ -109,13 +312,13 @@ public class RoomObjectManager {
      * Vérifier l'existence d'un RoomObject par ID
      */
     public boolean existsById(Integer id) {
-        return roomObjectRepository.existsById(id);
+        return roomObjectIndexRepository.existsByObjectId(id);
     }
 
     /**
      * Compter le nombre total de RoomObjects
      */
     public long count() {
-        return roomObjectRepository.count();
+        return roomObjectIndexRepository.count();
     }
 }
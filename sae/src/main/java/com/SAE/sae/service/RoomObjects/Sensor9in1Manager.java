@@ -1,8 +1,18 @@
 package com.SAE.sae.service.RoomObjects;
 
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.RoomObjects.Sensor9in1;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.repository.SearchPatterns;
 import com.SAE.sae.repository.RoomObjects.Sensor9in1Repository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +22,17 @@ import java.util.List;
 public class Sensor9in1Manager {
 
     private final Sensor9in1Repository sensor9in1Repository;
+    private final RoomObjectRepository roomObjectRepository;
+    private final ChangeEventBus changeEventBus;
+    private final PlacementValidator placementValidator;
 
     @Autowired
-    public Sensor9in1Manager(Sensor9in1Repository sensor9in1Repository) {
+    public Sensor9in1Manager(Sensor9in1Repository sensor9in1Repository, RoomObjectRepository roomObjectRepository,
+            ChangeEventBus changeEventBus, PlacementValidator placementValidator) {
         this.sensor9in1Repository = sensor9in1Repository;
+        this.roomObjectRepository = roomObjectRepository;
+        this.changeEventBus = changeEventBus;
+        this.placementValidator = placementValidator;
     }
 
     // ========= CREATE / UPDATE =========
@@ -24,14 +41,26 @@ public class Sensor9in1Manager {
      * Créer ou mettre à jour un Sensor9in1
      */
     public Sensor9in1 save(Sensor9in1 sensor9in1) {
-        return sensor9in1Repository.save(sensor9in1);
+        placementValidator.check(sensor9in1);
+        ChangeEvent.Kind kind = sensor9in1.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED;
+        Sensor9in1 saved = sensor9in1Repository.save(sensor9in1);
+        changeEventBus.publish(ChangeEvent.of(kind, saved));
+        return saved;
     }
 
     /**
      * Créer ou mettre à jour une liste de Sensor9in1s
      */
     public List<Sensor9in1> saveAll(List<Sensor9in1> sensor9in1s) {
-        return sensor9in1Repository.saveAll(sensor9in1s);
+        placementValidator.checkAll(sensor9in1s);
+        List<ChangeEvent.Kind> kinds = sensor9in1s.stream()
+                .map(item -> item.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED)
+                .toList();
+        List<Sensor9in1> saved = sensor9in1Repository.saveAll(sensor9in1s);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEventBus.publish(ChangeEvent.of(kinds.get(i), saved.get(i)));
+        }
+        return saved;
     }
 
     // ========= READ =========
@@ -44,6 +73,14 @@ public class Sensor9in1Manager {
                 .orElseThrow(() -> new IllegalArgumentException("Aucun capteur 9-en-1 trouvé avec l'ID : " + id));
     }
 
+    /**
+     * Récupérer une Sensor9in1 par ID avec sa salle (édition)
+     */
+    public Sensor9in1 findWithRoomById(Integer id) {
+        return sensor9in1Repository.findWithRoomById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Aucun capteur 9-en-1 trouvé avec l'ID : " + id));
+    }
+
     /**
      * Récupérer tous les Sensor9in1s
      */
@@ -65,6 +102,65 @@ public class Sensor9in1Manager {
         return sensor9in1Repository.findByRoom_Id(roomId);
     }
 
+    /**
+     * Récupérer une page de lignes de grille (projection avec le nom de la salle), filtrée comme search
+     */
+    public List<EquipmentRow> searchRows(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return roomObjectRepository.findRows(RoomObjectType.SENSOR_9IN1.name(), pageable);
+        }
+        return roomObjectRepository.searchRows(RoomObjectType.SENSOR_9IN1.name(), SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Récupérer une page de Sensor9in1s avec leur salle, filtrée sur le nom, la salle ou l'ID
+     * (insensible à la casse, tous les Sensor9in1s si le filtre est vide)
+     */
+    public List<Sensor9in1> search(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return sensor9in1Repository.findAllWithRoom(pageable);
+        }
+        return sensor9in1Repository.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compter les Sensor9in1s correspondant au filtre de search
+     */
+    public long count(String filter) {
+        if (SearchPatterns.isBlank(filter)) {
+            return sensor9in1Repository.count();
+        }
+        return sensor9in1Repository.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
+    /**
+     * Récupérer une page de Sensor9in1s
+     */
+    public Slice<Sensor9in1> findAll(Pageable pageable) {
+        return sensor9in1Repository.findAllBy(pageable);
+    }
+
+    /**
+     * Récupérer les Sensor9in1s d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Sensor9in1> findAllAfter(Integer afterId, int size) {
+        return sensor9in1Repository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * Récupérer une page de Sensor9in1s d'une salle
+     */
+    public Slice<Sensor9in1> findByRoomId(Integer roomId, Pageable pageable) {
+        return sensor9in1Repository.findByRoom_Id(roomId, pageable);
+    }
+
+    /**
+     * Récupérer les Sensor9in1s d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Sensor9in1> findByRoomIdAfter(Integer roomId, Integer afterId, int size) {
+        return sensor9in1Repository.findByRoom_IdAndIdGreaterThanOrderByIdAsc(roomId, afterId, PageRequest.ofSize(size));
+    }
+
     /**
      * Récupérer les Sensor9in1s par nom personnalisé
      */
@@ -79,6 +175,8 @@ public class Sensor9in1Manager {
      */
     public void deleteById(Integer id) {
         sensor9in1Repository.deleteById(id);
+        // Salle inconnue sans relire l'objet : toutes les salles suivies sont notifiées
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.SENSOR_9IN1, id, null));
     }
 
     /**
@@ -86,6 +184,7 @@ public class Sensor9in1Manager {
      */
     public void delete(Sensor9in1 sensor9in1) {
         sensor9in1Repository.delete(sensor9in1);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, sensor9in1));
     }
 
     /**
@@ -93,14 +192,20 @@ public class Sensor9in1Manager {
      */
     public void deleteAll() {
         sensor9in1Repository.deleteAll();
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.SENSOR_9IN1, null, null));
     }
 
     /**
-     * Supprimer les Sensor9in1s par nom personnalisé
+     * Supprimer les Sensor9in1s par nom personnalisé, en une seule requête
+     * @return le nombre de Sensor9in1s supprimés
      */
     @Transactional
-    public void deleteByCustomName(String customName) {
-        sensor9in1Repository.deleteByCustomName(customName);
+    public int deleteByCustomName(String customName) {
+        int deleted = sensor9in1Repository.deleteByCustomName(customName);
+        if (deleted > 0) {
+            changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.SENSOR_9IN1, null, null));
+        }
+        return deleted;
     }
 
     // ========= AUTRES =========
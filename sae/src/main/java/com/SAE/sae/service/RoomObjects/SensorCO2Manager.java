@@ -1,8 +1,18 @@
 package com.SAE.sae.service.RoomObjects;
 
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.RoomObjects.SensorCO2;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.repository.SearchPatterns;
 import com.SAE.sae.repository.RoomObjects.SensorCO2Repository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +22,17 @@ import java.util.List;
 public class SensorCO2Manager {
 
     private final SensorCO2Repository sensorCO2Repository;
+    private final RoomObjectRepository roomObjectRepository;
+    private final ChangeEventBus changeEventBus;
+    private final PlacementValidator placementValidator;
 
     @Autowired
-    public SensorCO2Manager(SensorCO2Repository sensorCO2Repository) {
+    public SensorCO2Manager(SensorCO2Repository sensorCO2Repository, RoomObjectRepository roomObjectRepository,
+            ChangeEventBus changeEventBus, PlacementValidator placementValidator) {
         this.sensorCO2Repository = sensorCO2Repository;
+        this.roomObjectRepository = roomObjectRepository;
+        this.changeEventBus = changeEventBus;
+        this.placementValidator = placementValidator;
     }
 
     // ========= CREATE / UPDATE =========
@@ -24,14 +41,26 @@ public class SensorCO2Manager {
      * Créer ou mettre à jour un SensorCO2
      */
     public SensorCO2 save(SensorCO2 sensorCO2) {
-        return sensorCO2Repository.save(sensorCO2);
+        placementValidator.check(sensorCO2);
+        ChangeEvent.Kind kind = sensorCO2.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED;
+        SensorCO2 saved = sensorCO2Repository.save(sensorCO2);
+        changeEventBus.publish(ChangeEvent.of(kind, saved));
+        return saved;
     }
 
     /**
      * Créer ou mettre à jour une liste de SensorCO2s
      */
     public List<SensorCO2> saveAll(List<SensorCO2> sensorCO2s) {
-        return sensorCO2Repository.saveAll(sensorCO2s);
+        placementValidator.checkAll(sensorCO2s);
+        List<ChangeEvent.Kind> kinds = sensorCO2s.stream()
+                .map(item -> item.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED)
+                .toList();
+        List<SensorCO2> saved = sensorCO2Repository.saveAll(sensorCO2s);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEventBus.publish(ChangeEvent.of(kinds.get(i), saved.get(i)));
+        }
+        return saved;
     }
 
     // ========= READ =========
@@ -44,6 +73,14 @@ public class SensorCO2Manager {
                 .orElseThrow(() -> new IllegalArgumentException("Aucun capteur CO2 trouvé avec l'ID : " + id));
     }
 
+    /**
+     * Récupérer une SensorCO2 par ID avec sa salle (édition)
+     */
+    public SensorCO2 findWithRoomById(Integer id) {
+        return sensorCO2Repository.findWithRoomById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Aucun capteur CO2 trouvé avec l'ID : " + id));
+    }
+
     /**
      * Récupérer tous les SensorCO2s
      */
@@ -65,6 +102,65 @@ public class SensorCO2Manager {
         return sensorCO2Repository.findByRoom_Id(roomId);
     }
 
+    /**
+     * Récupérer une page de lignes de grille (projection avec le nom de la salle), filtrée comme search
+     */
+    public List<EquipmentRow> searchRows(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return roomObjectRepository.findRows(RoomObjectType.SENSOR_CO2.name(), pageable);
+        }
+        return roomObjectRepository.searchRows(RoomObjectType.SENSOR_CO2.name(), SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Récupérer une page de SensorCO2s avec leur salle, filtrée sur le nom, la salle ou l'ID
+     * (insensible à la casse, tous les SensorCO2s si le filtre est vide)
+     */
+    public List<SensorCO2> search(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return sensorCO2Repository.findAllWithRoom(pageable);
+        }
+        return sensorCO2Repository.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compter les SensorCO2s correspondant au filtre de search
+     */
+    public long count(String filter) {
+        if (SearchPatterns.isBlank(filter)) {
+            return sensorCO2Repository.count();
+        }
+        return sensorCO2Repository.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
+    /**
+     * Récupérer une page de SensorCO2s
+     */
+    public Slice<SensorCO2> findAll(Pageable pageable) {
+        return sensorCO2Repository.findAllBy(pageable);
+    }
+
+    /**
+     * Récupérer les SensorCO2s d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<SensorCO2> findAllAfter(Integer afterId, int size) {
+        return sensorCO2Repository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * Récupérer une page de SensorCO2s d'une salle
+     */
+    public Slice<SensorCO2> findByRoomId(Integer roomId, Pageable pageable) {
+        return sensorCO2Repository.findByRoom_Id(roomId, pageable);
+    }
+
+    /**
+     * Récupérer les SensorCO2s d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<SensorCO2> findByRoomIdAfter(Integer roomId, Integer afterId, int size) {
+        return sensorCO2Repository.findByRoom_IdAndIdGreaterThanOrderByIdAsc(roomId, afterId, PageRequest.ofSize(size));
+    }
+
     /**
      * Récupérer les SensorCO2s par nom personnalisé
      */
@@ -79,6 +175,8 @@ public class SensorCO2Manager {
      */
     public void deleteById(Integer id) {
         sensorCO2Repository.deleteById(id);
+        // Salle inconnue sans relire l'objet : toutes les salles suivies sont notifiées
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.SENSOR_CO2, id, null));
     }
 
     /**
@@ -86,6 +184,7 @@ public class SensorCO2Manager {
      */
     public void delete(SensorCO2 sensorCO2) {
         sensorCO2Repository.delete(sensorCO2);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, sensorCO2));
     }
 
     /**
@@ -93,14 +192,20 @@ public class SensorCO2Manager {
      */
     public void deleteAll() {
         sensorCO2Repository.deleteAll();
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.SENSOR_CO2, null, null));
     }
 
     /**
-     * Supprimer les SensorCO2s par nom personnalisé
+     * Supprimer les SensorCO2s par nom personnalisé, en une seule requête
+     * @return le nombre de SensorCO2s supprimés
      */
     @Transactional
-    public void deleteByCustomName(String customName) {
-        sensorCO2Repository.deleteByCustomName(customName);
+    public int deleteByCustomName(String customName) {
+        int deleted = sensorCO2Repository.deleteByCustomName(customName);
+        if (deleted > 0) {
+            changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.SENSOR_CO2, null, null));
+        }
+        return deleted;
     }
 
     // ========= AUTRES =========
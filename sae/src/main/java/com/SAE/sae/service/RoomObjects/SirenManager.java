@@ -1,8 +1,18 @@
 package com.SAE.sae.service.RoomObjects;
 
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.RoomObjects.Siren;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.repository.SearchPatterns;
 import com.SAE.sae.repository.RoomObjects.SirenRepository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +22,17 @@ import java.util.List;
 public class SirenManager {
 
     private final SirenRepository sirenRepository;
+    private final RoomObjectRepository roomObjectRepository;
+    private final ChangeEventBus changeEventBus;
+    private final PlacementValidator placementValidator;
 
     @Autowired
-    public SirenManager(SirenRepository sirenRepository) {
+    public SirenManager(SirenRepository sirenRepository, RoomObjectRepository roomObjectRepository,
+            ChangeEventBus changeEventBus, PlacementValidator placementValidator) {
         this.sirenRepository = sirenRepository;
+        this.roomObjectRepository = roomObjectRepository;
+        this.changeEventBus = changeEventBus;
+        this.placementValidator = placementValidator;
     }
 
     // ========= CREATE / UPDATE =========
@@ -24,14 +41,26 @@ public class SirenManager {
      * Créer ou mettre à jour une Siren
      */
     public Siren save(Siren siren) {
-        return sirenRepository.save(siren);
+        placementValidator.check(siren);
+        ChangeEvent.Kind kind = siren.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED;
+        Siren saved = sirenRepository.save(siren);
+        changeEventBus.publish(ChangeEvent.of(kind, saved));
+        return saved;
     }
 
     /**
      * Créer ou mettre à jour une liste de Sirens
      */
     public List<Siren> saveAll(List<Siren> sirens) {
-        return sirenRepository.saveAll(sirens);
+        placementValidator.checkAll(sirens);
+        List<ChangeEvent.Kind> kinds = sirens.stream()
+                .map(item -> item.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED)
+                .toList();
+        List<Siren> saved = sirenRepository.saveAll(sirens);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEventBus.publish(ChangeEvent.of(kinds.get(i), saved.get(i)));
+        }
+        return saved;
     }
 
     // ========= READ =========
@@ -44,6 +73,14 @@ public class SirenManager {
                 .orElseThrow(() -> new IllegalArgumentException("Aucune sirène trouvée avec l'ID : " + id));
     }
 
+    /**
+     * Récupérer une Siren par ID avec sa salle (édition)
+     */
+    public Siren findWithRoomById(Integer id) {
+        return sirenRepository.findWithRoomById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Aucune sirène trouvée avec l'ID : " + id));
+    }
+
     /**
      * Récupérer toutes les Sirens
      */
@@ -65,6 +102,65 @@ public class SirenManager {
         return sirenRepository.findByRoom_Id(roomId);
     }
 
+    /**
+     * Récupérer une page de lignes de grille (projection avec le nom de la salle), filtrée comme search
+     */
+    public List<EquipmentRow> searchRows(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return roomObjectRepository.findRows(RoomObjectType.SIREN.name(), pageable);
+        }
+        return roomObjectRepository.searchRows(RoomObjectType.SIREN.name(), SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Récupérer une page de Sirens avec leur salle, filtrée sur le nom, la salle ou l'ID
+     * (insensible à la casse, tous les Sirens si le filtre est vide)
+     */
+    public List<Siren> search(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return sirenRepository.findAllWithRoom(pageable);
+        }
+        return sirenRepository.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compter les Sirens correspondant au filtre de search
+     */
+    public long count(String filter) {
+        if (SearchPatterns.isBlank(filter)) {
+            return sirenRepository.count();
+        }
+        return sirenRepository.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
+    /**
+     * Récupérer une page de Sirens
+     */
+    public Slice<Siren> findAll(Pageable pageable) {
+        return sirenRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Récupérer les Sirens d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Siren> findAllAfter(Integer afterId, int size) {
+        return sirenRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * Récupérer une page de Sirens d'une salle
+     */
+    public Slice<Siren> findByRoomId(Integer roomId, Pageable pageable) {
+        return sirenRepository.findByRoom_Id(roomId, pageable);
+    }
+
+    /**
+     * Récupérer les Sirens d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Siren> findByRoomIdAfter(Integer roomId, Integer afterId, int size) {
+        return sirenRepository.findByRoom_IdAndIdGreaterThanOrderByIdAsc(roomId, afterId, PageRequest.ofSize(size));
+    }
+
     /**
      * Récupérer les Sirens par nom personnalisé
      */
@@ -79,6 +175,8 @@ public class SirenManager {
      */
     public void deleteById(Integer id) {
         sirenRepository.deleteById(id);
+        // Salle inconnue sans relire l'objet : toutes les salles suivies sont notifiées
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.SIREN, id, null));
     }
 
     /**
@@ -86,6 +184,7 @@ public class SirenManager {
      */
     public void delete(Siren siren) {
         sirenRepository.delete(siren);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, siren));
     }
 
     /**
@@ -93,14 +192,20 @@ public class SirenManager {
      */
     public void deleteAll() {
         sirenRepository.deleteAll();
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.SIREN, null, null));
     }
 
     /**
-     * Supprimer les Sirens par nom personnalisé
+     * Supprimer les Sirens par nom personnalisé, en une seule requête
+     * @return le nombre de Sirens supprimés
      */
     @Transactional
-    public void deleteByCustomName(String customName) {
-        sirenRepository.deleteByCustomName(customName);
+    public int deleteByCustomName(String customName) {
+        int deleted = sirenRepository.deleteByCustomName(customName);
+        if (deleted > 0) {
+            changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.SIREN, null, null));
+        }
+        return deleted;
     }
 
     // ========= AUTRES =========
@@ -1,8 +1,18 @@
 package com.SAE.sae.service.RoomObjects;
 
+import com.SAE.sae.dto.ChangeEvent;
 import com.SAE.sae.entity.RoomObjects.Window;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.repository.SearchPatterns;
 import com.SAE.sae.repository.RoomObjects.WindowRepository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,10 +22,17 @@ import java.util.List;
 public class WindowManager {
 
     private final WindowRepository windowRepository;
+    private final RoomObjectRepository roomObjectRepository;
+    private final ChangeEventBus changeEventBus;
+    private final PlacementValidator placementValidator;
 
     @Autowired
-    public WindowManager(WindowRepository windowRepository) {
+    public WindowManager(WindowRepository windowRepository, RoomObjectRepository roomObjectRepository,
+            ChangeEventBus changeEventBus, PlacementValidator placementValidator) {
         this.windowRepository = windowRepository;
+        this.roomObjectRepository = roomObjectRepository;
+        this.changeEventBus = changeEventBus;
+        this.placementValidator = placementValidator;
     }
 
     // ========= CREATE / UPDATE =========
@@ -24,14 +41,26 @@ public class WindowManager {
      * Créer ou mettre à jour une Window
      */
     public Window save(Window window) {
-        return windowRepository.save(window);
+        placementValidator.check(window);
+        ChangeEvent.Kind kind = window.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED;
+        Window saved = windowRepository.save(window);
+        changeEventBus.publish(ChangeEvent.of(kind, saved));
+        return saved;
     }
 
     /**
      * Créer ou mettre à jour une liste de Windows
      */
     public List<Window> saveAll(List<Window> windows) {
-        return windowRepository.saveAll(windows);
+        placementValidator.checkAll(windows);
+        List<ChangeEvent.Kind> kinds = windows.stream()
+                .map(item -> item.getId() == 0 ? ChangeEvent.Kind.CREATED : ChangeEvent.Kind.UPDATED)
+                .toList();
+        List<Window> saved = windowRepository.saveAll(windows);
+        for (int i = 0; i < saved.size(); i++) {
+            changeEventBus.publish(ChangeEvent.of(kinds.get(i), saved.get(i)));
+        }
+        return saved;
     }
 
     // ========= READ =========
@@ -44,6 +73,14 @@ public class WindowManager {
                 .orElseThrow(() -> new IllegalArgumentException("Aucune fenêtre trouvée avec l'ID : " + id));
     }
 
+    /**
+     * Récupérer une Window par ID avec sa salle (édition)
+     */
+    public Window findWithRoomById(Integer id) {
+        return windowRepository.findWithRoomById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Aucune fenêtre trouvée avec l'ID : " + id));
+    }
+
     /**
      * Récupérer toutes les Windows
      */
@@ -65,6 +102,65 @@ public class WindowManager {
         return windowRepository.findByRoom_Id(roomId);
     }
 
+    /**
+     * Récupérer une page de lignes de grille (projection avec le nom de la salle), filtrée comme search
+     */
+    public List<EquipmentRow> searchRows(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return roomObjectRepository.findRows(RoomObjectType.WINDOW.name(), pageable);
+        }
+        return roomObjectRepository.searchRows(RoomObjectType.WINDOW.name(), SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Récupérer une page de Windows avec leur salle, filtrée sur le nom, la salle ou l'ID
+     * (insensible à la casse, tous les Windows si le filtre est vide)
+     */
+    public List<Window> search(String filter, Pageable pageable) {
+        if (SearchPatterns.isBlank(filter)) {
+            return windowRepository.findAllWithRoom(pageable);
+        }
+        return windowRepository.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compter les Windows correspondant au filtre de search
+     */
+    public long count(String filter) {
+        if (SearchPatterns.isBlank(filter)) {
+            return windowRepository.count();
+        }
+        return windowRepository.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
+    /**
+     * Récupérer une page de Windows
+     */
+    public Slice<Window> findAll(Pageable pageable) {
+        return windowRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Récupérer les Windows d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Window> findAllAfter(Integer afterId, int size) {
+        return windowRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * Récupérer une page de Windows d'une salle
+     */
+    public Slice<Window> findByRoomId(Integer roomId, Pageable pageable) {
+        return windowRepository.findByRoom_Id(roomId, pageable);
+    }
+
+    /**
+     * Récupérer les Windows d'une salle d'ID supérieur au curseur (pagination par clé)
+     */
+    public Slice<Window> findByRoomIdAfter(Integer roomId, Integer afterId, int size) {
+        return windowRepository.findByRoom_IdAndIdGreaterThanOrderByIdAsc(roomId, afterId, PageRequest.ofSize(size));
+    }
+
     /**
      * Récupérer les Windows par nom personnalisé
      */
@@ -79,6 +175,8 @@ public class WindowManager {
      */
     public void deleteById(Integer id) {
         windowRepository.deleteById(id);
+        // Salle inconnue sans relire l'objet : toutes les salles suivies sont notifiées
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.WINDOW, id, null));
     }
 
     /**
@@ -86,6 +184,7 @@ public class WindowManager {
      */
     public void delete(Window window) {
         windowRepository.delete(window);
+        changeEventBus.publish(ChangeEvent.of(ChangeEvent.Kind.DELETED, window));
     }
 
     /**
@@ -93,14 +192,20 @@ public class WindowManager {
      */
     public void deleteAll() {
         windowRepository.deleteAll();
+        changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.WINDOW, null, null));
     }
 
     /**
-     * Supprimer les Windows par nom personnalisé
+     * Supprimer les Windows par nom personnalisé, en une seule requête
+     * @return le nombre de Windows supprimés
      */
     @Transactional
-    public void deleteByCustomName(String customName) {
-        windowRepository.deleteByCustomName(customName);
+    public int deleteByCustomName(String customName) {
+        int deleted = windowRepository.deleteByCustomName(customName);
+        if (deleted > 0) {
+            changeEventBus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.WINDOW, null, null));
+        }
+        return deleted;
     }
 
     // ========= AUTRES =========
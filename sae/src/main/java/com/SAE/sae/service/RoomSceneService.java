@@ -0,0 +1,224 @@
+package com.SAE.sae.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.SAE.sae.dto.ChangeEvent;
+import com.SAE.sae.dto.RoomScene;
+import com.SAE.sae.entity.Room;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.RoomEquipment;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ResourceVersionService.Stamp;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scènes 3D des salles, versionnées pour les ETags.
+ * <p>
+ * La version d'une scène est lue en base (ResourceVersionService.ofRoomScene) : version de la ligne de
+ * la salle et compteur de son contenu, tenus à jour par la base quelle que soit l'origine de l'écriture.
+ * Version et scène sont lues dans le même instantané (REPEATABLE READ) : une scène n'est jamais servie
+ * sous l'ETag d'un autre état qu'elle, ni avant que les écritures qu'elle contient soient validées.
+ * <p>
+ * Pour répondre 304 sans accès base, la dernière version lue de chaque salle est gardée en mémoire :
+ * le ChangeEventBus l'invalide après la validation de chaque écriture de l'application, et elle expire
+ * après sae.scene.version-ttl. Compromis : une écriture faite hors de l'application (SQL direct, autre instance)
+ * peut laisser répondre 304 sur l'ancienne scène pendant au plus sae.scene.version-ttl.
+ * <p>
+ * Format binaire (petit-boutiste) : "SCN1", int32 id de salle, float32 largeur, longueur, hauteur,
+ * uint16 nombre de groupes ; puis par type : uint8 ordinal du type, uint8 1 si tailles, int32 n,
+ * int32[n] ids, float32[3n] positions, float32[3n] tailles si présentes. Les noms ne sont qu'en JSON.
+ */
+@Service
+@Slf4j
+public class RoomSceneService {
+    private static final byte[] MAGIC = {'S', 'C', 'N', '1'};
+
+    private final RoomObjectRepository roomObjectRepository;
+    private final ResourceVersionService resourceVersionService;
+    private final TransactionTemplate snapshotTransaction;
+    private final Cache<Integer, Snapshot> snapshots;
+    /** Dernière version lue en base de chaque salle, invalidée par le ChangeEventBus */
+    private final Cache<Integer, String> versions;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public RoomSceneService(RoomObjectRepository roomObjectRepository,
+                            ResourceVersionService resourceVersionService,
+                            PlatformTransactionManager transactionManager,
+                            ChangeEventBus changeEventBus,
+                            @Value("${sae.scene.max-rooms:500}") long maxRooms,
+                            @Value("${sae.scene.version-ttl:5s}") Duration versionTtl) {
+        this.roomObjectRepository = roomObjectRepository;
+        this.resourceVersionService = resourceVersionService;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshots = Caffeine.newBuilder().maximumSize(maxRooms).build();
+        this.versions = Caffeine.newBuilder().maximumSize(maxRooms).expireAfterWrite(versionTtl).build();
+        changeEventBus.subscribeAll(this::onChange);
+        // Un bâtiment supprimé emporte ses salles
+        changeEventBus.subscribeBuildings(event -> versions.invalidateAll());
+    }
+
+    /**
+     * ETag courant de la scène d'une salle : version gardée en mémoire, lue en base (clé primaire) si elle n'y est plus
+     * @param binary représentation binaire (sinon JSON) : chaque représentation a son ETag
+     * @return l'ETag, null si la salle est inconnue
+     */
+    public String currentETag(int roomId, boolean binary) {
+        // Une invalidation arrivée pendant la lecture attend qu'elle se termine, puis la retire
+        String version = versions.get(roomId,
+                id -> resourceVersionService.ofRoomScene(id).map(Stamp::getETag).orElse(null));
+        return version != null ? eTag(version, binary) : null;
+    }
+
+    /**
+     * Scène d'une salle, reprise du cache si rien n'a changé depuis son chargement
+     * @throws IllegalArgumentException si la salle est inconnue
+     */
+    public Snapshot getScene(int roomId) {
+        return snapshotTransaction.execute(status -> {
+            String version = resourceVersionService.ofRoomScene(roomId).map(Stamp::getETag)
+                    .orElseThrow(() -> new IllegalArgumentException("Room not found with ID: " + roomId));
+            Snapshot cached = snapshots.getIfPresent(roomId);
+            if (cached != null && cached.version.equals(version)) {
+                return cached;
+            }
+            // Lue hors cache de second niveau, pour qu'elle appartienne au même instantané que la version
+            Room room = entityManager.find(Room.class, roomId,
+                    Map.of("jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS));
+            if (room == null) {
+                throw new IllegalArgumentException("Room not found with ID: " + roomId);
+            }
+            Snapshot snapshot = new Snapshot(version, build(room, roomObjectRepository.findEquipmentByRoomId(roomId)));
+            snapshots.put(roomId, snapshot);
+            return snapshot;
+        });
+    }
+
+    private void onChange(ChangeEvent event) {
+        if (event.getRoomId() != null) {
+            versions.invalidate(event.getRoomId());
+        } else {
+            versions.invalidateAll();
+        }
+    }
+
+    /** ETag d'une représentation : la version lue en base (entre guillemets), suffixée du format */
+    private static String eTag(String version, boolean binary) {
+        return version.substring(0, version.length() - 1) + (binary ? "-b" : "-j") + "\"";
+    }
+
+    // ========== CONSTRUCTION ==========
+
+    private static RoomScene build(Room room, List<RoomEquipment> inventory) {
+        Map<RoomObjectType, List<RoomEquipment>> byType = new EnumMap<>(RoomObjectType.class);
+        for (RoomEquipment equipment : inventory) {
+            byType.computeIfAbsent(equipment.getType(), k -> new ArrayList<>()).add(equipment);
+        }
+        Map<RoomObjectType, RoomScene.Group> groups = new EnumMap<>(RoomObjectType.class);
+        byType.forEach((type, items) -> {
+            int n = items.size();
+            List<Integer> ids = new ArrayList<>(n);
+            List<String> names = new ArrayList<>(n);
+            float[] positions = new float[n * 3];
+            boolean sized = items.stream().anyMatch(e -> e.getSizeX() != null || e.getSizeY() != null || e.getSizeZ() != null);
+            float[] sizes = sized ? new float[n * 3] : null;
+            for (int i = 0; i < n; i++) {
+                RoomEquipment e = items.get(i);
+                ids.add(e.getId());
+                names.add(e.getName());
+                put(positions, i, e.getPosX(), e.getPosY(), e.getPosZ());
+                if (sized) {
+                    put(sizes, i, e.getSizeX(), e.getSizeY(), e.getSizeZ());
+                }
+            }
+            groups.put(type, new RoomScene.Group(ids, names, positions, sizes));
+        });
+        return new RoomScene(room.getId(), room.getName(), room.getWidth(), room.getLength(), room.getHeight(), groups);
+    }
+
+    private static void put(float[] target, int i, Double x, Double y, Double z) {
+        target[i * 3] = x != null ? x.floatValue() : Float.NaN;
+        target[i * 3 + 1] = y != null ? y.floatValue() : Float.NaN;
+        target[i * 3 + 2] = z != null ? z.floatValue() : Float.NaN;
+    }
+
+    static byte[] encode(RoomScene scene) {
+        int size = MAGIC.length + 4 + 3 * 4 + 2;
+        for (RoomScene.Group group : scene.getObjects().values()) {
+            size += 1 + 1 + 4 + group.getIds().size() * 4 + group.getPositions().length * 4
+                    + (group.getSizes() != null ? group.getSizes().length * 4 : 0);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC);
+        buffer.putInt(scene.getRoomId());
+        buffer.putFloat((float) scene.getWidth());
+        buffer.putFloat((float) scene.getLength());
+        buffer.putFloat((float) scene.getHeight());
+        buffer.putShort((short) scene.getObjects().size());
+        scene.getObjects().forEach((type, group) -> {
+            buffer.put((byte) type.ordinal());
+            buffer.put((byte) (group.getSizes() != null ? 1 : 0));
+            buffer.putInt(group.getIds().size());
+            group.getIds().forEach(id -> buffer.putInt(id != null ? id : 0));
+            buffer.asFloatBuffer().put(group.getPositions());
+            buffer.position(buffer.position() + group.getPositions().length * 4);
+            if (group.getSizes() != null) {
+                buffer.asFloatBuffer().put(group.getSizes());
+                buffer.position(buffer.position() + group.getSizes().length * 4);
+            }
+        });
+        return buffer.array();
+    }
+
+    /**
+     * Scène chargée pour une version donnée ; l'encodage binaire est calculé à la première demande
+     */
+    public final class Snapshot {
+        private final String version;
+        private final RoomScene scene;
+        private volatile byte[] binary;
+
+        private Snapshot(String version, RoomScene scene) {
+            this.version = version;
+            this.scene = scene;
+        }
+
+        public RoomScene getScene() {
+            return scene;
+        }
+
+        public byte[] getBinary() {
+            byte[] encoded = binary;
+            if (encoded == null) {
+                encoded = encode(scene);
+                binary = encoded;
+            }
+            return encoded;
+        }
+
+        public String eTag(boolean binary) {
+            return RoomSceneService.this.eTag(version, binary);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.SAE.sae.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.SAE.sae.dto.ChangeEvent;
+import com.SAE.sae.dto.SpatialMatch;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.RoomEquipment;
+import com.SAE.sae.repository.RoomRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index spatial en mémoire des objets de chaque salle, pour les requêtes de voisinage.
+ * <p>
+ * Chaque objet est une boîte alignée sur les axes, de (posX, posY, posZ) à (pos + size) ;
+ * les objets sans taille sont des points, ceux sans position ne sont pas indexés.
+ * Une salle est rangée dans une grille uniforme (RoomGrid), construite à la première requête
+ * depuis l'inventaire de la salle, puis invalidée à chaque création, modification ou suppression
+ * publiée sur le ChangeEventBus (salle d'origine comprise en cas de déplacement).
+ */
+@Service
+@Slf4j
+public class RoomSpatialIndex {
+    /** Plafond du nombre de résultats d'une recherche des plus proches voisins */
+    public static final int MAX_NEIGHBOURS = 1000;
+
+    private final RoomInventoryService roomInventoryService;
+    private final RoomRepository roomRepository;
+    private final Cache<Integer, RoomGrid> grids;
+    /** Dernière salle connue de chaque objet indexé (clé : type et id) */
+    private final Map<Long, Integer> locations = new ConcurrentHashMap<>();
+
+    public RoomSpatialIndex(RoomInventoryService roomInventoryService,
+                            RoomRepository roomRepository,
+                            ChangeEventBus changeEventBus,
+                            @Value("${sae.spatial.max-rooms:1000}") long maxRooms) {
+        this.roomInventoryService = roomInventoryService;
+        this.roomRepository = roomRepository;
+        this.grids = Caffeine.newBuilder().maximumSize(maxRooms).build();
+        changeEventBus.subscribeAll(this::onChange);
+    }
+
+    // ========== REQUÊTES ==========
+
+    /**
+     * Objets dont la boîte est à au plus radius du point, du plus proche au plus lointain
+     * @param types types retenus, tous si null ou vide
+     * @throws IllegalArgumentException si la salle est inconnue
+     */
+    public List<SpatialMatch> within(int roomId, double x, double y, double z, double radius,
+                                     Set<RoomObjectType> types) {
+        return grid(roomId).within(x, y, z, radius, types);
+    }
+
+    /**
+     * Les k objets les plus proches du point, du plus proche au plus lointain
+     * @param types types retenus, tous si null ou vide
+     * @throws IllegalArgumentException si la salle est inconnue
+     */
+    public List<SpatialMatch> nearest(int roomId, double x, double y, double z, int k,
+                                      Set<RoomObjectType> types) {
+        return grid(roomId).nearest(x, y, z, Math.min(k, MAX_NEIGHBOURS), types);
+    }
+
+    /**
+     * Objets à volume non nul dont la boîte chevauche strictement la boîte donnée (un contact n'est pas un chevauchement)
+     * @param box minX, minY, minZ, maxX, maxY, maxZ
+     * @throws IllegalArgumentException si la salle est inconnue
+     */
+    public List<SpatialMatch> overlapping(int roomId, double[] box) {
+        RoomGrid grid = grid(roomId);
+        List<SpatialMatch> matches = new ArrayList<>();
+        grid.forEachOverlap(box, i -> matches.add(grid.match(i, 0)));
+        return matches;
+    }
+
+    private RoomGrid grid(int roomId) {
+        return grids.get(roomId, this::build);
+    }
+
+    private RoomGrid build(int roomId) {
+        if (!roomRepository.existsById(roomId)) {
+            throw new IllegalArgumentException("Room not found with ID: " + roomId);
+        }
+        List<RoomEquipment> inventory = roomInventoryService.getInventory(roomId);
+        for (RoomEquipment equipment : inventory) {
+            locations.put(key(equipment.getType(), equipment.getId()), roomId);
+        }
+        RoomGrid grid = RoomGrid.of(inventory);
+        log.debug("Index spatial de la salle {} : {} objets, {} cellules", roomId, grid.size(), grid.cellCount());
+        return grid;
+    }
+
+    // ========== INVALIDATION ==========
+
+    /**
+     * Invalide la salle de l'objet changé et, s'il a été déplacé, celle où il était indexé.
+     * Un changement sans objet ni salle (suppression en masse) invalide tout.
+     */
+    private void onChange(ChangeEvent event) {
+        if (event.getObjectType() != null && event.getObjectId() != null) {
+            Integer previous = locations.remove(key(event.getObjectType(), event.getObjectId()));
+            if (previous != null) {
+                grids.invalidate(previous);
+            }
+        }
+        if (event.getRoomId() != null) {
+            grids.invalidate(event.getRoomId());
+        } else if (event.getObjectId() == null) {
+            grids.invalidateAll();
+        }
+    }
+
+    private static long key(RoomObjectType type, int id) {
+        return ((long) type.ordinal() << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Grille uniforme immuable sur les boîtes d'une salle : chaque cellule liste les objets qui la touchent.
+     * Les coordonnées des boîtes sont rangées à plat (6 doubles par objet).
+     * Seuls les objets à volume non nul (solid) participent aux chevauchements.
+     */
+    static final class RoomGrid {
+        /** Côté minimal d'une cellule, en mètres */
+        private static final double MIN_CELL = 0.5;
+        private static final int MAX_CELLS_PER_AXIS = 32;
+        private static final int[] NO_ENTRIES = new int[0];
+
+        private final RoomObjectType[] types;
+        private final Integer[] ids;
+        private final String[] names;
+        private final double[] boxes;
+        private final boolean[] solid;
+        private final double[] origin = new double[3];
+        private final double[] cellSize = new double[3];
+        private final int[] dims = new int[3];
+        private final int[][] cells;
+
+        private RoomGrid(List<? extends RoomEquipment> entries) {
+            int n = entries.size();
+            types = new RoomObjectType[n];
+            ids = new Integer[n];
+            names = new String[n];
+            boxes = new double[n * 6];
+            solid = new boolean[n];
+            double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+            origin[0] = origin[1] = origin[2] = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                RoomEquipment e = entries.get(i);
+                types[i] = e.getType();
+                ids[i] = e.getId();
+                names[i] = e.getName();
+                solid[i] = isSolid(e);
+                double[] box = box(e);
+                System.arraycopy(box, 0, boxes, i * 6, 6);
+                for (int a = 0; a < 3; a++) {
+                    origin[a] = Math.min(origin[a], box[a]);
+                    max[a] = Math.max(max[a], box[3 + a]);
+                }
+            }
+            if (n == 0) {
+                origin[0] = origin[1] = origin[2] = 0;
+                max[0] = max[1] = max[2] = 0;
+            }
+
+            // Cellules cubiques d'environ un objet chacune, dans la limite de MAX_CELLS_PER_AXIS par axe
+            double volume = 1;
+            for (int a = 0; a < 3; a++) {
+                volume *= Math.max(max[a] - origin[a], MIN_CELL);
+            }
+            double side = Math.max(MIN_CELL, Math.cbrt(volume / Math.max(n, 1)));
+            int cellCount = 1;
+            for (int a = 0; a < 3; a++) {
+                double span = max[a] - origin[a];
+                dims[a] = Math.min(MAX_CELLS_PER_AXIS, (int) (span / side) + 1);
+                cellSize[a] = span > 0 ? span / dims[a] : side;
+                cellCount *= dims[a];
+            }
+
+            List<List<Integer>> buckets = new ArrayList<>(cellCount);
+            for (int c = 0; c < cellCount; c++) {
+                buckets.add(null);
+            }
+            for (int i = 0; i < n; i++) {
+                int[] lo = new int[3];
+                int[] hi = new int[3];
+                for (int a = 0; a < 3; a++) {
+                    lo[a] = cellIndex(a, boxes[i * 6 + a]);
+                    hi[a] = cellIndex(a, boxes[i * 6 + 3 + a]);
+                }
+                for (int cx = lo[0]; cx <= hi[0]; cx++) {
+                    for (int cy = lo[1]; cy <= hi[1]; cy++) {
+                        for (int cz = lo[2]; cz <= hi[2]; cz++) {
+                            int c = cell(cx, cy, cz);
+                            if (buckets.get(c) == null) {
+                                buckets.set(c, new ArrayList<>(2));
+                            }
+                            buckets.get(c).add(i);
+                        }
+                    }
+                }
+            }
+            cells = new int[cellCount][];
+            for (int c = 0; c < cellCount; c++) {
+                List<Integer> bucket = buckets.get(c);
+                cells[c] = bucket == null ? NO_ENTRIES : bucket.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        /**
+         * Grille des objets positionnés de la liste ; les autres sont ignorés
+         */
+        static RoomGrid of(List<? extends RoomEquipment> inventory) {
+            return new RoomGrid(inventory.stream().filter(RoomGrid::isPositioned).toList());
+        }
+
+        /**
+         * Grille de la liste telle quelle : les indices des objets sont ceux de la liste, tous positionnés
+         */
+        static RoomGrid ofPositioned(List<? extends RoomEquipment> positioned) {
+            return new RoomGrid(positioned);
+        }
+
+        static boolean isPositioned(RoomEquipment e) {
+            return e.getPosX() != null && e.getPosY() != null && e.getPosZ() != null;
+        }
+
+        /** Objet à volume non nul : taille renseignée et positive sur les trois axes */
+        static boolean isSolid(RoomEquipment e) {
+            return extent(e.getSizeX()) > 0 && extent(e.getSizeY()) > 0 && extent(e.getSizeZ()) > 0;
+        }
+
+        /** Boîte d'un objet positionné : minX, minY, minZ, maxX, maxY, maxZ */
+        static double[] box(RoomEquipment e) {
+            return new double[] {
+                    e.getPosX(), e.getPosY(), e.getPosZ(),
+                    e.getPosX() + extent(e.getSizeX()), e.getPosY() + extent(e.getSizeY()), e.getPosZ() + extent(e.getSizeZ())
+            };
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int cellCount() {
+            return cells.length;
+        }
+
+        List<SpatialMatch> within(double x, double y, double z, double radius, Set<RoomObjectType> filter) {
+            double[] point = {x, y, z};
+            int[] lo = new int[3];
+            int[] hi = new int[3];
+            for (int a = 0; a < 3; a++) {
+                lo[a] = cellIndex(a, point[a] - radius);
+                hi[a] = cellIndex(a, point[a] + radius);
+            }
+            boolean[] seen = new boolean[ids.length];
+            List<SpatialMatch> matches = new ArrayList<>();
+            for (int cx = lo[0]; cx <= hi[0]; cx++) {
+                for (int cy = lo[1]; cy <= hi[1]; cy++) {
+                    for (int cz = lo[2]; cz <= hi[2]; cz++) {
+                        for (int i : cells[cell(cx, cy, cz)]) {
+                            if (seen[i] || !accepts(filter, i)) {
+                                continue;
+                            }
+                            seen[i] = true;
+                            double distance = distance(i, x, y, z);
+                            if (distance <= radius) {
+                                matches.add(match(i, distance));
+                            }
+                        }
+                    }
+                }
+            }
+            matches.sort(Comparator.comparingDouble(SpatialMatch::getDistance));
+            return matches;
+        }
+
+        /**
+         * Parcours des cellules par couronnes (distance de Chebyshev croissante autour de la cellule du point) :
+         * un objet hors des couronnes déjà vues est à plus de r fois le plus petit côté de cellule,
+         * on s'arrête dès que les k meilleurs sont plus proches que cette borne.
+         */
+        List<SpatialMatch> nearest(double x, double y, double z, int k, Set<RoomObjectType> filter) {
+            if (k <= 0 || ids.length == 0) {
+                return List.of();
+            }
+            int[] center = {cellIndex(0, x), cellIndex(1, y), cellIndex(2, z)};
+            int maxRing = Math.max(dims[0], Math.max(dims[1], dims[2]));
+            double minCell = Math.min(cellSize[0], Math.min(cellSize[1], cellSize[2]));
+            boolean[] seen = new boolean[ids.length];
+            // Tas max sur la distance : la tête est le moins bon des k retenus
+            PriorityQueue<SpatialMatch> best = new PriorityQueue<>(
+                    Comparator.comparingDouble(SpatialMatch::getDistance).reversed());
+
+            for (int ring = 0; ring <= maxRing; ring++) {
+                for (int cx = Math.max(0, center[0] - ring); cx <= Math.min(dims[0] - 1, center[0] + ring); cx++) {
+                    for (int cy = Math.max(0, center[1] - ring); cy <= Math.min(dims[1] - 1, center[1] + ring); cy++) {
+                        boolean onShell = Math.abs(cx - center[0]) == ring || Math.abs(cy - center[1]) == ring;
+                        int step = onShell ? 1 : Math.max(1, 2 * ring);
+                        for (int cz = center[2] - ring; cz <= center[2] + ring; cz += step) {
+                            if (cz >= 0 && cz < dims[2]) {
+                                collect(cells[cell(cx, cy, cz)], seen, filter, x, y, z, k, best);
+                            }
+                        }
+                    }
+                }
+                if (best.size() == k && best.peek().getDistance() <= ring * minCell) {
+                    break;
+                }
+            }
+            List<SpatialMatch> result = new ArrayList<>(best);
+            result.sort(Comparator.comparingDouble(SpatialMatch::getDistance));
+            return result;
+        }
+
+        private void collect(int[] entries, boolean[] seen, Set<RoomObjectType> filter,
+                             double x, double y, double z, int k, PriorityQueue<SpatialMatch> best) {
+            for (int i : entries) {
+                if (seen[i] || !accepts(filter, i)) {
+                    continue;
+                }
+                seen[i] = true;
+                double distance = distance(i, x, y, z);
+                if (best.size() < k) {
+                    best.add(match(i, distance));
+                } else if (distance < best.peek().getDistance()) {
+                    best.poll();
+                    best.add(match(i, distance));
+                }
+            }
+        }
+
+        /**
+         * Appelle action pour chaque objet solide dont la boîte chevauche strictement box, une seule fois par objet :
+         * un couple n'est traité que dans la cellule qui contient le coin inférieur de leur intersection.
+         */
+        void forEachOverlap(double[] box, IntConsumer action) {
+            int[] lo = new int[3];
+            int[] hi = new int[3];
+            for (int a = 0; a < 3; a++) {
+                lo[a] = cellIndex(a, box[a]);
+                hi[a] = cellIndex(a, box[3 + a]);
+            }
+            for (int cx = lo[0]; cx <= hi[0]; cx++) {
+                for (int cy = lo[1]; cy <= hi[1]; cy++) {
+                    for (int cz = lo[2]; cz <= hi[2]; cz++) {
+                        for (int j : cells[cell(cx, cy, cz)]) {
+                            if (solid[j] && overlaps(box, j)
+                                    && cellIndex(0, Math.max(box[0], boxes[j * 6])) == cx
+                                    && cellIndex(1, Math.max(box[1], boxes[j * 6 + 1])) == cy
+                                    && cellIndex(2, Math.max(box[2], boxes[j * 6 + 2])) == cz) {
+                                action.accept(j);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean overlaps(double[] box, int j) {
+            int b = j * 6;
+            return box[0] < boxes[b + 3] && boxes[b] < box[3]
+                    && box[1] < boxes[b + 4] && boxes[b + 1] < box[4]
+                    && box[2] < boxes[b + 5] && boxes[b + 2] < box[5];
+        }
+
+        double[] box(int i) {
+            double[] box = new double[6];
+            System.arraycopy(boxes, i * 6, box, 0, 6);
+            return box;
+        }
+
+        boolean isSolid(int i) {
+            return solid[i];
+        }
+
+        private boolean accepts(Set<RoomObjectType> filter, int i) {
+            return filter == null || filter.isEmpty() || filter.contains(types[i]);
+        }
+
+        /** Distance euclidienne du point à la boîte de l'objet, 0 à l'intérieur */
+        private double distance(int i, double x, double y, double z) {
+            int b = i * 6;
+            double dx = Math.max(0, Math.max(boxes[b] - x, x - boxes[b + 3]));
+            double dy = Math.max(0, Math.max(boxes[b + 1] - y, y - boxes[b + 4]));
+            double dz = Math.max(0, Math.max(boxes[b + 2] - z, z - boxes[b + 5]));
+            return Math.sqrt(dx * dx + dy * dy + dz * dz);
+        }
+
+        SpatialMatch match(int i, double distance) {
+            return new SpatialMatch(types[i], ids[i], names[i], distance);
+        }
+
+        private int cellIndex(int axis, double value) {
+            int index = (int) Math.floor((value - origin[axis]) / cellSize[axis]);
+            return Math.max(0, Math.min(dims[axis] - 1, index));
+        }
+
+        private int cell(int cx, int cy, int cz) {
+            return (cx * dims[1] + cy) * dims[2] + cz;
+        }
+
+        private static double extent(Double size) {
+            return size != null && size > 0 ? size : 0;
+        }
+    }
+}
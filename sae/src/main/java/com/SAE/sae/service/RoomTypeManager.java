@@ -4,32 +4,73 @@ package com.SAE.sae.service;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.Cache;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.SAE.sae.config.CacheConfig;
+import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.RoomType;
 import com.SAE.sae.repository.RoomTypeRepository;
+import com.SAE.sae.repository.SearchPatterns;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Les lectures de RoomTypes sont servies depuis le cache (voir CacheConfig),
+ * invalidé à chaque enregistrement, mise à jour ou suppression.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RoomTypeManager {
     private final RoomTypeRepository roomTypeRepo;
+    private final EntityManagerFactory entityManagerFactory;
 
     /**
      * Récupére tous les RoomTypes
      */
+    @Cacheable(CacheConfig.ALL_ROOM_TYPES)
     public List<RoomType> getAllRoomTypes(){
         return roomTypeRepo.findAll();
     }
 
+    /**
+     * Récupére une page de roomTypes, filtrée en base (insensible à la casse)
+     * @param filter terme recherché, ou null pour tous
+     * @param pageable la page demandée
+     * @return les roomTypes de la page
+     */
+    public List<RoomType> searchRoomTypes(String filter, Pageable pageable){
+        if (SearchPatterns.isBlank(filter)) {
+            return roomTypeRepo.findPage(pageable);
+        }
+        return roomTypeRepo.search(SearchPatterns.contains(filter), SearchPatterns.id(filter), pageable);
+    }
+
+    /**
+     * Compte les roomTypes correspondant au filtre de searchRoomTypes
+     * @param filter terme recherché, ou null pour tous
+     * @return le nombre de roomTypes
+     */
+    public long countRoomTypes(String filter){
+        if (SearchPatterns.isBlank(filter)) {
+            return roomTypeRepo.count();
+        }
+        return roomTypeRepo.countSearch(SearchPatterns.contains(filter), SearchPatterns.id(filter));
+    }
+
     /**
      * Récupére un roomType avec son id
      * @param id
      * @return un RoomType si trouvé, null sinon
      */
+    @Cacheable(cacheNames = CacheConfig.ROOM_TYPES, unless = "#result == null")
     public RoomType getRoomTypeById(int id){
         Optional<RoomType> optionalroomType = roomTypeRepo.findById(id);
         if(optionalroomType.isPresent()){
@@ -45,17 +86,40 @@ public class RoomTypeManager {
      * @param roomType a ajouter
      * @return le roomType ajouté dans la base
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.ROOM_TYPES, key = "#roomType.id"),
+        @CacheEvict(cacheNames = CacheConfig.ALL_ROOM_TYPES, allEntries = true)
+    })
     public RoomType saveRoomType (RoomType roomType){
         RoomType savedroomType = roomTypeRepo.save(roomType);
         log.info("roomType with id {} saved wucessfully.", roomType.getId());
         return savedroomType;
     }
 
+    /**
+     * Enregistre une liste de RoomTypes en une seule transaction (insertions par lots)
+     * @param roomTypes a ajouter
+     * @return les roomTypes ajoutés dans la base
+     */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.ROOM_TYPES, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ALL_ROOM_TYPES, allEntries = true)
+    })
+    public List<RoomType> saveAllRoomTypes(List<RoomType> roomTypes){
+        List<RoomType> savedroomTypes = roomTypeRepo.saveAll(roomTypes);
+        log.info("{} roomTypes saved sucessfully.", savedroomTypes.size());
+        return savedroomTypes;
+    }
+
     /**
      * Met à jour un roomType
      * @param roomType modifié
      * @return le roomType mis à jour dans la base
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.ROOM_TYPES, key = "#roomType.id"),
+        @CacheEvict(cacheNames = CacheConfig.ALL_ROOM_TYPES, allEntries = true)
+    })
     public RoomType updateRoomType(RoomType roomType){
         Optional<RoomType> existingRoomType = roomTypeRepo.findById(roomType.getId());
 
@@ -69,8 +133,14 @@ public class RoomTypeManager {
      * Supprime un roomType par id
      * @param id du roomType à supprimer
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.ROOM_TYPES, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.ALL_ROOM_TYPES, allEntries = true)
+    })
     public void deleteRoomTypeById(int id){
         roomTypeRepo.deleteById(id);
+        // La base remet à NULL le type des pièces concernées (ON DELETE SET NULL), à l'insu du cache de second niveau
+        entityManagerFactory.getCache().unwrap(Cache.class).evictEntityData(Room.class);
         log.info("roomType with id {} has been deleted sucessfully.", id);
     }
 }
@@ -0,0 +1,91 @@
+package com.SAE.sae.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.SAE.sae.dto.SensorHistory;
+import com.SAE.sae.entity.RoomObjects.RoomObjectIndex;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.repository.RoomObjects.RoomObjectIndexRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Historique des mesures d'un capteur, lu uniquement dans les agrégats (voir SensorRollupService) :
+ * le nombre de lignes lues dépend de la période et du pas, pas de la fréquence des mesures.
+ */
+@Service
+@RequiredArgsConstructor
+public class SensorHistoryService {
+    /** Nombre de points visé par métrique, y compris quand le pas est imposé */
+    static final int MAX_POINTS = 1_500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoomObjectIndexRepository roomObjectIndexRepository;
+
+    /**
+     * Historique d'un capteur
+     * @param sensorId l'id du capteur
+     * @param type le type du capteur, nécessaire seulement si plusieurs capteurs portent cet id
+     * @param metric la métrique, ou null pour toutes
+     * @param from début de la période (inclus)
+     * @param to fin de la période (exclue)
+     * @param step le pas, ou null pour le plus fin donnant au plus MAX_POINTS points ;
+     *             un pas plus fin que celui-ci est élargi (le pas appliqué est rendu dans l'historique)
+     * @throws IllegalArgumentException si aucun capteur ne porte cet id
+     * @throws IllegalStateException si plusieurs capteurs portent cet id et que le type n'est pas donné
+     */
+    public SensorHistory getHistory(Integer sensorId, RoomObjectType type, String metric,
+                                    Instant from, Instant to, RollupStep step) {
+        RoomObjectType sensorType = resolveType(sensorId, type);
+        RollupStep coarsest = chooseStep(Duration.between(from, to));
+        RollupStep effectiveStep = step != null && step.compareTo(coarsest) > 0 ? step : coarsest;
+
+        String sql = """
+                SELECT rol_metric, rol_bucket, rol_min, rol_max, rol_sum / rol_count, rol_count
+                FROM t_e_sensor_rollup_rol
+                WHERE rol_step = ? AND rol_sensor_type = ? AND rol_sensor_id = ?
+                  AND rol_bucket >= ? AND rol_bucket < ?
+                """;
+        Object[] args = {effectiveStep.getLabel(), sensorType.name(), sensorId, Timestamp.from(from), Timestamp.from(to)};
+        if (metric != null) {
+            sql += " AND rol_metric = ?";
+            args = new Object[] {args[0], args[1], args[2], args[3], args[4], metric};
+        }
+        sql += " ORDER BY rol_metric, rol_bucket";
+
+        List<SensorHistory.Point> points = jdbcTemplate.query(sql, (rs, i) -> new SensorHistory.Point(
+                rs.getString(1), rs.getTimestamp(2).toInstant(),
+                rs.getDouble(3), rs.getDouble(4), rs.getDouble(5), rs.getLong(6)), args);
+        return new SensorHistory(sensorType, sensorId, effectiveStep.getLabel(), from, to, points);
+    }
+
+    private RoomObjectType resolveType(Integer sensorId, RoomObjectType type) {
+        List<RoomObjectType> types = roomObjectIndexRepository.findByObjectId(sensorId).stream()
+                .map(RoomObjectIndex::getType)
+                .filter(RoomObjectType::isSensor)
+                .filter(t -> type == null || t == type)
+                .toList();
+        if (types.isEmpty()) {
+            throw new IllegalArgumentException("Sensor not found with ID: " + sensorId);
+        }
+        if (types.size() > 1) {
+            throw new IllegalStateException("Plusieurs capteurs portent l'ID " + sensorId + ", préciser le type");
+        }
+        return types.get(0);
+    }
+
+    private static RollupStep chooseStep(Duration period) {
+        for (RollupStep step : RollupStep.values()) {
+            if (period.dividedBy(step.getDuration()) <= MAX_POINTS) {
+                return step;
+            }
+        }
+        return RollupStep.HOUR;
+    }
+}
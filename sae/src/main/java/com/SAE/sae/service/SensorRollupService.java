@@ -0,0 +1,245 @@
+package com.SAE.sae.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Calcul incrémental des agrégats des mesures des capteurs et purge des anciennes données.
+ * <p>
+ * À chaque passage, chaque pas agrège la plage [filigrane, cible) de sa source : les mesures brutes
+ * pour le pas d'une minute (en laissant sae.rollup.lateness aux mesures en retard), le pas précédent
+ * pour les autres. Agrégats et filigrane sont écrits dans la même transaction, sous verrou de la ligne
+ * de filigrane : un même intervalle n'est jamais compté deux fois, même avec plusieurs instances.
+ * <p>
+ * Mesures en retard : celles insérées sous le filigrane d'une minute sont résumées par un trigger
+ * (V13__Late_Sensor_Readings.sql) ; chaque passage ajoute ces résumés aux agrégats de chaque pas
+ * déjà calculés, les autres les reprendront depuis le pas précédent.
+ * <p>
+ * Rétention : les mesures brutes (sae.rollup.retention.raw), les agrégats d'une minute
+ * (sae.rollup.retention.minute) et de 15 minutes (sae.rollup.retention.quarter-hour) sont supprimés
+ * une fois plus vieux que leur rétention et déjà agrégés au pas suivant (ainsi que les mesures en retard,
+ * pour les mesures brutes). Les agrégats horaires sont gardés.
+ */
+@Service
+@Slf4j
+public class SensorRollupService {
+    private static final String READINGS_TABLE = "t_e_sensor_reading_rea";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String UPSERT = """
+            INSERT INTO t_e_sensor_rollup_rol AS t
+                (rol_step, rol_sensor_type, rol_sensor_id, rol_metric, rol_bucket, rol_min, rol_max, rol_sum, rol_count)
+            %s
+            ON CONFLICT (rol_step, rol_sensor_type, rol_sensor_id, rol_metric, rol_bucket) DO UPDATE SET
+                rol_min = LEAST(t.rol_min, EXCLUDED.rol_min),
+                rol_max = GREATEST(t.rol_max, EXCLUDED.rol_max),
+                rol_sum = t.rol_sum + EXCLUDED.rol_sum,
+                rol_count = t.rol_count + EXCLUDED.rol_count
+            """;
+
+    /** Agrégation des mesures brutes ; paramètres : pas, secondes, secondes, début, fin */
+    private static final String FROM_READINGS = UPSERT.formatted("""
+            SELECT ?, rea_sensor_type, rea_sensor_id, rea_metric,
+                   to_timestamp(floor(extract(epoch FROM rea_ts) / ?) * ?) AS bucket,
+                   MIN(rea_value), MAX(rea_value), SUM(rea_value), COUNT(*)
+            FROM t_e_sensor_reading_rea
+            WHERE rea_ts >= ? AND rea_ts < ?
+            GROUP BY rea_sensor_type, rea_sensor_id, rea_metric, bucket
+            """);
+
+    /** Agrégation d'un pas plus fin ; paramètres : pas, secondes, secondes, pas source, début, fin */
+    private static final String FROM_ROLLUPS = UPSERT.formatted("""
+            SELECT ?, rol_sensor_type, rol_sensor_id, rol_metric,
+                   to_timestamp(floor(extract(epoch FROM rol_bucket) / ?) * ?) AS bucket,
+                   MIN(rol_min), MAX(rol_max), SUM(rol_sum), SUM(rol_count)
+            FROM t_e_sensor_rollup_rol
+            WHERE rol_step = ? AND rol_bucket >= ? AND rol_bucket < ?
+            GROUP BY rol_sensor_type, rol_sensor_id, rol_metric, bucket
+            """);
+
+    /** Fusion des mesures en retard dans un pas ; paramètres : pas, secondes, secondes, filigrane du pas */
+    private static final String FROM_PENDING = UPSERT.formatted("""
+            SELECT ?, rpe_sensor_type, rpe_sensor_id, rpe_metric,
+                   to_timestamp(floor(extract(epoch FROM rpe_bucket) / ?) * ?) AS bucket,
+                   MIN(rpe_min), MAX(rpe_max), SUM(rpe_sum), SUM(rpe_count)
+            FROM t_e_rollup_pending_rpe
+            WHERE rpe_bucket < ?
+            GROUP BY rpe_sensor_type, rpe_sensor_id, rpe_metric, bucket
+            """);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lateness;
+    private final Duration rawRetention;
+    private final Duration minuteRetention;
+    private final Duration quarterHourRetention;
+
+    public SensorRollupService(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${sae.rollup.lateness:2m}") Duration lateness,
+                               @Value("${sae.rollup.retention.raw:30d}") Duration rawRetention,
+                               @Value("${sae.rollup.retention.minute:90d}") Duration minuteRetention,
+                               @Value("${sae.rollup.retention.quarter-hour:365d}") Duration quarterHourRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.lateness = lateness;
+        this.rawRetention = rawRetention;
+        this.minuteRetention = minuteRetention;
+        this.quarterHourRetention = quarterHourRetention;
+    }
+
+    /**
+     * Tâche planifiée : agrégation puis purge
+     */
+    @Scheduled(fixedDelayString = "${sae.rollup.interval:60s}", initialDelayString = "${sae.rollup.initial-delay:30s}")
+    public void run() {
+        try {
+            Instant now = Instant.now();
+            compact(now);
+            purge(now);
+        } catch (RuntimeException e) {
+            log.error("Échec du calcul des agrégats des capteurs", e);
+        }
+    }
+
+    /**
+     * Fait avancer chaque pas jusqu'à la dernière tranche complète de sa source
+     * @param now instant de référence
+     */
+    public void compact(Instant now) {
+        mergeLateReadings();
+        Instant sourceComplete = now.minus(lateness);
+        for (RollupStep step : RollupStep.values()) {
+            sourceComplete = compactStep(step, sourceComplete);
+        }
+    }
+
+    /**
+     * Supprime les données plus vieilles que leur rétention, une fois agrégées au pas suivant
+     * @param now instant de référence
+     */
+    public void purge(Instant now) {
+        Instant rawCutoff = min(now.minus(rawRetention), watermark(RollupStep.MINUTE));
+        Timestamp oldestPending = jdbcTemplate.queryForObject("SELECT MIN(rpe_bucket) FROM t_e_rollup_pending_rpe",
+                Timestamp.class);
+        purgeReadings(oldestPending != null ? min(rawCutoff, oldestPending.toInstant()) : rawCutoff);
+        purgeRollups(RollupStep.MINUTE, min(now.minus(minuteRetention), watermark(RollupStep.QUARTER_HOUR)));
+        purgeRollups(RollupStep.QUARTER_HOUR, min(now.minus(quarterHourRetention), watermark(RollupStep.HOUR)));
+    }
+
+    /**
+     * Ajoute les mesures en retard aux agrégats de chaque pas dont le filigrane les a dépassées, puis les oublie.
+     * Les filigranes sont verrouillés le temps de la fusion : ni agrégation ni nouvelle mesure en retard
+     * ne peuvent s'intercaler (voir le trigger de V13).
+     */
+    private void mergeLateReadings() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Map<String, Object>> watermarks = jdbcTemplate.queryForList(
+                    "SELECT rwm_step, rwm_until FROM t_e_rollup_watermark_rwm ORDER BY rwm_step FOR UPDATE");
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM t_e_rollup_pending_rpe)", Boolean.class))) {
+                return;
+            }
+            for (Map<String, Object> watermark : watermarks) {
+                RollupStep step = RollupStep.fromLabel((String) watermark.get("rwm_step"));
+                long seconds = step.getDuration().toSeconds();
+                // Au-delà du filigrane, le pas reprendra ces mesures depuis le pas précédent
+                int rows = jdbcTemplate.update(FROM_PENDING, step.getLabel(), seconds, seconds, watermark.get("rwm_until"));
+                log.debug("Mesures en retard fusionnées dans les agrégats {} : {} lignes", step.getLabel(), rows);
+            }
+            jdbcTemplate.update("DELETE FROM t_e_rollup_pending_rpe");
+        });
+    }
+
+    /**
+     * Agrège un pas dans une transaction
+     * @param step le pas
+     * @param sourceComplete instant jusqu'auquel la source est complète
+     * @return le nouveau filigrane du pas, jusqu'auquel il est complet
+     */
+    private Instant compactStep(RollupStep step, Instant sourceComplete) {
+        return transactionTemplate.execute(status -> {
+            Instant from = jdbcTemplate.queryForObject(
+                    "SELECT rwm_until FROM t_e_rollup_watermark_rwm WHERE rwm_step = ? FOR UPDATE",
+                    Timestamp.class, step.getLabel()).toInstant();
+            Instant until = floor(sourceComplete, step.getDuration());
+            if (!until.isAfter(from)) {
+                return from;
+            }
+            long seconds = step.getDuration().toSeconds();
+            int rows = step.getSource() == null
+                    ? jdbcTemplate.update(FROM_READINGS, step.getLabel(), seconds, seconds,
+                            Timestamp.from(from), Timestamp.from(until))
+                    : jdbcTemplate.update(FROM_ROLLUPS, step.getLabel(), seconds, seconds, step.getSource().getLabel(),
+                            Timestamp.from(from), Timestamp.from(until));
+            jdbcTemplate.update("UPDATE t_e_rollup_watermark_rwm SET rwm_until = ? WHERE rwm_step = ?",
+                    Timestamp.from(until), step.getLabel());
+            log.debug("Agrégats {} : {} lignes sur [{}, {})", step.getLabel(), rows, from, until);
+            return until;
+        });
+    }
+
+    /**
+     * Instant jusqu'auquel un pas est complet
+     */
+    public Instant watermark(RollupStep step) {
+        return jdbcTemplate.queryForObject("SELECT rwm_until FROM t_e_rollup_watermark_rwm WHERE rwm_step = ?",
+                Timestamp.class, step.getLabel()).toInstant();
+    }
+
+    private void purgeReadings(Instant cutoff) {
+        // Partitions mensuelles entièrement antérieures à la limite : suppression de la partition
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = ?
+                """, String.class, READINGS_TABLE);
+        for (String partition : partitions) {
+            String suffix = partition.substring(partition.lastIndexOf('_') + 1);
+            if (!suffix.matches("\\d{6}")) {
+                continue;
+            }
+            // Marge d'un jour pour le fuseau horaire des bornes de partition
+            Instant end = YearMonth.parse(suffix, PARTITION_SUFFIX).plusMonths(1).atDay(2)
+                    .atStartOfDay().toInstant(ZoneOffset.UTC);
+            if (!end.isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Partition de mesures {} supprimée (rétention)", partition);
+            }
+        }
+        // Mesures hors partition mensuelle
+        jdbcTemplate.update("DELETE FROM t_e_sensor_reading_rea_default WHERE rea_ts < ?", Timestamp.from(cutoff));
+    }
+
+    private void purgeRollups(RollupStep step, Instant cutoff) {
+        int deleted = jdbcTemplate.update("DELETE FROM t_e_sensor_rollup_rol WHERE rol_step = ? AND rol_bucket < ?",
+                step.getLabel(), Timestamp.from(cutoff));
+        if (deleted > 0) {
+            log.debug("Agrégats {} purgés : {}", step.getLabel(), deleted);
+        }
+    }
+
+    private static Instant floor(Instant instant, Duration step) {
+        long seconds = step.toSeconds();
+        return Instant.ofEpochSecond(Math.floorDiv(instant.getEpochSecond(), seconds) * seconds);
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
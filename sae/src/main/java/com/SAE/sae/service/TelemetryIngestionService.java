@@ -0,0 +1,129 @@
+package com.SAE.sae.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.SAE.sae.dto.TelemetryReading;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Point d'entrée de la télémétrie des capteurs.
+ * Les mesures acceptées sont déposées dans un tampon circulaire borné (sae.telemetry.buffer-capacity)
+ * que le TelemetryWriter vide par lots en base. Un lot est accepté entier ou refusé entier :
+ * quand le tampon n'a plus la place, submit renvoie false et l'appelant doit réessayer plus tard.
+ * Les lots acceptés sont aussi transmis aux TelemetryListener (moteur d'alertes).
+ */
+@Service
+@Slf4j
+public class TelemetryIngestionService {
+    /** Avance d'horloge tolérée sur l'horodatage des mesures */
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofDays(1);
+    /** Taille de la colonne rea_metric */
+    private static final int MAX_METRIC_LENGTH = 64;
+
+    private final int capacity;
+    private final BlockingQueue<TelemetryReading> buffer;
+    /** Places libres du tampon, réservées en une fois pour tout un lot */
+    private final Semaphore freeSlots;
+    private final List<TelemetryListener> listeners;
+
+    public TelemetryIngestionService(@Value("${sae.telemetry.buffer-capacity:262144}") int capacity,
+                                     List<TelemetryListener> listeners) {
+        this.capacity = capacity;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.freeSlots = new Semaphore(capacity);
+        this.listeners = listeners;
+    }
+
+    /**
+     * Valide un lot de mesures et le dépose dans le tampon
+     * @param readings les mesures
+     * @return false si le tampon est plein (aucune mesure du lot n'est gardée)
+     * @throws IllegalArgumentException si une mesure est invalide ou si le lot dépasse la capacité du tampon
+     */
+    public boolean submit(List<TelemetryReading> readings) {
+        if (readings.size() > capacity) {
+            throw new IllegalArgumentException("Lot trop grand : " + readings.size() + " mesures (max " + capacity + ")");
+        }
+        Instant latest = Instant.now().plus(MAX_CLOCK_SKEW);
+        for (TelemetryReading reading : readings) {
+            validate(reading, latest);
+        }
+        if (readings.isEmpty()) {
+            return true;
+        }
+        if (!freeSlots.tryAcquire(readings.size())) {
+            log.debug("Tampon de télémétrie plein, lot de {} mesures refusé", readings.size());
+            return false;
+        }
+        // Les places sont réservées : offer ne peut pas échouer
+        for (TelemetryReading reading : readings) {
+            buffer.offer(reading);
+        }
+        for (TelemetryListener listener : listeners) {
+            listener.onReadings(readings);
+        }
+        return true;
+    }
+
+    /**
+     * Retire jusqu'à max mesures du tampon, en attendant au plus wait si il est vide
+     * @param sink liste recevant les mesures
+     * @param max nombre maximum de mesures retirées
+     * @param wait attente maximale de la première mesure
+     * @return le nombre de mesures retirées
+     */
+    int drainTo(Collection<TelemetryReading> sink, int max, Duration wait) throws InterruptedException {
+        TelemetryReading first = buffer.poll(wait.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        sink.add(first);
+        int drained = 1 + buffer.drainTo(sink, max - 1);
+        freeSlots.release(drained);
+        return drained;
+    }
+
+    /**
+     * Nombre de mesures en attente d'écriture
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * Capacité du tampon
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void validate(TelemetryReading reading, Instant latest) {
+        if (reading == null || reading.getSensorType() == null || reading.getSensorId() == null
+                || reading.getTimestamp() == null || reading.getMetric() == null || reading.getValue() == null) {
+            throw new IllegalArgumentException("Mesure incomplète : " + reading);
+        }
+        if (!reading.getSensorType().isSensor()) {
+            throw new IllegalArgumentException("Le type " + reading.getSensorType() + " n'est pas un capteur");
+        }
+        if (reading.getMetric().isBlank() || reading.getMetric().length() > MAX_METRIC_LENGTH) {
+            throw new IllegalArgumentException("Métrique invalide : " + reading.getMetric());
+        }
+        if (reading.getValue().isNaN() || reading.getValue().isInfinite()) {
+            throw new IllegalArgumentException("Valeur invalide : " + reading.getValue());
+        }
+        if (reading.getTimestamp().isAfter(latest)) {
+            throw new IllegalArgumentException("Horodatage dans le futur : " + reading.getTimestamp());
+        }
+    }
+}
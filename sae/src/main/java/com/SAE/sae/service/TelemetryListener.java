@@ -0,0 +1,15 @@
+package com.SAE.sae.service;
+
+import java.util.List;
+
+import com.SAE.sae.dto.TelemetryReading;
+
+/**
+ * Abonné aux lots de mesures acceptés par TelemetryIngestionService.
+ * Appelé sur le thread de la requête HTTP : l'implémentation doit rendre la main
+ * immédiatement et faire son travail ailleurs.
+ */
+@FunctionalInterface
+public interface TelemetryListener {
+    void onReadings(List<TelemetryReading> readings);
+}
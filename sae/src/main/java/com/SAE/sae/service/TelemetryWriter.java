@@ -0,0 +1,158 @@
+package com.SAE.sae.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.SAE.sae.dto.TelemetryReading;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Écrivain de fond de la télémétrie : un thread unique vide le tampon de TelemetryIngestionService
+ * et insère les mesures par lots JDBC (sae.telemetry.batch-size), réécrits en INSERT multi-lignes
+ * par le driver (reWriteBatchedInserts). Il crée aussi les partitions mensuelles du mois courant
+ * et du suivant avant d'écrire dedans, puis reporte chaque lot écrit dans le LiveSensorStore. À l'arrêt, le tampon est vidé avant de rendre la main.
+ */
+@Component
+@Slf4j
+public class TelemetryWriter implements SmartLifecycle {
+    private static final String INSERT_SQL = "INSERT INTO t_e_sensor_reading_rea "
+            + "(rea_sensor_type, rea_sensor_id, rea_ts, rea_metric, rea_value) VALUES (?, ?, ?, ?, ?)";
+
+    private final TelemetryIngestionService ingestionService;
+    private final LiveSensorStore liveSensorStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Duration flushInterval;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile boolean running;
+    private Thread thread;
+    private YearMonth partitionsReadyFor;
+
+    public TelemetryWriter(TelemetryIngestionService ingestionService,
+                           LiveSensorStore liveSensorStore,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${sae.telemetry.batch-size:5000}") int batchSize,
+                           @Value("${sae.telemetry.flush-interval:200ms}") Duration flushInterval) {
+        this.ingestionService = ingestionService;
+        this.liveSensorStore = liveSensorStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::run, "telemetry-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join(Duration.ofSeconds(10).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Démarré avant et arrêté après le serveur web, pour écrire les dernières mesures acceptées
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Nombre de mesures écrites en base depuis le démarrage
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * Nombre de mesures perdues sur erreur d'écriture depuis le démarrage
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void run() {
+        List<TelemetryReading> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                if (ingestionService.drainTo(batch, batchSize, flushInterval) > 0) {
+                    flush(batch);
+                }
+            }
+            // Arrêt demandé : on écrit ce qui reste dans le tampon
+            while (ingestionService.drainTo(batch, batchSize, Duration.ZERO) > 0) {
+                flush(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(List<TelemetryReading> batch) {
+        try {
+            ensurePartitions();
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind);
+            writtenCount.addAndGet(batch.size());
+            liveSensorStore.update(batch);
+        } catch (RuntimeException e) {
+            droppedCount.addAndGet(batch.size());
+            log.error("Échec d'écriture de {} mesures de télémétrie", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void bind(PreparedStatement ps, TelemetryReading reading) throws SQLException {
+        ps.setString(1, reading.getSensorType().name());
+        ps.setInt(2, reading.getSensorId());
+        ps.setTimestamp(3, Timestamp.from(reading.getTimestamp()));
+        ps.setString(4, reading.getMetric());
+        ps.setDouble(5, reading.getValue());
+    }
+
+    /**
+     * Crée les partitions du mois courant et du suivant au premier lot de chaque mois
+     */
+    private void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        if (current.equals(partitionsReadyFor)) {
+            return;
+        }
+        LocalDate firstDay = current.atDay(1);
+        jdbcTemplate.queryForList("SELECT ensure_sensor_reading_partition(?)", firstDay);
+        jdbcTemplate.queryForList("SELECT ensure_sensor_reading_partition(?)", firstDay.plusMonths(1));
+        partitionsReadyFor = current;
+    }
+}
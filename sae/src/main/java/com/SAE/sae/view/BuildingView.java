@@ -1,5 +1,6 @@
 package com.SAE.sae.view;
 
+import com.SAE.sae.dto.BuildingSummary;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.BuildingManager;
 import com.SAE.sae.view.layouts.MainLayout;
@@ -19,20 +20,19 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Route(value = "buildings", layout = MainLayout.class)
 public class BuildingView extends VerticalLayout {
 
     private final BuildingManager buildingManager;
     private final BuildingEditor buildingEditor;
-    private final Grid<Building> grid = new Grid<>(Building.class);
-    private Building selectedBuilding = null;
-    private List<Building> allBuildings; // Liste complète pour la recherche
+    private final Grid<BuildingSummary> grid = new Grid<>(BuildingSummary.class);
+    private BuildingSummary selectedBuilding = null;
+    private final ConfigurableFilterDataProvider<BuildingSummary, Void, String> dataProvider; // Résumés chargés paresseusement, filtrés en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -45,6 +45,9 @@ public class BuildingView extends VerticalLayout {
     public BuildingView(BuildingManager buildingManager) {
         this.buildingManager = buildingManager;
         this.buildingEditor = new BuildingEditor(buildingManager);
+        this.dataProvider = LazyDataProviders.of(buildingManager::searchBuildingSummaries,
+                buildingManager::countBuildings, BuildingSummary::getId);
+        grid.setItems(dataProvider);
         
         // Configuration du callback pour rafraîchir les données
         this.buildingEditor.setOnDataChanged(this::loadData);
@@ -130,11 +133,11 @@ public class BuildingView extends VerticalLayout {
         rightGroup.setAlignItems(FlexComponent.Alignment.CENTER);
 
         editButton = createStyledButton("✏️ Modifier", VaadinIcon.EDIT, "#f39c12", ButtonVariant.LUMO_CONTRAST);
-        editButton.addClickListener(e -> buildingEditor.openEditDialog(selectedBuilding));
+        editButton.addClickListener(e -> buildingEditor.openEditDialog(loadSelectedBuilding()));
         editButton.setEnabled(false);
 
         deleteButton = createStyledButton("🗑️ Supprimer", VaadinIcon.TRASH, "#e74c3c", ButtonVariant.LUMO_ERROR);
-        deleteButton.addClickListener(e -> buildingEditor.confirmDelete(selectedBuilding));
+        deleteButton.addClickListener(e -> buildingEditor.confirmDelete(loadSelectedBuilding()));
         deleteButton.setEnabled(false);
 
         rightGroup.add(editButton, deleteButton);
@@ -172,15 +175,20 @@ public class BuildingView extends VerticalLayout {
         grid.removeAllColumns();
         
         // Colonnes personnalisées
-        grid.addColumn(Building::getId)
+        grid.addColumn(BuildingSummary::getId)
             .setHeader("ID")
             .setWidth("80px")
             .setFlexGrow(0);
             
-        grid.addColumn(Building::getName)
+        grid.addColumn(BuildingSummary::getName)
             .setHeader("Nom du Bâtiment")
             .setFlexGrow(1);
 
+        grid.addColumn(BuildingSummary::getRoomCount)
+            .setHeader("Salles")
+            .setWidth("100px")
+            .setFlexGrow(0);
+
         // Style du grid
         grid.setSelectionMode(Grid.SelectionMode.SINGLE);
         grid.getStyle()
@@ -249,43 +257,17 @@ public class BuildingView extends VerticalLayout {
     }
 
     private void filterBuildings(String searchTerm) {
-        if (allBuildings == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allBuildings);
-            updateResultsInfo(allBuildings.size(), allBuildings.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<Building> filteredBuildings = allBuildings.stream()
-            .filter(building -> matchesSearch(building, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredBuildings);
-        updateResultsInfo(filteredBuildings.size(), allBuildings.size());
+        updateResultsInfo((int) buildingManager.countBuildings(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(Building building, String searchTerm) {
-        // Recherche dans le nom
-        if (building.getName() != null && 
-            building.getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(building.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d bâtiment(s)", 
@@ -295,6 +277,13 @@ public class BuildingView extends VerticalLayout {
         }
     }
 
+    /**
+     * Charge le bâtiment complet de la ligne sélectionnée, pour l'éditeur (null si aucune sélection)
+     */
+    private Building loadSelectedBuilding() {
+        return selectedBuilding != null ? buildingManager.getBuildingById(selectedBuilding.getId()) : null;
+    }
+
     private void updateButtonStates() {
         boolean hasSelection = selectedBuilding != null;
         editButton.setEnabled(hasSelection);
@@ -303,12 +292,12 @@ public class BuildingView extends VerticalLayout {
 
     private void loadData() {
         try {
-            allBuildings = buildingManager.getAllBuildings(); // Stocker la liste complète
-            grid.setItems(allBuildings);
+            totalCount = buildingManager.countBuildings(null);
+            dataProvider.refreshAll();
             
             // Notification de succès
             Notification notification = Notification.show(
-                "✅ " + allBuildings.size() + " bâtiment(s) chargé(s)", 
+                "✅ " + totalCount + " bâtiment(s) chargé(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -1,7 +1,10 @@
 package com.SAE.sae.view;
 
 import com.SAE.sae.entity.RoomObjects.DataTable;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.DataTableManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 import com.SAE.sae.view.layouts.MainLayout;
 import com.SAE.sae.view.editor.DataTableEditor;
@@ -20,20 +23,22 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Route(value = "data-tables", layout = MainLayout.class)
 public class DataTableView extends VerticalLayout {
 
     private final DataTableManager dataTableManager;
+    private final ChangeEventBus changeEventBus;
     private final DataTableEditor dataTableEditor;
-    private final Grid<DataTable> grid = new Grid<>(DataTable.class);
-    private DataTable selectedDataTable = null;
-    private List<DataTable> allDataTables; // Liste complète pour la recherche
+    private final Grid<EquipmentRow> grid = new Grid<>(); // Lignes projetées, salle comprise (sans entité)
+    private EquipmentRow selectedDataTable = null;
+    private final ConfigurableFilterDataProvider<EquipmentRow, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -43,9 +48,16 @@ public class DataTableView extends VerticalLayout {
     private Button deleteButton;
 
     @Autowired
-    public DataTableView(DataTableManager dataTableManager, RoomManager roomManager) {
+    public DataTableView(DataTableManager dataTableManager, RoomManager roomManager, ChangeEventBus changeEventBus) {
         this.dataTableManager = dataTableManager;
+        this.changeEventBus = changeEventBus;
         this.dataTableEditor = new DataTableEditor(dataTableManager, roomManager);
+        this.dataProvider = LazyDataProviders.of(dataTableManager::searchRows, dataTableManager::count, EquipmentRow::getId);
+        grid.setItems(dataProvider);
+
+        // Rafraîchissement poussé (Push) quand un objet de ce type est créé, modifié ou supprimé
+        UiUpdateCoalescer.bind(this,
+            listener -> changeEventBus.subscribeType(RoomObjectType.DATA_TABLE, listener), this::refreshGrid);
         
         // Configuration du callback pour rafraîchir les données
         this.dataTableEditor.setOnDataChanged(this::loadData);
@@ -131,11 +143,11 @@ public class DataTableView extends VerticalLayout {
         rightGroup.setAlignItems(FlexComponent.Alignment.CENTER);
 
         editButton = createStyledButton("✏️ Modifier", VaadinIcon.EDIT, "#f39c12", ButtonVariant.LUMO_CONTRAST);
-        editButton.addClickListener(e -> dataTableEditor.openEditDialog(selectedDataTable));
+        editButton.addClickListener(e -> withSelectedDataTable(dataTableEditor::openEditDialog));
         editButton.setEnabled(false);
 
         deleteButton = createStyledButton("🗑️ Supprimer", VaadinIcon.TRASH, "#e74c3c", ButtonVariant.LUMO_ERROR);
-        deleteButton.addClickListener(e -> dataTableEditor.confirmDelete(selectedDataTable));
+        deleteButton.addClickListener(e -> withSelectedDataTable(dataTableEditor::confirmDelete));
         deleteButton.setEnabled(false);
 
         rightGroup.add(editButton, deleteButton);
@@ -172,16 +184,16 @@ public class DataTableView extends VerticalLayout {
         grid.removeAllColumns();
         
         // Colonnes personnalisées
-        grid.addColumn(DataTable::getId)
+        grid.addColumn(EquipmentRow::getId)
             .setHeader("ID")
             .setWidth("80px")
             .setFlexGrow(0);
             
-        grid.addColumn(DataTable::getCustomName)
+        grid.addColumn(EquipmentRow::getName)
             .setHeader("Nom")
             .setFlexGrow(1);
 
-        grid.addColumn(dataTable -> dataTable.getRoom() != null ? dataTable.getRoom().getName() : "Aucune")
+        grid.addColumn(dataTable -> dataTable.getRoomName() != null ? dataTable.getRoomName() : "Aucune")
             .setHeader("Salle")
             .setFlexGrow(1);
 
@@ -249,7 +261,7 @@ public class DataTableView extends VerticalLayout {
 
         grid.asSingleSelect().addValueChangeListener(event -> {
             if (event.getValue() != null) {
-                infoContainer.setText("📋 Table sélectionnée : " + event.getValue().getCustomName());
+                infoContainer.setText("📋 Table sélectionnée : " + event.getValue().getName());
                 infoContainer.setVisible(true);
             } else {
                 infoContainer.setVisible(false);
@@ -261,63 +273,17 @@ public class DataTableView extends VerticalLayout {
     }
 
     private void filterDataTables(String searchTerm) {
-        if (allDataTables == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allDataTables);
-            updateResultsInfo(allDataTables.size(), allDataTables.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<DataTable> filteredDataTables = allDataTables.stream()
-            .filter(dataTable -> matchesSearch(dataTable, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredDataTables);
-        updateResultsInfo(filteredDataTables.size(), allDataTables.size());
+        updateResultsInfo((int) dataTableManager.count(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(DataTable dataTable, String searchTerm) {
-        // Recherche dans le nom
-        if (dataTable.getCustomName() != null && 
-            dataTable.getCustomName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le nom de la salle
-        if (dataTable.getRoom() != null && dataTable.getRoom().getName() != null &&
-            dataTable.getRoom().getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les coordonnées (position)
-        String position = String.format("%.1f %.1f %.1f", 
-            dataTable.getPosX(), dataTable.getPosY(), dataTable.getPosZ());
-        if (position.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les dimensions (taille)
-        String size = String.format("%.1f %.1f %.1f", 
-            dataTable.getSizeX(), dataTable.getSizeY(), dataTable.getSizeZ());
-        if (size.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(dataTable.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d table(s)", 
@@ -333,13 +299,18 @@ public class DataTableView extends VerticalLayout {
         deleteButton.setEnabled(hasSelection);
     }
 
+    private void refreshGrid() {
+        totalCount = dataTableManager.count();
+        dataProvider.refreshAll();
+    }
+
     private void loadData() {
         try {
-            allDataTables = dataTableManager.findAll(); // Stocker la liste complète
-            grid.setItems(allDataTables);
+            totalCount = dataTableManager.count();
+            dataProvider.refreshAll();
             
             Notification notification = Notification.show(
-                "✅ " + allDataTables.size() + " table(s) chargée(s)", 
+                "✅ " + totalCount + " table(s) chargée(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -356,6 +327,22 @@ public class DataTableView extends VerticalLayout {
         }
     }
 
+    /**
+     * Recharge l'élément sélectionné, avec sa salle, pour l'éditeur (la grille ne contient que des projections)
+     */
+    private void withSelectedDataTable(Consumer<DataTable> action) {
+        if (selectedDataTable == null) {
+            action.accept(null);
+            return;
+        }
+        try {
+            action.accept(dataTableManager.findWithRoomById(selectedDataTable.getId()));
+        } catch (IllegalArgumentException ex) {
+            showErrorNotification("Élément introuvable", ex.getMessage());
+            refreshGrid();
+        }
+    }
+
     private void showErrorNotification(String title, String message) {
         Notification notification = Notification.show("❌ " + title + ": " + message, 5000, Notification.Position.TOP_END);
         notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -1,7 +1,10 @@
 package com.SAE.sae.view;
 
 import com.SAE.sae.entity.RoomObjects.Door;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.DoorManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 import com.SAE.sae.view.layouts.MainLayout;
 import com.SAE.sae.view.editor.DoorEditor;
@@ -20,20 +23,22 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Route(value = "doors", layout = MainLayout.class)
 public class DoorView extends VerticalLayout {
 
     private final DoorManager doorManager;
+    private final ChangeEventBus changeEventBus;
     private final DoorEditor doorEditor;
-    private final Grid<Door> grid = new Grid<>(Door.class);
-    private Door selectedDoor = null;
-    private List<Door> allDoors; // Liste complète pour la recherche
+    private final Grid<EquipmentRow> grid = new Grid<>(); // Lignes projetées, salle comprise (sans entité)
+    private EquipmentRow selectedDoor = null;
+    private final ConfigurableFilterDataProvider<EquipmentRow, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -43,9 +48,16 @@ public class DoorView extends VerticalLayout {
     private Button deleteButton;
 
     @Autowired
-    public DoorView(DoorManager doorManager, RoomManager roomManager) {
+    public DoorView(DoorManager doorManager, RoomManager roomManager, ChangeEventBus changeEventBus) {
         this.doorManager = doorManager;
+        this.changeEventBus = changeEventBus;
         this.doorEditor = new DoorEditor(doorManager, roomManager);
+        this.dataProvider = LazyDataProviders.of(doorManager::searchRows, doorManager::count, EquipmentRow::getId);
+        grid.setItems(dataProvider);
+
+        // Rafraîchissement poussé (Push) quand un objet de ce type est créé, modifié ou supprimé
+        UiUpdateCoalescer.bind(this,
+            listener -> changeEventBus.subscribeType(RoomObjectType.DOOR, listener), this::refreshGrid);
         
         // Configuration du callback pour rafraîchir les données
         this.doorEditor.setOnDataChanged(this::loadData);
@@ -131,11 +143,11 @@ public class DoorView extends VerticalLayout {
         rightGroup.setAlignItems(FlexComponent.Alignment.CENTER);
 
         editButton = createStyledButton("✏️ Modifier", VaadinIcon.EDIT, "#f39c12", ButtonVariant.LUMO_CONTRAST);
-        editButton.addClickListener(e -> doorEditor.openEditDialog(selectedDoor));
+        editButton.addClickListener(e -> withSelectedDoor(doorEditor::openEditDialog));
         editButton.setEnabled(false);
 
         deleteButton = createStyledButton("🗑️ Supprimer", VaadinIcon.TRASH, "#e74c3c", ButtonVariant.LUMO_ERROR);
-        deleteButton.addClickListener(e -> doorEditor.confirmDelete(selectedDoor));
+        deleteButton.addClickListener(e -> withSelectedDoor(doorEditor::confirmDelete));
         deleteButton.setEnabled(false);
 
         rightGroup.add(editButton, deleteButton);
@@ -172,16 +184,16 @@ public class DoorView extends VerticalLayout {
         grid.removeAllColumns();
         
         // Colonnes personnalisées
-        grid.addColumn(Door::getId)
+        grid.addColumn(EquipmentRow::getId)
             .setHeader("ID")
             .setWidth("80px")
             .setFlexGrow(0);
             
-        grid.addColumn(Door::getCustomName)
+        grid.addColumn(EquipmentRow::getName)
             .setHeader("Nom")
             .setFlexGrow(1);
 
-        grid.addColumn(door -> door.getRoom() != null ? door.getRoom().getName() : "Aucune")
+        grid.addColumn(door -> door.getRoomName() != null ? door.getRoomName() : "Aucune")
             .setHeader("Salle")
             .setFlexGrow(1);
 
@@ -249,7 +261,7 @@ public class DoorView extends VerticalLayout {
 
         grid.asSingleSelect().addValueChangeListener(event -> {
             if (event.getValue() != null) {
-                infoContainer.setText("🚪 Porte sélectionnée : " + event.getValue().getCustomName());
+                infoContainer.setText("🚪 Porte sélectionnée : " + event.getValue().getName());
                 infoContainer.setVisible(true);
             } else {
                 infoContainer.setVisible(false);
@@ -261,63 +273,17 @@ public class DoorView extends VerticalLayout {
     }
 
     private void filterDoors(String searchTerm) {
-        if (allDoors == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allDoors);
-            updateResultsInfo(allDoors.size(), allDoors.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<Door> filteredDoors = allDoors.stream()
-            .filter(door -> matchesSearch(door, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredDoors);
-        updateResultsInfo(filteredDoors.size(), allDoors.size());
+        updateResultsInfo((int) doorManager.count(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(Door door, String searchTerm) {
-        // Recherche dans le nom
-        if (door.getCustomName() != null && 
-            door.getCustomName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le nom de la salle
-        if (door.getRoom() != null && door.getRoom().getName() != null &&
-            door.getRoom().getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les coordonnées (position)
-        String position = String.format("%.1f %.1f %.1f", 
-            door.getPosX(), door.getPosY(), door.getPosZ());
-        if (position.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les dimensions (taille)
-        String size = String.format("%.1f %.1f %.1f", 
-            door.getSizeX(), door.getSizeY(), door.getSizeZ());
-        if (size.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(door.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d porte(s)", 
@@ -333,13 +299,18 @@ public class DoorView extends VerticalLayout {
         deleteButton.setEnabled(hasSelection);
     }
 
+    private void refreshGrid() {
+        totalCount = doorManager.count();
+        dataProvider.refreshAll();
+    }
+
     private void loadData() {
         try {
-            allDoors = doorManager.findAll(); // Stocker la liste complète
-            grid.setItems(allDoors);
+            totalCount = doorManager.count();
+            dataProvider.refreshAll();
             
             Notification notification = Notification.show(
-                "✅ " + allDoors.size() + " porte(s) chargée(s)", 
+                "✅ " + totalCount + " porte(s) chargée(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -356,6 +327,22 @@ public class DoorView extends VerticalLayout {
         }
     }
 
+    /**
+     * Recharge l'élément sélectionné, avec sa salle, pour l'éditeur (la grille ne contient que des projections)
+     */
+    private void withSelectedDoor(Consumer<Door> action) {
+        if (selectedDoor == null) {
+            action.accept(null);
+            return;
+        }
+        try {
+            action.accept(doorManager.findWithRoomById(selectedDoor.getId()));
+        } catch (IllegalArgumentException ex) {
+            showErrorNotification("Élément introuvable", ex.getMessage());
+            refreshGrid();
+        }
+    }
+
     private void showErrorNotification(String title, String message) {
         Notification notification = Notification.show("❌ " + title + ": " + message, 5000, Notification.Position.TOP_END);
         notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
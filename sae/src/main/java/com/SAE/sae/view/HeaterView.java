@@ -1,7 +1,10 @@
 package com.SAE.sae.view;
 
 import com.SAE.sae.entity.RoomObjects.Heater;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.HeaterManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 import com.SAE.sae.view.layouts.MainLayout;
 import com.SAE.sae.view.editor.HeaterEditor;
@@ -20,20 +23,22 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Route(value = "heaters", layout = MainLayout.class)
 public class HeaterView extends VerticalLayout {
 
     private final HeaterManager heaterManager;
+    private final ChangeEventBus changeEventBus;
     private final HeaterEditor heaterEditor;
-    private final Grid<Heater> grid = new Grid<>(Heater.class);
-    private Heater selectedHeater = null;
-    private List<Heater> allHeaters; // Liste complète pour la recherche
+    private final Grid<EquipmentRow> grid = new Grid<>(); // Lignes projetées, salle comprise (sans entité)
+    private EquipmentRow selectedHeater = null;
+    private final ConfigurableFilterDataProvider<EquipmentRow, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -43,9 +48,16 @@ public class HeaterView extends VerticalLayout {
     private Button deleteButton;
 
     @Autowired
-    public HeaterView(HeaterManager heaterManager, RoomManager roomManager) {
+    public HeaterView(HeaterManager heaterManager, RoomManager roomManager, ChangeEventBus changeEventBus) {
         this.heaterManager = heaterManager;
+        this.changeEventBus = changeEventBus;
         this.heaterEditor = new HeaterEditor(heaterManager, roomManager);
+        this.dataProvider = LazyDataProviders.of(heaterManager::searchRows, heaterManager::count, EquipmentRow::getId);
+        grid.setItems(dataProvider);
+
+        // Rafraîchissement poussé (Push) quand un objet de ce type est créé, modifié ou supprimé
+        UiUpdateCoalescer.bind(this,
+            listener -> changeEventBus.subscribeType(RoomObjectType.HEATER, listener), this::refreshGrid);
         
         // Configuration du callback pour rafraîchir les données
         this.heaterEditor.setOnDataChanged(this::loadData);
@@ -131,11 +143,11 @@ public class HeaterView extends VerticalLayout {
         rightGroup.setAlignItems(FlexComponent.Alignment.CENTER);
 
         editButton = createStyledButton("✏️ Modifier", VaadinIcon.EDIT, "#f39c12", ButtonVariant.LUMO_CONTRAST);
-        editButton.addClickListener(e -> heaterEditor.openEditDialog(selectedHeater));
+        editButton.addClickListener(e -> withSelectedHeater(heaterEditor::openEditDialog));
         editButton.setEnabled(false);
 
         deleteButton = createStyledButton("🗑️ Supprimer", VaadinIcon.TRASH, "#e74c3c", ButtonVariant.LUMO_ERROR);
-        deleteButton.addClickListener(e -> heaterEditor.confirmDelete(selectedHeater));
+        deleteButton.addClickListener(e -> withSelectedHeater(heaterEditor::confirmDelete));
         deleteButton.setEnabled(false);
 
         rightGroup.add(editButton, deleteButton);
@@ -172,16 +184,16 @@ public class HeaterView extends VerticalLayout {
         grid.removeAllColumns();
         
         // Colonnes personnalisées
-        grid.addColumn(Heater::getId)
+        grid.addColumn(EquipmentRow::getId)
             .setHeader("ID")
             .setWidth("80px")
             .setFlexGrow(0);
             
-        grid.addColumn(Heater::getCustomName)
+        grid.addColumn(EquipmentRow::getName)
             .setHeader("Nom")
             .setFlexGrow(1);
 
-        grid.addColumn(heater -> heater.getRoom() != null ? heater.getRoom().getName() : "Aucune")
+        grid.addColumn(heater -> heater.getRoomName() != null ? heater.getRoomName() : "Aucune")
             .setHeader("Salle")
             .setFlexGrow(1);
 
@@ -249,7 +261,7 @@ public class HeaterView extends VerticalLayout {
 
         grid.asSingleSelect().addValueChangeListener(event -> {
             if (event.getValue() != null) {
-                infoContainer.setText("🔥 Radiateur sélectionné : " + event.getValue().getCustomName());
+                infoContainer.setText("🔥 Radiateur sélectionné : " + event.getValue().getName());
                 infoContainer.setVisible(true);
             } else {
                 infoContainer.setVisible(false);
@@ -261,63 +273,17 @@ public class HeaterView extends VerticalLayout {
     }
 
     private void filterHeaters(String searchTerm) {
-        if (allHeaters == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allHeaters);
-            updateResultsInfo(allHeaters.size(), allHeaters.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<Heater> filteredHeaters = allHeaters.stream()
-            .filter(heater -> matchesSearch(heater, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredHeaters);
-        updateResultsInfo(filteredHeaters.size(), allHeaters.size());
+        updateResultsInfo((int) heaterManager.count(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(Heater heater, String searchTerm) {
-        // Recherche dans le nom
-        if (heater.getCustomName() != null && 
-            heater.getCustomName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le nom de la salle
-        if (heater.getRoom() != null && heater.getRoom().getName() != null &&
-            heater.getRoom().getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les coordonnées (position)
-        String position = String.format("%.1f %.1f %.1f", 
-            heater.getPosX(), heater.getPosY(), heater.getPosZ());
-        if (position.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les dimensions (taille)
-        String size = String.format("%.1f %.1f %.1f", 
-            heater.getSizeX(), heater.getSizeY(), heater.getSizeZ());
-        if (size.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(heater.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d radiateur(s)", 
@@ -333,13 +299,18 @@ public class HeaterView extends VerticalLayout {
         deleteButton.setEnabled(hasSelection);
     }
 
+    private void refreshGrid() {
+        totalCount = heaterManager.count();
+        dataProvider.refreshAll();
+    }
+
     private void loadData() {
         try {
-            allHeaters = heaterManager.findAll(); // Stocker la liste complète
-            grid.setItems(allHeaters);
+            totalCount = heaterManager.count();
+            dataProvider.refreshAll();
             
             Notification notification = Notification.show(
-                "✅ " + allHeaters.size() + " radiateur(s) chargé(s)", 
+                "✅ " + totalCount + " radiateur(s) chargé(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -356,6 +327,22 @@ public class HeaterView extends VerticalLayout {
         }
     }
 
+    /**
+     * Recharge l'élément sélectionné, avec sa salle, pour l'éditeur (la grille ne contient que des projections)
+     */
+    private void withSelectedHeater(Consumer<Heater> action) {
+        if (selectedHeater == null) {
+            action.accept(null);
+            return;
+        }
+        try {
+            action.accept(heaterManager.findWithRoomById(selectedHeater.getId()));
+        } catch (IllegalArgumentException ex) {
+            showErrorNotification("Élément introuvable", ex.getMessage());
+            refreshGrid();
+        }
+    }
+
     private void showErrorNotification(String title, String message) {
         Notification notification = Notification.show("❌ " + title + ": " + message, 5000, Notification.Position.TOP_END);
         notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
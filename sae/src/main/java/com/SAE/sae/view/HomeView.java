@@ -4,11 +4,10 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.SAE.sae.entity.Building;
-import com.SAE.sae.entity.Room;
-import com.SAE.sae.service.BuildingManager;
-import com.SAE.sae.service.RoomManager;
-import com.SAE.sae.service.RoomObjects.*;
+import com.SAE.sae.dto.BuildingSummary;
+import com.SAE.sae.dto.DashboardStats;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.service.DashboardStatsService;
 import com.SAE.sae.view.layouts.MainLayout;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.Icon;
@@ -21,28 +20,13 @@ import com.vaadin.flow.router.Route;
 @Route(value = "", layout = MainLayout.class)
 public class HomeView extends VerticalLayout {
 
-    private final BuildingManager buildingManager;
-    private final RoomManager roomManager;
-    private final LampManager lampManager;
-    private final SensorCO2Manager sensorCO2Manager;
-    private final Sensor6in1Manager sensor6in1Manager;
-    private final HeaterManager heaterManager;
-    private final WindowManager windowManager;
-    private final DoorManager doorManager;
+    private final DashboardStatsService dashboardStatsService;
+    // Instantané des compteurs, lu une seule fois par affichage
+    private DashboardStats stats;
 
     @Autowired
-    public HomeView(BuildingManager buildingManager, RoomManager roomManager,
-                    LampManager lampManager, SensorCO2Manager sensorCO2Manager,
-                    Sensor6in1Manager sensor6in1Manager, HeaterManager heaterManager,
-                    WindowManager windowManager, DoorManager doorManager) {
-        this.buildingManager = buildingManager;
-        this.roomManager = roomManager;
-        this.lampManager = lampManager;
-        this.sensorCO2Manager = sensorCO2Manager;
-        this.sensor6in1Manager = sensor6in1Manager;
-        this.heaterManager = heaterManager;
-        this.windowManager = windowManager;
-        this.doorManager = doorManager;
+    public HomeView(DashboardStatsService dashboardStatsService) {
+        this.dashboardStatsService = dashboardStatsService;
         
         setSizeFull();
         setPadding(true);
@@ -54,6 +38,12 @@ public class HomeView extends VerticalLayout {
             .set("min-height", "100vh") // Hauteur minimale de la viewport
             .set("background-attachment", "fixed"); // Le fond reste fixe lors du scroll
         
+        try {
+            stats = dashboardStatsService.getStats();
+        } catch (Exception e) {
+            stats = null;
+        }
+
         add(createHeader());
         add(createKPISection());
         add(createSystemOverview());
@@ -93,14 +83,12 @@ public class HomeView extends VerticalLayout {
         kpiLayout.setSpacing(true);
         
         try {
-            List<Building> buildings = buildingManager.getAllBuildings();
-            List<Room> rooms = roomManager.getAllRooms();
             long totalDevices = getTotalDevices();
             long activeDevices = getActiveDevices();
             
             kpiLayout.add(
-                createKPICard("🏢", "Bâtiments", buildings.size(), "Structures", "#3498db"),
-                createKPICard("🚪", "Salles", rooms.size(), "Espaces", "#2ecc71"),
+                createKPICard("🏢", "Bâtiments", stats.getBuildingCount(), "Structures", "#3498db"),
+                createKPICard("🚪", "Salles", (int)stats.getRoomCount(), "Espaces", "#2ecc71"),
                 createKPICard("📱", "Appareils", (int)totalDevices, "Connectés", "#e74c3c"),
                 createKPICard("⚡", "Actifs", (int)activeDevices, "En ligne", "#f39c12")
             );
@@ -225,12 +213,16 @@ public class HomeView extends VerticalLayout {
             barsContainer.getStyle().set("gap", "5px");
             
             // Création d'un graphique simple avec des barres CSS
-            barsContainer.add(createDeviceBar("💡 Lampes", (int)lampManager.count(), "#f1c40f"));
-            barsContainer.add(createDeviceBar("🌡️ Capteurs CO2", (int)sensorCO2Manager.count(), "#e74c3c"));
-            barsContainer.add(createDeviceBar("📡 Capteurs 6-in-1", (int)sensor6in1Manager.count(), "#3498db"));
-            barsContainer.add(createDeviceBar("🔥 Radiateurs", (int)heaterManager.count(), "#e67e22"));
-            barsContainer.add(createDeviceBar("🪟 Fenêtres", (int)windowManager.count(), "#9b59b6"));
-            barsContainer.add(createDeviceBar("🚪 Portes", (int)doorManager.count(), "#34495e"));
+            barsContainer.add(createDeviceBar("💡 Lampes", getDeviceCount(RoomObjectType.LAMP), "#f1c40f"));
+            barsContainer.add(createDeviceBar("🔌 Prises", getDeviceCount(RoomObjectType.PLUG), "#1abc9c"));
+            barsContainer.add(createDeviceBar("🌡️ Capteurs CO2", getDeviceCount(RoomObjectType.SENSOR_CO2), "#e74c3c"));
+            barsContainer.add(createDeviceBar("📡 Capteurs 6-in-1", getDeviceCount(RoomObjectType.SENSOR_6IN1), "#3498db"));
+            barsContainer.add(createDeviceBar("📡 Capteurs 9-in-1", getDeviceCount(RoomObjectType.SENSOR_9IN1), "#2980b9"));
+            barsContainer.add(createDeviceBar("🔥 Radiateurs", getDeviceCount(RoomObjectType.HEATER), "#e67e22"));
+            barsContainer.add(createDeviceBar("🪟 Fenêtres", getDeviceCount(RoomObjectType.WINDOW), "#9b59b6"));
+            barsContainer.add(createDeviceBar("🚪 Portes", getDeviceCount(RoomObjectType.DOOR), "#34495e"));
+            barsContainer.add(createDeviceBar("🪑 Tables", getDeviceCount(RoomObjectType.DATA_TABLE), "#95a5a6"));
+            barsContainer.add(createDeviceBar("🚨 Sirènes", getDeviceCount(RoomObjectType.SIREN), "#c0392b"));
             
             container.add(barsContainer);
             
@@ -330,7 +322,7 @@ public class HomeView extends VerticalLayout {
         panel.add(title);
         
         try {
-            List<Building> buildings = buildingManager.getAllBuildings();
+            List<BuildingSummary> buildings = stats.getBuildings();
             
             if (buildings.isEmpty()) {
                 // Message quand aucun bâtiment n'est présent
@@ -358,9 +350,8 @@ public class HomeView extends VerticalLayout {
                 buildingsContainer.setSpacing(true);
                 buildingsContainer.getStyle().set("gap", "8px"); // Espacement entre les cartes
                 
-                for (Building building : buildings) {
-                    List<Room> buildingRooms = roomManager.getRoomsByBuildingId(building.getId());
-                    buildingsContainer.add(createBuildingCard(building, buildingRooms.size()));
+                for (BuildingSummary building : buildings) {
+                    buildingsContainer.add(createBuildingCard(building.getName(), (int)building.getRoomCount()));
                 }
                 
                 panel.add(buildingsContainer);
@@ -396,7 +387,7 @@ public class HomeView extends VerticalLayout {
         return panel;
     }
     
-    private HorizontalLayout createBuildingCard(Building building, int roomCount) {
+    private HorizontalLayout createBuildingCard(String buildingName, int roomCount) {
         HorizontalLayout card = new HorizontalLayout();
         card.setWidthFull();
         card.setAlignItems(FlexComponent.Alignment.CENTER);
@@ -416,7 +407,7 @@ public class HomeView extends VerticalLayout {
         info.setPadding(false);
         info.setSpacing(false);
         
-        H4 name = new H4(building.getName());
+        H4 name = new H4(buildingName);
         name.getStyle()
             .set("margin", "0")
             .set("color", "#2c3e50");
@@ -441,13 +432,11 @@ public class HomeView extends VerticalLayout {
         
     // Méthodes utilitaires
     private long getTotalDevices() {
-        try {
-            return lampManager.count() + sensorCO2Manager.count() + 
-                   sensor6in1Manager.count() + heaterManager.count() + 
-                   windowManager.count() + doorManager.count();
-        } catch (Exception e) {
-            return 0;
-        }
+        return stats != null ? stats.getTotalDevices() : 0;
+    }
+
+    private int getDeviceCount(RoomObjectType type) {
+        return (int) stats.getDeviceCount(type);
     }
     
     private long getActiveDevices() {
@@ -456,15 +445,7 @@ public class HomeView extends VerticalLayout {
     }
     
     private int getMaxDeviceCount() {
-        try {
-            return (int) Math.max(lampManager.count(), 
-                   Math.max(sensorCO2Manager.count(),
-                   Math.max(sensor6in1Manager.count(),
-                   Math.max(heaterManager.count(),
-                   Math.max(windowManager.count(), doorManager.count())))));
-        } catch (Exception e) {
-            return 1;
-        }
+        return stats != null ? (int) stats.getMaxDeviceCount() : 1;
     }
     
     private VerticalLayout createErrorCard(String message) {
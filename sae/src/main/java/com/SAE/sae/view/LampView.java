@@ -1,7 +1,10 @@
 package com.SAE.sae.view;
 
 import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.LampManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 import com.SAE.sae.view.layouts.MainLayout;
 import com.SAE.sae.view.editor.LampEditor;
@@ -20,20 +23,22 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Route(value = "lamps", layout = MainLayout.class)
 public class LampView extends VerticalLayout {
 
     private final LampManager lampManager;
+    private final ChangeEventBus changeEventBus;
     private final LampEditor lampEditor;
-    private final Grid<Lamp> grid = new Grid<>(Lamp.class);
-    private Lamp selectedLamp = null;
-    private List<Lamp> allLamps; // Liste complète pour la recherche
+    private final Grid<EquipmentRow> grid = new Grid<>(); // Lignes projetées, salle comprise (sans entité)
+    private EquipmentRow selectedLamp = null;
+    private final ConfigurableFilterDataProvider<EquipmentRow, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -43,9 +48,16 @@ public class LampView extends VerticalLayout {
     private Button deleteButton;
 
     @Autowired
-    public LampView(LampManager lampManager, RoomManager roomManager) {
+    public LampView(LampManager lampManager, RoomManager roomManager, ChangeEventBus changeEventBus) {
         this.lampManager = lampManager;
+        this.changeEventBus = changeEventBus;
         this.lampEditor = new LampEditor(lampManager, roomManager);
+        this.dataProvider = LazyDataProviders.of(lampManager::searchRows, lampManager::count, EquipmentRow::getId);
+        grid.setItems(dataProvider);
+
+        // Rafraîchissement poussé (Push) quand un objet de ce type est créé, modifié ou supprimé
+        UiUpdateCoalescer.bind(this,
+            listener -> changeEventBus.subscribeType(RoomObjectType.LAMP, listener), this::refreshGrid);
         
         // Configuration du callback pour rafraîchir les données
         this.lampEditor.setOnDataChanged(this::loadData);
@@ -131,11 +143,11 @@ public class LampView extends VerticalLayout {
         rightGroup.setAlignItems(FlexComponent.Alignment.CENTER);
 
         editButton = createStyledButton("✏️ Modifier", VaadinIcon.EDIT, "#f39c12", ButtonVariant.LUMO_CONTRAST);
-        editButton.addClickListener(e -> lampEditor.openEditDialog(selectedLamp));
+        editButton.addClickListener(e -> withSelectedLamp(lampEditor::openEditDialog));
         editButton.setEnabled(false);
 
         deleteButton = createStyledButton("🗑️ Supprimer", VaadinIcon.TRASH, "#e74c3c", ButtonVariant.LUMO_ERROR);
-        deleteButton.addClickListener(e -> lampEditor.confirmDelete(selectedLamp));
+        deleteButton.addClickListener(e -> withSelectedLamp(lampEditor::confirmDelete));
         deleteButton.setEnabled(false);
 
         rightGroup.add(editButton, deleteButton);
@@ -172,16 +184,16 @@ public class LampView extends VerticalLayout {
         grid.removeAllColumns();
         
         // Colonnes personnalisées
-        grid.addColumn(Lamp::getId)
+        grid.addColumn(EquipmentRow::getId)
             .setHeader("ID")
             .setWidth("80px")
             .setFlexGrow(0);
             
-        grid.addColumn(Lamp::getCustomName)
+        grid.addColumn(EquipmentRow::getName)
             .setHeader("Nom")
             .setFlexGrow(1);
 
-        grid.addColumn(lamp -> lamp.getRoom() != null ? lamp.getRoom().getName() : "Aucune")
+        grid.addColumn(lamp -> lamp.getRoomName() != null ? lamp.getRoomName() : "Aucune")
             .setHeader("Salle")
             .setFlexGrow(1);
 
@@ -244,7 +256,7 @@ public class LampView extends VerticalLayout {
 
         grid.asSingleSelect().addValueChangeListener(event -> {
             if (event.getValue() != null) {
-                infoContainer.setText("💡 Lampe sélectionnée : " + event.getValue().getCustomName());
+                infoContainer.setText("💡 Lampe sélectionnée : " + event.getValue().getName());
                 infoContainer.setVisible(true);
             } else {
                 infoContainer.setVisible(false);
@@ -256,56 +268,17 @@ public class LampView extends VerticalLayout {
     }
 
     private void filterLamps(String searchTerm) {
-        if (allLamps == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allLamps);
-            updateResultsInfo(allLamps.size(), allLamps.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<Lamp> filteredLamps = allLamps.stream()
-            .filter(lamp -> matchesSearch(lamp, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredLamps);
-        updateResultsInfo(filteredLamps.size(), allLamps.size());
+        updateResultsInfo((int) lampManager.count(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(Lamp lamp, String searchTerm) {
-        // Recherche dans le nom
-        if (lamp.getCustomName() != null && 
-            lamp.getCustomName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le nom de la salle
-        if (lamp.getRoom() != null && lamp.getRoom().getName() != null &&
-            lamp.getRoom().getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les coordonnées (position)
-        String position = String.format("%.1f %.1f %.1f", 
-            lamp.getPosX(), lamp.getPosY(), lamp.getPosZ());
-        if (position.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(lamp.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d lampe(s)", 
@@ -321,13 +294,18 @@ public class LampView extends VerticalLayout {
         deleteButton.setEnabled(hasSelection);
     }
 
+    private void refreshGrid() {
+        totalCount = lampManager.count();
+        dataProvider.refreshAll();
+    }
+
     private void loadData() {
         try {
-            allLamps = lampManager.findAll(); // Stocker la liste complète
-            grid.setItems(allLamps);
+            totalCount = lampManager.count();
+            dataProvider.refreshAll();
             
             Notification notification = Notification.show(
-                "✅ " + allLamps.size() + " lampe(s) chargée(s)", 
+                "✅ " + totalCount + " lampe(s) chargée(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -344,6 +322,22 @@ public class LampView extends VerticalLayout {
         }
     }
 
+    /**
+     * Recharge l'élément sélectionné, avec sa salle, pour l'éditeur (la grille ne contient que des projections)
+     */
+    private void withSelectedLamp(Consumer<Lamp> action) {
+        if (selectedLamp == null) {
+            action.accept(null);
+            return;
+        }
+        try {
+            action.accept(lampManager.findWithRoomById(selectedLamp.getId()));
+        } catch (IllegalArgumentException ex) {
+            showErrorNotification("Élément introuvable", ex.getMessage());
+            refreshGrid();
+        }
+    }
+
     private void showErrorNotification(String title, String message) {
         Notification notification = Notification.show("❌ " + title + ": " + message, 5000, Notification.Position.TOP_END);
         notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -0,0 +1,57 @@
+package com.SAE.sae.view;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+
+import org.springframework.data.domain.Pageable;
+
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.function.ValueProvider;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
+
+/**
+ * Fabrique de DataProviders paresseux pour les grilles.
+ * Le Grid ne demande que la fenêtre visible : chaque défilement devient une requête
+ * paginée (LIMIT/OFFSET) et le filtre de recherche est appliqué en base.
+ */
+public final class LazyDataProviders {
+
+    private LazyDataProviders() {
+    }
+
+    /**
+     * Crée un DataProvider filtrable adossé à une recherche paginée
+     * @param fetch récupère une page d'éléments pour un filtre (null = pas de filtre)
+     * @param count compte les éléments correspondant au filtre
+     * @return un DataProvider dont le filtre se règle avec setFilter
+     */
+    public static <T> ConfigurableFilterDataProvider<T, Void, String> of(
+            BiFunction<String, Pageable, List<T>> fetch,
+            ToLongFunction<String> count) {
+        return DataProvider.<T, String>fromFilteringCallbacks(
+                query -> fetch.apply(query.getFilter().orElse(null),
+                        VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> (int) count.applyAsLong(query.getFilter().orElse(null)))
+            .withConfigurableFilter();
+    }
+
+    /**
+     * Variante pour des éléments recréés à chaque lecture (projections) : la grille les identifie
+     * par la clé donnée, ce qui conserve la sélection d'un rafraîchissement à l'autre
+     * @param id clé d'un élément
+     */
+    public static <T> ConfigurableFilterDataProvider<T, Void, String> of(
+            BiFunction<String, Pageable, List<T>> fetch,
+            ToLongFunction<String> count,
+            ValueProvider<T, Object> id) {
+        return new CallbackDataProvider<T, String>(
+                query -> fetch.apply(query.getFilter().orElse(null),
+                        VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> (int) count.applyAsLong(query.getFilter().orElse(null)),
+                id)
+            .withConfigurableFilter();
+    }
+}
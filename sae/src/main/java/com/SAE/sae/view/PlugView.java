@@ -1,7 +1,10 @@
 package com.SAE.sae.view;
 
 import com.SAE.sae.entity.RoomObjects.Plug;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.PlugManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 import com.SAE.sae.view.layouts.MainLayout;
 import com.SAE.sae.view.editor.PlugEditor;
@@ -20,20 +23,22 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Route(value = "plugs", layout = MainLayout.class)
 public class PlugView extends VerticalLayout {
 
     private final PlugManager plugManager;
+    private final ChangeEventBus changeEventBus;
     private final PlugEditor plugEditor;
-    private final Grid<Plug> grid = new Grid<>(Plug.class);
-    private Plug selectedPlug = null;
-    private List<Plug> allPlugs; // Liste complète pour la recherche
+    private final Grid<EquipmentRow> grid = new Grid<>(); // Lignes projetées, salle comprise (sans entité)
+    private EquipmentRow selectedPlug = null;
+    private final ConfigurableFilterDataProvider<EquipmentRow, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -43,9 +48,16 @@ public class PlugView extends VerticalLayout {
     private Button deleteButton;
 
     @Autowired
-    public PlugView(PlugManager plugManager, RoomManager roomManager) {
+    public PlugView(PlugManager plugManager, RoomManager roomManager, ChangeEventBus changeEventBus) {
         this.plugManager = plugManager;
+        this.changeEventBus = changeEventBus;
         this.plugEditor = new PlugEditor(plugManager, roomManager);
+        this.dataProvider = LazyDataProviders.of(plugManager::searchRows, plugManager::count, EquipmentRow::getId);
+        grid.setItems(dataProvider);
+
+        // Rafraîchissement poussé (Push) quand un objet de ce type est créé, modifié ou supprimé
+        UiUpdateCoalescer.bind(this,
+            listener -> changeEventBus.subscribeType(RoomObjectType.PLUG, listener), this::refreshGrid);
         
         // Configuration du callback pour rafraîchir les données
         this.plugEditor.setOnDataChanged(this::loadData);
@@ -131,11 +143,11 @@ public class PlugView extends VerticalLayout {
         rightGroup.setAlignItems(FlexComponent.Alignment.CENTER);
 
         editButton = createStyledButton("✏️ Modifier", VaadinIcon.EDIT, "#f39c12", ButtonVariant.LUMO_CONTRAST);
-        editButton.addClickListener(e -> plugEditor.openEditDialog(selectedPlug));
+        editButton.addClickListener(e -> withSelectedPlug(plugEditor::openEditDialog));
         editButton.setEnabled(false);
 
         deleteButton = createStyledButton("🗑️ Supprimer", VaadinIcon.TRASH, "#e74c3c", ButtonVariant.LUMO_ERROR);
-        deleteButton.addClickListener(e -> plugEditor.confirmDelete(selectedPlug));
+        deleteButton.addClickListener(e -> withSelectedPlug(plugEditor::confirmDelete));
         deleteButton.setEnabled(false);
 
         rightGroup.add(editButton, deleteButton);
@@ -172,16 +184,16 @@ public class PlugView extends VerticalLayout {
         grid.removeAllColumns();
         
         // Colonnes personnalisées
-        grid.addColumn(Plug::getId)
+        grid.addColumn(EquipmentRow::getId)
             .setHeader("ID")
             .setWidth("80px")
             .setFlexGrow(0);
             
-        grid.addColumn(Plug::getCustomName)
+        grid.addColumn(EquipmentRow::getName)
             .setHeader("Nom")
             .setFlexGrow(1);
 
-        grid.addColumn(plug -> plug.getRoom() != null ? plug.getRoom().getName() : "Aucune")
+        grid.addColumn(plug -> plug.getRoomName() != null ? plug.getRoomName() : "Aucune")
             .setHeader("Salle")
             .setFlexGrow(1);
 
@@ -244,7 +256,7 @@ public class PlugView extends VerticalLayout {
 
         grid.asSingleSelect().addValueChangeListener(event -> {
             if (event.getValue() != null) {
-                infoContainer.setText("🔌 Prise sélectionnée : " + event.getValue().getCustomName());
+                infoContainer.setText("🔌 Prise sélectionnée : " + event.getValue().getName());
                 infoContainer.setVisible(true);
             } else {
                 infoContainer.setVisible(false);
@@ -256,56 +268,17 @@ public class PlugView extends VerticalLayout {
     }
 
     private void filterPlugs(String searchTerm) {
-        if (allPlugs == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allPlugs);
-            updateResultsInfo(allPlugs.size(), allPlugs.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<Plug> filteredPlugs = allPlugs.stream()
-            .filter(plug -> matchesSearch(plug, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredPlugs);
-        updateResultsInfo(filteredPlugs.size(), allPlugs.size());
+        updateResultsInfo((int) plugManager.count(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(Plug plug, String searchTerm) {
-        // Recherche dans le nom
-        if (plug.getCustomName() != null && 
-            plug.getCustomName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le nom de la salle
-        if (plug.getRoom() != null && plug.getRoom().getName() != null &&
-            plug.getRoom().getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les coordonnées (position)
-        String position = String.format("%.1f %.1f %.1f", 
-            plug.getPosX(), plug.getPosY(), plug.getPosZ());
-        if (position.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(plug.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d prise(s)", 
@@ -321,13 +294,18 @@ public class PlugView extends VerticalLayout {
         deleteButton.setEnabled(hasSelection);
     }
 
+    private void refreshGrid() {
+        totalCount = plugManager.count();
+        dataProvider.refreshAll();
+    }
+
     private void loadData() {
         try {
-            allPlugs = plugManager.findAll(); // Stocker la liste complète
-            grid.setItems(allPlugs);
+            totalCount = plugManager.count();
+            dataProvider.refreshAll();
             
             Notification notification = Notification.show(
-                "✅ " + allPlugs.size() + " prise(s) chargée(s)", 
+                "✅ " + totalCount + " prise(s) chargée(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -344,6 +322,22 @@ public class PlugView extends VerticalLayout {
         }
     }
 
+    /**
+     * Recharge l'élément sélectionné, avec sa salle, pour l'éditeur (la grille ne contient que des projections)
+     */
+    private void withSelectedPlug(Consumer<Plug> action) {
+        if (selectedPlug == null) {
+            action.accept(null);
+            return;
+        }
+        try {
+            action.accept(plugManager.findWithRoomById(selectedPlug.getId()));
+        } catch (IllegalArgumentException ex) {
+            showErrorNotification("Élément introuvable", ex.getMessage());
+            refreshGrid();
+        }
+    }
+
     private void showErrorNotification(String title, String message) {
         Notification notification = Notification.show("❌ " + title + ": " + message, 5000, Notification.Position.TOP_END);
         notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
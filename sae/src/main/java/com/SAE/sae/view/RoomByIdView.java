@@ -1,13 +1,19 @@
 package com.SAE.sae.view;
 
+import com.SAE.sae.dto.ChangeEvent;
+import com.SAE.sae.dto.SensorLiveValues;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.RoomType;
-import com.SAE.sae.entity.RoomObjects.*;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.RoomEquipment;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.LiveSensorStore;
+import com.SAE.sae.service.RoomInventoryService;
 import com.SAE.sae.service.RoomManager;
 import com.SAE.sae.service.RoomTypeManager;
-import com.SAE.sae.service.RoomObjects.*;
 import com.SAE.sae.view.layouts.MainLayout;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
@@ -23,10 +29,14 @@ import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.shared.Registration;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Route(value = "room", layout = MainLayout.class)
@@ -34,41 +44,35 @@ public class RoomByIdView extends VerticalLayout implements HasUrlParameter<Inte
 
     private final RoomManager roomManager;
     private final RoomTypeManager roomTypeManager;
-    private final LampManager lampManager;
-    private final PlugManager plugManager;
-    private final SensorCO2Manager sensorCO2Manager;
-    private final Sensor6in1Manager sensor6in1Manager;
-    private final Sensor9in1Manager sensor9in1Manager;
-    private final HeaterManager heaterManager;
-    private final WindowManager windowManager;
-    private final DoorManager doorManager;
-    private final DataTableManager dataTableManager;
-    private final SirenManager sirenManager;
+    private final RoomInventoryService roomInventoryService;
+    private final LiveSensorStore liveSensorStore;
+    private final ChangeEventBus changeEventBus;
 
     private Room currentRoom;
+    private Registration roomSubscription; // Abonnement aux changements de la salle affichée
+    private final AtomicBoolean roomChanged = new AtomicBoolean();
+    private final AtomicBoolean equipmentChanged = new AtomicBoolean();
     private Grid<EquipmentItem> equipmentGrid = new Grid<>(EquipmentItem.class);
     private List<EquipmentItem> allEquipmentItems; // Liste complète pour la recherche
     private TextField searchField; // Champ de recherche
 
     @Autowired
     public RoomByIdView(RoomManager roomManager, RoomTypeManager roomTypeManager,
-                       LampManager lampManager, PlugManager plugManager,
-                       SensorCO2Manager sensorCO2Manager, Sensor6in1Manager sensor6in1Manager,
-                       Sensor9in1Manager sensor9in1Manager, HeaterManager heaterManager,
-                       WindowManager windowManager, DoorManager doorManager,
-                       DataTableManager dataTableManager, SirenManager sirenManager) {
+                       RoomInventoryService roomInventoryService, LiveSensorStore liveSensorStore,
+                       ChangeEventBus changeEventBus) {
         this.roomManager = roomManager;
         this.roomTypeManager = roomTypeManager;
-        this.lampManager = lampManager;
-        this.plugManager = plugManager;
-        this.sensorCO2Manager = sensorCO2Manager;
-        this.sensor6in1Manager = sensor6in1Manager;
-        this.sensor9in1Manager = sensor9in1Manager;
-        this.heaterManager = heaterManager;
-        this.windowManager = windowManager;
-        this.doorManager = doorManager;
-        this.dataTableManager = dataTableManager;
-        this.sirenManager = sirenManager;
+        this.roomInventoryService = roomInventoryService;
+        this.liveSensorStore = liveSensorStore;
+        this.changeEventBus = changeEventBus;
+
+        // Les mises à jour de la salle sont poussées (Push) tant que la vue est affichée
+        addAttachListener(e -> {
+            if (currentRoom != null && roomSubscription == null) {
+                subscribeToRoom(e.getUI());
+            }
+        });
+        addDetachListener(e -> unsubscribeFromRoom());
 
         // Configuration générale de la vue
         setSizeFull();
@@ -81,6 +85,7 @@ public class RoomByIdView extends VerticalLayout implements HasUrlParameter<Inte
         try {
             currentRoom = roomManager.getRoomById(roomId);
             initializeView();
+            subscribeToRoom(event.getUI());
         } catch (Exception e) {
             showErrorNotification("Erreur", "Salle non trouvée avec l'ID: " + roomId);
             // Rediriger vers la liste des salles
@@ -99,6 +104,51 @@ public class RoomByIdView extends VerticalLayout implements HasUrlParameter<Inte
         loadEquipmentData();
     }
 
+    private void subscribeToRoom(UI ui) {
+        unsubscribeFromRoom();
+        UiUpdateCoalescer coalescer = new UiUpdateCoalescer(ui, this::applyRoomChanges);
+        roomSubscription = changeEventBus.subscribeRoom(currentRoom.getId(), changeEvent -> {
+            if (changeEvent.getKind() != ChangeEvent.Kind.TELEMETRY) {
+                if (changeEvent.getObjectType() == null) {
+                    roomChanged.set(true);
+                } else {
+                    equipmentChanged.set(true);
+                }
+            }
+            coalescer.request();
+        });
+    }
+
+    private void unsubscribeFromRoom() {
+        if (roomSubscription != null) {
+            roomSubscription.remove();
+            roomSubscription = null;
+        }
+    }
+
+    /**
+     * Applique les changements regroupés depuis la dernière mise à jour (exécuté dans l'UI)
+     */
+    private void applyRoomChanges() {
+        if (roomChanged.getAndSet(false)) {
+            equipmentChanged.set(false);
+            Room reloaded = roomManager.getRoomById(currentRoom.getId());
+            if (reloaded == null) {
+                showErrorNotification("Salle supprimée", currentRoom.getName());
+                getUI().ifPresent(ui -> ui.navigate("rooms"));
+                return;
+            }
+            currentRoom = reloaded;
+            initializeView();
+        } else if (equipmentChanged.getAndSet(false)) {
+            allEquipmentItems = buildEquipmentItems();
+            filterEquipment(searchField != null ? searchField.getValue() : null);
+        } else if (allEquipmentItems != null) {
+            applyMeasures(allEquipmentItems);
+            equipmentGrid.getDataProvider().refreshAll();
+        }
+    }
+
     private void createHeader() {
         H2 title = new H2("🏠 Détails de la Salle");
         title.getStyle()
@@ -255,6 +305,10 @@ public class RoomByIdView extends VerticalLayout implements HasUrlParameter<Inte
             .setHeader("Taille (L × l × H)")
             .setFlexGrow(1);
 
+        equipmentGrid.addColumn(EquipmentItem::getMeasures)
+            .setHeader("Mesures")
+            .setFlexGrow(2);
+
         // Configuration pour occuper BEAUCOUP plus d'espace vertical
         equipmentGrid.setSizeFull();
         equipmentGrid.setMinHeight("600px"); // Augmenté de 400px à 600px
@@ -317,22 +371,47 @@ public class RoomByIdView extends VerticalLayout implements HasUrlParameter<Inte
         }
     }
 
-    private void loadEquipmentData() {
+    private List<EquipmentItem> buildEquipmentItems() {
         List<EquipmentItem> equipmentList = new ArrayList<>();
-        Long roomId = currentRoom.getId().longValue();
 
+        // Charger tous les types d'équipements en une seule requête
+        for (RoomEquipment equipment : roomInventoryService.getInventory(currentRoom.getId())) {
+            equipmentList.add(new EquipmentItem(
+                equipment.getType(),
+                equipment.getId(),
+                getTypeLabel(equipment),
+                equipment.getName(),
+                formatPosition(equipment.getPosX(), equipment.getPosY(), equipment.getPosZ()),
+                formatSize(equipment.getSizeX(), equipment.getSizeY(), equipment.getSizeZ())
+            ));
+        }
+        applyMeasures(equipmentList);
+        return equipmentList;
+    }
+
+    /**
+     * Renseigne la colonne Mesures avec les dernières valeurs connues des capteurs (sans accès base)
+     */
+    private void applyMeasures(List<EquipmentItem> equipmentList) {
+        Map<String, String> measures = new HashMap<>();
+        try {
+            for (SensorLiveValues sensor : liveSensorStore.getRoomValues(currentRoom.getId())) {
+                String formatted = sensor.getMetrics().entrySet().stream()
+                    .map(m -> String.format("%s %.1f", m.getKey(), m.getValue().getValue()))
+                    .collect(Collectors.joining(" · "));
+                measures.put(sensor.getSensorType() + ":" + sensor.getSensorId(), formatted);
+            }
+        } catch (IllegalArgumentException e) {
+            // Salle pas encore connue du magasin de valeurs courantes
+        }
+        for (EquipmentItem item : equipmentList) {
+            item.setMeasures(measures.getOrDefault(item.getObjectType() + ":" + item.getObjectId(), ""));
+        }
+    }
+
+    private void loadEquipmentData() {
         try {
-            // Charger tous les types d'équipements
-            loadLamps(equipmentList, roomId);
-            loadPlugs(equipmentList, roomId);
-            loadSensorCO2s(equipmentList, roomId);
-            loadSensor6in1s(equipmentList, roomId);
-            loadSensor9in1s(equipmentList, roomId);
-            loadHeaters(equipmentList, roomId);
-            loadWindows(equipmentList, roomId);
-            loadDoors(equipmentList, roomId);
-            loadDataTables(equipmentList, roomId);
-            loadSirens(equipmentList, roomId);
+            List<EquipmentItem> equipmentList = buildEquipmentItems();
 
             // Stocker la liste complète pour la recherche
             allEquipmentItems = new ArrayList<>(equipmentList);
@@ -357,123 +436,19 @@ public class RoomByIdView extends VerticalLayout implements HasUrlParameter<Inte
         }
     }
 
-    private void loadLamps(List<EquipmentItem> list, Long roomId) {
-        List<Lamp> lamps = lampManager.findByRoomId(roomId);
-        for (Lamp lamp : lamps) {
-            list.add(new EquipmentItem(
-                "💡 Lampe",
-                lamp.getCustomName(),
-                formatPosition(lamp.getPosX(), lamp.getPosY(), lamp.getPosZ()),
-                "-"
-            ));
-        }
-    }
-
-    private void loadPlugs(List<EquipmentItem> list, Long roomId) {
-        List<Plug> plugs = plugManager.findByRoomId(roomId);
-        for (Plug plug : plugs) {
-            list.add(new EquipmentItem(
-                "🔌 Prise",
-                plug.getCustomName(),
-                formatPosition(plug.getPosX(), plug.getPosY(), plug.getPosZ()),
-                "-"
-            ));
-        }
-    }
-
-    private void loadSensorCO2s(List<EquipmentItem> list, Long roomId) {
-        List<SensorCO2> sensors = sensorCO2Manager.findByRoomId(roomId);
-        for (SensorCO2 sensor : sensors) {
-            list.add(new EquipmentItem(
-                "🌫️ Capteur CO2",
-                sensor.getCustomName(),
-                formatPosition(sensor.getPosX(), sensor.getPosY(), sensor.getPosZ()),
-                "-"
-            ));
-        }
-    }
-
-    private void loadSensor6in1s(List<EquipmentItem> list, Long roomId) {
-        List<Sensor6in1> sensors = sensor6in1Manager.findByRoomId(roomId);
-        for (Sensor6in1 sensor : sensors) {
-            list.add(new EquipmentItem(
-                "🔬 Capteur 6-en-1",
-                sensor.getCustomName(),
-                formatPosition(sensor.getPosX(), sensor.getPosY(), sensor.getPosZ()),
-                "-"
-            ));
-        }
-    }
-
-    private void loadSensor9in1s(List<EquipmentItem> list, Long roomId) {
-        List<Sensor9in1> sensors = sensor9in1Manager.findByRoomId(roomId);
-        for (Sensor9in1 sensor : sensors) {
-            list.add(new EquipmentItem(
-                "🔬 Capteur 9-en-1",
-                sensor.getCustomName(),
-                formatPosition(sensor.getPosX(), sensor.getPosY(), sensor.getPosZ()),
-                "-"
-            ));
-        }
-    }
-
-    private void loadHeaters(List<EquipmentItem> list, Long roomId) {
-        List<Heater> heaters = heaterManager.findByRoomId(roomId);
-        for (Heater heater : heaters) {
-            list.add(new EquipmentItem(
-                "🔥 Radiateur",
-                heater.getCustomName(),
-                formatPosition(heater.getPosX(), heater.getPosY(), heater.getPosZ()),
-                formatSize(heater.getSizeX(), heater.getSizeY(), heater.getSizeZ())
-            ));
-        }
-    }
-
-    private void loadWindows(List<EquipmentItem> list, Long roomId) {
-        List<Window> windows = windowManager.findByRoomId(roomId);
-        for (Window window : windows) {
-            list.add(new EquipmentItem(
-                "🪟 Fenêtre",
-                window.getCustomName(),
-                formatPosition(window.getPosX(), window.getPosY(), window.getPosZ()),
-                formatSize(window.getSizeX(), window.getSizeY(), window.getSizeZ())
-            ));
-        }
-    }
-
-    private void loadDoors(List<EquipmentItem> list, Long roomId) {
-        List<Door> doors = doorManager.findByRoomId(roomId);
-        for (Door door : doors) {
-            list.add(new EquipmentItem(
-                "🚪 Porte",
-                door.getCustomName(),
-                formatPosition(door.getPosX(), door.getPosY(), door.getPosZ()),
-                formatSize(door.getSizeX(), door.getSizeY(), door.getSizeZ())
-            ));
-        }
-    }
-
-    private void loadDataTables(List<EquipmentItem> list, Long roomId) {
-        List<DataTable> dataTables = dataTableManager.findByRoomId(roomId);
-        for (DataTable dataTable : dataTables) {
-            list.add(new EquipmentItem(
-                "📊 Table de données",
-                dataTable.getCustomName(),
-                formatPosition(dataTable.getPosX(), dataTable.getPosY(), dataTable.getPosZ()),
-                formatSize(dataTable.getSizeX(), dataTable.getSizeY(), dataTable.getSizeZ())
-            ));
-        }
-    }
-
-    private void loadSirens(List<EquipmentItem> list, Long roomId) {
-        List<Siren> sirens = sirenManager.findByRoomId(roomId);
-        for (Siren siren : sirens) {
-            list.add(new EquipmentItem(
-                "🚨 Sirène",
-                siren.getCustomName(),
-                formatPosition(siren.getPosX(), siren.getPosY(), siren.getPosZ()),
-                "-"
-            ));
+    private String getTypeLabel(RoomEquipment equipment) {
+        switch (equipment.getType()) {
+            case LAMP: return "💡 Lampe";
+            case PLUG: return "🔌 Prise";
+            case SENSOR_CO2: return "🌫️ Capteur CO2";
+            case SENSOR_6IN1: return "🔬 Capteur 6-en-1";
+            case SENSOR_9IN1: return "🔬 Capteur 9-en-1";
+            case HEATER: return "🔥 Radiateur";
+            case WINDOW: return "🪟 Fenêtre";
+            case DOOR: return "🚪 Porte";
+            case DATA_TABLE: return "📊 Table de données";
+            case SIREN: return "🚨 Sirène";
+            default: return equipment.getType().name();
         }
     }
 
@@ -526,12 +501,18 @@ public class RoomByIdView extends VerticalLayout implements HasUrlParameter<Inte
 
     // Classe interne pour représenter un équipement dans le grid
     public static class EquipmentItem {
+        private RoomObjectType objectType;
+        private Integer objectId;
         private String type;
         private String name;
         private String position;
         private String size;
+        private String measures = "";
 
-        public EquipmentItem(String type, String name, String position, String size) {
+        public EquipmentItem(RoomObjectType objectType, Integer objectId, String type, String name,
+                             String position, String size) {
+            this.objectType = objectType;
+            this.objectId = objectId;
             this.type = type;
             this.name = name;
             this.position = position;
@@ -542,5 +523,9 @@ public class RoomByIdView extends VerticalLayout implements HasUrlParameter<Inte
         public String getName() { return name; }
         public String getPosition() { return position; }
         public String getSize() { return size; }
+        public RoomObjectType getObjectType() { return objectType; }
+        public Integer getObjectId() { return objectId; }
+        public String getMeasures() { return measures; }
+        public void setMeasures(String measures) { this.measures = measures; }
     }
 }
\ No newline at end of file
@@ -19,12 +19,10 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Route(value = "room_types", layout = MainLayout.class)
 public class RoomTypeView extends VerticalLayout {
 
@@ -32,7 +30,8 @@ public class RoomTypeView extends VerticalLayout {
     private final RoomTypeEditor roomTypeEditor;
     private final Grid<RoomType> grid = new Grid<>(RoomType.class);
     private RoomType selectedRoomType = null;
-    private List<RoomType> allRoomTypes; // Liste complète pour la recherche
+    private final ConfigurableFilterDataProvider<RoomType, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -45,6 +44,8 @@ public class RoomTypeView extends VerticalLayout {
     public RoomTypeView(RoomTypeManager roomTypeManager) {
         this.roomTypeManager = roomTypeManager;
         this.roomTypeEditor = new RoomTypeEditor(roomTypeManager);
+        this.dataProvider = LazyDataProviders.of(roomTypeManager::searchRoomTypes, roomTypeManager::countRoomTypes);
+        grid.setItems(dataProvider);
         
         // Configuration du callback pour rafraîchir les données
         this.roomTypeEditor.setOnDataChanged(this::loadData);
@@ -249,43 +250,17 @@ public class RoomTypeView extends VerticalLayout {
     }
 
     private void filterRoomTypes(String searchTerm) {
-        if (allRoomTypes == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allRoomTypes);
-            updateResultsInfo(allRoomTypes.size(), allRoomTypes.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<RoomType> filteredRoomTypes = allRoomTypes.stream()
-            .filter(roomType -> matchesSearch(roomType, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredRoomTypes);
-        updateResultsInfo(filteredRoomTypes.size(), allRoomTypes.size());
+        updateResultsInfo((int) roomTypeManager.countRoomTypes(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(RoomType roomType, String searchTerm) {
-        // Recherche dans le nom
-        if (roomType.getName() != null && 
-            roomType.getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(roomType.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d type(s) de salle", 
@@ -303,12 +278,12 @@ public class RoomTypeView extends VerticalLayout {
 
     private void loadData() {
         try {
-            allRoomTypes = roomTypeManager.getAllRoomTypes(); // Stocker la liste complète
-            grid.setItems(allRoomTypes);
+            totalCount = roomTypeManager.countRoomTypes(null);
+            dataProvider.refreshAll();
             
             // Notification de succès
             Notification notification = Notification.show(
-                "✅ " + allRoomTypes.size() + " type(s) de salle chargé(s)", 
+                "✅ " + totalCount + " type(s) de salle chargé(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
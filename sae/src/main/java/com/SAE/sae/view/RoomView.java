@@ -22,12 +22,11 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Route(value = "rooms", layout = MainLayout.class)
 public class RoomView extends VerticalLayout {
 
@@ -36,7 +35,8 @@ public class RoomView extends VerticalLayout {
     private final RoomEditor roomEditor;
     private final Grid<Room> grid = new Grid<>(Room.class);
     private Room selectedRoom = null;
-    private List<Room> allRooms; // Liste complète pour la recherche
+    private final ConfigurableFilterDataProvider<Room, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -50,6 +50,8 @@ public class RoomView extends VerticalLayout {
         this.roomManager = roomManager;
         this.roomTypeManager = roomTypeManager;
         this.roomEditor = new RoomEditor(roomManager, buildingManager, roomTypeManager);
+        this.dataProvider = LazyDataProviders.of(roomManager::searchRooms, roomManager::countRooms);
+        grid.setItems(dataProvider);
         // Configuration du callback pour rafraîchir les données
         this.roomEditor.setOnDataChanged(this::loadData);
         
@@ -198,8 +200,8 @@ public class RoomView extends VerticalLayout {
         grid.addColumn(room -> {
             if (room.getFkRoomTypeId() > 0) {
                 try {
-                    RoomType roomType = roomTypeManager.getRoomTypeById(room.getFkRoomTypeId());
-                    return roomType != null ? roomType.getName() : "Inconnu";
+                    String roomTypeName = getRoomTypeName(room);
+                    return roomTypeName != null ? roomTypeName : "Inconnu";
                 } catch (Exception e) {
                     return "Erreur";
                 }
@@ -303,9 +305,9 @@ public class RoomView extends VerticalLayout {
                 String roomTypeName = "Aucun type";
                 if (room.getFkRoomTypeId() > 0) {
                     try {
-                        RoomType roomType = roomTypeManager.getRoomTypeById(room.getFkRoomTypeId());
-                        if (roomType != null) {
-                            roomTypeName = roomType.getName();
+                        String name = getRoomTypeName(room);
+                        if (name != null) {
+                            roomTypeName = name;
                         }
                     } catch (Exception e) {
                         roomTypeName = "Type inconnu";
@@ -328,67 +330,26 @@ public class RoomView extends VerticalLayout {
     }
 
     private void filterRooms(String searchTerm) {
-        if (allRooms == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allRooms);
-            updateResultsInfo(allRooms.size(), allRooms.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<Room> filteredRooms = allRooms.stream()
-            .filter(room -> matchesSearch(room, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredRooms);
-        updateResultsInfo(filteredRooms.size(), allRooms.size());
+        updateResultsInfo((int) roomManager.countRooms(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(Room room, String searchTerm) {
-        // Recherche dans le nom
-        if (room.getName() != null && 
-            room.getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le nom du bâtiment
-        if (room.getBuilding() != null && room.getBuilding().getName() != null &&
-            room.getBuilding().getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le type de salle
-        if (room.getFkRoomTypeId() > 0) {
-            try {
-                RoomType roomType = roomTypeManager.getRoomTypeById(room.getFkRoomTypeId());
-                if (roomType != null && roomType.getName() != null &&
-                    roomType.getName().toLowerCase().contains(searchTerm)) {
-                    return true;
-                }
-            } catch (Exception e) {
-                // Ignorer les erreurs de recherche
-            }
-        }
-
-        // Recherche dans les dimensions
-        String dimensions = String.format("%.1f %.1f %.1f", 
-            room.getWidth(), room.getLength(), room.getHeight());
-        if (dimensions.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(room.getId()).contains(searchTerm)) {
-            return true;
+    /**
+     * Nom du type d'une salle : association déjà chargée par searchRooms, sinon cache des RoomTypes
+     */
+    private String getRoomTypeName(Room room) {
+        RoomType roomType = room.getRoomType();
+        if (roomType == null || !Hibernate.isInitialized(roomType) || roomType.getId() != room.getFkRoomTypeId()) {
+            roomType = roomTypeManager.getRoomTypeById(room.getFkRoomTypeId());
         }
-
-        return false;
+        return roomType != null ? roomType.getName() : null;
     }
 
     private void updateResultsInfo(int filteredCount, int totalCount) {
@@ -408,12 +369,12 @@ public class RoomView extends VerticalLayout {
 
     private void loadData() {
         try {
-            allRooms = roomManager.getAllRooms(); // Stocker la liste complète
-            grid.setItems(allRooms);
+            totalCount = roomManager.countRooms(null);
+            dataProvider.refreshAll();
             
             // Notification de succès
             Notification notification = Notification.show(
-                "✅ " + allRooms.size() + " salle(s) chargée(s)", 
+                "✅ " + totalCount + " salle(s) chargée(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -1,7 +1,10 @@
 package com.SAE.sae.view;
 
 import com.SAE.sae.entity.RoomObjects.Sensor6in1;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.Sensor6in1Manager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 import com.SAE.sae.view.layouts.MainLayout;
 import com.SAE.sae.view.editor.Sensor6in1Editor;
@@ -20,20 +23,22 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Route(value = "sensor6in1", layout = MainLayout.class)
 public class Sensor6in1View extends VerticalLayout {
 
     private final Sensor6in1Manager sensor6in1Manager;
+    private final ChangeEventBus changeEventBus;
     private final Sensor6in1Editor sensor6in1Editor;
-    private final Grid<Sensor6in1> grid = new Grid<>(Sensor6in1.class);
-    private Sensor6in1 selectedSensor6in1 = null;
-    private List<Sensor6in1> allSensor6in1s; // Liste complète pour la recherche
+    private final Grid<EquipmentRow> grid = new Grid<>(); // Lignes projetées, salle comprise (sans entité)
+    private EquipmentRow selectedSensor6in1 = null;
+    private final ConfigurableFilterDataProvider<EquipmentRow, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -43,9 +48,16 @@ public class Sensor6in1View extends VerticalLayout {
     private Button deleteButton;
 
     @Autowired
-    public Sensor6in1View(Sensor6in1Manager sensor6in1Manager, RoomManager roomManager) {
+    public Sensor6in1View(Sensor6in1Manager sensor6in1Manager, RoomManager roomManager, ChangeEventBus changeEventBus) {
         this.sensor6in1Manager = sensor6in1Manager;
+        this.changeEventBus = changeEventBus;
         this.sensor6in1Editor = new Sensor6in1Editor(sensor6in1Manager, roomManager);
+        this.dataProvider = LazyDataProviders.of(sensor6in1Manager::searchRows, sensor6in1Manager::count, EquipmentRow::getId);
+        grid.setItems(dataProvider);
+
+        // Rafraîchissement poussé (Push) quand un objet de ce type est créé, modifié ou supprimé
+        UiUpdateCoalescer.bind(this,
+            listener -> changeEventBus.subscribeType(RoomObjectType.SENSOR_6IN1, listener), this::refreshGrid);
         
         // Configuration du callback pour rafraîchir les données
         this.sensor6in1Editor.setOnDataChanged(this::loadData);
@@ -131,11 +143,11 @@ public class Sensor6in1View extends VerticalLayout {
         rightGroup.setAlignItems(FlexComponent.Alignment.CENTER);
 
         editButton = createStyledButton("✏️ Modifier", VaadinIcon.EDIT, "#f39c12", ButtonVariant.LUMO_CONTRAST);
-        editButton.addClickListener(e -> sensor6in1Editor.openEditDialog(selectedSensor6in1));
+        editButton.addClickListener(e -> withSelectedSensor6in1(sensor6in1Editor::openEditDialog));
         editButton.setEnabled(false);
 
         deleteButton = createStyledButton("🗑️ Supprimer", VaadinIcon.TRASH, "#e74c3c", ButtonVariant.LUMO_ERROR);
-        deleteButton.addClickListener(e -> sensor6in1Editor.confirmDelete(selectedSensor6in1));
+        deleteButton.addClickListener(e -> withSelectedSensor6in1(sensor6in1Editor::confirmDelete));
         deleteButton.setEnabled(false);
 
         rightGroup.add(editButton, deleteButton);
@@ -172,16 +184,16 @@ public class Sensor6in1View extends VerticalLayout {
         grid.removeAllColumns();
         
         // Colonnes personnalisées
-        grid.addColumn(Sensor6in1::getId)
+        grid.addColumn(EquipmentRow::getId)
             .setHeader("ID")
             .setWidth("80px")
             .setFlexGrow(0);
             
-        grid.addColumn(Sensor6in1::getCustomName)
+        grid.addColumn(EquipmentRow::getName)
             .setHeader("Nom")
             .setFlexGrow(1);
 
-        grid.addColumn(sensor6in1 -> sensor6in1.getRoom() != null ? sensor6in1.getRoom().getName() : "Aucune")
+        grid.addColumn(sensor6in1 -> sensor6in1.getRoomName() != null ? sensor6in1.getRoomName() : "Aucune")
             .setHeader("Salle")
             .setFlexGrow(1);
 
@@ -244,7 +256,7 @@ public class Sensor6in1View extends VerticalLayout {
 
         grid.asSingleSelect().addValueChangeListener(event -> {
             if (event.getValue() != null) {
-                infoContainer.setText("🔬 Capteur 6-en-1 sélectionné : " + event.getValue().getCustomName());
+                infoContainer.setText("🔬 Capteur 6-en-1 sélectionné : " + event.getValue().getName());
                 infoContainer.setVisible(true);
             } else {
                 infoContainer.setVisible(false);
@@ -256,56 +268,17 @@ public class Sensor6in1View extends VerticalLayout {
     }
 
     private void filterSensor6in1s(String searchTerm) {
-        if (allSensor6in1s == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allSensor6in1s);
-            updateResultsInfo(allSensor6in1s.size(), allSensor6in1s.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<Sensor6in1> filteredSensor6in1s = allSensor6in1s.stream()
-            .filter(sensor6in1 -> matchesSearch(sensor6in1, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredSensor6in1s);
-        updateResultsInfo(filteredSensor6in1s.size(), allSensor6in1s.size());
+        updateResultsInfo((int) sensor6in1Manager.count(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(Sensor6in1 sensor6in1, String searchTerm) {
-        // Recherche dans le nom
-        if (sensor6in1.getCustomName() != null && 
-            sensor6in1.getCustomName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le nom de la salle
-        if (sensor6in1.getRoom() != null && sensor6in1.getRoom().getName() != null &&
-            sensor6in1.getRoom().getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les coordonnées (position)
-        String position = String.format("%.1f %.1f %.1f", 
-            sensor6in1.getPosX(), sensor6in1.getPosY(), sensor6in1.getPosZ());
-        if (position.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(sensor6in1.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d capteur(s) 6-en-1", 
@@ -321,13 +294,18 @@ public class Sensor6in1View extends VerticalLayout {
         deleteButton.setEnabled(hasSelection);
     }
 
+    private void refreshGrid() {
+        totalCount = sensor6in1Manager.count();
+        dataProvider.refreshAll();
+    }
+
     private void loadData() {
         try {
-            allSensor6in1s = sensor6in1Manager.findAll(); // Stocker la liste complète
-            grid.setItems(allSensor6in1s);
+            totalCount = sensor6in1Manager.count();
+            dataProvider.refreshAll();
             
             Notification notification = Notification.show(
-                "✅ " + allSensor6in1s.size() + " capteur(s) 6-en-1 chargé(s)", 
+                "✅ " + totalCount + " capteur(s) 6-en-1 chargé(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -344,6 +322,22 @@ public class Sensor6in1View extends VerticalLayout {
         }
     }
 
+    /**
+     * Recharge l'élément sélectionné, avec sa salle, pour l'éditeur (la grille ne contient que des projections)
+     */
+    private void withSelectedSensor6in1(Consumer<Sensor6in1> action) {
+        if (selectedSensor6in1 == null) {
+            action.accept(null);
+            return;
+        }
+        try {
+            action.accept(sensor6in1Manager.findWithRoomById(selectedSensor6in1.getId()));
+        } catch (IllegalArgumentException ex) {
+            showErrorNotification("Élément introuvable", ex.getMessage());
+            refreshGrid();
+        }
+    }
+
     private void showErrorNotification(String title, String message) {
         Notification notification = Notification.show("❌ " + title + ": " + message, 5000, Notification.Position.TOP_END);
         notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -1,7 +1,10 @@
 package com.SAE.sae.view;
 
 import com.SAE.sae.entity.RoomObjects.SensorCO2;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.SensorCO2Manager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 import com.SAE.sae.view.layouts.MainLayout;
 import com.SAE.sae.view.editor.SensorCO2Editor;
@@ -20,20 +23,22 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Route(value = "sensorco2", layout = MainLayout.class)
 public class SensorCO2View extends VerticalLayout {
 
     private final SensorCO2Manager sensorCO2Manager;
+    private final ChangeEventBus changeEventBus;
     private final SensorCO2Editor sensorCO2Editor;
-    private final Grid<SensorCO2> grid = new Grid<>(SensorCO2.class);
-    private SensorCO2 selectedSensorCO2 = null;
-    private List<SensorCO2> allSensorCO2s; // Liste complète pour la recherche
+    private final Grid<EquipmentRow> grid = new Grid<>(); // Lignes projetées, salle comprise (sans entité)
+    private EquipmentRow selectedSensorCO2 = null;
+    private final ConfigurableFilterDataProvider<EquipmentRow, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -43,9 +48,16 @@ public class SensorCO2View extends VerticalLayout {
     private Button deleteButton;
 
     @Autowired
-    public SensorCO2View(SensorCO2Manager sensorCO2Manager, RoomManager roomManager) {
+    public SensorCO2View(SensorCO2Manager sensorCO2Manager, RoomManager roomManager, ChangeEventBus changeEventBus) {
         this.sensorCO2Manager = sensorCO2Manager;
+        this.changeEventBus = changeEventBus;
         this.sensorCO2Editor = new SensorCO2Editor(sensorCO2Manager, roomManager);
+        this.dataProvider = LazyDataProviders.of(sensorCO2Manager::searchRows, sensorCO2Manager::count, EquipmentRow::getId);
+        grid.setItems(dataProvider);
+
+        // Rafraîchissement poussé (Push) quand un objet de ce type est créé, modifié ou supprimé
+        UiUpdateCoalescer.bind(this,
+            listener -> changeEventBus.subscribeType(RoomObjectType.SENSOR_CO2, listener), this::refreshGrid);
         
         // Configuration du callback pour rafraîchir les données
         this.sensorCO2Editor.setOnDataChanged(this::loadData);
@@ -131,11 +143,11 @@ public class SensorCO2View extends VerticalLayout {
         rightGroup.setAlignItems(FlexComponent.Alignment.CENTER);
 
         editButton = createStyledButton("✏️ Modifier", VaadinIcon.EDIT, "#f39c12", ButtonVariant.LUMO_CONTRAST);
-        editButton.addClickListener(e -> sensorCO2Editor.openEditDialog(selectedSensorCO2));
+        editButton.addClickListener(e -> withSelectedSensorCO2(sensorCO2Editor::openEditDialog));
         editButton.setEnabled(false);
 
         deleteButton = createStyledButton("🗑️ Supprimer", VaadinIcon.TRASH, "#e74c3c", ButtonVariant.LUMO_ERROR);
-        deleteButton.addClickListener(e -> sensorCO2Editor.confirmDelete(selectedSensorCO2));
+        deleteButton.addClickListener(e -> withSelectedSensorCO2(sensorCO2Editor::confirmDelete));
         deleteButton.setEnabled(false);
 
         rightGroup.add(editButton, deleteButton);
@@ -172,16 +184,16 @@ public class SensorCO2View extends VerticalLayout {
         grid.removeAllColumns();
         
         // Colonnes personnalisées
-        grid.addColumn(SensorCO2::getId)
+        grid.addColumn(EquipmentRow::getId)
             .setHeader("ID")
             .setWidth("80px")
             .setFlexGrow(0);
             
-        grid.addColumn(SensorCO2::getCustomName)
+        grid.addColumn(EquipmentRow::getName)
             .setHeader("Nom")
             .setFlexGrow(1);
 
-        grid.addColumn(sensorCO2 -> sensorCO2.getRoom() != null ? sensorCO2.getRoom().getName() : "Aucune")
+        grid.addColumn(sensorCO2 -> sensorCO2.getRoomName() != null ? sensorCO2.getRoomName() : "Aucune")
             .setHeader("Salle")
             .setFlexGrow(1);
 
@@ -244,7 +256,7 @@ public class SensorCO2View extends VerticalLayout {
 
         grid.asSingleSelect().addValueChangeListener(event -> {
             if (event.getValue() != null) {
-                infoContainer.setText("🌫️ Capteur CO2 sélectionné : " + event.getValue().getCustomName());
+                infoContainer.setText("🌫️ Capteur CO2 sélectionné : " + event.getValue().getName());
                 infoContainer.setVisible(true);
             } else {
                 infoContainer.setVisible(false);
@@ -256,56 +268,17 @@ public class SensorCO2View extends VerticalLayout {
     }
 
     private void filterSensorCO2s(String searchTerm) {
-        if (allSensorCO2s == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allSensorCO2s);
-            updateResultsInfo(allSensorCO2s.size(), allSensorCO2s.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<SensorCO2> filteredSensorCO2s = allSensorCO2s.stream()
-            .filter(sensorCO2 -> matchesSearch(sensorCO2, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredSensorCO2s);
-        updateResultsInfo(filteredSensorCO2s.size(), allSensorCO2s.size());
+        updateResultsInfo((int) sensorCO2Manager.count(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(SensorCO2 sensorCO2, String searchTerm) {
-        // Recherche dans le nom
-        if (sensorCO2.getCustomName() != null && 
-            sensorCO2.getCustomName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le nom de la salle
-        if (sensorCO2.getRoom() != null && sensorCO2.getRoom().getName() != null &&
-            sensorCO2.getRoom().getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les coordonnées (position)
-        String position = String.format("%.1f %.1f %.1f", 
-            sensorCO2.getPosX(), sensorCO2.getPosY(), sensorCO2.getPosZ());
-        if (position.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(sensorCO2.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d capteur(s) CO2", 
@@ -321,13 +294,18 @@ public class SensorCO2View extends VerticalLayout {
         deleteButton.setEnabled(hasSelection);
     }
 
+    private void refreshGrid() {
+        totalCount = sensorCO2Manager.count();
+        dataProvider.refreshAll();
+    }
+
     private void loadData() {
         try {
-            allSensorCO2s = sensorCO2Manager.findAll(); // Stocker la liste complète
-            grid.setItems(allSensorCO2s);
+            totalCount = sensorCO2Manager.count();
+            dataProvider.refreshAll();
             
             Notification notification = Notification.show(
-                "✅ " + allSensorCO2s.size() + " capteur(s) CO2 chargé(s)", 
+                "✅ " + totalCount + " capteur(s) CO2 chargé(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -344,6 +322,22 @@ public class SensorCO2View extends VerticalLayout {
         }
     }
 
+    /**
+     * Recharge l'élément sélectionné, avec sa salle, pour l'éditeur (la grille ne contient que des projections)
+     */
+    private void withSelectedSensorCO2(Consumer<SensorCO2> action) {
+        if (selectedSensorCO2 == null) {
+            action.accept(null);
+            return;
+        }
+        try {
+            action.accept(sensorCO2Manager.findWithRoomById(selectedSensorCO2.getId()));
+        } catch (IllegalArgumentException ex) {
+            showErrorNotification("Élément introuvable", ex.getMessage());
+            refreshGrid();
+        }
+    }
+
     private void showErrorNotification(String title, String message) {
         Notification notification = Notification.show("❌ " + title + ": " + message, 5000, Notification.Position.TOP_END);
         notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
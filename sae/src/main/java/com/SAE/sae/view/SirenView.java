@@ -1,7 +1,10 @@
 package com.SAE.sae.view;
 
 import com.SAE.sae.entity.RoomObjects.Siren;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.SirenManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 import com.SAE.sae.view.layouts.MainLayout;
 import com.SAE.sae.view.editor.SirenEditor;
@@ -20,20 +23,22 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Route(value = "sirens", layout = MainLayout.class)
 public class SirenView extends VerticalLayout {
 
     private final SirenManager sirenManager;
+    private final ChangeEventBus changeEventBus;
     private final SirenEditor sirenEditor;
-    private final Grid<Siren> grid = new Grid<>(Siren.class);
-    private Siren selectedSiren = null;
-    private List<Siren> allSirens; // Liste complète pour la recherche
+    private final Grid<EquipmentRow> grid = new Grid<>(); // Lignes projetées, salle comprise (sans entité)
+    private EquipmentRow selectedSiren = null;
+    private final ConfigurableFilterDataProvider<EquipmentRow, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -43,9 +48,16 @@ public class SirenView extends VerticalLayout {
     private Button deleteButton;
 
     @Autowired
-    public SirenView(SirenManager sirenManager, RoomManager roomManager) {
+    public SirenView(SirenManager sirenManager, RoomManager roomManager, ChangeEventBus changeEventBus) {
         this.sirenManager = sirenManager;
+        this.changeEventBus = changeEventBus;
         this.sirenEditor = new SirenEditor(sirenManager, roomManager);
+        this.dataProvider = LazyDataProviders.of(sirenManager::searchRows, sirenManager::count, EquipmentRow::getId);
+        grid.setItems(dataProvider);
+
+        // Rafraîchissement poussé (Push) quand un objet de ce type est créé, modifié ou supprimé
+        UiUpdateCoalescer.bind(this,
+            listener -> changeEventBus.subscribeType(RoomObjectType.SIREN, listener), this::refreshGrid);
         
         // Configuration du callback pour rafraîchir les données
         this.sirenEditor.setOnDataChanged(this::loadData);
@@ -131,11 +143,11 @@ public class SirenView extends VerticalLayout {
         rightGroup.setAlignItems(FlexComponent.Alignment.CENTER);
 
         editButton = createStyledButton("✏️ Modifier", VaadinIcon.EDIT, "#f39c12", ButtonVariant.LUMO_CONTRAST);
-        editButton.addClickListener(e -> sirenEditor.openEditDialog(selectedSiren));
+        editButton.addClickListener(e -> withSelectedSiren(sirenEditor::openEditDialog));
         editButton.setEnabled(false);
 
         deleteButton = createStyledButton("🗑️ Supprimer", VaadinIcon.TRASH, "#e74c3c", ButtonVariant.LUMO_ERROR);
-        deleteButton.addClickListener(e -> sirenEditor.confirmDelete(selectedSiren));
+        deleteButton.addClickListener(e -> withSelectedSiren(sirenEditor::confirmDelete));
         deleteButton.setEnabled(false);
 
         rightGroup.add(editButton, deleteButton);
@@ -172,16 +184,16 @@ public class SirenView extends VerticalLayout {
         grid.removeAllColumns();
         
         // Colonnes personnalisées
-        grid.addColumn(Siren::getId)
+        grid.addColumn(EquipmentRow::getId)
             .setHeader("ID")
             .setWidth("80px")
             .setFlexGrow(0);
             
-        grid.addColumn(Siren::getCustomName)
+        grid.addColumn(EquipmentRow::getName)
             .setHeader("Nom")
             .setFlexGrow(1);
 
-        grid.addColumn(siren -> siren.getRoom() != null ? siren.getRoom().getName() : "Aucune")
+        grid.addColumn(siren -> siren.getRoomName() != null ? siren.getRoomName() : "Aucune")
             .setHeader("Salle")
             .setFlexGrow(1);
 
@@ -244,7 +256,7 @@ public class SirenView extends VerticalLayout {
 
         grid.asSingleSelect().addValueChangeListener(event -> {
             if (event.getValue() != null) {
-                infoContainer.setText("🚨 Sirène sélectionnée : " + event.getValue().getCustomName());
+                infoContainer.setText("🚨 Sirène sélectionnée : " + event.getValue().getName());
                 infoContainer.setVisible(true);
             } else {
                 infoContainer.setVisible(false);
@@ -256,56 +268,17 @@ public class SirenView extends VerticalLayout {
     }
 
     private void filterSirens(String searchTerm) {
-        if (allSirens == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allSirens);
-            updateResultsInfo(allSirens.size(), allSirens.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<Siren> filteredSirens = allSirens.stream()
-            .filter(siren -> matchesSearch(siren, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredSirens);
-        updateResultsInfo(filteredSirens.size(), allSirens.size());
+        updateResultsInfo((int) sirenManager.count(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(Siren siren, String searchTerm) {
-        // Recherche dans le nom
-        if (siren.getCustomName() != null && 
-            siren.getCustomName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le nom de la salle
-        if (siren.getRoom() != null && siren.getRoom().getName() != null &&
-            siren.getRoom().getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les coordonnées (position)
-        String position = String.format("%.1f %.1f %.1f", 
-            siren.getPosX(), siren.getPosY(), siren.getPosZ());
-        if (position.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(siren.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d sirène(s)", 
@@ -321,13 +294,18 @@ public class SirenView extends VerticalLayout {
         deleteButton.setEnabled(hasSelection);
     }
 
+    private void refreshGrid() {
+        totalCount = sirenManager.count();
+        dataProvider.refreshAll();
+    }
+
     private void loadData() {
         try {
-            allSirens = sirenManager.findAll(); // Stocker la liste complète
-            grid.setItems(allSirens);
+            totalCount = sirenManager.count();
+            dataProvider.refreshAll();
             
             Notification notification = Notification.show(
-                "✅ " + allSirens.size() + " sirène(s) chargée(s)", 
+                "✅ " + totalCount + " sirène(s) chargée(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -344,6 +322,22 @@ public class SirenView extends VerticalLayout {
         }
     }
 
+    /**
+     * Recharge l'élément sélectionné, avec sa salle, pour l'éditeur (la grille ne contient que des projections)
+     */
+    private void withSelectedSiren(Consumer<Siren> action) {
+        if (selectedSiren == null) {
+            action.accept(null);
+            return;
+        }
+        try {
+            action.accept(sirenManager.findWithRoomById(selectedSiren.getId()));
+        } catch (IllegalArgumentException ex) {
+            showErrorNotification("Élément introuvable", ex.getMessage());
+            refreshGrid();
+        }
+    }
+
     private void showErrorNotification(String title, String message) {
         Notification notification = Notification.show("❌ " + title + ": " + message, 5000, Notification.Position.TOP_END);
         notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
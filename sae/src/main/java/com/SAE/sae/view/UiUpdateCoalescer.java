@@ -0,0 +1,77 @@
+package com.SAE.sae.view;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.SAE.sae.dto.ChangeEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.shared.Registration;
+
+/**
+ * Regroupe les changements poussés vers une UI : quel que soit le nombre d'événements reçus,
+ * la mise à jour est exécutée au plus une fois par fenêtre de 250 ms, dans ui.access (Push).
+ */
+public class UiUpdateCoalescer {
+    static final long DELAY_MILLIS = 250;
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ui-push");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final UI ui;
+    private final Command update;
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    public UiUpdateCoalescer(UI ui, Command update) {
+        this.ui = ui;
+        this.update = update;
+    }
+
+    /**
+     * Demande une mise à jour ; sans effet si une est déjà programmée. Appelable depuis n'importe quel thread.
+     */
+    public void request() {
+        if (pending.compareAndSet(false, true)) {
+            SCHEDULER.schedule(this::flush, DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        // Libéré avant l'accès : un événement reçu pendant la mise à jour en programme une nouvelle
+        pending.set(false);
+        try {
+            ui.access(update);
+        } catch (UIDetachedException e) {
+            // Vue fermée entre-temps ; l'abonnement est retiré au détachement
+        }
+    }
+
+    /**
+     * Abonne un composant au bus tant qu'il est affiché : abonnement à l'attachement, retrait au détachement
+     * @param component la vue
+     * @param subscription abonnement au ChangeEventBus (salle ou type)
+     * @param update mise à jour de la vue, exécutée dans l'UI
+     */
+    public static void bind(Component component, Function<Consumer<ChangeEvent>, Registration> subscription,
+                            Command update) {
+        Registration[] current = new Registration[1];
+        component.addAttachListener(event -> {
+            UiUpdateCoalescer coalescer = new UiUpdateCoalescer(event.getUI(), update);
+            current[0] = subscription.apply(changeEvent -> coalescer.request());
+        });
+        component.addDetachListener(event -> {
+            if (current[0] != null) {
+                current[0].remove();
+                current[0] = null;
+            }
+        });
+    }
+}
@@ -1,7 +1,10 @@
 package com.SAE.sae.view;
 
 import com.SAE.sae.entity.RoomObjects.Window;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.WindowManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 import com.SAE.sae.view.layouts.MainLayout;
 import com.SAE.sae.view.editor.WindowEditor;
@@ -20,20 +23,22 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Route(value = "windows", layout = MainLayout.class)
 public class WindowView extends VerticalLayout {
 
     private final WindowManager windowManager;
+    private final ChangeEventBus changeEventBus;
     private final WindowEditor windowEditor;
-    private final Grid<Window> grid = new Grid<>(Window.class);
-    private Window selectedWindow = null;
-    private List<Window> allWindows; // Liste complète pour la recherche
+    private final Grid<EquipmentRow> grid = new Grid<>(); // Lignes projetées, salle comprise (sans entité)
+    private EquipmentRow selectedWindow = null;
+    private final ConfigurableFilterDataProvider<EquipmentRow, Void, String> dataProvider; // Chargement paresseux, filtré en base
+    private long totalCount; // Nombre total, sans filtre
     private TextField searchField; // Champ de recherche
 
     // Boutons d'action
@@ -43,9 +48,16 @@ public class WindowView extends VerticalLayout {
     private Button deleteButton;
 
     @Autowired
-    public WindowView(WindowManager windowManager, RoomManager roomManager) {
+    public WindowView(WindowManager windowManager, RoomManager roomManager, ChangeEventBus changeEventBus) {
         this.windowManager = windowManager;
+        this.changeEventBus = changeEventBus;
         this.windowEditor = new WindowEditor(windowManager, roomManager);
+        this.dataProvider = LazyDataProviders.of(windowManager::searchRows, windowManager::count, EquipmentRow::getId);
+        grid.setItems(dataProvider);
+
+        // Rafraîchissement poussé (Push) quand un objet de ce type est créé, modifié ou supprimé
+        UiUpdateCoalescer.bind(this,
+            listener -> changeEventBus.subscribeType(RoomObjectType.WINDOW, listener), this::refreshGrid);
         
         // Configuration du callback pour rafraîchir les données
         this.windowEditor.setOnDataChanged(this::loadData);
@@ -131,11 +143,11 @@ public class WindowView extends VerticalLayout {
         rightGroup.setAlignItems(FlexComponent.Alignment.CENTER);
 
         editButton = createStyledButton("✏️ Modifier", VaadinIcon.EDIT, "#f39c12", ButtonVariant.LUMO_CONTRAST);
-        editButton.addClickListener(e -> windowEditor.openEditDialog(selectedWindow));
+        editButton.addClickListener(e -> withSelectedWindow(windowEditor::openEditDialog));
         editButton.setEnabled(false);
 
         deleteButton = createStyledButton("🗑️ Supprimer", VaadinIcon.TRASH, "#e74c3c", ButtonVariant.LUMO_ERROR);
-        deleteButton.addClickListener(e -> windowEditor.confirmDelete(selectedWindow));
+        deleteButton.addClickListener(e -> withSelectedWindow(windowEditor::confirmDelete));
         deleteButton.setEnabled(false);
 
         rightGroup.add(editButton, deleteButton);
@@ -172,16 +184,16 @@ public class WindowView extends VerticalLayout {
         grid.removeAllColumns();
         
         // Colonnes personnalisées
-        grid.addColumn(Window::getId)
+        grid.addColumn(EquipmentRow::getId)
             .setHeader("ID")
             .setWidth("80px")
             .setFlexGrow(0);
             
-        grid.addColumn(Window::getCustomName)
+        grid.addColumn(EquipmentRow::getName)
             .setHeader("Nom")
             .setFlexGrow(1);
 
-        grid.addColumn(window -> window.getRoom() != null ? window.getRoom().getName() : "Aucune")
+        grid.addColumn(window -> window.getRoomName() != null ? window.getRoomName() : "Aucune")
             .setHeader("Salle")
             .setFlexGrow(1);
 
@@ -249,7 +261,7 @@ public class WindowView extends VerticalLayout {
 
         grid.asSingleSelect().addValueChangeListener(event -> {
             if (event.getValue() != null) {
-                infoContainer.setText("🪟 Fenêtre sélectionnée : " + event.getValue().getCustomName());
+                infoContainer.setText("🪟 Fenêtre sélectionnée : " + event.getValue().getName());
                 infoContainer.setVisible(true);
             } else {
                 infoContainer.setVisible(false);
@@ -261,63 +273,17 @@ public class WindowView extends VerticalLayout {
     }
 
     private void filterWindows(String searchTerm) {
-        if (allWindows == null) {
-            return;
-        }
-
+        dataProvider.setFilter(searchTerm);
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            grid.setItems(allWindows);
-            updateResultsInfo(allWindows.size(), allWindows.size());
             return;
         }
 
-        String lowerCaseFilter = searchTerm.toLowerCase().trim();
-        List<Window> filteredWindows = allWindows.stream()
-            .filter(window -> matchesSearch(window, lowerCaseFilter))
-            .collect(Collectors.toList());
-
-        grid.setItems(filteredWindows);
-        updateResultsInfo(filteredWindows.size(), allWindows.size());
+        updateResultsInfo((int) windowManager.count(searchTerm), (int) totalCount);
         
         // Clear selection après filtrage
         grid.asSingleSelect().clear();
     }
 
-    private boolean matchesSearch(Window window, String searchTerm) {
-        // Recherche dans le nom
-        if (window.getCustomName() != null && 
-            window.getCustomName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans le nom de la salle
-        if (window.getRoom() != null && window.getRoom().getName() != null &&
-            window.getRoom().getName().toLowerCase().contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les coordonnées (position)
-        String position = String.format("%.1f %.1f %.1f", 
-            window.getPosX(), window.getPosY(), window.getPosZ());
-        if (position.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans les dimensions (taille)
-        String size = String.format("%.1f %.1f %.1f", 
-            window.getSizeX(), window.getSizeY(), window.getSizeZ());
-        if (size.contains(searchTerm)) {
-            return true;
-        }
-
-        // Recherche dans l'ID (converti en string)
-        if (String.valueOf(window.getId()).contains(searchTerm)) {
-            return true;
-        }
-
-        return false;
-    }
-
     private void updateResultsInfo(int filteredCount, int totalCount) {
         if (filteredCount != totalCount) {
             String message = String.format("🔍 %d résultat(s) sur %d fenêtre(s)", 
@@ -333,13 +299,18 @@ public class WindowView extends VerticalLayout {
         deleteButton.setEnabled(hasSelection);
     }
 
+    private void refreshGrid() {
+        totalCount = windowManager.count();
+        dataProvider.refreshAll();
+    }
+
     private void loadData() {
         try {
-            allWindows = windowManager.findAll(); // Stocker la liste complète
-            grid.setItems(allWindows);
+            totalCount = windowManager.count();
+            dataProvider.refreshAll();
             
             Notification notification = Notification.show(
-                "✅ " + allWindows.size() + " fenêtre(s) chargée(s)", 
+                "✅ " + totalCount + " fenêtre(s) chargée(s)", 
                 3000, 
                 Notification.Position.TOP_END
             );
@@ -356,6 +327,22 @@ public class WindowView extends VerticalLayout {
         }
     }
 
+    /**
+     * Recharge l'élément sélectionné, avec sa salle, pour l'éditeur (la grille ne contient que des projections)
+     */
+    private void withSelectedWindow(Consumer<Window> action) {
+        if (selectedWindow == null) {
+            action.accept(null);
+            return;
+        }
+        try {
+            action.accept(windowManager.findWithRoomById(selectedWindow.getId()));
+        } catch (IllegalArgumentException ex) {
+            showErrorNotification("Élément introuvable", ex.getMessage());
+            refreshGrid();
+        }
+    }
+
     private void showErrorNotification(String title, String message) {
         Notification notification = Notification.show("❌ " + title + ": " + message, 5000, Notification.Position.TOP_END);
         notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
@@ -1,14 +1,13 @@
 package com.SAE.sae.view.layouts;
 
-import com.SAE.sae.entity.Building;
-import com.SAE.sae.entity.Room;
-import com.SAE.sae.repository.BuildingRepository;
-import com.SAE.sae.repository.RoomRepository;
+import com.SAE.sae.dto.NavigationNode;
+import com.SAE.sae.service.NavigationTreeService;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.applayout.AppLayout;
 import com.vaadin.flow.component.applayout.DrawerToggle;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.grid.GridVariant;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H1;
 import com.vaadin.flow.component.html.H4;
@@ -19,24 +18,26 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.treegrid.TreeGrid;
+import com.vaadin.flow.data.provider.hierarchy.AbstractBackEndHierarchicalDataProvider;
+import com.vaadin.flow.data.provider.hierarchy.HierarchicalQuery;
 import com.vaadin.flow.spring.annotation.UIScope;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @UIScope
 @Component
 public class MainLayout extends AppLayout {
 
-    private final BuildingRepository buildingRepository;
-    private final RoomRepository roomRepository;
+    private final NavigationTreeService navigationTreeService;
     private final VerticalLayout menuContainer = new VerticalLayout();
 
     @Autowired
-    public MainLayout(BuildingRepository buildingRepository, RoomRepository roomRepository) {
-        this.buildingRepository = buildingRepository;
-        this.roomRepository = roomRepository;
+    public MainLayout(NavigationTreeService navigationTreeService) {
+        this.navigationTreeService = navigationTreeService;
 
         // Assurer que le layout prend toute la hauteur
         getElement().getStyle()
@@ -212,9 +213,7 @@ public class MainLayout extends AppLayout {
         buildingsSection.add(separator2, buildingsLabel);
         
         try {
-            List<Building> buildings = buildingRepository.findAll();
-            
-            if (buildings.isEmpty()) {
+            if (navigationTreeService.getBuildings().isEmpty()) {
                 Span emptyMessage = new Span("Aucun bâtiment configuré");
                 emptyMessage.getStyle()
                     .set("color", "#6c757d")
@@ -222,9 +221,7 @@ public class MainLayout extends AppLayout {
                     .set("padding", "10px 15px");
                 buildingsSection.add(emptyMessage);
             } else {
-                for (Building building : buildings) {
-                    buildingsSection.add(createBuildingSection(building));
-                }
+                buildingsSection.add(createBuildingsTree());
             }
             
         } catch (Exception ex) {
@@ -243,163 +240,71 @@ public class MainLayout extends AppLayout {
         menuContainer.add(buildingsSection);
     }
     
-    private VerticalLayout createBuildingSection(Building building) {
-        VerticalLayout buildingSection = new VerticalLayout();
-        buildingSection.setPadding(false);
-        buildingSection.setSpacing(false);
-        buildingSection.getStyle()
-            .set("margin", "5px 0")
-            .set("border-radius", "8px")
-            .set("overflow", "hidden");
-        
-        // Bouton du bâtiment
-        Button buildingBtn = new Button();
-        buildingBtn.setWidthFull();
-        
-        // Layout pour le contenu du bouton
-        HorizontalLayout buttonContent = new HorizontalLayout();
-        buttonContent.setWidthFull();
-        buttonContent.setAlignItems(Alignment.CENTER);
-        buttonContent.setPadding(false);
-        buttonContent.setSpacing(true);
-        
-        Icon buildingIcon = new Icon(VaadinIcon.BUILDING);
-        buildingIcon.getStyle().set("color", "#3498db");
-        
-        Span buildingName = new Span(building.getName());
-        buildingName.getStyle()
-            .set("font-weight", "500")
-            .set("color", "#2c3e50");
-        
-        // Compter les salles
-        List<Room> rooms = roomRepository.findByBuilding_Id(building.getId());
-        Span roomCount = new Span("(" + rooms.size() + ")");
-        roomCount.getStyle()
-            .set("color", "#6c757d")
-            .set("font-size", "0.9em");
-        
-        Icon expandIcon = new Icon(VaadinIcon.CHEVRON_DOWN);
-        expandIcon.getStyle()
-            .set("color", "#6c757d")
-            .set("font-size", "0.8em");
-        
-        buttonContent.add(buildingIcon, buildingName, roomCount);
-        buttonContent.setFlexGrow(1, buildingName);
-        buttonContent.add(expandIcon);
-        
-        buildingBtn.getElement().appendChild(buttonContent.getElement());
-        
-        buildingBtn.getStyle()
+    /**
+     * Arbre bâtiments / salles chargé à la demande : seules les lignes visibles sont rendues,
+     * et les salles d'un bâtiment ne sont lues qu'au dépliage de son nœud
+     */
+    private TreeGrid<NavigationNode> createBuildingsTree() {
+        TreeGrid<NavigationNode> tree = new TreeGrid<>();
+        tree.setWidthFull();
+        tree.setHeight("400px");
+        tree.addThemeVariants(GridVariant.LUMO_NO_BORDER, GridVariant.LUMO_COMPACT);
+        tree.getStyle()
             .set("background", "white")
-            .set("border", "1px solid #e9ecef")
             .set("border-radius", "8px")
-            .set("margin", "2px 0")
-            .set("padding", "12px 15px")
-            .set("text-align", "left")
-            .set("transition", "all 0.2s ease");
+            .set("margin", "5px 0");
         
-        // Effet hover
-        buildingBtn.getElement().addEventListener("mouseenter", e -> {
-            buildingBtn.getStyle()
-                .set("background", "#f8f9fa")
-                .set("transform", "translateX(5px)")
-                .set("box-shadow", "0 2px 8px rgba(0,0,0,0.1)");
-        });
-        buildingBtn.getElement().addEventListener("mouseleave", e -> {
-            buildingBtn.getStyle()
-                .set("background", "white")
-                .set("transform", "translateX(0)")
-                .set("box-shadow", "none");
-        });
+        tree.addHierarchyColumn(node -> node.isBuilding()
+                ? "🏢 " + node.getName() + " (" + node.getRoomCount() + ")"
+                : "🚪 " + node.getName())
+            .setHeader("Bâtiments");
         
-        // Sous-menu des salles
-        VerticalLayout roomsSubMenu = new VerticalLayout();
-        roomsSubMenu.setPadding(false);
-        roomsSubMenu.setSpacing(false);
-        roomsSubMenu.setVisible(false);
-        roomsSubMenu.getStyle()
-            .set("background", "#f8f9fa")
-            .set("border-radius", "0 0 8px 8px")
-            .set("margin-top", "-2px")
-            .set("padding", "5px");
-        
-        // Action du bouton building
-        buildingBtn.addClickListener(ev -> {
-            boolean isVisible = roomsSubMenu.isVisible();
-            roomsSubMenu.setVisible(!isVisible);
+        tree.setDataProvider(new AbstractBackEndHierarchicalDataProvider<NavigationNode, Void>() {
+            @Override
+            public int getChildCount(HierarchicalQuery<NavigationNode, Void> query) {
+                return children(query.getParent()).size();
+            }
             
-            // Changer l'icône
-            expandIcon.getElement().setAttribute("icon", 
-                isVisible ? "vaadin:chevron-down" : "vaadin:chevron-up");
+            @Override
+            public boolean hasChildren(NavigationNode item) {
+                return item.isBuilding() && item.getRoomCount() > 0;
+            }
+            
+            @Override
+            public Object getId(NavigationNode item) {
+                return item.getKey();
+            }
+            
+            @Override
+            protected Stream<NavigationNode> fetchChildrenFromBackEnd(HierarchicalQuery<NavigationNode, Void> query) {
+                return children(query.getParent()).stream()
+                    .skip(query.getOffset())
+                    .limit(query.getLimit());
+            }
         });
         
-        // Ajouter les salles
-        for (Room room : rooms) {
-            Button roomBtn = createRoomButton(room);
-            roomsSubMenu.add(roomBtn);
-        }
-        
-        if (rooms.isEmpty()) {
-            Span noRooms = new Span("Aucune salle");
-            noRooms.getStyle()
-                .set("color", "#6c757d")
-                .set("font-style", "italic")
-                .set("padding", "8px 20px")
-                .set("font-size", "0.9em");
-            roomsSubMenu.add(noRooms);
-        }
-        
-        buildingSection.add(buildingBtn, roomsSubMenu);
+        // Un clic sur un bâtiment le déplie, un clic sur une salle l'ouvre
+        tree.addItemClickListener(event -> {
+            NavigationNode node = event.getItem();
+            if (node.isBuilding()) {
+                if (tree.isExpanded(node)) {
+                    tree.collapse(node);
+                } else {
+                    tree.expand(node);
+                }
+            } else {
+                UI.getCurrent().navigate("room/" + node.getId());
+            }
+        });
         
-        return buildingSection;
+        return tree;
     }
     
-    private Button createRoomButton(Room room) {
-        Button roomBtn = new Button();
-        roomBtn.setWidthFull();
-        
-        HorizontalLayout roomContent = new HorizontalLayout();
-        roomContent.setWidthFull();
-        roomContent.setAlignItems(Alignment.CENTER);
-        roomContent.setPadding(false);
-        roomContent.setSpacing(true);
-        
-        Icon roomIcon = new Icon(VaadinIcon.HOME);
-        roomIcon.getStyle()
-            .set("color", "#2ecc71")
-            .set("font-size", "0.9em");
-        
-        Span roomName = new Span(room.getName());
-        roomName.getStyle()
-            .set("color", "#495057")
-            .set("font-size", "0.9em");
-        
-        roomContent.add(roomIcon, roomName);
-        roomContent.setFlexGrow(1, roomName);
-        
-        roomBtn.getElement().appendChild(roomContent.getElement());
-        
-        roomBtn.getStyle()
-            .set("background", "transparent")
-            .set("border", "none")
-            .set("padding", "8px 20px")
-            .set("margin", "1px 0")
-            .set("border-radius", "5px")
-            .set("text-align", "left")
-            .set("transition", "background 0.2s ease");
-        
-        roomBtn.getElement().addEventListener("mouseenter", e -> {
-            roomBtn.getStyle().set("background", "rgba(52, 152, 219, 0.1)");
-        });
-        roomBtn.getElement().addEventListener("mouseleave", e -> {
-            roomBtn.getStyle().set("background", "transparent");
-        });
-        
-        roomBtn.addClickListener(click -> {
-            UI.getCurrent().navigate("room/" + room.getId());
-        });
-        
-        return roomBtn;
+    private List<NavigationNode> children(NavigationNode parent) {
+        if (parent == null) {
+            return navigationTreeService.getBuildings();
+        }
+        return parent.isBuilding() ? navigationTreeService.getRooms(parent.getId()) : List.of();
     }
     
     private Button createMenuButton(String text, VaadinIcon icon, Runnable action) {
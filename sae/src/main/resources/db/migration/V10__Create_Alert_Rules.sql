@@ -0,0 +1,28 @@
+-- Migration Flyway V10__Create_Alert_Rules.sql
+-- Règles d'alerte sur les mesures des capteurs, par salle ou par type de salle.
+-- Hystérésis : l'alerte se déclenche quand la valeur atteint alr_raise et ne retombe
+-- qu'une fois la valeur revenue à alr_clear ou en dessous.
+-- Une règle de salle l'emporte sur celle du type de la salle pour la même métrique.
+
+CREATE TABLE t_e_alert_rule_alr (
+    id SERIAL PRIMARY KEY,
+    alr_metric VARCHAR(64) NOT NULL,
+    alr_raise DOUBLE PRECISION NOT NULL,
+    alr_clear DOUBLE PRECISION NOT NULL,
+    fk_room_id INTEGER,
+    fk_room_type_id INTEGER,
+    CONSTRAINT fk_alert_rule_room FOREIGN KEY (fk_room_id) REFERENCES t_e_room_roo(id) ON DELETE CASCADE,
+    CONSTRAINT fk_alert_rule_room_type FOREIGN KEY (fk_room_type_id) REFERENCES t_e_room_type_rty(id) ON DELETE CASCADE,
+    CONSTRAINT ck_alert_rule_target CHECK ((fk_room_id IS NULL) <> (fk_room_type_id IS NULL)),
+    CONSTRAINT ck_alert_rule_hysteresis CHECK (alr_clear <= alr_raise)
+);
+
+-- Même allocation par blocs que les autres entités (voir V6)
+ALTER SEQUENCE t_e_alert_rule_alr_id_seq INCREMENT BY 50;
+
+-- État d'alerte des sirènes, piloté par le moteur d'alertes
+ALTER TABLE t_e_siren_sir ADD COLUMN sir_alert_active BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Règle par défaut : CO2 à 1500 ppm, retour à la normale sous 1000 ppm, pour tous les types de salle
+INSERT INTO t_e_alert_rule_alr (alr_metric, alr_raise, alr_clear, fk_room_type_id)
+SELECT 'co2', 1500, 1000, id FROM t_e_room_type_rty;
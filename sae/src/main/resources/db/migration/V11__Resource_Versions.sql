@@ -0,0 +1,92 @@
+-- Migration Flyway V11__Resource_Versions.sql
+-- Compteurs de version pour les requêtes GET conditionnelles (ETag / Last-Modified) de l'API REST.
+-- Un compteur par collection (bâtiments, salles, types de salle, règles d'alerte, chaque type d'objet)
+-- et, sur chaque salle, un compteur de son contenu incrémenté dès qu'un de ses objets est ajouté,
+-- modifié, déplacé ou supprimé.
+-- Ils sont tenus par des triggers, donc à jour quelle que soit l'origine de l'écriture
+-- (JPA, SQL direct, suppressions en cascade, autres instances).
+
+CREATE TABLE t_e_resource_version_rve (
+    rve_name VARCHAR(32) PRIMARY KEY,
+    rve_version BIGINT NOT NULL DEFAULT 0,
+    rve_modified TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO t_e_resource_version_rve (rve_name) VALUES
+    ('BUILDING'), ('ROOM'), ('ROOM_TYPE'), ('ALERT_RULE'),
+    ('LAMP'), ('PLUG'), ('SENSOR_CO2'), ('SENSOR_6IN1'), ('SENSOR_9IN1'),
+    ('HEATER'), ('WINDOW'), ('DOOR'), ('DATA_TABLE'), ('SIREN');
+
+ALTER TABLE t_e_room_roo ADD COLUMN roo_content_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE t_e_room_roo ADD COLUMN roo_content_modified TIMESTAMPTZ NOT NULL DEFAULT now();
+
+-- Collections simples : un trigger par instruction, la collection est passée en argument
+CREATE FUNCTION touch_resource_version() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE t_e_resource_version_rve SET rve_version = rve_version + 1, rve_modified = clock_timestamp()
+    WHERE rve_name = TG_ARGV[0];
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_building_version AFTER INSERT OR UPDATE OR DELETE ON t_e_building_bui
+FOR EACH STATEMENT EXECUTE FUNCTION touch_resource_version('BUILDING');
+CREATE TRIGGER trg_room_type_version AFTER INSERT OR UPDATE OR DELETE ON t_e_room_type_rty
+FOR EACH STATEMENT EXECUTE FUNCTION touch_resource_version('ROOM_TYPE');
+CREATE TRIGGER trg_alert_rule_version AFTER INSERT OR UPDATE OR DELETE ON t_e_alert_rule_alr
+FOR EACH STATEMENT EXECUTE FUNCTION touch_resource_version('ALERT_RULE');
+-- Les colonnes roo_content_* sont exclues : le contenu d'une salle ne change pas sa représentation
+CREATE TRIGGER trg_room_version AFTER INSERT OR DELETE OR UPDATE OF name, width, length, height, fk_building_id, fk_room_type_id
+ON t_e_room_roo
+FOR EACH STATEMENT EXECUTE FUNCTION touch_resource_version('ROOM');
+
+-- Objets de salle : une fois par instruction (un lot JDBC réécrit en un seul INSERT ne déclenche qu'un appel),
+-- la collection du type et le contenu de chaque salle touchée, ancienne et nouvelle en cas de déplacement.
+-- changed_rows contient les lignes insérées, supprimées ou modifiées (après), previous_rows les lignes modifiées (avant).
+CREATE FUNCTION touch_room_objects() RETURNS TRIGGER AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM changed_rows) THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'UPDATE' THEN
+        UPDATE t_e_room_roo SET roo_content_version = roo_content_version + 1, roo_content_modified = clock_timestamp()
+        WHERE id IN (SELECT id_room FROM changed_rows UNION SELECT id_room FROM previous_rows);
+    ELSE
+        UPDATE t_e_room_roo SET roo_content_version = roo_content_version + 1, roo_content_modified = clock_timestamp()
+        WHERE id IN (SELECT id_room FROM changed_rows);
+    END IF;
+    UPDATE t_e_resource_version_rve SET rve_version = rve_version + 1, rve_modified = clock_timestamp()
+    WHERE rve_name = TG_ARGV[0];
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Les tables de transition imposent un trigger par opération : trois par table d'objets
+DO $$
+DECLARE
+    t RECORD;
+BEGIN
+    FOR t IN SELECT * FROM (VALUES
+        ('t_e_lamp_lam', 'lamp', 'LAMP'),
+        ('t_e_plug_plu', 'plug', 'PLUG'),
+        ('t_e_sensorco2_co2', 'sensorco2', 'SENSOR_CO2'),
+        ('t_e_sensor6in1_sio', 'sensor6in1', 'SENSOR_6IN1'),
+        ('t_e_sensor9in1_nio', 'sensor9in1', 'SENSOR_9IN1'),
+        ('t_e_heater_hea', 'heater', 'HEATER'),
+        ('t_e_window_win', 'window', 'WINDOW'),
+        ('t_e_door_doo', 'door', 'DOOR'),
+        ('t_e_table_tab', 'table', 'DATA_TABLE'),
+        ('t_e_siren_sir', 'siren', 'SIREN')
+    ) AS v(table_name, prefix, type) LOOP
+        EXECUTE format('CREATE TRIGGER trg_%s_version_insert AFTER INSERT ON %I '
+                       'REFERENCING NEW TABLE AS changed_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION touch_room_objects(%L)', t.prefix, t.table_name, t.type);
+        EXECUTE format('CREATE TRIGGER trg_%s_version_update AFTER UPDATE ON %I '
+                       'REFERENCING OLD TABLE AS previous_rows NEW TABLE AS changed_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION touch_room_objects(%L)', t.prefix, t.table_name, t.type);
+        EXECUTE format('CREATE TRIGGER trg_%s_version_delete AFTER DELETE ON %I '
+                       'REFERENCING OLD TABLE AS changed_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION touch_room_objects(%L)', t.prefix, t.table_name, t.type);
+    END LOOP;
+END;
+$$;
@@ -0,0 +1,42 @@
+-- Migration Flyway V12__Set_Based_Deletes.sql
+-- Suppressions en masse (par nom, ou en cascade depuis un bâtiment ou une salle) : l'index des objets
+-- est nettoyé une fois par instruction à partir des lignes supprimées, au lieu d'une fois par ligne.
+-- Les insertions et mises à jour restent synchronisées ligne par ligne par sync_room_object_index (V5).
+
+CREATE FUNCTION purge_room_object_index() RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM t_e_room_object_index i
+    USING deleted_rows d
+    WHERE i.type = TG_ARGV[0] AND i.id = d.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    t RECORD;
+BEGIN
+    FOR t IN SELECT * FROM (VALUES
+        ('t_e_lamp_lam', 'lamp', 'LAMP'),
+        ('t_e_plug_plu', 'plug', 'PLUG'),
+        ('t_e_sensorco2_co2', 'sensorco2', 'SENSOR_CO2'),
+        ('t_e_sensor6in1_sio', 'sensor6in1', 'SENSOR_6IN1'),
+        ('t_e_sensor9in1_nio', 'sensor9in1', 'SENSOR_9IN1'),
+        ('t_e_heater_hea', 'heater', 'HEATER'),
+        ('t_e_window_win', 'window', 'WINDOW'),
+        ('t_e_door_doo', 'door', 'DOOR'),
+        ('t_e_table_tab', 'table', 'DATA_TABLE'),
+        ('t_e_siren_sir', 'siren', 'SIREN')
+    ) AS v(table_name, prefix, type) LOOP
+        EXECUTE format('DROP TRIGGER trg_%s_room_object_index ON %I', t.prefix, t.table_name);
+        EXECUTE format('CREATE TRIGGER trg_%s_room_object_index AFTER INSERT OR UPDATE ON %I '
+                       'FOR EACH ROW EXECUTE FUNCTION sync_room_object_index(%L)', t.prefix, t.table_name, t.type);
+        EXECUTE format('CREATE TRIGGER trg_%s_room_object_index_purge AFTER DELETE ON %I '
+                       'REFERENCING OLD TABLE AS deleted_rows '
+                       'FOR EACH STATEMENT EXECUTE FUNCTION purge_room_object_index(%L)', t.prefix, t.table_name, t.type);
+    END LOOP;
+END;
+$$;
+
+-- Suppression d'une salle : les règles d'alerte supprimées en cascade sont retrouvées par index
+CREATE INDEX idx_alert_rule_room ON t_e_alert_rule_alr(fk_room_id);
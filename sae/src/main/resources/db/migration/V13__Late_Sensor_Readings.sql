@@ -0,0 +1,49 @@
+-- Migration Flyway V13__Late_Sensor_Readings.sql
+-- Mesures arrivées en retard (rattrapage d'historique, capteur resté hors ligne) : horodatées sous le filigrane
+-- du pas d'une minute, elles ne seraient jamais agrégées, puis purgées avec les mesures brutes.
+-- Un trigger les résume par minute dans t_e_rollup_pending_rpe, au fil des insertions ;
+-- SensorRollupService ajoute ensuite ces résumés aux agrégats déjà calculés de chaque pas.
+
+CREATE TABLE t_e_rollup_pending_rpe (
+    rpe_sensor_type VARCHAR(32) NOT NULL,
+    rpe_sensor_id INTEGER NOT NULL,
+    rpe_metric VARCHAR(64) NOT NULL,
+    rpe_bucket TIMESTAMPTZ NOT NULL,
+    rpe_min DOUBLE PRECISION NOT NULL,
+    rpe_max DOUBLE PRECISION NOT NULL,
+    rpe_sum DOUBLE PRECISION NOT NULL,
+    rpe_count BIGINT NOT NULL,
+    CONSTRAINT pk_rollup_pending PRIMARY KEY (rpe_sensor_type, rpe_sensor_id, rpe_metric, rpe_bucket)
+);
+
+-- Le filigrane est lu sous verrou partagé : l'agrégation, qui le verrouille en écriture, attend la fin
+-- des insertions en cours (et voit leurs mesures), et une insertion qui l'a attendue lit le nouveau filigrane.
+-- Aucune mesure ne peut ainsi passer sous le filigrane sans être résumée ici.
+CREATE FUNCTION collect_late_sensor_readings() RETURNS TRIGGER AS $$
+DECLARE
+    v_until TIMESTAMPTZ;
+BEGIN
+    SELECT rwm_until INTO v_until FROM t_e_rollup_watermark_rwm WHERE rwm_step = '1m' FOR SHARE;
+    INSERT INTO t_e_rollup_pending_rpe AS p
+        (rpe_sensor_type, rpe_sensor_id, rpe_metric, rpe_bucket, rpe_min, rpe_max, rpe_sum, rpe_count)
+    SELECT rea_sensor_type, rea_sensor_id, rea_metric,
+           to_timestamp(floor(extract(epoch FROM rea_ts) / 60) * 60) AS bucket,
+           MIN(rea_value), MAX(rea_value), SUM(rea_value), COUNT(*)
+    FROM inserted_rows
+    WHERE rea_ts < v_until
+    GROUP BY rea_sensor_type, rea_sensor_id, rea_metric, bucket
+    -- Ordre fixe des verrous entre insertions concurrentes sur les mêmes minutes
+    ORDER BY rea_sensor_type, rea_sensor_id, rea_metric, bucket
+    ON CONFLICT (rpe_sensor_type, rpe_sensor_id, rpe_metric, rpe_bucket) DO UPDATE SET
+        rpe_min = LEAST(p.rpe_min, EXCLUDED.rpe_min),
+        rpe_max = GREATEST(p.rpe_max, EXCLUDED.rpe_max),
+        rpe_sum = p.rpe_sum + EXCLUDED.rpe_sum,
+        rpe_count = p.rpe_count + EXCLUDED.rpe_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Un déclenchement par instruction (les insertions par lots sont réécrites en une instruction multi-lignes)
+CREATE TRIGGER trg_sensor_reading_late AFTER INSERT ON t_e_sensor_reading_rea
+    REFERENCING NEW TABLE AS inserted_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION collect_late_sensor_readings();
@@ -0,0 +1,82 @@
+-- Migration Flyway V14__Deferred_Version_Bumps.sql
+-- Les triggers de V11 incrémentaient les compteurs de version au fil des instructions : la ligne du compteur
+-- d'une collection (ou d'une salle) restait verrouillée jusqu'à la fin de la transaction, ce qui sérialisait
+-- tous les écrivains d'une même collection, et deux transactions touchant les mêmes salles dans un ordre
+-- différent pouvaient s'interbloquer.
+-- Les triggers ne font plus que noter les compteurs à incrémenter, dans une table propre à chaque transaction
+-- (pas de conflit entre écrivains) ; un trigger de contrainte différé les incrémente tous à la validation,
+-- une seule fois chacun et dans un ordre fixe : collections par nom, puis salles par id.
+-- Les verrous des compteurs ne sont plus tenus que le temps de la validation.
+
+-- Une ligne par transaction et par compteur : une collection (vbu_room = 0) ou le contenu d'une salle (vbu_name = '')
+-- Les lignes ne survivent pas à leur transaction : la table n'a pas besoin d'être journalisée
+CREATE UNLOGGED TABLE t_e_version_bump_vbu (
+    vbu_txid BIGINT NOT NULL,
+    vbu_name VARCHAR(32) NOT NULL DEFAULT '',
+    vbu_room INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT pk_version_bump PRIMARY KEY (vbu_txid, vbu_name, vbu_room)
+);
+
+CREATE OR REPLACE FUNCTION touch_resource_version() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO t_e_version_bump_vbu (vbu_txid, vbu_name) VALUES (txid_current(), TG_ARGV[0])
+    ON CONFLICT DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION touch_room_objects() RETURNS TRIGGER AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM changed_rows) THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'UPDATE' THEN
+        INSERT INTO t_e_version_bump_vbu (vbu_txid, vbu_room)
+        SELECT txid_current(), id_room FROM changed_rows WHERE id_room IS NOT NULL
+        UNION SELECT txid_current(), id_room FROM previous_rows WHERE id_room IS NOT NULL
+        ON CONFLICT DO NOTHING;
+    ELSE
+        INSERT INTO t_e_version_bump_vbu (vbu_txid, vbu_room)
+        SELECT DISTINCT txid_current(), id_room FROM changed_rows WHERE id_room IS NOT NULL
+        ON CONFLICT DO NOTHING;
+    END IF;
+    INSERT INTO t_e_version_bump_vbu (vbu_txid, vbu_name) VALUES (txid_current(), TG_ARGV[0])
+    ON CONFLICT DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Déclenché à la validation pour chaque compteur noté : le premier appel les applique tous et vide la table
+-- pour la transaction, les suivants ne trouvent plus rien.
+-- Les verrous sont pris par SELECT … ORDER BY … FOR UPDATE avant les UPDATE, dans le même ordre pour toutes les transactions.
+CREATE FUNCTION apply_version_bumps() RETURNS TRIGGER AS $$
+DECLARE
+    v_names VARCHAR(32)[];
+    v_rooms INTEGER[];
+BEGIN
+    WITH applied AS (
+        DELETE FROM t_e_version_bump_vbu WHERE vbu_txid = txid_current()
+        RETURNING vbu_name, vbu_room
+    )
+    SELECT array_agg(vbu_name) FILTER (WHERE vbu_name <> ''), array_agg(vbu_room) FILTER (WHERE vbu_room <> 0)
+    INTO v_names, v_rooms
+    FROM applied;
+
+    IF v_names IS NOT NULL THEN
+        PERFORM 1 FROM t_e_resource_version_rve WHERE rve_name = ANY (v_names) ORDER BY rve_name FOR UPDATE;
+        UPDATE t_e_resource_version_rve SET rve_version = rve_version + 1, rve_modified = clock_timestamp()
+        WHERE rve_name = ANY (v_names);
+    END IF;
+    -- Les salles supprimées dans la transaction ne sont simplement plus trouvées
+    IF v_rooms IS NOT NULL THEN
+        PERFORM 1 FROM t_e_room_roo WHERE id = ANY (v_rooms) ORDER BY id FOR NO KEY UPDATE;
+        UPDATE t_e_room_roo SET roo_content_version = roo_content_version + 1, roo_content_modified = clock_timestamp()
+        WHERE id = ANY (v_rooms);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE CONSTRAINT TRIGGER trg_version_bump AFTER INSERT ON t_e_version_bump_vbu
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION apply_version_bumps();
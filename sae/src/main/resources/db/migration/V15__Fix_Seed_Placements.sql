@@ -0,0 +1,22 @@
+-- Migration Flyway V15__Fix_Seed_Placements.sql
+-- Quelques objets des données de V3 débordent de leur salle au-delà de la tolérance des murs (PlacementValidator) :
+-- toute modification de ces objets, même un simple renommage, était refusée.
+-- Ils sont ramenés dans leur salle, le long du même mur ; seules les lignes restées à leur position d'origine sont touchées.
+
+-- Salle B101 (8 × 12) : fenêtre de x 8,0 à 10,0
+UPDATE t_e_window_win SET win_posx = 5.0
+WHERE id_room = 2 AND rob_name = 'Fenêtre salle cours' AND win_posx = 8.0 AND win_sizex = 2.0;
+
+-- Lab Info (10 × 15) : fenêtre de x 10,0 à 12,5
+UPDATE t_e_window_win SET win_posx = 6.0
+WHERE id_room = 3 AND rob_name = 'Fenêtre labo 2' AND win_posx = 10.0 AND win_sizex = 2.5;
+
+-- Bureau Dir (4 × 6) : fenêtre de x 4,0 à 5,5 et porte de x 4,0 à 4,9
+UPDATE t_e_window_win SET win_posx = 1.5
+WHERE id_room = 4 AND rob_name = 'Fenêtre bureau' AND win_posx = 4.0 AND win_sizex = 1.5;
+UPDATE t_e_door_doo SET doo_posx = 2.5
+WHERE id_room = 4 AND rob_name = 'Porte bureau' AND doo_posx = 4.0 AND doo_sizex = 0.9;
+
+-- Réunion R1 (6 × 8) : radiateur de x 5,8 à 6,6
+UPDATE t_e_heater_hea SET hea_posx = 4.8
+WHERE id_room = 5 AND rob_name = 'Radiateur réunion' AND hea_posx = 5.8 AND hea_sizex = 0.8;
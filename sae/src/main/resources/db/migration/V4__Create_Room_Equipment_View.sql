@@ -0,0 +1,34 @@
+-- Migration Flyway V4__Create_Room_Equipment_View.sql
+-- Vue à plat de tous les équipements, pour lire le contenu d'une salle en une seule requête.
+-- Le filtre sur id_room est propagé dans chaque branche du UNION ALL et utilise les index idx_*_room.
+
+CREATE VIEW v_room_equipment (type, id, id_room, rob_name, posx, posy, posz, sizex, sizey, sizez) AS
+SELECT 'LAMP'::varchar(32), id, id_room, rob_name, lam_posx::double precision, lam_posy::double precision, lam_posz::double precision, NULL::double precision, NULL::double precision, NULL::double precision
+FROM t_e_lamp_lam
+UNION ALL
+SELECT 'PLUG'::varchar(32), id, id_room, rob_name, plu_posx::double precision, plu_posy::double precision, plu_posz::double precision, NULL::double precision, NULL::double precision, NULL::double precision
+FROM t_e_plug_plu
+UNION ALL
+SELECT 'SENSOR_CO2'::varchar(32), id, id_room, rob_name, co2_posx::double precision, co2_posy::double precision, co2_posz::double precision, NULL::double precision, NULL::double precision, NULL::double precision
+FROM t_e_sensorco2_co2
+UNION ALL
+SELECT 'SENSOR_6IN1'::varchar(32), id, id_room, rob_name, sio_posx::double precision, sio_posy::double precision, sio_posz::double precision, NULL::double precision, NULL::double precision, NULL::double precision
+FROM t_e_sensor6in1_sio
+UNION ALL
+SELECT 'SENSOR_9IN1'::varchar(32), id, id_room, rob_name, nio_posx::double precision, nio_posy::double precision, nio_posz::double precision, NULL::double precision, NULL::double precision, NULL::double precision
+FROM t_e_sensor9in1_nio
+UNION ALL
+SELECT 'HEATER'::varchar(32), id, id_room, rob_name, hea_posx::double precision, hea_posy::double precision, hea_posz::double precision, hea_sizex::double precision, hea_sizey::double precision, hea_sizez::double precision
+FROM t_e_heater_hea
+UNION ALL
+SELECT 'WINDOW'::varchar(32), id, id_room, rob_name, win_posx::double precision, win_posy::double precision, win_posz::double precision, win_sizex::double precision, win_sizey::double precision, win_sizez::double precision
+FROM t_e_window_win
+UNION ALL
+SELECT 'DOOR'::varchar(32), id, id_room, rob_name, doo_posx::double precision, doo_posy::double precision, doo_posz::double precision, doo_sizex::double precision, doo_sizey::double precision, doo_sizez::double precision
+FROM t_e_door_doo
+UNION ALL
+SELECT 'DATA_TABLE'::varchar(32), id, id_room, rob_name, tab_posx::double precision, tab_posy::double precision, tab_posz::double precision, tab_sizex::double precision, tab_sizey::double precision, tab_sizez::double precision
+FROM t_e_table_tab
+UNION ALL
+SELECT 'SIREN'::varchar(32), id, id_room, rob_name, sir_posx::double precision, sir_posy::double precision, sir_posz::double precision, NULL::double precision, NULL::double precision, NULL::double precision
+FROM t_e_siren_sir;
@@ -0,0 +1,59 @@
+-- Migration Flyway V5__Create_Room_Object_Index.sql
+-- Table d'index des objets de salle : une ligne par objet, tous types confondus.
+-- Permet aux lookups polymorphes (par salle, par nom, par id) de ne lire qu'une table indexée
+-- puis de charger uniquement la ligne du sous-type concret, au lieu d'un UNION ALL sur les dix tables.
+-- Elle est maintenue par des triggers, donc aussi lors des suppressions en cascade d'une salle.
+
+CREATE TABLE t_e_room_object_index (
+    type VARCHAR(32) NOT NULL,
+    id INTEGER NOT NULL,
+    id_room INTEGER,
+    rob_name VARCHAR(255),
+    CONSTRAINT pk_room_object_index PRIMARY KEY (type, id)
+);
+
+CREATE INDEX idx_room_object_index_id ON t_e_room_object_index(id);
+CREATE INDEX idx_room_object_index_room ON t_e_room_object_index(id_room);
+CREATE INDEX idx_room_object_index_name ON t_e_room_object_index(rob_name);
+
+-- Synchronisation : le type est passé en argument du trigger
+CREATE FUNCTION sync_room_object_index() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' OR (TG_OP = 'UPDATE' AND OLD.id <> NEW.id) THEN
+        DELETE FROM t_e_room_object_index WHERE type = TG_ARGV[0] AND id = OLD.id;
+        IF TG_OP = 'DELETE' THEN
+            RETURN OLD;
+        END IF;
+    END IF;
+
+    INSERT INTO t_e_room_object_index (type, id, id_room, rob_name)
+    VALUES (TG_ARGV[0], NEW.id, NEW.id_room, NEW.rob_name)
+    ON CONFLICT (type, id) DO UPDATE SET id_room = EXCLUDED.id_room, rob_name = EXCLUDED.rob_name;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_lamp_room_object_index AFTER INSERT OR UPDATE OR DELETE ON t_e_lamp_lam
+FOR EACH ROW EXECUTE FUNCTION sync_room_object_index('LAMP');
+CREATE TRIGGER trg_plug_room_object_index AFTER INSERT OR UPDATE OR DELETE ON t_e_plug_plu
+FOR EACH ROW EXECUTE FUNCTION sync_room_object_index('PLUG');
+CREATE TRIGGER trg_sensorco2_room_object_index AFTER INSERT OR UPDATE OR DELETE ON t_e_sensorco2_co2
+FOR EACH ROW EXECUTE FUNCTION sync_room_object_index('SENSOR_CO2');
+CREATE TRIGGER trg_sensor6in1_room_object_index AFTER INSERT OR UPDATE OR DELETE ON t_e_sensor6in1_sio
+FOR EACH ROW EXECUTE FUNCTION sync_room_object_index('SENSOR_6IN1');
+CREATE TRIGGER trg_sensor9in1_room_object_index AFTER INSERT OR UPDATE OR DELETE ON t_e_sensor9in1_nio
+FOR EACH ROW EXECUTE FUNCTION sync_room_object_index('SENSOR_9IN1');
+CREATE TRIGGER trg_heater_room_object_index AFTER INSERT OR UPDATE OR DELETE ON t_e_heater_hea
+FOR EACH ROW EXECUTE FUNCTION sync_room_object_index('HEATER');
+CREATE TRIGGER trg_window_room_object_index AFTER INSERT OR UPDATE OR DELETE ON t_e_window_win
+FOR EACH ROW EXECUTE FUNCTION sync_room_object_index('WINDOW');
+CREATE TRIGGER trg_door_room_object_index AFTER INSERT OR UPDATE OR DELETE ON t_e_door_doo
+FOR EACH ROW EXECUTE FUNCTION sync_room_object_index('DOOR');
+CREATE TRIGGER trg_table_room_object_index AFTER INSERT OR UPDATE OR DELETE ON t_e_table_tab
+FOR EACH ROW EXECUTE FUNCTION sync_room_object_index('DATA_TABLE');
+CREATE TRIGGER trg_siren_room_object_index AFTER INSERT OR UPDATE OR DELETE ON t_e_siren_sir
+FOR EACH ROW EXECUTE FUNCTION sync_room_object_index('SIREN');
+
+-- Remplissage initial à partir des données existantes
+INSERT INTO t_e_room_object_index (type, id, id_room, rob_name)
+SELECT type, id, id_room, rob_name FROM v_room_equipment;
@@ -0,0 +1,9 @@
+-- Migration Flyway V6__Pooled_Sequences.sql
+-- Les identifiants sont désormais alloués par blocs de 50 (optimiseur pooled-lo d'Hibernate),
+-- ce qui supprime un aller-retour nextval par insertion et permet le batch JDBC.
+-- L'incrément des séquences doit rester égal à l'allocationSize des entités.
+
+ALTER SEQUENCE room_object_seq INCREMENT BY 50;
+ALTER SEQUENCE t_e_building_bui_id_seq INCREMENT BY 50;
+ALTER SEQUENCE t_e_room_type_rty_id_seq INCREMENT BY 50;
+ALTER SEQUENCE t_e_room_roo_id_seq INCREMENT BY 50;
@@ -0,0 +1,21 @@
+-- Migration Flyway V7__Search_Indexes.sql
+-- Index trigrammes pour la recherche des grilles Vaadin : les filtres sont des
+-- LOWER(colonne) LIKE '%terme%', qu'un B-tree ne peut pas servir. pg_trgm permet
+-- à PostgreSQL d'utiliser un index GIN sur l'expression lower(...).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_tab_name_trgm ON t_e_table_tab USING gin (lower(rob_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_doo_name_trgm ON t_e_door_doo USING gin (lower(rob_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_hea_name_trgm ON t_e_heater_hea USING gin (lower(rob_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_lam_name_trgm ON t_e_lamp_lam USING gin (lower(rob_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_plu_name_trgm ON t_e_plug_plu USING gin (lower(rob_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_sio_name_trgm ON t_e_sensor6in1_sio USING gin (lower(rob_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_nio_name_trgm ON t_e_sensor9in1_nio USING gin (lower(rob_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_co2_name_trgm ON t_e_sensorco2_co2 USING gin (lower(rob_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_sir_name_trgm ON t_e_siren_sir USING gin (lower(rob_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_win_name_trgm ON t_e_window_win USING gin (lower(rob_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_bui_name_trgm ON t_e_building_bui USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_roo_name_trgm ON t_e_room_roo USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_rty_name_trgm ON t_e_room_type_rty USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,33 @@
+-- Migration Flyway V8__Create_Sensor_Readings.sql
+-- Mesures des capteurs (CO2, 6 en 1, 9 en 1), en ajout seul.
+-- La table est partitionnée par mois sur l'horodatage : les insertions ne touchent que la partition
+-- courante et la purge d'un mois revient à supprimer une partition.
+-- Pas de clé étrangère vers les capteurs : les ids sont répartis sur plusieurs tables (TABLE_PER_CLASS)
+-- et un contrôle par ligne coûterait trop cher au débit visé.
+
+CREATE TABLE t_e_sensor_reading_rea (
+    rea_sensor_type VARCHAR(32) NOT NULL,
+    rea_sensor_id INTEGER NOT NULL,
+    rea_ts TIMESTAMPTZ NOT NULL,
+    rea_metric VARCHAR(64) NOT NULL,
+    rea_value DOUBLE PRECISION NOT NULL
+) PARTITION BY RANGE (rea_ts);
+
+-- Mesures hors des partitions mensuelles (rattrapage d'historique ancien)
+CREATE TABLE t_e_sensor_reading_rea_default PARTITION OF t_e_sensor_reading_rea DEFAULT;
+
+CREATE INDEX idx_sensor_reading_sensor ON t_e_sensor_reading_rea (rea_sensor_type, rea_sensor_id, rea_metric, rea_ts);
+
+-- Crée (si besoin) la partition du mois contenant p_day ; appelée par l'application pour le mois courant et le suivant
+CREATE FUNCTION ensure_sensor_reading_partition(p_day DATE) RETURNS VOID AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_day)::date;
+    v_to DATE := (date_trunc('month', p_day) + INTERVAL '1 month')::date;
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF t_e_sensor_reading_rea FOR VALUES FROM (%L) TO (%L)',
+                   't_e_sensor_reading_rea_' || to_char(v_from, 'YYYYMM'), v_from, v_to);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT ensure_sensor_reading_partition(CURRENT_DATE);
+SELECT ensure_sensor_reading_partition((CURRENT_DATE + INTERVAL '1 month')::date);
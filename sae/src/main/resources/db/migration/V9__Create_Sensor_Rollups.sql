@@ -0,0 +1,31 @@
+-- Migration Flyway V9__Create_Sensor_Rollups.sql
+-- Agrégats des mesures des capteurs par pas de 1 minute, 15 minutes et 1 heure.
+-- On garde la somme plutôt que la moyenne pour pouvoir fusionner les agrégats (moyenne = somme / nombre).
+-- Chaque niveau est calculé à partir du précédent (brut -> 1m -> 15m -> 1h) par SensorRollupService ;
+-- la table des filigranes retient jusqu'où chaque niveau a déjà été calculé.
+
+CREATE TABLE t_e_sensor_rollup_rol (
+    rol_step VARCHAR(8) NOT NULL,
+    rol_sensor_type VARCHAR(32) NOT NULL,
+    rol_sensor_id INTEGER NOT NULL,
+    rol_metric VARCHAR(64) NOT NULL,
+    rol_bucket TIMESTAMPTZ NOT NULL,
+    rol_min DOUBLE PRECISION NOT NULL,
+    rol_max DOUBLE PRECISION NOT NULL,
+    rol_sum DOUBLE PRECISION NOT NULL,
+    rol_count BIGINT NOT NULL,
+    CONSTRAINT pk_sensor_rollup PRIMARY KEY (rol_step, rol_sensor_type, rol_sensor_id, rol_metric, rol_bucket)
+);
+
+-- Purge par ancienneté
+CREATE INDEX idx_sensor_rollup_bucket ON t_e_sensor_rollup_rol (rol_step, rol_bucket);
+
+CREATE TABLE t_e_rollup_watermark_rwm (
+    rwm_step VARCHAR(8) PRIMARY KEY,
+    rwm_until TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO t_e_rollup_watermark_rwm (rwm_step, rwm_until) VALUES
+('1m', '1970-01-01 00:00:00+00'),
+('15m', '1970-01-01 00:00:00+00'),
+('1h', '1970-01-01 00:00:00+00');
@@ -0,0 +1,158 @@
+package com.SAE.sae.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.SAE.sae.dto.ChangeEvent;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.vaadin.flow.shared.Registration;
+
+/**
+ * Aiguillage des événements du ChangeEventBus vers les abonnés de salle, de type, globaux et de bâtiments,
+ * et remise après validation de la transaction
+ */
+public class ChangeEventBusTest {
+
+    private ChangeEventBus bus;
+    private List<ChangeEvent> room1;
+    private List<ChangeEvent> room2;
+    private List<ChangeEvent> lamps;
+    private List<ChangeEvent> all;
+    private List<ChangeEvent> buildings;
+
+    @BeforeEach
+    void setUp() {
+        bus = new ChangeEventBus();
+        room1 = new ArrayList<>();
+        room2 = new ArrayList<>();
+        lamps = new ArrayList<>();
+        all = new ArrayList<>();
+        buildings = new ArrayList<>();
+        bus.subscribeRoom(1, room1::add);
+        bus.subscribeRoom(2, room2::add);
+        bus.subscribeType(RoomObjectType.LAMP, lamps::add);
+        bus.subscribeAll(all::add);
+        bus.subscribeBuildings(buildings::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testObjectEventReachesItsRoomTypeAndGlobalSubscribers() {
+        ChangeEvent event = new ChangeEvent(ChangeEvent.Kind.UPDATED, RoomObjectType.LAMP, 7, 1);
+
+        bus.publish(event);
+
+        assertThat(room1).containsExactly(event);
+        assertThat(room2).isEmpty();
+        assertThat(lamps).containsExactly(event);
+        assertThat(all).containsExactly(event);
+        assertThat(buildings).isEmpty();
+    }
+
+    @Test
+    void testEventWithoutRoomReachesEveryRoom() {
+        ChangeEvent event = new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.PLUG, null, null);
+
+        bus.publish(event);
+
+        assertThat(room1).containsExactly(event);
+        assertThat(room2).containsExactly(event);
+        assertThat(lamps).isEmpty();
+        assertThat(all).containsExactly(event);
+    }
+
+    @Test
+    void testRoomDeletionReachesEveryTypeSubscriber() {
+        List<ChangeEvent> plugs = new ArrayList<>();
+        bus.subscribeType(RoomObjectType.PLUG, plugs::add);
+        ChangeEvent deleted = new ChangeEvent(ChangeEvent.Kind.DELETED, null, null, null);
+
+        bus.publish(deleted);
+        bus.publish(new ChangeEvent(ChangeEvent.Kind.UPDATED, null, null, 1));
+
+        // Les objets des salles supprimées disparaissent avec elles ; une salle modifiée ne change pas ses objets
+        assertThat(lamps).containsExactly(deleted);
+        assertThat(plugs).containsExactly(deleted);
+    }
+
+    @Test
+    void testTelemetryOnlyReachesRoomSubscribers() {
+        ChangeEvent event = new ChangeEvent(ChangeEvent.Kind.TELEMETRY, null, null, 2);
+
+        bus.publish(event);
+
+        assertThat(room2).containsExactly(event);
+        assertThat(room1).isEmpty();
+        assertThat(all).isEmpty();
+    }
+
+    @Test
+    void testBuildingEventOnlyReachesBuildingSubscribers() {
+        bus.publishBuilding(ChangeEvent.Kind.UPDATED);
+
+        assertThat(buildings).singleElement().satisfies(event ->
+                assertThat(event.getKind()).isEqualTo(ChangeEvent.Kind.UPDATED));
+        assertThat(room1).isEmpty();
+        assertThat(all).isEmpty();
+    }
+
+    @Test
+    void testRemovedOrFailingSubscriberDoesNotStopDelivery() {
+        List<ChangeEvent> removed = new ArrayList<>();
+        Registration registration = bus.subscribeRoom(1, removed::add);
+        bus.subscribeRoom(1, event -> {
+            throw new IllegalStateException("abonné en échec");
+        });
+        registration.remove();
+
+        bus.publish(new ChangeEvent(ChangeEvent.Kind.UPDATED, null, null, 1));
+
+        assertThat(removed).isEmpty();
+        assertThat(room1).hasSize(1);
+        assertThat(bus.hasRoomSubscribers(1)).isTrue();
+    }
+
+    @Test
+    void testEventsPublishedInTransactionWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        ChangeEvent event = new ChangeEvent(ChangeEvent.Kind.CREATED, RoomObjectType.LAMP, 7, 1);
+
+        bus.publish(event);
+        bus.publishBuilding(ChangeEvent.Kind.CREATED);
+        assertThat(room1).isEmpty();
+        assertThat(lamps).isEmpty();
+        assertThat(buildings).isEmpty();
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(room1).containsExactly(event);
+        assertThat(lamps).containsExactly(event);
+        assertThat(buildings).hasSize(1);
+    }
+
+    @Test
+    void testEventsPublishedInRolledBackTransactionAreDropped() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.publish(new ChangeEvent(ChangeEvent.Kind.DELETED, RoomObjectType.LAMP, 7, 1));
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(room1).isEmpty();
+        assertThat(lamps).isEmpty();
+        assertThat(all).isEmpty();
+    }
+}
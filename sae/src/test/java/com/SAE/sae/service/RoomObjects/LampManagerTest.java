@@ -0,0 +1,50 @@
+package com.SAE.sae.service.RoomObjects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.SAE.sae.dto.ChangeEvent;
+import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.repository.RoomObjects.LampRepository;
+import com.SAE.sae.repository.RoomObjects.RoomObjectRepository;
+import com.SAE.sae.service.ChangeEventBus;
+import com.SAE.sae.service.PlacementValidator;
+
+/**
+ * Événements publiés par les enregistrements en masse : création pour les nouveaux objets, modification pour les autres
+ */
+public class LampManagerTest {
+
+    @Test
+    void testSaveAllPublishesCreatedForNewLamps() {
+        LampRepository lampRepository = mock(LampRepository.class);
+        ChangeEventBus changeEventBus = new ChangeEventBus();
+        LampManager lampManager = new LampManager(lampRepository, mock(RoomObjectRepository.class),
+                changeEventBus, mock(PlacementValidator.class));
+        List<ChangeEvent> events = new ArrayList<>();
+        changeEventBus.subscribeType(RoomObjectType.LAMP, events::add);
+
+        Lamp created = new Lamp("saveAllNew");
+        Lamp existing = new Lamp("saveAllExisting");
+        existing.setId(7);
+        // L'enregistrement attribue un id aux nouveaux objets
+        when(lampRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            created.setId(8);
+            return List.of(created, existing);
+        });
+
+        lampManager.saveAll(List.of(created, existing));
+
+        assertThat(events).extracting(ChangeEvent::getKind)
+                .containsExactly(ChangeEvent.Kind.CREATED, ChangeEvent.Kind.UPDATED);
+        assertThat(events).extracting(ChangeEvent::getObjectId).containsExactly(8, 7);
+    }
+}
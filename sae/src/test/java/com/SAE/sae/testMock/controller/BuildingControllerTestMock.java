@@ -1,9 +1,11 @@
 package com.SAE.sae.testMock.controller;
 
 import com.SAE.sae.controller.BuildingController;
+import com.SAE.sae.dto.BuildingSummary;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.BuildingManager;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,10 +14,13 @@ import org.mockito.Mock;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -40,13 +45,15 @@ public class BuildingControllerTestMock {
 
     @BeforeEach
     void setUp() {
+        // Même nommage que l'application (spring.jackson.property-naming-strategy)
+        objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
         mockMvc = MockMvcBuilders
                 .standaloneSetup(new BuildingController(buildingManager))
+                .setMessageConverters(new StringHttpMessageConverter(StandardCharsets.UTF_8), new MappingJackson2HttpMessageConverter(objectMapper))
                 .setHandlerExceptionResolvers(new ExceptionHandlerExceptionResolver()) // ou rien
                 .build();
 
-        objectMapper = new ObjectMapper();
-
         // Création d'un objet Building d'exemple
         sampleBuilding = new Building();
         sampleBuilding.setId(1);
@@ -56,30 +63,55 @@ public class BuildingControllerTestMock {
     @DisplayName("GET /api/v1/buildings - Récupérer toutes les Buildings")
     void getAllBuildings_ShouldReturnAllBuildings() throws Exception {
         // Given
-        List<Building> Buildings = Arrays.asList(sampleBuilding, new Building());
-        when(buildingManager.getAllBuildings()).thenReturn(Buildings);
+        List<BuildingSummary> summaries = Arrays.asList(new BuildingSummary(1, "A", 2), new BuildingSummary(2, "B", 0));
+        when(buildingManager.getBuildingSummaries()).thenReturn(summaries);
 
         // When & Then
         mockMvc.perform(get("/api/v1/buildings"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].room_count").value(2));
+
+        verify(buildingManager, times(1)).getBuildingSummaries();
+        verify(buildingManager, never()).getAllBuildingsWithRooms();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/buildings?expand=rooms - Récupérer les Buildings avec leurs Rooms")
+    void getAllBuildings_WithExpandRooms_ShouldReturnBuildings() throws Exception {
+        // Given
+        List<Building> Buildings = Arrays.asList(sampleBuilding, new Building());
+        when(buildingManager.getAllBuildingsWithRooms()).thenReturn(Buildings);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/buildings").param("expand", "rooms"))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2));
 
-        verify(buildingManager, times(1)).getAllBuildings();
+        verify(buildingManager, times(1)).getAllBuildingsWithRooms();
+        verify(buildingManager, never()).getBuildingSummaries();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/buildings?expand=inconnu - 400")
+    void getAllBuildings_WithUnknownExpand_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/buildings").param("expand", "objects"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
     @DisplayName("GET /api/v1/buildings - Retourner liste vide quand aucune Building")
     void getAllBuildings_WhenEmpty_ShouldReturnEmptyList() throws Exception {
         // Given
-        when(buildingManager.getAllBuildings()).thenReturn(Arrays.asList());
+        when(buildingManager.getBuildingSummaries()).thenReturn(Arrays.asList());
 
         // When & Then
         mockMvc.perform(get("/api/v1/buildings"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(buildingManager, times(1)).getAllBuildings();
+        verify(buildingManager, times(1)).getBuildingSummaries();
     }
 
     @Test
@@ -235,13 +235,13 @@ public class DataTableControllerTestMock {
     void deleteByCustomName_ShouldDeleteAllDataTablesWithCustomName() throws Exception {
         // Given
         String customName = "Table à supprimer";
-        doNothing().when(dataTableManager).deleteByCustomName(customName);
+        when(dataTableManager.deleteByCustomName(customName)).thenReturn(2);
 
         // When & Then
         mockMvc.perform(delete("/api/v1/data-tables/by-custom-name")
                 .param("customName", customName))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Toutes les DataTables avec ce nom ont été supprimées"));
+                .andExpect(content().string("2 DataTables avec ce nom ont été supprimées"));
 
         verify(dataTableManager, times(1)).deleteByCustomName(customName);
     }
@@ -234,13 +234,13 @@ public class DoorControllerTestMock {
     void deleteByCustomName_ShouldDeleteAllDoorsWithCustomName() throws Exception {
         // Given
         String customName = "Table à supprimer";
-        doNothing().when(doorManager).deleteByCustomName(customName);
+        when(doorManager.deleteByCustomName(customName)).thenReturn(2);
 
         // When & Then
         mockMvc.perform(delete("/api/v1/doors/by-custom-name")
                 .param("customName", customName))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Toutes les Doors avec ce nom ont été supprimées"));
+                .andExpect(content().string("2 Doors avec ce nom ont été supprimées"));
 
         verify(doorManager, times(1)).deleteByCustomName(customName);
     }
@@ -211,12 +211,12 @@ public class HeaterControllerTestMock {
     @DisplayName("DELETE /api/v1/heaters/by-custom-name - Supprimer toutes les Heaters avec un nom spécifique")
     void deleteByCustomName_ShouldDeleteAllHeatersWithCustomName() throws Exception {
         String customName = "Table à supprimer";
-        doNothing().when(heaterManager).deleteByCustomName(customName);
+        when(heaterManager.deleteByCustomName(customName)).thenReturn(2);
 
         mockMvc.perform(delete("/api/v1/heaters/by-custom-name")
                         .param("customName", customName))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Toutes les Heaters avec ce nom ont été supprimées"));
+                .andExpect(content().string("2 Heaters avec ce nom ont été supprimées"));
 
         verify(heaterManager, times(1)).deleteByCustomName(customName);
     }
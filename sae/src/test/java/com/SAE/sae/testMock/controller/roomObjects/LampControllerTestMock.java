@@ -236,13 +236,13 @@ public class LampControllerTestMock {
     void deleteByCustomName_ShouldDeleteAllLampsWithCustomName() throws Exception {
         // Given
         String customName = "Table à supprimer";
-        doNothing().when(lampManager).deleteByCustomName(customName);
+        when(lampManager.deleteByCustomName(customName)).thenReturn(2);
 
         // When & Then
         mockMvc.perform(delete("/api/v1/lamps/by-custom-name")
                 .param("customName", customName))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Toutes les Lamps avec ce nom ont été supprimées"));
+                .andExpect(content().string("2 Lamps avec ce nom ont été supprimées"));
 
         verify(lampManager, times(1)).deleteByCustomName(customName);
     }
@@ -238,13 +238,13 @@ public class PlugControllerTestMock {
     void deleteByCustomName_ShouldDeleteAllPlugsWithCustomName() throws Exception {
         // Given
         String customName = "Table à supprimer";
-        doNothing().when(plugManager).deleteByCustomName(customName);
+        when(plugManager.deleteByCustomName(customName)).thenReturn(2);
 
         // When & Then
         mockMvc.perform(delete("/api/v1/plugs/by-custom-name")
                 .param("customName", customName))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Toutes les Plugs avec ce nom ont été supprimées"));
+                .andExpect(content().string("2 Plugs avec ce nom ont été supprimées"));
 
         verify(plugManager, times(1)).deleteByCustomName(customName);
     }
@@ -2,6 +2,7 @@ package com.SAE.sae.testMock.controller.roomObjects;
 
 import com.SAE.sae.controller.RoomObjects.RoomObjectController;
 import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
 import com.SAE.sae.service.RoomObjects.RoomObjectManager;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -68,7 +69,7 @@ public class RoomObjectControllerTestMock {
     void getRoomObjectById_WhenExists_ShouldReturnRoomObject() throws Exception {
         // Given
         Integer id = 1;
-        when(roomObjectManager.findById(id)).thenReturn(sampleRoomObject);
+        when(roomObjectManager.findById(id, null)).thenReturn(sampleRoomObject);
 
         // When & Then
         mockMvc.perform(get("/api/v1/room-objects/{id}", id))
@@ -77,7 +78,7 @@ public class RoomObjectControllerTestMock {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.customName").value("Table Test"));
 
-        verify(roomObjectManager, times(1)).findById(id);
+        verify(roomObjectManager, times(1)).findById(id, null);
     }
 
     @Test
@@ -85,13 +86,29 @@ public class RoomObjectControllerTestMock {
     void getRoomObjectById_WhenNotExists_ShouldReturn404() throws Exception {
         // Given
         Integer id = 999;
-        when(roomObjectManager.findById(id)).thenThrow(new IllegalArgumentException("RoomObject not found"));
+        when(roomObjectManager.findById(id, null)).thenThrow(new IllegalArgumentException("RoomObject not found"));
 
         // When & Then
         mockMvc.perform(get("/api/v1/room-objects/{id}", id))
                 .andExpect(status().isNotFound());
 
-        verify(roomObjectManager, times(1)).findById(id);
+        verify(roomObjectManager, times(1)).findById(id, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/room-objects/{id} - Retourner 409 pour un ID partagé sans type")
+    void getRoomObjectById_WhenAmbiguous_ShouldReturn409() throws Exception {
+        // Given
+        Integer id = 1;
+        when(roomObjectManager.findById(id, null)).thenThrow(new IllegalStateException("ID ambigu"));
+        when(roomObjectManager.findById(id, RoomObjectType.DATA_TABLE)).thenReturn(sampleRoomObject);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/room-objects/{id}", id))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/v1/room-objects/{id}", id).param("type", "DATA_TABLE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
     }
 
     @Test
@@ -156,7 +173,7 @@ public class RoomObjectControllerTestMock {
                 .andExpect(status().isNotFound());
 
         verify(roomObjectManager, times(1)).existsById(id);
-        verify(roomObjectManager, never()).deleteById(id);
+        verify(roomObjectManager, never()).deleteById(eq(id), any());
     }
 
     
@@ -235,13 +235,13 @@ public class Sensor6in1ControllerTestMock {
     void deleteByCustomName_ShouldDeleteAllSensor6in1sWithCustomName() throws Exception {
         // Given
         String customName = "Table à supprimer";
-        doNothing().when(sensor6in1Manager).deleteByCustomName(customName);
+        when(sensor6in1Manager.deleteByCustomName(customName)).thenReturn(2);
 
         // When & Then
         mockMvc.perform(delete("/api/v1/sensor6in1s/by-custom-name")
                 .param("customName", customName))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Toutes les Sensor6in1s avec ce nom ont été supprimées"));
+                .andExpect(content().string("2 Sensor6in1s avec ce nom ont été supprimées"));
 
         verify(sensor6in1Manager, times(1)).deleteByCustomName(customName);
     }
@@ -238,13 +238,13 @@ public class Sensor9in1ControllerTestMock {
     void deleteByCustomName_ShouldDeleteAllSensor9in1sWithCustomName() throws Exception {
         // Given
         String customName = "Table à supprimer";
-        doNothing().when(sensor9in1Manager).deleteByCustomName(customName);
+        when(sensor9in1Manager.deleteByCustomName(customName)).thenReturn(2);
 
         // When & Then
         mockMvc.perform(delete("/api/v1/sensor9in1s/by-custom-name")
                 .param("customName", customName))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Toutes les Sensor9in1s avec ce nom ont été supprimées"));
+                .andExpect(content().string("2 Sensor9in1s avec ce nom ont été supprimées"));
 
         verify(sensor9in1Manager, times(1)).deleteByCustomName(customName);
     }
@@ -238,13 +238,13 @@ public class SensorCO2ControllerTestMock {
     void deleteByCustomName_ShouldDeleteAllSensorCO2sWithCustomName() throws Exception {
         // Given
         String customName = "Table à supprimer";
-        doNothing().when(sensorCO2Manager).deleteByCustomName(customName);
+        when(sensorCO2Manager.deleteByCustomName(customName)).thenReturn(2);
 
         // When & Then
         mockMvc.perform(delete("/api/v1/sensorco2s/by-custom-name")
                 .param("customName", customName))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Toutes les SensorCO2s avec ce nom ont été supprimées"));
+                .andExpect(content().string("2 SensorCO2s avec ce nom ont été supprimées"));
 
         verify(sensorCO2Manager, times(1)).deleteByCustomName(customName);
     }
@@ -235,13 +235,13 @@ public class WindowControllerTestMock {
     void deleteByCustomName_ShouldDeleteAllWindowsWithCustomName() throws Exception {
         // Given
         String customName = "Table à supprimer";
-        doNothing().when(windowManager).deleteByCustomName(customName);
+        when(windowManager.deleteByCustomName(customName)).thenReturn(2);
 
         // When & Then
         mockMvc.perform(delete("/api/v1/windows/by-custom-name")
                 .param("customName", customName))
                 .andExpect(status().isOk())
-                .andExpect(content().string("Toutes les Windows avec ce nom ont été supprimées"));
+                .andExpect(content().string("2 Windows avec ce nom ont été supprimées"));
 
         verify(windowManager, times(1)).deleteByCustomName(customName);
     }
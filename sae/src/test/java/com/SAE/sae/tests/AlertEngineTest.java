@@ -0,0 +1,97 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.SAE.sae.dto.TelemetryReading;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.service.AlertEngine;
+
+@SpringBootTest
+public class AlertEngineTest {
+    // Capteur CO2 2, dans la salle 2 (données de V2) ; règle co2 par type de salle : alerte à 1500, fin à 1000 (V10)
+    private static final int SENSOR_ID = 2;
+
+    @Autowired
+    private AlertEngine alertEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void restore() throws InterruptedException {
+        moveSensor(2);
+        send(500);
+        awaitAlerting(2, false);
+    }
+
+    private void moveSensor(int roomId) {
+        jdbcTemplate.update("UPDATE t_e_sensorco2_co2 SET id_room = ? WHERE id = ?", roomId, SENSOR_ID);
+        alertEngine.recompile();
+    }
+
+    private void send(double co2) {
+        alertEngine.onReadings(List.of(new TelemetryReading(RoomObjectType.SENSOR_CO2, SENSOR_ID, Instant.now(), "co2", co2)));
+    }
+
+    private boolean awaitAlerting(int roomId, boolean expected) throws InterruptedException {
+        for (int i = 0; i < 50 && alertEngine.isRoomAlerting(roomId) != expected; i++) {
+            Thread.sleep(100);
+        }
+        return alertEngine.isRoomAlerting(roomId) == expected;
+    }
+
+    @Test
+    void testSensorMovedWhileReadingsAreInFlight() throws InterruptedException {
+        send(2000);
+        assertThat(awaitAlerting(2, true)).isTrue();
+
+        // Des mesures arrivent sans interruption pendant que le capteur passe de la salle 2 à la salle 3
+        AtomicBoolean sending = new AtomicBoolean(true);
+        List<Throwable> failures = new ArrayList<>();
+        Thread sender = new Thread(() -> {
+            try {
+                while (sending.get()) {
+                    send(2000);
+                    Thread.sleep(1);
+                }
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        sender.start();
+        try {
+            for (int i = 0; i < 10; i++) {
+                moveSensor(i % 2 == 0 ? 3 : 2);
+            }
+            moveSensor(3);
+        } finally {
+            sending.set(false);
+            sender.join();
+        }
+        assertThat(failures).isEmpty();
+
+        // L'alerte a suivi le capteur ; une mesure sous le seuil de fin la coupe : aucun compte n'a dérivé
+        assertThat(awaitAlerting(3, true)).isTrue();
+        assertThat(awaitAlerting(2, false)).isTrue();
+        send(500);
+        assertThat(awaitAlerting(3, false)).isTrue();
+        long sounding = -1;
+        for (int i = 0; i < 50 && sounding != 0; i++) {
+            sounding = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM t_e_siren_sir WHERE id_room IN (2, 3) AND sir_alert_active", Long.class);
+            Thread.sleep(100);
+        }
+        assertThat(sounding).isZero();
+    }
+}
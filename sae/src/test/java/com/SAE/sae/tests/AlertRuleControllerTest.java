@@ -0,0 +1,94 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.SAE.sae.dto.TelemetryReading;
+import com.SAE.sae.entity.AlertRule;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.RoomObjects.Siren;
+import com.SAE.sae.repository.RoomObjects.SirenRepository;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class AlertRuleControllerTest {
+    private static final String METRIC = "alert_test";
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SirenRepository sirenRepository;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM t_e_alert_rule_alr WHERE alr_metric = ?", METRIC);
+        jdbcTemplate.update("DELETE FROM t_e_sensor_reading_rea WHERE rea_metric = ?", METRIC);
+        jdbcTemplate.update("UPDATE t_e_siren_sir SET sir_alert_active = FALSE WHERE id_room = 2");
+    }
+
+    private void sendCo2(double value) {
+        // Capteur CO2 2, dans la salle 2 qui a une sirène (données de V2 et V3)
+        restTemplate.postForEntity("http://localhost:" + port + "/api/v1/telemetry",
+                List.of(new TelemetryReading(RoomObjectType.SENSOR_CO2, 2, Instant.now(), METRIC, value)), Map.class);
+    }
+
+    private boolean waitForSirens(boolean expected) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            List<Siren> sirens = sirenRepository.findByRoomId(2);
+            if (!sirens.isEmpty() && sirens.stream().allMatch(s -> Boolean.valueOf(expected).equals(s.getAlertActive()))) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    @Test
+    void testRuleDrivesSirensWithHysteresis() throws InterruptedException {
+        ResponseEntity<AlertRule> created = restTemplate.postForEntity("http://localhost:" + port + "/api/v1/alert-rules",
+                new AlertRule(null, METRIC, 100, 50, 2, null), AlertRule.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        sendCo2(150);
+        assertThat(waitForSirens(true)).isTrue();
+
+        // Sous le seuil de déclenchement mais au-dessus du seuil de retour : l'alerte reste active
+        sendCo2(80);
+        Thread.sleep(300);
+        assertThat(waitForSirens(true)).isTrue();
+
+        sendCo2(40);
+        assertThat(waitForSirens(false)).isTrue();
+    }
+
+    @Test
+    void testCreateInvalidRule() {
+        ResponseEntity<AlertRule> bothTargets = restTemplate.postForEntity("http://localhost:" + port + "/api/v1/alert-rules",
+                new AlertRule(null, METRIC, 100, 50, 2, 2), AlertRule.class);
+        ResponseEntity<AlertRule> inverted = restTemplate.postForEntity("http://localhost:" + port + "/api/v1/alert-rules",
+                new AlertRule(null, METRIC, 50, 100, 2, null), AlertRule.class);
+
+        assertThat(bothTargets.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(inverted.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -7,8 +7,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 import com.SAE.sae.entity.Building;
+import com.SAE.sae.entity.Room;
+import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.service.BuildingManager;
+import com.SAE.sae.service.RoomManager;
+import com.SAE.sae.service.RoomObjects.LampManager;
+import com.SAE.sae.service.RoomObjects.RoomObjectManager;
+import com.fasterxml.jackson.databind.JsonNode;
 
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
 public class BuildingControllerTest {
@@ -19,6 +29,18 @@ public class BuildingControllerTest {
  	@Autowired
 	private TestRestTemplate restTemplate;
 
+    @Autowired
+    private BuildingManager buildingManager;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    @Autowired
+    private LampManager lampManager;
+
+    @Autowired
+    private RoomObjectManager roomObjectManager;
+
     @Test
     void testCreateBuilding() {
         Building create = new Building("createTest");
@@ -55,6 +77,33 @@ public class BuildingControllerTest {
                 });
     }
 
+    @Test
+    void testDeleteByNameCascades() {
+        Building building = buildingManager.saveBuilding(new Building("cascadeTest"));
+        Room room = new Room("cascadeTest", 5, 5, 3, 1);
+        room.setBuilding(building);
+        room = roomManager.saveRoom(room);
+        Lamp lamp = new Lamp("cascadeTest");
+        lamp.setRoom(room);
+        lamp = lampManager.save(lamp);
+
+        ResponseEntity<String> response = restTemplate.exchange("http://localhost:" + port + "/api/v1/buildings/by-custom-name?name=cascadeTest",
+                HttpMethod.DELETE, null, String.class);
+        assertThat(response.getBody()).startsWith("1 ");
+
+        assertThat(roomManager.getRoomById(room.getId())).isNull();
+        assertThat(lampManager.existsById(lamp.getId())).isFalse();
+        // L'index des objets est purgé avec eux
+        assertThat(roomObjectManager.existsById(lamp.getId())).isFalse();
+    }
+
+    @Test
+    void testDeleteUnknownBuilding() {
+        ResponseEntity<String> response = restTemplate.exchange("http://localhost:" + port + "/api/v1/buildings/999999",
+                HttpMethod.DELETE, null, String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
     @Test
     void testGetAllBuildings() {
         assertThat(restTemplate.getForObject("http://localhost:" + port + "/api/v1/buildings",
@@ -67,6 +116,40 @@ public class BuildingControllerTest {
                 });
     }
 
+    @Test
+    void testGetAllBuildingsSummaryAndExpand() {
+        Building building = buildingManager.saveBuilding(new Building("expandTest"));
+        Room room = new Room("expandTest", 5, 5, 3, 1);
+        room.setBuilding(building);
+        roomManager.saveRoom(room);
+        try {
+            JsonNode summary = find(restTemplate.getForObject("http://localhost:" + port + "/api/v1/buildings",
+                    JsonNode.class), building.getId());
+            assertThat(summary.get("name").asText()).isEqualTo("expandTest");
+            assertThat(summary.get("room_count").asLong()).isEqualTo(1);
+            assertThat(summary.has("rooms")).isFalse();
+
+            JsonNode expanded = find(restTemplate.getForObject("http://localhost:" + port + "/api/v1/buildings?expand=rooms",
+                    JsonNode.class), building.getId());
+            assertThat(expanded.get("rooms")).hasSize(1);
+            assertThat(expanded.get("rooms").get(0).get("name").asText()).isEqualTo("expandTest");
+
+            assertThat(restTemplate.getForEntity("http://localhost:" + port + "/api/v1/buildings?expand=objects",
+                    String.class).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        } finally {
+            buildingManager.deleteBuildingById(building.getId());
+        }
+    }
+
+    private static JsonNode find(JsonNode buildings, int id) {
+        for (JsonNode building : buildings) {
+            if (building.get("id").asInt() == id) {
+                return building;
+            }
+        }
+        throw new AssertionError("bâtiment " + id + " absent de la réponse");
+    }
+
     @Test
     void testGetBuildingById() {
         assertThat(restTemplate.getForObject("http://localhost:" + port + "/api/v1/buildings/1",
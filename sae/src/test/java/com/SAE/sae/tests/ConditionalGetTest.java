@@ -0,0 +1,113 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.service.RoomManager;
+import com.SAE.sae.service.RoomObjects.LampManager;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class ConditionalGetTest {
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Autowired
+    private LampManager lampManager;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long lampVersion() {
+        return jdbcTemplate.queryForObject("SELECT rve_version FROM t_e_resource_version_rve WHERE rve_name = 'LAMP'", Long.class);
+    }
+
+    private ResponseEntity<String> get(String path, String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (eTag != null) {
+            headers.setIfNoneMatch(eTag);
+        }
+        return restTemplate.exchange("http://localhost:" + port + path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    @Test
+    void testNotModified() {
+        ResponseEntity<String> first = get("/api/v1/buildings", null);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getLastModified()).isPositive();
+        String eTag = first.getHeaders().getETag();
+        assertThat(eTag).isNotNull();
+
+        ResponseEntity<String> second = get("/api/v1/buildings", eTag);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+        assertThat(second.getHeaders().getETag()).isEqualTo(eTag);
+
+        assertThat(get("/api/v1/buildings", "\"stale\"").getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void testObjectChangeBumpsVersions() {
+        String lamps = get("/api/v1/lamps", null).getHeaders().getETag();
+        String room2 = get("/api/v1/rooms/2/inventory", null).getHeaders().getETag();
+        String room3 = get("/api/v1/rooms/3/inventory", null).getHeaders().getETag();
+        String rooms = get("/api/v1/rooms", null).getHeaders().getETag();
+
+        Lamp lamp = new Lamp("conditionalGetTest");
+        lamp.setRoom(roomManager.getRoomById(2));
+        Lamp saved = lampManager.save(lamp);
+        try {
+            ResponseEntity<String> changed = get("/api/v1/lamps", lamps);
+            assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(changed.getBody()).contains("conditionalGetTest");
+            assertThat(get("/api/v1/rooms/2/inventory", room2).getStatusCode()).isEqualTo(HttpStatus.OK);
+            // Les autres salles et la liste des salles ne dépendent pas de cet objet
+            assertThat(get("/api/v1/rooms/3/inventory", room3).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(get("/api/v1/rooms", rooms).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        } finally {
+            lampManager.delete(saved);
+        }
+    }
+
+    @Test
+    void testVersionsAreBumpedOnceAtCommit() {
+        long before = lampVersion();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE t_e_lamp_lam SET rob_name = rob_name");
+            jdbcTemplate.update("UPDATE t_e_lamp_lam SET rob_name = rob_name");
+            // Rien n'est incrémenté avant la validation
+            assertThat(lampVersion()).isEqualTo(before);
+        });
+        assertThat(lampVersion()).isEqualTo(before + 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t_e_version_bump_vbu", Long.class)).isZero();
+    }
+
+    @Test
+    void testUnknownRoomIsNotVersioned() {
+        ResponseEntity<String> response = get("/api/v1/rooms/999999/inventory", null);
+        assertThat(response.getHeaders().getETag()).isNull();
+    }
+}
@@ -0,0 +1,69 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.projection.EquipmentRow;
+import com.SAE.sae.service.RoomManager;
+import com.SAE.sae.service.RoomObjects.LampManager;
+
+@SpringBootTest
+public class EquipmentRowTest {
+
+    @Autowired
+    private LampManager lampManager;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    @Test
+    void testGridRowsCarryRoomName() {
+        Lamp lamp = new Lamp("equipmentRowTest");
+        lamp.setRoom(roomManager.getRoomById(2));
+        Lamp saved = lampManager.save(lamp);
+        try {
+            List<EquipmentRow> rows = lampManager.searchRows("equipmentRowTest", PageRequest.of(0, 10));
+            assertThat(rows).singleElement().satisfies(row -> {
+                assertThat(row.getType()).isEqualTo(RoomObjectType.LAMP);
+                assertThat(row.getId()).isEqualTo(saved.getId());
+                assertThat(row.getRoomId()).isEqualTo(2);
+                assertThat(row.getRoomName()).isEqualTo("Salle B101");
+            });
+            // Recherche sur le nom de la salle, comme la grille
+            assertThat(lampManager.searchRows("b101", PageRequest.of(0, 1000)))
+                    .anySatisfy(row -> assertThat(row.getId()).isEqualTo(saved.getId()));
+            // Un terme numérique est aussi cherché comme ID exact
+            assertThat(lampManager.searchRows(String.valueOf(saved.getId()), PageRequest.of(0, 1000)))
+                    .anySatisfy(row -> assertThat(row.getId()).isEqualTo(saved.getId()));
+            assertThat(lampManager.searchRows(null, PageRequest.of(0, 5))).hasSizeLessThanOrEqualTo(5);
+        } finally {
+            lampManager.delete(saved);
+        }
+    }
+
+    @Test
+    void testRoomIsLoadedOnlyWhenAsked() {
+        Lamp lamp = new Lamp("lazyRoomTest");
+        lamp.setRoom(roomManager.getRoomById(2));
+        Lamp saved = lampManager.save(lamp);
+        try {
+            Lamp plain = lampManager.findById(saved.getId());
+            assertThat(Hibernate.isInitialized(plain.getRoom())).isFalse();
+            assertThat(plain.getRoom().getId()).isEqualTo(2);
+
+            Lamp withRoom = lampManager.findWithRoomById(saved.getId());
+            assertThat(withRoom.getRoom().getName()).isEqualTo("Salle B101");
+        } finally {
+            lampManager.delete(saved);
+        }
+    }
+}
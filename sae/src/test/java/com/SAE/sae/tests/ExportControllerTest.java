@@ -0,0 +1,53 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "sae.export.clear-every=2")
+public class ExportControllerTest {
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testExportRoomObjects() {
+        String body = restTemplate.getForObject("http://localhost:" + port + "/api/v1/room-objects/export", String.class);
+        Map[] lines = Arrays.stream(body.split("\n")).map(this::parse).toArray(Map[]::new);
+
+        assertThat(lines).hasSizeGreaterThan(2);
+        assertThat(lines).allSatisfy(l -> assertThat(l).containsKeys("id", "type", "id_room"));
+        assertThat(lines).anySatisfy(l -> {
+            assertThat(l.get("type")).isEqualTo("LAMP");
+            assertThat(l.get("custom_name")).isEqualTo("Éclairage laboratoire");
+            assertThat(l.get("id_room")).isEqualTo(3);
+        });
+    }
+
+    private Map parse(String line) {
+        try {
+            return objectMapper.readValue(line, Map.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.SAE.sae.dto.ImportReport;
+import com.SAE.sae.entity.RoomObjects.Lamp;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "sae.import.chunk-size=2")
+public class ImportControllerTest {
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        restTemplate.delete("http://localhost:" + port + "/api/v1/buildings/by-custom-name?name=importTest");
+    }
+
+    private ResponseEntity<ImportReport> post(String body, MediaType type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(type);
+        return restTemplate.postForEntity("http://localhost:" + port + "/api/v1/import",
+                new HttpEntity<>(body, headers), ImportReport.class);
+    }
+
+    @Test
+    void testImportJson() {
+        String body = """
+                {"name": "importTest", "rooms": [
+                  {"name": "importRoom1", "width": 5, "length": 5, "height": 3, "fk_room_type_id": 2, "objects": [
+                    {"type": "LAMP", "custom_name": "importLamp", "pos_x": 1, "pos_y": 1, "pos_z": 2},
+                    {"type": "DOOR", "custom_name": "importDoor", "pos_x": 0, "pos_y": 1, "pos_z": 0, "size_x": 0.1, "size_y": 0.9, "size_z": 2.1},
+                    {"type": "SIREN", "custom_name": "importSiren", "pos_x": 2, "pos_y": 2, "pos_z": 2.5}
+                  ]},
+                  {"name": "importRoom2", "width": 4, "length": 4, "height": 3, "fk_room_type_id": 4}
+                ]}
+                """;
+
+        ResponseEntity<ImportReport> response = post(body, MediaType.APPLICATION_JSON);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).satisfies(report -> {
+            assertThat(report.getBuildings()).isEqualTo(1);
+            assertThat(report.getRooms()).isEqualTo(2);
+            assertThat(report.getObjects()).isEqualTo(3);
+            assertThat(report.getChunks()).hasSize(2);
+        });
+        assertThat(restTemplate.getForObject("http://localhost:" + port + "/api/v1/lamps/by-custom-name?name=importLamp", Lamp[].class))
+                .hasSize(1);
+    }
+
+    @Test
+    void testImportNdjson() {
+        String body = """
+                {"building": {"name": "importTest"}}
+                {"room": {"name": "importRoom", "width": 5, "length": 5, "height": 3, "fk_room_type_id": 2}}
+                {"object": {"type": "PLUG", "custom_name": "importPlug", "pos_x": 1, "pos_y": 1, "pos_z": 0.3}}
+                """;
+
+        ResponseEntity<ImportReport> response = post(body, MediaType.APPLICATION_NDJSON);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getRooms()).isEqualTo(1);
+        assertThat(response.getBody().getObjects()).isEqualTo(1);
+    }
+
+    @Test
+    void testImportManyRoomsIsChunked() {
+        String body = """
+                {"building": {"name": "importTest"}}
+                {"room": {"name": "importRoom1", "width": 5, "length": 5, "height": 3, "fk_room_type_id": 2}}
+                {"room": {"name": "importRoom2", "width": 5, "length": 5, "height": 3, "fk_room_type_id": 2}}
+                {"room": {"name": "importRoom3", "width": 5, "length": 5, "height": 3, "fk_room_type_id": 2}}
+                """;
+
+        ResponseEntity<ImportReport> response = post(body, MediaType.APPLICATION_NDJSON);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getRooms()).isEqualTo(3);
+        // Les salles sont commitées par chunks comme les objets : 2 puis 1
+        assertThat(response.getBody().getChunks()).extracting(ImportReport.Chunk::getRooms).containsExactly(2, 1);
+    }
+
+    @Test
+    void testImportUnknownType() {
+        String body = """
+                {"building": {"name": "importTest"}}
+                {"room": {"name": "importRoom", "width": 5, "length": 5, "height": 3, "fk_room_type_id": 2}}
+                {"object": {"type": "TOASTER", "custom_name": "importToaster"}}
+                """;
+
+        ResponseEntity<ImportReport> response = post(body, MediaType.APPLICATION_NDJSON);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getError()).isNotNull();
+        assertThat(response.getBody().getBuildings()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.service.RoomObjects.LampManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Vérifie que les insertions en masse sont regroupées en lots JDBC
+ * et que les ids sont alloués par blocs (pooled-lo).
+ * La transaction du test est annulée à la fin, rien n'est conservé en base.
+ */
+@SpringBootTest
+@Transactional
+public class LampBatchInsertTest {
+
+    private static final int LAMP_COUNT = 10_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private LampManager lampManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testSaveAllLampsIsBatched() {
+        List<Lamp> lamps = new ArrayList<>(LAMP_COUNT);
+        for (int i = 0; i < LAMP_COUNT; i++) {
+            Lamp lamp = new Lamp("batchTest" + i);
+            lamp.setPosX(1.0);
+            lamp.setPosY(1.0);
+            lamp.setPosZ(1.0);
+            lamps.add(lamp);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        lampManager.saveAll(lamps);
+        entityManager.flush();
+
+        // Sans batch : un nextval et un INSERT par lampe, soit 20 000 requêtes.
+        // Avec pooled-lo et batch_size = 50 : au plus un nextval et un lot d'INSERT par bloc de 50.
+        long maxStatements = 2L * (LAMP_COUNT / BATCH_SIZE) + 10;
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(maxStatements);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(LAMP_COUNT);
+        assertThat(lamps).allSatisfy(lamp -> assertThat(lamp.getId()).isPositive());
+
+        statistics.setStatisticsEnabled(false);
+    }
+}
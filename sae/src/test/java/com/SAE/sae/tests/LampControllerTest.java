@@ -1,12 +1,19 @@
 package com.SAE.sae.tests;
 
 import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 import com.SAE.sae.entity.RoomObjects.Lamp;
 
@@ -65,6 +72,47 @@ public class LampControllerTest {
                 });
     }
 
+    @Test
+    void testGetLampsPaged() {
+        ResponseEntity<Lamp[]> res = restTemplate.getForEntity("http://localhost:" + port + "/api/v1/lamps?page=0&size=2&sort=id", Lamp[].class);
+
+        assertThat(res.getBody()).hasSize(2);
+        assertThat(res.getBody()[0].getId()).isEqualTo(1);
+        assertThat(res.getHeaders().getFirst(HttpHeaders.LINK)).contains("page=1").contains("rel=\"next\"");
+    }
+
+    @Test
+    void testGetLampsPagesCoverEveryLampOnce() {
+        // Tri sur une propriété non unique : l'ID départage, aucune lampe n'est répétée ni sautée
+        List<Integer> ids = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Lamp[] lamps = restTemplate.getForObject("http://localhost:" + port + "/api/v1/lamps?page=" + page + "&size=1&sort=posZ",
+                    Lamp[].class);
+            assertThat(lamps).hasSize(1);
+            ids.add(lamps[0].getId());
+        }
+        assertThat(ids).doesNotHaveDuplicates();
+
+        Lamp[] unsorted = restTemplate.getForObject("http://localhost:" + port + "/api/v1/lamps?page=0&size=3", Lamp[].class);
+        assertThat(unsorted).extracting(Lamp::getId).isSorted();
+    }
+
+    @Test
+    void testGetLampsPagedWithUnknownSort() {
+        ResponseEntity<String> res = restTemplate.getForEntity("http://localhost:" + port + "/api/v1/lamps?page=0&size=2&sort=sizeX,desc", String.class);
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testGetLampsAfterCursor() {
+        ResponseEntity<Lamp[]> res = restTemplate.getForEntity("http://localhost:" + port + "/api/v1/lamps?after=1&size=1", Lamp[].class);
+
+        assertThat(res.getBody()).hasSize(1);
+        assertThat(res.getBody()[0].getId()).isEqualTo(2);
+        assertThat(res.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("2");
+    }
+
     @Test
     void testGetByCustomName() {
         assertThat(restTemplate.getForObject("http://localhost:" + port + "/api/v1/lamps/by-custom-name?name=Éclairage laboratoire", Lamp[].class)[0].getId()).isEqualTo(3);
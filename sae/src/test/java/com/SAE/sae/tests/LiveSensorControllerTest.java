@@ -0,0 +1,114 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.SAE.sae.dto.TelemetryReading;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.entity.RoomObjects.SensorCO2;
+import com.SAE.sae.service.RoomManager;
+import com.SAE.sae.service.RoomObjects.SensorCO2Manager;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class LiveSensorControllerTest {
+    private static final String METRIC = "live_test";
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SensorCO2Manager sensorCO2Manager;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM t_e_sensor_reading_rea WHERE rea_metric = ?", METRIC);
+    }
+
+    @Test
+    void testRoomAndBuildingLiveValues() throws InterruptedException {
+        // Capteur CO2 1, dans la salle 1 du bâtiment 1 (données de V2)
+        restTemplate.postForEntity("http://localhost:" + port + "/api/v1/telemetry",
+                List.of(new TelemetryReading(RoomObjectType.SENSOR_CO2, 1, Instant.now(), METRIC, 612.5)), Map.class);
+
+        Map<String, Object> sensor = null;
+        for (int i = 0; i < 50 && sensor == null; i++) {
+            Thread.sleep(100);
+            sensor = findSensor(restTemplate.getForObject("http://localhost:" + port + "/api/v1/rooms/1/live", List.class));
+        }
+        assertThat(sensor).isNotNull();
+        assertThat(sensor).containsEntry("room_id", 1);
+        assertThat((Map<String, Map<String, Object>>) sensor.get("metrics"))
+                .hasEntrySatisfying(METRIC, value -> assertThat(value).containsEntry("value", 612.5));
+
+        List<Map<String, Object>> building = restTemplate.getForObject("http://localhost:" + port + "/api/v1/buildings/1/live", List.class);
+        assertThat(findSensor(building)).isNotNull();
+    }
+
+    @Test
+    void testNewSensorIsLiveWithoutWaitingForTheTopologyTtl() throws InterruptedException {
+        SensorCO2 created = new SensorCO2("liveTest");
+        created.setRoom(roomManager.getRoomById(2));
+        created.setPosX(1.0);
+        created.setPosY(1.0);
+        created.setPosZ(2.0);
+        SensorCO2 saved = sensorCO2Manager.save(created);
+        try {
+            // La création relit la topologie : la mesure est gardée bien avant sae.live.topology-ttl (30 s)
+            Map<String, Object> sensor = null;
+            for (int i = 0; i < 50 && sensor == null; i++) {
+                restTemplate.postForEntity("http://localhost:" + port + "/api/v1/telemetry",
+                        List.of(new TelemetryReading(RoomObjectType.SENSOR_CO2, saved.getId(), Instant.now(), METRIC, 450.0)), Map.class);
+                Thread.sleep(100);
+                sensor = findSensor(restTemplate.getForObject("http://localhost:" + port + "/api/v1/rooms/2/live", List.class), saved.getId());
+            }
+            assertThat(sensor).isNotNull();
+            assertThat(sensor).containsEntry("room_id", 2);
+        } finally {
+            sensorCO2Manager.delete(saved);
+        }
+    }
+
+    @Test
+    void testLiveValuesOfUnknownRoom() {
+        ResponseEntity<String> room = restTemplate.getForEntity("http://localhost:" + port + "/api/v1/rooms/999999/live", String.class);
+        ResponseEntity<String> building = restTemplate.getForEntity("http://localhost:" + port + "/api/v1/buildings/999999/live", String.class);
+
+        assertThat(room.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(building.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private Map<String, Object> findSensor(List<Map<String, Object>> sensors) {
+        return findSensor(sensors, 1);
+    }
+
+    private Map<String, Object> findSensor(List<Map<String, Object>> sensors, int sensorId) {
+        return sensors.stream()
+                .filter(s -> "SENSOR_CO2".equals(s.get("sensor_type")) && Integer.valueOf(sensorId).equals(s.get("sensor_id")))
+                .filter(s -> ((Map<?, ?>) s.get("metrics")).containsKey(METRIC))
+                .findFirst()
+                .orElse(null);
+    }
+}
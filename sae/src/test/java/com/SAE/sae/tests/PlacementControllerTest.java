@@ -0,0 +1,94 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import com.SAE.sae.dto.PlacementCandidate;
+import com.SAE.sae.entity.RoomObjects.Heater;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.service.RoomManager;
+import com.SAE.sae.service.RoomObjects.HeaterManager;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class PlacementControllerTest {
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Autowired
+    private HeaterManager heaterManager;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    private Map<String, Object> validate(int roomId, List<PlacementCandidate> layout) {
+        return restTemplate.postForObject("http://localhost:" + port + "/api/v1/rooms/" + roomId + "/validate",
+                layout, Map.class);
+    }
+
+    @Test
+    void testCurrentLayoutIsValid() {
+        // Toutes les salles des données de V2 et V3 (corrigées par V15) : portes et fenêtres posées dans les murs
+        for (int roomId = 1; roomId <= 5; roomId++) {
+            Map<String, Object> report = validate(roomId, List.of());
+            assertThat(report).as("salle %d : %s", roomId, report.get("issues")).containsEntry("valid", true);
+            assertThat((Integer) report.get("checked")).isGreaterThan(0);
+        }
+    }
+
+    @Test
+    void testOutOfBoundsAndCollisions() {
+        List<PlacementCandidate> layout = List.of(
+                new PlacementCandidate(RoomObjectType.LAMP, null, "lampeDehors", 99.0, 1.0, 1.0, null, null, null),
+                new PlacementCandidate(RoomObjectType.HEATER, null, "radiateurA", 2.0, 2.0, 0.0, 1.0, 1.0, 1.0),
+                new PlacementCandidate(RoomObjectType.DATA_TABLE, null, "tableB", 2.5, 2.5, 0.5, 1.0, 1.0, 1.0),
+                new PlacementCandidate(RoomObjectType.DATA_TABLE, null, "tableContact", 3.0, 2.0, 0.0, 1.0, 1.0, 1.0));
+        Map<String, Object> report = validate(1, layout);
+
+        assertThat(report).containsEntry("valid", false);
+        List<Map<String, Object>> issues = (List<Map<String, Object>>) report.get("issues");
+        assertThat(issues).anySatisfy(issue -> assertThat(issue)
+                .containsEntry("kind", "OUT_OF_BOUNDS").containsEntry("name", "lampeDehors"));
+        // Le couple radiateurA / tableB n'est signalé qu'une fois ; un simple contact n'est pas un chevauchement
+        assertThat(issues).filteredOn(issue -> "COLLISION".equals(issue.get("kind"))).hasSize(2);
+        assertThat(issues).noneSatisfy(issue -> assertThat(issue)
+                .containsEntry("name", "radiateurA").containsEntry("other_name", "tableContact"));
+    }
+
+    @Test
+    void testUnknownRoom() {
+        assertThat(restTemplate.postForEntity("http://localhost:" + port + "/api/v1/rooms/99999/validate",
+                List.of(), String.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testSaveRejectsInvalidPlacement() {
+        Heater heater = new Heater();
+        heater.setCustomName("placementTest");
+        heater.setRoom(roomManager.getRoomById(4));
+        heater.setPosX(3.5);
+        heater.setPosY(3.0);
+        heater.setPosZ(0.1);
+        heater.setSizeX(2.0);
+        heater.setSizeY(0.1);
+        heater.setSizeZ(0.6);
+
+        // Bureau Dir : 4 m de large, le radiateur irait jusqu'à 5.5 m
+        assertThrows(IllegalArgumentException.class, () -> heaterManager.save(heater));
+        assertThat(heaterManager.findByCustomName("placementTest")).isEmpty();
+    }
+}
@@ -1,14 +1,27 @@
 package com.SAE.sae.tests;
 
 import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
 
+import com.SAE.sae.entity.Building;
 import com.SAE.sae.entity.Room;
+import com.SAE.sae.entity.RoomObjects.Heater;
+import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.entity.RoomObjects.RoomObject;
+import com.SAE.sae.service.BuildingManager;
+import com.SAE.sae.service.RoomManager;
+import com.SAE.sae.service.RoomObjects.HeaterManager;
+import com.SAE.sae.service.RoomObjects.LampManager;
+import com.SAE.sae.service.RoomObjects.RoomObjectManager;
 
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
 public class RoomControllerTest {
@@ -17,6 +30,21 @@ public class RoomControllerTest {
 
  	@Autowired
 	private TestRestTemplate restTemplate;
+
+    @Autowired
+    private BuildingManager buildingManager;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    @Autowired
+    private LampManager lampManager;
+
+    @Autowired
+    private HeaterManager heaterManager;
+
+    @Autowired
+    private RoomObjectManager roomObjectManager;
  
 
     @Test
@@ -60,6 +88,55 @@ public class RoomControllerTest {
                 });
     }
 
+    @Test
+    void testCloneAndMoveRoom() {
+        String rooms = "http://localhost:" + port + "/api/v1/rooms/";
+        Building wing = buildingManager.saveBuilding(new Building("cloneTestWing"));
+        Building other = buildingManager.saveBuilding(new Building("cloneTestOther"));
+        try {
+            Room room = new Room("cloneTest", 5, 5, 3, 1);
+            room.setBuilding(wing);
+            room = roomManager.saveRoom(room);
+            Lamp lamp = new Lamp("cloneTestLamp");
+            lamp.setPosX(1.0);
+            lamp.setPosY(2.0);
+            lamp.setPosZ(2.5);
+            lamp.setRoom(room);
+            lamp = lampManager.save(lamp);
+            Heater heater = new Heater("cloneTestHeater");
+            heater.setRoom(room);
+            heater = heaterManager.save(heater);
+
+            Room clone = restTemplate.postForObject(rooms + room.getId() + "/clone?targetBuilding=" + other.getId(), null, Room.class);
+            assertThat(clone.getId()).isNotEqualTo(room.getId());
+            assertThat(clone.getName()).isEqualTo("cloneTest");
+            assertThat(roomManager.getRoomsByBuildingId(other.getId())).extracting(Room::getId).containsExactly(clone.getId());
+
+            List<RoomObject> copies = roomObjectManager.findByRoomId(clone.getId());
+            assertThat(copies).extracting(RoomObject::getCustomName).containsExactlyInAnyOrder("cloneTestLamp", "cloneTestHeater");
+            assertThat(copies).extracting(RoomObject::getId).doesNotContain(lamp.getId(), heater.getId());
+            assertThat(copies.stream().filter(Lamp.class::isInstance).map(Lamp.class::cast).findFirst()).hasValueSatisfying(copy -> {
+                assertThat(copy.getPosX()).isEqualTo(1.0);
+                assertThat(copy.getPosZ()).isEqualTo(2.5);
+            });
+            assertThat(roomObjectManager.findByRoomId(room.getId())).hasSize(2);
+
+            Room moved = restTemplate.postForObject(rooms + room.getId() + "/move?targetBuilding=" + other.getId(), null, Room.class);
+            assertThat(moved.getId()).isEqualTo(room.getId());
+            assertThat(roomManager.getRoomsByBuildingId(other.getId())).hasSize(2);
+            assertThat(roomManager.getRoomsByBuildingId(wing.getId())).isEmpty();
+            assertThat(roomObjectManager.findByRoomId(room.getId())).hasSize(2);
+
+            assertThat(restTemplate.postForEntity(rooms + "999999/clone", null, String.class).getStatusCode())
+                    .isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(restTemplate.postForEntity(rooms + room.getId() + "/move?targetBuilding=999999", null, String.class)
+                    .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        } finally {
+            buildingManager.deleteBuildingById(wing.getId());
+            buildingManager.deleteBuildingById(other.getId());
+        }
+    }
+
     @Test
     void testGetRoomById() {
         assertThat(restTemplate.getForObject("http://localhost:" + port + "/api/v1/rooms/1",
@@ -0,0 +1,46 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class RoomInventoryControllerTest {
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Test
+    void testGetInventory() {
+        Map[] inventory = restTemplate.getForObject("http://localhost:" + port + "/api/v1/rooms/3/inventory", Map[].class);
+
+        assertThat(inventory).isNotEmpty();
+        assertThat(Arrays.stream(inventory))
+                .anySatisfy(e -> {
+                    assertThat(e.get("type")).isEqualTo("LAMP");
+                    assertThat(e.get("name")).isEqualTo("Éclairage laboratoire");
+                    assertThat(e.get("pos_x")).isEqualTo(5.0);
+                    assertThat(e.get("size_x")).isNull();
+                })
+                .anySatisfy(e -> {
+                    assertThat(e.get("type")).isEqualTo("DOOR");
+                    assertThat(e.get("size_z")).isEqualTo(2.1);
+                });
+    }
+
+    @Test
+    void testGetInventoryOfUnknownRoom() {
+        assertThat(restTemplate.getForObject("http://localhost:" + port + "/api/v1/rooms/9999/inventory", Map[].class)).isEmpty();
+    }
+}
@@ -0,0 +1,48 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.SAE.sae.entity.RoomObjects.Lamp;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class RoomObjectControllerTest {
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Test
+    void testGetObjectsByRoomId() {
+        Map[] objects = restTemplate.getForObject("http://localhost:" + port + "/api/v1/room-objects/by-room/3", Map[].class);
+
+        assertThat(Arrays.stream(objects).map(o -> o.get("custom_name")))
+                .contains("Éclairage laboratoire", "Capteur CO2 lab", "Poste étudiant 1");
+    }
+
+    @Test
+    void testIndexFollowsCreateAndDelete() {
+        Lamp create = new Lamp("indexTest");
+        Lamp res = restTemplate.postForEntity("http://localhost:" + port + "/api/v1/lamps", create, Lamp.class).getBody();
+
+        assertThat(restTemplate.getForObject("http://localhost:" + port + "/api/v1/room-objects/by-custom-name?name=indexTest", Map[].class))
+                .hasSize(1)
+                .allSatisfy(o -> assertThat(o.get("id")).isEqualTo(res.getId()));
+
+        restTemplate.delete("http://localhost:" + port + "/api/v1/lamps/" + res.getId());
+
+        assertThat(restTemplate.getForObject("http://localhost:" + port + "/api/v1/room-objects/by-custom-name?name=indexTest", Map[].class))
+                .isEmpty();
+    }
+}
@@ -0,0 +1,124 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.SAE.sae.controller.RoomSceneController;
+import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.service.RoomManager;
+import com.SAE.sae.service.RoomObjects.LampManager;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "sae.scene.version-ttl=1s")
+public class RoomSceneControllerTest {
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Autowired
+    private LampManager lampManager;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private <T> ResponseEntity<T> get(int roomId, MediaType accept, String eTag, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        if (eTag != null) {
+            headers.setIfNoneMatch(eTag);
+        }
+        return restTemplate.exchange("http://localhost:" + port + "/api/v1/rooms/" + roomId + "/scene",
+                HttpMethod.GET, new HttpEntity<>(headers), type);
+    }
+
+    @Test
+    void testJsonSceneAndNotModified() {
+        ResponseEntity<Map> response = get(1, MediaType.APPLICATION_JSON, null, Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsEntry("width", 15.0);
+        assertThat((Map<String, Object>) response.getBody().get("objects")).containsKey("SENSOR_CO2");
+        String eTag = response.getHeaders().getETag();
+        assertThat(eTag).isNotNull().doesNotStartWith("W/");
+
+        assertThat(get(1, MediaType.APPLICATION_JSON, eTag, Map.class).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void testBinaryScene() {
+        ResponseEntity<byte[]> response = get(1, MediaType.parseMediaType(RoomSceneController.BINARY_SCENE), null, byte[].class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ByteBuffer buffer = ByteBuffer.wrap(response.getBody()).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[4];
+        buffer.get(magic);
+        assertThat(new String(magic)).isEqualTo("SCN1");
+        assertThat(buffer.getInt()).isEqualTo(1);
+        assertThat(buffer.getFloat()).isEqualTo(15.0f);
+
+        // Représentations différentes, ETags différents
+        String jsonETag = get(1, MediaType.APPLICATION_JSON, null, Map.class).getHeaders().getETag();
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(jsonETag);
+    }
+
+    @Test
+    void testETagChangesWithRoom() {
+        String eTag = get(2, MediaType.APPLICATION_JSON, null, Map.class).getHeaders().getETag();
+
+        Lamp lamp = new Lamp("sceneTest");
+        lamp.setRoom(roomManager.getRoomById(2));
+        lamp.setPosX(1.0);
+        lamp.setPosY(1.0);
+        lamp.setPosZ(2.0);
+        Lamp saved = lampManager.save(lamp);
+        try {
+            ResponseEntity<Map> response = get(2, MediaType.APPLICATION_JSON, eTag, Map.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getETag()).isNotEqualTo(eTag);
+        } finally {
+            lampManager.delete(saved);
+        }
+    }
+
+    @Test
+    void testETagChangesWithDirectWrite() throws InterruptedException {
+        String eTag = get(2, MediaType.APPLICATION_JSON, null, Map.class).getHeaders().getETag();
+
+        // Écriture hors JPA, sans événement publié : la version lue en base change quand même,
+        // et la version gardée en mémoire est relue au plus tard après sae.scene.version-ttl
+        jdbcTemplate.update("UPDATE t_e_room_roo SET height = height WHERE id = 2");
+        ResponseEntity<Map> response = get(2, MediaType.APPLICATION_JSON, eTag, Map.class);
+        for (int i = 0; i < 50 && response.getStatusCode() == HttpStatus.NOT_MODIFIED; i++) {
+            Thread.sleep(100);
+            response = get(2, MediaType.APPLICATION_JSON, eTag, Map.class);
+        }
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void testUnknownRoom() {
+        assertThat(get(99999, MediaType.APPLICATION_JSON, null, String.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
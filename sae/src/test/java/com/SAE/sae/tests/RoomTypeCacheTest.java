@@ -0,0 +1,46 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.SAE.sae.config.CacheConfig;
+import com.SAE.sae.entity.RoomType;
+import com.SAE.sae.service.RoomTypeManager;
+
+@SpringBootTest
+public class RoomTypeCacheTest {
+
+    @Autowired
+    private RoomTypeManager roomTypeManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void testGetRoomTypeByIdIsCachedAndEvictedOnUpdate() {
+        Cache cache = cacheManager.getCache(CacheConfig.ROOM_TYPES);
+        RoomType created = roomTypeManager.saveRoomType(new RoomType("cacheTest"));
+
+        RoomType first = roomTypeManager.getRoomTypeById(created.getId());
+        assertThat(cache.get(created.getId())).isNotNull();
+
+        // Le cache rend des copies : modifier l'instance reçue n'altère pas l'entrée en cache
+        first.setName("cacheTestModifiedLocally");
+        RoomType second = roomTypeManager.getRoomTypeById(created.getId());
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("cacheTest");
+
+        roomTypeManager.updateRoomType(new RoomType(created.getId(), "cacheTestUpdated"));
+        assertThat(cache.get(created.getId())).isNull();
+        assertThat(roomTypeManager.getRoomTypeById(created.getId()).getName()).isEqualTo("cacheTestUpdated");
+
+        roomTypeManager.deleteRoomTypeById(created.getId());
+        assertThat(cache.get(created.getId())).isNull();
+        assertThat(roomTypeManager.getRoomTypeById(created.getId())).isNull();
+    }
+}
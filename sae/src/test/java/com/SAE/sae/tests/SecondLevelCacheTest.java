@@ -0,0 +1,78 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.SAE.sae.config.HibernateCacheConfig;
+import com.SAE.sae.entity.Building;
+import com.SAE.sae.entity.Room;
+import com.SAE.sae.service.BuildingManager;
+import com.SAE.sae.service.RoomManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private BuildingManager buildingManager;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testRoomsByBuildingAreCachedAndKeptInSync() {
+        Building building = buildingManager.saveBuilding(new Building("secondLevelCacheTest"));
+        Room room = new Room("secondLevelCacheTest", 5, 5, 3, 1);
+        room.setBuilding(building);
+        room = roomManager.saveRoom(room);
+        try {
+            assertThat(roomManager.getRoomsByBuildingId(building.getId())).extracting(Room::getName)
+                    .containsExactly("secondLevelCacheTest");
+            long hits = statistics().getQueryRegionStatistics(HibernateCacheConfig.ROOMS_BY_BUILDING).getHitCount();
+            assertThat(roomManager.getRoomsByBuildingId(building.getId())).hasSize(1);
+            assertThat(statistics().getQueryRegionStatistics(HibernateCacheConfig.ROOMS_BY_BUILDING).getHitCount())
+                    .isEqualTo(hits + 1);
+
+            room.setName("secondLevelCacheTestRenamed");
+            roomManager.updateRoom(room);
+            assertThat(roomManager.getRoomsByBuildingId(building.getId())).extracting(Room::getName)
+                    .containsExactly("secondLevelCacheTestRenamed");
+        } finally {
+            buildingManager.deleteBuildingById(building.getId());
+        }
+        // Pièce supprimée en cascade par la base : ni la pièce ni la liste ne doivent rester en cache
+        assertThat(roomManager.getRoomById(room.getId())).isNull();
+        assertThat(roomManager.getRoomsByBuildingId(building.getId())).isEmpty();
+    }
+
+    @Test
+    void testCacheMetricsArePublished() {
+        roomManager.getRoomsByBuildingId(1);
+        List<String> regions = List.of(statistics().getSecondLevelCacheRegionNames());
+        assertThat(regions).contains(HibernateCacheConfig.BUILDINGS, HibernateCacheConfig.ROOMS, HibernateCacheConfig.ROOM_TYPES);
+
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", HibernateCacheConfig.ROOMS).meters()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.evictions")
+                .tag("cache", HibernateCacheConfig.ROOMS).functionCounter()).isNotNull();
+    }
+}
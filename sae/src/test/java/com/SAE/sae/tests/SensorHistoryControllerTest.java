@@ -0,0 +1,126 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.SAE.sae.service.RollupStep;
+import com.SAE.sae.service.SensorRollupService;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class SensorHistoryControllerTest {
+    private static final String METRIC = "history_test";
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SensorRollupService sensorRollupService;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM t_e_sensor_reading_rea WHERE rea_metric = ?", METRIC);
+        jdbcTemplate.update("DELETE FROM t_e_sensor_rollup_rol WHERE rol_metric = ?", METRIC);
+        jdbcTemplate.update("DELETE FROM t_e_rollup_pending_rpe WHERE rpe_metric = ?", METRIC);
+    }
+
+    private void insertReading(Instant timestamp, double value) {
+        jdbcTemplate.update("INSERT INTO t_e_sensor_reading_rea VALUES ('SENSOR_CO2', 3, ?, ?, ?)",
+                Timestamp.from(timestamp), METRIC, value);
+    }
+
+    @Test
+    void testHistoryFromMinuteRollups() {
+        // Mesures dans la première minute pas encore agrégée
+        Instant bucket = sensorRollupService.watermark(RollupStep.MINUTE);
+        insertReading(bucket.plusSeconds(5), 400);
+        insertReading(bucket.plusSeconds(20), 500);
+        insertReading(bucket.plusSeconds(40), 600);
+
+        sensorRollupService.compact(bucket.plus(3, ChronoUnit.MINUTES));
+
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/v1/sensors/3/history?type=SENSOR_CO2&metric=" + METRIC
+                        + "&from=" + bucket + "&to=" + bucket.plus(1, ChronoUnit.MINUTES) + "&step=1m",
+                Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsEntry("step", "1m");
+        assertThat((List<Map<String, Object>>) response.getBody().get("points")).singleElement().satisfies(point -> {
+            assertThat(Instant.parse((String) point.get("bucket"))).isEqualTo(bucket);
+            assertThat(point).containsEntry("min", 400.0);
+            assertThat(point).containsEntry("max", 600.0);
+            assertThat(point).containsEntry("avg", 500.0);
+            assertThat(point).containsEntry("count", 3);
+        });
+    }
+
+    @Test
+    void testLateReadingIsAddedToComputedRollups() {
+        Instant bucket = sensorRollupService.watermark(RollupStep.MINUTE);
+        insertReading(bucket.plusSeconds(5), 400);
+        sensorRollupService.compact(bucket.plus(3, ChronoUnit.MINUTES));
+
+        // Mesure arrivée après l'agrégation de sa minute : sous le filigrane
+        assertThat(sensorRollupService.watermark(RollupStep.MINUTE)).isAfter(bucket.plusSeconds(30));
+        insertReading(bucket.plusSeconds(30), 600);
+        sensorRollupService.compact(bucket.plus(3, ChronoUnit.MINUTES));
+
+        Map<String, Object> rollup = jdbcTemplate.queryForMap(
+                "SELECT rol_min, rol_max, rol_count FROM t_e_sensor_rollup_rol WHERE rol_step = '1m' AND rol_metric = ? AND rol_bucket = ?",
+                METRIC, Timestamp.from(bucket));
+        assertThat(rollup).containsEntry("rol_min", 400.0).containsEntry("rol_max", 600.0).containsEntry("rol_count", 2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM t_e_rollup_pending_rpe WHERE rpe_metric = ?",
+                Long.class, METRIC)).isZero();
+    }
+
+    @Test
+    void testHistoryOfUnknownSensor() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/v1/sensors/999999/history", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testExplicitStepIsWidenedOverLongPeriods() {
+        Instant to = Instant.now();
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/v1/sensors/3/history?type=SENSOR_CO2&step=1m"
+                        + "&from=" + to.minus(30, ChronoUnit.DAYS) + "&to=" + to,
+                Map.class);
+
+        // 30 jours : 43 200 minutes, 2 880 quarts d'heure, 720 heures
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsEntry("step", "1h");
+    }
+
+    @Test
+    void testHistoryWithInvalidStep() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/v1/sensors/3/history?type=SENSOR_CO2&step=5m", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,91 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import com.SAE.sae.entity.RoomObjects.Lamp;
+import com.SAE.sae.service.RoomManager;
+import com.SAE.sae.service.RoomObjects.LampManager;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class SpatialQueryControllerTest {
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Autowired
+    private LampManager lampManager;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    @Test
+    void testNearestSensor() {
+        // Capteur CO2 de la salle 1 en (7.5, 10, 2.5), données de V2
+        List<Map<String, Object>> nearest = restTemplate.getForObject("http://localhost:" + port
+                + "/api/v1/rooms/1/objects/nearest?x=7.5&y=10&z=2.5&k=1&type=SENSOR_CO2", List.class);
+        assertThat(nearest).hasSize(1);
+        assertThat(nearest.get(0)).containsEntry("type", "SENSOR_CO2").containsEntry("distance", 0.0);
+
+        List<Map<String, Object>> two = restTemplate.getForObject("http://localhost:" + port
+                + "/api/v1/rooms/1/objects/nearest?x=7.5&y=10&z=2.5&k=2", List.class);
+        assertThat(two).hasSize(2);
+        assertThat((Double) two.get(0).get("distance")).isLessThanOrEqualTo((Double) two.get(1).get("distance"));
+    }
+
+    @Test
+    void testWithinRadius() {
+        List<Map<String, Object>> within = restTemplate.getForObject("http://localhost:" + port
+                + "/api/v1/rooms/1/objects/within?x=7.5&y=10&z=2.5&radius=0.5", List.class);
+        assertThat(within).anySatisfy(match -> assertThat(match).containsEntry("type", "SENSOR_CO2"));
+        assertThat(within).allSatisfy(match -> assertThat((Double) match.get("distance")).isLessThanOrEqualTo(0.5));
+    }
+
+    @Test
+    void testIndexFollowsSaveAndDelete() {
+        Lamp lamp = new Lamp("spatialTest");
+        lamp.setRoom(roomManager.getRoomById(2));
+        lamp.setPosX(7.25);
+        lamp.setPosY(11.25);
+        lamp.setPosZ(2.25);
+        String url = "http://localhost:" + port + "/api/v1/rooms/2/objects/nearest?x=7.25&y=11.25&z=2.25&k=1";
+        // Index de la salle construit avant l'ajout
+        restTemplate.getForObject(url, List.class);
+
+        Lamp saved = lampManager.save(lamp);
+        try {
+            List<Map<String, Object>> nearest = restTemplate.getForObject(url, List.class);
+            assertThat(nearest.get(0)).containsEntry("name", "spatialTest").containsEntry("distance", 0.0);
+        } finally {
+            lampManager.delete(saved);
+        }
+        List<Map<String, Object>> after = restTemplate.getForObject(url, List.class);
+        assertThat(after).noneSatisfy(match -> assertThat(match).containsEntry("name", "spatialTest"));
+    }
+
+    @Test
+    void testInvalidQueries() {
+        assertThat(restTemplate.getForEntity("http://localhost:" + port
+                + "/api/v1/rooms/99999/objects/nearest?x=0&y=0&z=0", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(restTemplate.getForEntity("http://localhost:" + port
+                + "/api/v1/rooms/1/objects/within?x=0&y=0&z=0&radius=-1", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity("http://localhost:" + port
+                + "/api/v1/rooms/1/objects/nearest?x=0&y=0&z=0&k=0", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,93 @@
+package com.SAE.sae.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.SAE.sae.dto.TelemetryReading;
+import com.SAE.sae.entity.RoomObjects.RoomObjectType;
+import com.SAE.sae.service.TelemetryIngestionService;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class TelemetryControllerTest {
+    private static final int SENSOR_ID = 987654;
+
+    @LocalServerPort
+	private final int port = 8080;
+
+ 	@Autowired
+	private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM t_e_sensor_reading_rea WHERE rea_sensor_id = ?", SENSOR_ID);
+    }
+
+    private ResponseEntity<Map> post(List<TelemetryReading> readings) {
+        return restTemplate.postForEntity("http://localhost:" + port + "/api/v1/telemetry", readings, Map.class);
+    }
+
+    @Test
+    void testIngestReadings() throws InterruptedException {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ResponseEntity<Map> response = post(List.of(
+                new TelemetryReading(RoomObjectType.SENSOR_CO2, SENSOR_ID, now, "co2", 415.0),
+                new TelemetryReading(RoomObjectType.SENSOR_CO2, SENSOR_ID, now.plusSeconds(1), "co2", 420.0),
+                new TelemetryReading(RoomObjectType.SENSOR_CO2, SENSOR_ID, now, "temperature", 21.5)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody()).containsEntry("accepted", 3);
+
+        // Écriture asynchrone : on attend le passage du TelemetryWriter
+        long written = 0;
+        for (int i = 0; i < 50 && written < 3; i++) {
+            Thread.sleep(100);
+            written = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM t_e_sensor_reading_rea WHERE rea_sensor_id = ?", Long.class, SENSOR_ID);
+        }
+        assertThat(written).isEqualTo(3);
+    }
+
+    @Test
+    void testIngestRejectsNonSensor() {
+        ResponseEntity<Map> response = post(List.of(
+                new TelemetryReading(RoomObjectType.LAMP, SENSOR_ID, Instant.now(), "co2", 415.0)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testIngestRejectsIncompleteReading() {
+        ResponseEntity<Map> response = post(List.of(
+                new TelemetryReading(RoomObjectType.SENSOR_6IN1, SENSOR_ID, Instant.now(), "humidity", null)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testBufferFullRejectsWholeBatch() {
+        TelemetryIngestionService service = new TelemetryIngestionService(3, List.of());
+        TelemetryReading reading = new TelemetryReading(RoomObjectType.SENSOR_9IN1, SENSOR_ID, Instant.now(), "lux", 300.0);
+
+        assertThat(service.submit(List.of(reading, reading))).isTrue();
+        assertThat(service.submit(List.of(reading, reading))).isFalse();
+        assertThat(service.getPendingCount()).isEqualTo(2);
+    }
+}
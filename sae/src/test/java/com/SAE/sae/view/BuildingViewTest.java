@@ -62,15 +62,15 @@ public class BuildingViewTest {
 
     @Test
     void testConstructorCallsLoadData() {
-        // Mock des données pour vérifier l'appel à getAllBuildings lors de l'initialisation
+        // Mock des données pour vérifier l'appel à countBuildings lors de l'initialisation
         List<Building> mockBuildings = Arrays.asList(testBuilding, testBuilding2);
-        when(buildingManager.getAllBuildings()).thenReturn(mockBuildings);
+        when(buildingManager.countBuildings(null)).thenReturn((long) mockBuildings.size());
 
         // Créer une nouvelle instance pour tester l'initialisation
         BuildingView newView = new BuildingView(buildingManager);
         
-        // Vérifier que getAllBuildings a été appelé pendant l'initialisation
-        verify(buildingManager, atLeastOnce()).getAllBuildings();
+        // Vérifier que countBuildings a été appelé pendant l'initialisation
+        verify(buildingManager, atLeastOnce()).countBuildings(null);
         
         logger.info("Constructor correctly calls loadData method");
     }
@@ -79,7 +79,7 @@ public class BuildingViewTest {
     void testLoadDataWithValidBuildings() {
         // Mock des données
         List<Building> mockBuildings = Arrays.asList(testBuilding, testBuilding2);
-        when(buildingManager.getAllBuildings()).thenReturn(mockBuildings);
+        when(buildingManager.countBuildings(null)).thenReturn((long) mockBuildings.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
@@ -87,8 +87,8 @@ public class BuildingViewTest {
             BuildingView newView = new BuildingView(buildingManager);
         });
 
-        // Vérifier que getAllBuildings a été appelé
-        verify(buildingManager, atLeastOnce()).getAllBuildings();
+        // Vérifier que countBuildings a été appelé
+        verify(buildingManager, atLeastOnce()).countBuildings(null);
 
         logger.info("Load data successful with " + mockBuildings.size() + " buildings");
     }
@@ -96,7 +96,7 @@ public class BuildingViewTest {
     @Test
     void testLoadDataWithException() {
         // Mock qui lance une exception
-        when(buildingManager.getAllBuildings())
+        when(buildingManager.countBuildings(null))
             .thenThrow(new RuntimeException("Database connection error"));
 
         // La vue devrait gérer l'exception sans planter
@@ -170,7 +170,7 @@ public class BuildingViewTest {
         Integer buildingId = 1;
 
         // Mock de la méthode deleteBuildingById
-        doNothing().when(buildingManager).deleteBuildingById(buildingId);
+        when(buildingManager.deleteBuildingById(buildingId)).thenReturn(true);
 
         // Simuler la suppression
         assertDoesNotThrow(() -> {
@@ -320,7 +320,7 @@ public class BuildingViewTest {
             createTestBuilding(5, "Building 5")
         );
         
-        when(buildingManager.getAllBuildings()).thenReturn(largeDataset);
+        when(buildingManager.countBuildings(null)).thenReturn((long) largeDataset.size());
 
         // La vue devrait gérer un dataset plus large sans problème
         assertDoesNotThrow(() -> {
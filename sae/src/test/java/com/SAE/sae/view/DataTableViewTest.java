@@ -17,6 +17,7 @@ import com.SAE.sae.entity.RoomObjects.DataTable;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.RoomObjects.DataTableManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 
 import com.vaadin.flow.component.UI;
@@ -36,6 +37,9 @@ public class DataTableViewTest {
     @MockBean
     private RoomManager roomManager;
 
+    @MockBean
+    private ChangeEventBus changeEventBus;
+
     private DataTableView dataTableView;
     private DataTable testDataTable;
     private DataTable testDataTable2;
@@ -81,7 +85,7 @@ public class DataTableViewTest {
         testDataTable2.setSizeZ(1.0);
 
         // Initialiser la DataTableView avec les mocks
-        dataTableView = new DataTableView(dataTableManager, roomManager);
+        dataTableView = new DataTableView(dataTableManager, roomManager, changeEventBus);
 
         logger.info("DataTableView test setup completed");
     }
@@ -102,16 +106,16 @@ public class DataTableViewTest {
     void testLoadDataWithValidDataTables() {
         // Mock des données
         List<DataTable> mockDataTables = Arrays.asList(testDataTable, testDataTable2);
-        when(dataTableManager.findAll()).thenReturn(mockDataTables);
+        when(dataTableManager.count()).thenReturn((long) mockDataTables.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
             // La méthode loadData est privée, on teste via l'effet du constructeur
-            DataTableView newView = new DataTableView(dataTableManager, roomManager);
+            DataTableView newView = new DataTableView(dataTableManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(dataTableManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(dataTableManager, atLeastOnce()).count();
 
         logger.info("Load data successful with " + mockDataTables.size() + " data tables");
     }
@@ -119,15 +123,15 @@ public class DataTableViewTest {
     @Test
     void testLoadDataWithEmptyList() {
         // Mock avec une liste vide
-        when(dataTableManager.findAll()).thenReturn(Arrays.asList());
+        when(dataTableManager.count()).thenReturn(0L);
 
         // Tester avec une liste vide
         assertDoesNotThrow(() -> {
-            DataTableView newView = new DataTableView(dataTableManager, roomManager);
+            DataTableView newView = new DataTableView(dataTableManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(dataTableManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(dataTableManager, atLeastOnce()).count();
 
         logger.info("Load data handles empty list correctly");
     }
@@ -135,12 +139,12 @@ public class DataTableViewTest {
     @Test
     void testLoadDataWithException() {
         // Mock qui lance une exception
-        when(dataTableManager.findAll())
+        when(dataTableManager.count())
             .thenThrow(new RuntimeException("Database connection error"));
 
         // La vue devrait gérer l'exception sans planter
         assertDoesNotThrow(() -> {
-            DataTableView newView = new DataTableView(dataTableManager, roomManager);
+            DataTableView newView = new DataTableView(dataTableManager, roomManager, changeEventBus);
         });
 
         logger.info("Load data handles exceptions correctly");
@@ -352,7 +356,7 @@ public class DataTableViewTest {
     void testDeleteByCustomNameOperation() {
         // Tester la suppression par nom personnalisé
         String customName = "Test DataTable 1";
-        doNothing().when(dataTableManager).deleteByCustomName(customName);
+        when(dataTableManager.deleteByCustomName(customName)).thenReturn(2);
 
         assertDoesNotThrow(() -> {
             dataTableManager.deleteByCustomName(customName);
@@ -582,11 +586,11 @@ public class DataTableViewTest {
             createTestDataTable(5, "DataTable 5")
         );
         
-        when(dataTableManager.findAll()).thenReturn(largeDataset);
+        when(dataTableManager.count()).thenReturn((long) largeDataset.size());
 
         // La vue devrait gérer un dataset plus large sans problème
         assertDoesNotThrow(() -> {
-            DataTableView newView = new DataTableView(dataTableManager, roomManager);
+            DataTableView newView = new DataTableView(dataTableManager, roomManager, changeEventBus);
         });
 
         logger.info("Performance test with large dataset successful - " + largeDataset.size() + " data tables");
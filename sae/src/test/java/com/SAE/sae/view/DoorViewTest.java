@@ -18,6 +18,7 @@ import com.SAE.sae.entity.RoomObjects.Door;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.RoomObjects.DoorManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 
 import com.vaadin.flow.component.UI;
@@ -37,6 +38,9 @@ public class DoorViewTest {
     @Mock
     private RoomManager roomManager;
 
+    @Mock
+    private ChangeEventBus changeEventBus;
+
     private DoorView doorView;
     private Door testDoor;
     private Door testDoor2;
@@ -82,7 +86,7 @@ public class DoorViewTest {
         testDoor2.setSizeZ(1.0);
 
         // Initialiser la DoorView avec les mocks
-        doorView = new DoorView(doorManager, roomManager);
+        doorView = new DoorView(doorManager, roomManager, changeEventBus);
 
         logger.info("DoorView test setup completed");
     }
@@ -101,15 +105,15 @@ public class DoorViewTest {
 
     @Test
     void testConstructorCallsLoadData() {
-        // Mock des données pour vérifier l'appel à findAll lors de l'initialisation
+        // Mock des données pour vérifier l'appel à count lors de l'initialisation
         List<Door> mockDoors = Arrays.asList(testDoor, testDoor2);
-        when(doorManager.findAll()).thenReturn(mockDoors);
+        when(doorManager.count()).thenReturn((long) mockDoors.size());
 
         // Créer une nouvelle instance pour tester l'initialisation
-        DoorView newView = new DoorView(doorManager, roomManager);
+        DoorView newView = new DoorView(doorManager, roomManager, changeEventBus);
 
-        // Vérifier que findAll a été appelé pendant l'initialisation
-        verify(doorManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé pendant l'initialisation
+        verify(doorManager, atLeastOnce()).count();
 
         logger.info("Constructor correctly calls loadData method");
     }
@@ -118,16 +122,16 @@ public class DoorViewTest {
     void testLoadDataWithValidDoors() {
         // Mock des données
         List<Door> mockDoors = Arrays.asList(testDoor, testDoor2);
-        when(doorManager.findAll()).thenReturn(mockDoors);
+        when(doorManager.count()).thenReturn((long) mockDoors.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
             // La méthode loadData est privée, on teste via l'effet du constructeur
-            DoorView newView = new DoorView(doorManager, roomManager);
+            DoorView newView = new DoorView(doorManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(doorManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(doorManager, atLeastOnce()).count();
 
         logger.info("Load data successful with " + mockDoors.size() + " doors");
     }
@@ -135,15 +139,15 @@ public class DoorViewTest {
     @Test
     void testLoadDataWithEmptyList() {
         // Mock avec une liste vide
-        when(doorManager.findAll()).thenReturn(Arrays.asList());
+        when(doorManager.count()).thenReturn(0L);
 
         // Tester avec une liste vide
         assertDoesNotThrow(() -> {
-            DoorView newView = new DoorView(doorManager, roomManager);
+            DoorView newView = new DoorView(doorManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(doorManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(doorManager, atLeastOnce()).count();
 
         logger.info("Load data handles empty list correctly");
     }
@@ -151,12 +155,12 @@ public class DoorViewTest {
     @Test
     void testLoadDataWithException() {
         // Mock qui lance une exception
-        when(doorManager.findAll())
+        when(doorManager.count())
                 .thenThrow(new RuntimeException("Database connection error"));
 
         // La vue devrait gérer l'exception sans planter
         assertDoesNotThrow(() -> {
-            DoorView newView = new DoorView(doorManager, roomManager);
+            DoorView newView = new DoorView(doorManager, roomManager, changeEventBus);
         });
 
         logger.info("Load data handles exceptions correctly");
@@ -354,7 +358,7 @@ public class DoorViewTest {
     void testDeleteByCustomNameOperation() {
         // Tester la suppression par nom personnalisé
         String customName = "Test Door 1";
-        doNothing().when(doorManager).deleteByCustomName(customName);
+        when(doorManager.deleteByCustomName(customName)).thenReturn(2);
 
         assertDoesNotThrow(() -> {
             doorManager.deleteByCustomName(customName);
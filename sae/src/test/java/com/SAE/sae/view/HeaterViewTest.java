@@ -18,6 +18,7 @@ import com.SAE.sae.entity.RoomObjects.Heater;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.RoomObjects.HeaterManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 
 import com.vaadin.flow.component.UI;
@@ -37,6 +38,9 @@ public class HeaterViewTest {
     @Mock
     private RoomManager roomManager;
 
+    @Mock
+    private ChangeEventBus changeEventBus;
+
     private HeaterView HeaterView;
     private Heater testHeater;
     private Heater testHeater2;
@@ -82,7 +86,7 @@ public class HeaterViewTest {
         testHeater2.setSizeZ(1.0);
 
         // Initialiser la HeaterView avec les mocks
-        HeaterView = new HeaterView(HeaterManager, roomManager);
+        HeaterView = new HeaterView(HeaterManager, roomManager, changeEventBus);
 
         logger.info("HeaterView test setup completed");
     }
@@ -102,22 +106,22 @@ public class HeaterViewTest {
     @Test
     void testConstructorWithValidManagers() {
         // Vérifier que le constructeur fonctionne avec des managers valides
-        HeaterView view = new HeaterView(HeaterManager, roomManager);
+        HeaterView view = new HeaterView(HeaterManager, roomManager, changeEventBus);
         assertNotNull(view);
         logger.info("HeaterView constructor works with valid managers");
     }
 
     @Test
     void testConstructorCallsLoadData() {
-        // Mock des données pour vérifier l'appel à findAll lors de l'initialisation
+        // Mock des données pour vérifier l'appel à count lors de l'initialisation
         List<Heater> mockHeaters = Arrays.asList(testHeater, testHeater2);
-        when(HeaterManager.findAll()).thenReturn(mockHeaters);
+        when(HeaterManager.count()).thenReturn((long) mockHeaters.size());
 
         // Créer une nouvelle instance pour tester l'initialisation
-        HeaterView newView = new HeaterView(HeaterManager, roomManager);
+        HeaterView newView = new HeaterView(HeaterManager, roomManager, changeEventBus);
 
-        // Vérifier que findAll a été appelé pendant l'initialisation
-        verify(HeaterManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé pendant l'initialisation
+        verify(HeaterManager, atLeastOnce()).count();
 
         logger.info("Constructor correctly calls loadData method");
     }
@@ -126,16 +130,16 @@ public class HeaterViewTest {
     void testLoadDataWithValidHeaters() {
         // Mock des données
         List<Heater> mockHeaters = Arrays.asList(testHeater, testHeater2);
-        when(HeaterManager.findAll()).thenReturn(mockHeaters);
+        when(HeaterManager.count()).thenReturn((long) mockHeaters.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
             // La méthode loadData est privée, on teste via l'effet du constructeur
-            HeaterView newView = new HeaterView(HeaterManager, roomManager);
+            HeaterView newView = new HeaterView(HeaterManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(HeaterManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(HeaterManager, atLeastOnce()).count();
 
         logger.info("Load data successful with " + mockHeaters.size() + " data tables");
     }
@@ -143,12 +147,12 @@ public class HeaterViewTest {
     @Test
     void testLoadDataWithException() {
         // Mock qui lance une exception
-        when(HeaterManager.findAll())
+        when(HeaterManager.count())
                 .thenThrow(new RuntimeException("Database connection error"));
 
         // La vue devrait gérer l'exception sans planter
         assertDoesNotThrow(() -> {
-            HeaterView newView = new HeaterView(HeaterManager, roomManager);
+            HeaterView newView = new HeaterView(HeaterManager, roomManager, changeEventBus);
         });
 
         logger.info("Load data handles exceptions correctly");
@@ -362,7 +366,7 @@ public class HeaterViewTest {
     void testDeleteByCustomNameOperation() {
         // Tester la suppression par nom personnalisé
         String customName = "Test Heater 1";
-        doNothing().when(HeaterManager).deleteByCustomName(customName);
+        when(HeaterManager.deleteByCustomName(customName)).thenReturn(2);
 
         assertDoesNotThrow(() -> {
             HeaterManager.deleteByCustomName(customName);
@@ -631,11 +635,11 @@ public class HeaterViewTest {
                 createTestHeater(4, "Heater 4"),
                 createTestHeater(5, "Heater 5"));
 
-        when(HeaterManager.findAll()).thenReturn(largeDataset);
+        when(HeaterManager.count()).thenReturn((long) largeDataset.size());
 
         // La vue devrait gérer un dataset plus large sans problème
         assertDoesNotThrow(() -> {
-            HeaterView newView = new HeaterView(HeaterManager, roomManager);
+            HeaterView newView = new HeaterView(HeaterManager, roomManager, changeEventBus);
         });
 
         logger.info("Performance test with large dataset successful - " + largeDataset.size() + " data tables");
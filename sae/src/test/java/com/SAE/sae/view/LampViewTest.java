@@ -18,6 +18,7 @@ import com.SAE.sae.entity.RoomObjects.Lamp;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.RoomObjects.LampManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 
 import com.vaadin.flow.component.UI;
@@ -37,6 +38,9 @@ public class LampViewTest {
     @Mock
     private RoomManager roomManager;
 
+    @Mock
+    private ChangeEventBus changeEventBus;
+
     private LampView lampView;
     private Lamp testLamp;
     private Lamp testLamp2;
@@ -76,7 +80,7 @@ public class LampViewTest {
         testLamp2.setPosZ(4.0);
 
         // Initialiser la lampView avec les mocks
-        lampView = new LampView(lampManager, roomManager);
+        lampView = new LampView(lampManager, roomManager, changeEventBus);
 
         logger.info("LampView test setup completed");
     }
@@ -96,22 +100,22 @@ public class LampViewTest {
     @Test
     void testConstructorWithValidManagers() {
         // Vérifier que le constructeur fonctionne avec des managers valides
-        LampView view = new LampView(lampManager, roomManager);
+        LampView view = new LampView(lampManager, roomManager, changeEventBus);
         assertNotNull(view);
         logger.info("LampView constructor works with valid managers");
     }
 
     @Test
     void testConstructorCallsLoadData() {
-        // Mock des données pour vérifier l'appel à findAll lors de l'initialisation
+        // Mock des données pour vérifier l'appel à count lors de l'initialisation
         List<Lamp> mockLamps = Arrays.asList(testLamp, testLamp2);
-        when(lampManager.findAll()).thenReturn(mockLamps);
+        when(lampManager.count()).thenReturn((long) mockLamps.size());
 
         // Créer une nouvelle instance pour tester l'initialisation
-        LampView newView = new LampView(lampManager, roomManager);
+        LampView newView = new LampView(lampManager, roomManager, changeEventBus);
 
-        // Vérifier que findAll a été appelé pendant l'initialisation
-        verify(lampManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé pendant l'initialisation
+        verify(lampManager, atLeastOnce()).count();
 
         logger.info("Constructor correctly calls loadData method");
     }
@@ -120,16 +124,16 @@ public class LampViewTest {
     void testLoadDataWithValidLamps() {
         // Mock des données
         List<Lamp> mockLamps = Arrays.asList(testLamp, testLamp2);
-        when(lampManager.findAll()).thenReturn(mockLamps);
+        when(lampManager.count()).thenReturn((long) mockLamps.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
             // La méthode loadData est privée, on teste via l'effet du constructeur
-            LampView newView = new LampView(lampManager, roomManager);
+            LampView newView = new LampView(lampManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(lampManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(lampManager, atLeastOnce()).count();
 
         logger.info("Load data successful with " + mockLamps.size() + " data tables");
     }
@@ -137,15 +141,15 @@ public class LampViewTest {
     @Test
     void testLoadDataWithEmptyList() {
         // Mock avec une liste vide
-        when(lampManager.findAll()).thenReturn(Arrays.asList());
+        when(lampManager.count()).thenReturn(0L);
 
         // Tester avec une liste vide
         assertDoesNotThrow(() -> {
-            LampView newView = new LampView(lampManager, roomManager);
+            LampView newView = new LampView(lampManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(lampManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(lampManager, atLeastOnce()).count();
 
         logger.info("Load data handles empty list correctly");
     }
@@ -153,12 +157,12 @@ public class LampViewTest {
     @Test
     void testLoadDataWithException() {
         // Mock qui lance une exception
-        when(lampManager.findAll())
+        when(lampManager.count())
                 .thenThrow(new RuntimeException("Database connection error"));
 
         // La vue devrait gérer l'exception sans planter
         assertDoesNotThrow(() -> {
-            LampView newView = new LampView(lampManager, roomManager);
+            LampView newView = new LampView(lampManager, roomManager, changeEventBus);
         });
 
         logger.info("Load data handles exceptions correctly");
@@ -370,7 +374,7 @@ public class LampViewTest {
     void testDeleteByCustomNameOperation() {
         // Tester la suppression par nom personnalisé
         String customName = "Test Lamp 1";
-        doNothing().when(lampManager).deleteByCustomName(customName);
+        when(lampManager.deleteByCustomName(customName)).thenReturn(2);
 
         assertDoesNotThrow(() -> {
             lampManager.deleteByCustomName(customName);
@@ -620,11 +624,11 @@ public class LampViewTest {
                 createTestLamp(4, "Lamp 4"),
                 createTestLamp(5, "Lamp 5"));
 
-        when(lampManager.findAll()).thenReturn(largeDataset);
+        when(lampManager.count()).thenReturn((long) largeDataset.size());
 
         // La vue devrait gérer un dataset plus large sans problème
         assertDoesNotThrow(() -> {
-            LampView newView = new LampView(lampManager, roomManager);
+            LampView newView = new LampView(lampManager, roomManager, changeEventBus);
         });
 
         logger.info("Performance test with large dataset successful - " + largeDataset.size() + " data tables");
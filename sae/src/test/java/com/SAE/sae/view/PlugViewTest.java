@@ -19,6 +19,7 @@ import com.SAE.sae.entity.RoomObjects.Plug;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.RoomObjects.PlugManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 
 import com.vaadin.flow.component.UI;
@@ -38,6 +39,9 @@ public class PlugViewTest {
     @MockBean
     private RoomManager roomManager;
 
+    @MockBean
+    private ChangeEventBus changeEventBus;
+
     private PlugView PlugView;
     private Plug testPlug;
     private Plug testPlug2;
@@ -78,7 +82,7 @@ public class PlugViewTest {
         testPlug2.setPosZ(4.0);
 
         // Initialiser la PlugView avec les mocks
-        PlugView = new PlugView(PlugManager, roomManager);
+        PlugView = new PlugView(PlugManager, roomManager, changeEventBus);
 
         logger.info("PlugView test setup completed");
     }
@@ -98,22 +102,22 @@ public class PlugViewTest {
     @Test
     void testConstructorWithValidManagers() {
         // Vérifier que le constructeur fonctionne avec des managers valides
-        PlugView view = new PlugView(PlugManager, roomManager);
+        PlugView view = new PlugView(PlugManager, roomManager, changeEventBus);
         assertNotNull(view);
         logger.info("PlugView constructor works with valid managers");
     }
 
     @Test
     void testConstructorCallsLoadData() {
-        // Mock des données pour vérifier l'appel à findAll lors de l'initialisation
+        // Mock des données pour vérifier l'appel à count lors de l'initialisation
         List<Plug> mockPlugs = Arrays.asList(testPlug, testPlug2);
-        when(PlugManager.findAll()).thenReturn(mockPlugs);
+        when(PlugManager.count()).thenReturn((long) mockPlugs.size());
 
         // Créer une nouvelle instance pour tester l'initialisation
-        PlugView newView = new PlugView(PlugManager, roomManager);
+        PlugView newView = new PlugView(PlugManager, roomManager, changeEventBus);
         
-        // Vérifier que findAll a été appelé pendant l'initialisation
-        verify(PlugManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé pendant l'initialisation
+        verify(PlugManager, atLeastOnce()).count();
         
         logger.info("Constructor correctly calls loadData method");
     }
@@ -122,16 +126,16 @@ public class PlugViewTest {
     void testLoadDataWithValidPlugs() {
         // Mock des données
         List<Plug> mockPlugs = Arrays.asList(testPlug, testPlug2);
-        when(PlugManager.findAll()).thenReturn(mockPlugs);
+        when(PlugManager.count()).thenReturn((long) mockPlugs.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
             // La méthode loadData est privée, on teste via l'effet du constructeur
-            PlugView newView = new PlugView(PlugManager, roomManager);
+            PlugView newView = new PlugView(PlugManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(PlugManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(PlugManager, atLeastOnce()).count();
 
         logger.info("Load data successful with " + mockPlugs.size() + " data tables");
     }
@@ -139,15 +143,15 @@ public class PlugViewTest {
     @Test
     void testLoadDataWithEmptyList() {
         // Mock avec une liste vide
-        when(PlugManager.findAll()).thenReturn(Arrays.asList());
+        when(PlugManager.count()).thenReturn(0L);
 
         // Tester avec une liste vide
         assertDoesNotThrow(() -> {
-            PlugView newView = new PlugView(PlugManager, roomManager);
+            PlugView newView = new PlugView(PlugManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(PlugManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(PlugManager, atLeastOnce()).count();
 
         logger.info("Load data handles empty list correctly");
     }
@@ -155,12 +159,12 @@ public class PlugViewTest {
     @Test
     void testLoadDataWithException() {
         // Mock qui lance une exception
-        when(PlugManager.findAll())
+        when(PlugManager.count())
             .thenThrow(new RuntimeException("Database connection error"));
 
         // La vue devrait gérer l'exception sans planter
         assertDoesNotThrow(() -> {
-            PlugView newView = new PlugView(PlugManager, roomManager);
+            PlugView newView = new PlugView(PlugManager, roomManager, changeEventBus);
         });
 
         logger.info("Load data handles exceptions correctly");
@@ -372,7 +376,7 @@ public class PlugViewTest {
     void testDeleteByCustomNameOperation() {
         // Tester la suppression par nom personnalisé
         String customName = "Test Plug 1";
-        doNothing().when(PlugManager).deleteByCustomName(customName);
+        when(PlugManager.deleteByCustomName(customName)).thenReturn(2);
 
         assertDoesNotThrow(() -> {
             PlugManager.deleteByCustomName(customName);
@@ -629,11 +633,11 @@ public class PlugViewTest {
             createTestPlug(5, "Plug 5")
         );
         
-        when(PlugManager.findAll()).thenReturn(largeDataset);
+        when(PlugManager.count()).thenReturn((long) largeDataset.size());
 
         // La vue devrait gérer un dataset plus large sans problème
         assertDoesNotThrow(() -> {
-            PlugView newView = new PlugView(PlugManager, roomManager);
+            PlugView newView = new PlugView(PlugManager, roomManager, changeEventBus);
         });
 
         logger.info("Performance test with large dataset successful - " + largeDataset.size() + " data tables");
@@ -643,15 +647,15 @@ public class PlugViewTest {
     void testNullManagersHandling() {
         // Tester avec des managers null (devrait lever une exception)
         assertThrows(Exception.class, () -> {
-            new PlugView(null, roomManager);
+            new PlugView(null, roomManager, changeEventBus);
         });
 
         assertThrows(Exception.class, () -> {
-            new PlugView(PlugManager, null);
+            new PlugView(PlugManager, null, changeEventBus);
         });
 
         assertThrows(Exception.class, () -> {
-            new PlugView(null, null);
+            new PlugView(null, null, changeEventBus);
         });
 
         logger.info("Null managers handling test successful");
@@ -18,6 +18,7 @@ import com.SAE.sae.entity.RoomObjects.Sensor6in1;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.RoomObjects.Sensor6in1Manager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 
 import com.vaadin.flow.component.UI;
@@ -36,6 +37,9 @@ public class Sensor6in1ViewTest {
     @MockBean
     private RoomManager roomManager;
 
+    @MockBean
+    private ChangeEventBus changeEventBus;
+
     private Sensor6in1View Sensor6in1View;
     private Sensor6in1 testSensor6in1;
     private Sensor6in1 testSensor6in12;
@@ -77,7 +81,7 @@ public class Sensor6in1ViewTest {
 
 
         // Initialiser la Sensor6in1View avec les mocks
-        Sensor6in1View = new Sensor6in1View(Sensor6in1Manager, roomManager);
+        Sensor6in1View = new Sensor6in1View(Sensor6in1Manager, roomManager, changeEventBus);
 
         logger.info("Sensor6in1View test setup completed");
     }
@@ -97,22 +101,22 @@ public class Sensor6in1ViewTest {
     @Test
     void testConstructorWithValidManagers() {
         // Vérifier que le constructeur fonctionne avec des managers valides
-        Sensor6in1View view = new Sensor6in1View(Sensor6in1Manager, roomManager);
+        Sensor6in1View view = new Sensor6in1View(Sensor6in1Manager, roomManager, changeEventBus);
         assertNotNull(view);
         logger.info("Sensor6in1View constructor works with valid managers");
     }
 
     @Test
     void testConstructorCallsLoadData() {
-        // Mock des données pour vérifier l'appel à findAll lors de l'initialisation
+        // Mock des données pour vérifier l'appel à count lors de l'initialisation
         List<Sensor6in1> mockSensor6in1s = Arrays.asList(testSensor6in1, testSensor6in12);
-        when(Sensor6in1Manager.findAll()).thenReturn(mockSensor6in1s);
+        when(Sensor6in1Manager.count()).thenReturn((long) mockSensor6in1s.size());
 
         // Créer une nouvelle instance pour tester l'initialisation
-        Sensor6in1View newView = new Sensor6in1View(Sensor6in1Manager, roomManager);
+        Sensor6in1View newView = new Sensor6in1View(Sensor6in1Manager, roomManager, changeEventBus);
         
-        // Vérifier que findAll a été appelé pendant l'initialisation
-        verify(Sensor6in1Manager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé pendant l'initialisation
+        verify(Sensor6in1Manager, atLeastOnce()).count();
         
         logger.info("Constructor correctly calls loadData method");
     }
@@ -121,16 +125,16 @@ public class Sensor6in1ViewTest {
     void testLoadDataWithValidSensor6in1s() {
         // Mock des données
         List<Sensor6in1> mockSensor6in1s = Arrays.asList(testSensor6in1, testSensor6in12);
-        when(Sensor6in1Manager.findAll()).thenReturn(mockSensor6in1s);
+        when(Sensor6in1Manager.count()).thenReturn((long) mockSensor6in1s.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
             // La méthode loadData est privée, on teste via l'effet du constructeur
-            Sensor6in1View newView = new Sensor6in1View(Sensor6in1Manager, roomManager);
+            Sensor6in1View newView = new Sensor6in1View(Sensor6in1Manager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(Sensor6in1Manager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(Sensor6in1Manager, atLeastOnce()).count();
 
         logger.info("Load data successful with " + mockSensor6in1s.size() + " data tables");
     }
@@ -138,15 +142,15 @@ public class Sensor6in1ViewTest {
     @Test
     void testLoadDataWithEmptyList() {
         // Mock avec une liste vide
-        when(Sensor6in1Manager.findAll()).thenReturn(Arrays.asList());
+        when(Sensor6in1Manager.count()).thenReturn(0L);
 
         // Tester avec une liste vide
         assertDoesNotThrow(() -> {
-            Sensor6in1View newView = new Sensor6in1View(Sensor6in1Manager, roomManager);
+            Sensor6in1View newView = new Sensor6in1View(Sensor6in1Manager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(Sensor6in1Manager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(Sensor6in1Manager, atLeastOnce()).count();
 
         logger.info("Load data handles empty list correctly");
     }
@@ -154,12 +158,12 @@ public class Sensor6in1ViewTest {
     @Test
     void testLoadDataWithException() {
         // Mock qui lance une exception
-        when(Sensor6in1Manager.findAll())
+        when(Sensor6in1Manager.count())
             .thenThrow(new RuntimeException("Database connection error"));
 
         // La vue devrait gérer l'exception sans planter
         assertDoesNotThrow(() -> {
-            Sensor6in1View newView = new Sensor6in1View(Sensor6in1Manager, roomManager);
+            Sensor6in1View newView = new Sensor6in1View(Sensor6in1Manager, roomManager, changeEventBus);
         });
 
         logger.info("Load data handles exceptions correctly");
@@ -371,7 +375,7 @@ public class Sensor6in1ViewTest {
     void testDeleteByCustomNameOperation() {
         // Tester la suppression par nom personnalisé
         String customName = "Test Sensor6in1 1";
-        doNothing().when(Sensor6in1Manager).deleteByCustomName(customName);
+        when(Sensor6in1Manager.deleteByCustomName(customName)).thenReturn(2);
 
         assertDoesNotThrow(() -> {
             Sensor6in1Manager.deleteByCustomName(customName);
@@ -627,11 +631,11 @@ public class Sensor6in1ViewTest {
             createTestSensor6in1(5, "Sensor6in1 5")
         );
         
-        when(Sensor6in1Manager.findAll()).thenReturn(largeDataset);
+        when(Sensor6in1Manager.count()).thenReturn((long) largeDataset.size());
 
         // La vue devrait gérer un dataset plus large sans problème
         assertDoesNotThrow(() -> {
-            Sensor6in1View newView = new Sensor6in1View(Sensor6in1Manager, roomManager);
+            Sensor6in1View newView = new Sensor6in1View(Sensor6in1Manager, roomManager, changeEventBus);
         });
 
         logger.info("Performance test with large dataset successful - " + largeDataset.size() + " data tables");
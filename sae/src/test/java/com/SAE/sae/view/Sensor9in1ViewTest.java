@@ -18,6 +18,7 @@ import com.SAE.sae.entity.RoomObjects.Sensor9in1;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.RoomObjects.Sensor9in1Manager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 
 import com.vaadin.flow.component.UI;
@@ -37,6 +38,9 @@ public class Sensor9in1ViewTest {
     @Mock
     private RoomManager roomManager;
 
+    @Mock
+    private ChangeEventBus changeEventBus;
+
     private Sensor9in1View Sensor9in1View;
     private Sensor9in1 testSensor9in1;
     private Sensor9in1 testSensor9in12;
@@ -76,7 +80,7 @@ public class Sensor9in1ViewTest {
         testSensor9in12.setPosZ(4.0);
 
         // Initialiser la Sensor9in1View avec les mocks
-        Sensor9in1View = new Sensor9in1View(Sensor9in1Manager, roomManager);
+        Sensor9in1View = new Sensor9in1View(Sensor9in1Manager, roomManager, changeEventBus);
 
         logger.info("Sensor9in1View test setup completed");
     }
@@ -96,22 +100,22 @@ public class Sensor9in1ViewTest {
     @Test
     void testConstructorWithValidManagers() {
         // Vérifier que le constructeur fonctionne avec des managers valides
-        Sensor9in1View view = new Sensor9in1View(Sensor9in1Manager, roomManager);
+        Sensor9in1View view = new Sensor9in1View(Sensor9in1Manager, roomManager, changeEventBus);
         assertNotNull(view);
         logger.info("Sensor9in1View constructor works with valid managers");
     }
 
     @Test
     void testConstructorCallsLoadData() {
-        // Mock des données pour vérifier l'appel à findAll lors de l'initialisation
+        // Mock des données pour vérifier l'appel à count lors de l'initialisation
         List<Sensor9in1> mockSensor9in1s = Arrays.asList(testSensor9in1, testSensor9in12);
-        when(Sensor9in1Manager.findAll()).thenReturn(mockSensor9in1s);
+        when(Sensor9in1Manager.count()).thenReturn((long) mockSensor9in1s.size());
 
         // Créer une nouvelle instance pour tester l'initialisation
-        Sensor9in1View newView = new Sensor9in1View(Sensor9in1Manager, roomManager);
+        Sensor9in1View newView = new Sensor9in1View(Sensor9in1Manager, roomManager, changeEventBus);
 
-        // Vérifier que findAll a été appelé pendant l'initialisation
-        verify(Sensor9in1Manager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé pendant l'initialisation
+        verify(Sensor9in1Manager, atLeastOnce()).count();
 
         logger.info("Constructor correctly calls loadData method");
     }
@@ -120,16 +124,16 @@ public class Sensor9in1ViewTest {
     void testLoadDataWithValidSensor9in1s() {
         // Mock des données
         List<Sensor9in1> mockSensor9in1s = Arrays.asList(testSensor9in1, testSensor9in12);
-        when(Sensor9in1Manager.findAll()).thenReturn(mockSensor9in1s);
+        when(Sensor9in1Manager.count()).thenReturn((long) mockSensor9in1s.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
             // La méthode loadData est privée, on teste via l'effet du constructeur
-            Sensor9in1View newView = new Sensor9in1View(Sensor9in1Manager, roomManager);
+            Sensor9in1View newView = new Sensor9in1View(Sensor9in1Manager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(Sensor9in1Manager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(Sensor9in1Manager, atLeastOnce()).count();
 
         logger.info("Load data successful with " + mockSensor9in1s.size() + " data tables");
     }
@@ -137,15 +141,15 @@ public class Sensor9in1ViewTest {
     @Test
     void testLoadDataWithEmptyList() {
         // Mock avec une liste vide
-        when(Sensor9in1Manager.findAll()).thenReturn(Arrays.asList());
+        when(Sensor9in1Manager.count()).thenReturn(0L);
 
         // Tester avec une liste vide
         assertDoesNotThrow(() -> {
-            Sensor9in1View newView = new Sensor9in1View(Sensor9in1Manager, roomManager);
+            Sensor9in1View newView = new Sensor9in1View(Sensor9in1Manager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(Sensor9in1Manager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(Sensor9in1Manager, atLeastOnce()).count();
 
         logger.info("Load data handles empty list correctly");
     }
@@ -153,12 +157,12 @@ public class Sensor9in1ViewTest {
     @Test
     void testLoadDataWithException() {
         // Mock qui lance une exception
-        when(Sensor9in1Manager.findAll())
+        when(Sensor9in1Manager.count())
                 .thenThrow(new RuntimeException("Database connection error"));
 
         // La vue devrait gérer l'exception sans planter
         assertDoesNotThrow(() -> {
-            Sensor9in1View newView = new Sensor9in1View(Sensor9in1Manager, roomManager);
+            Sensor9in1View newView = new Sensor9in1View(Sensor9in1Manager, roomManager, changeEventBus);
         });
 
         logger.info("Load data handles exceptions correctly");
@@ -370,7 +374,7 @@ public class Sensor9in1ViewTest {
     void testDeleteByCustomNameOperation() {
         // Tester la suppression par nom personnalisé
         String customName = "Test Sensor9in1 1";
-        doNothing().when(Sensor9in1Manager).deleteByCustomName(customName);
+        when(Sensor9in1Manager.deleteByCustomName(customName)).thenReturn(2);
 
         assertDoesNotThrow(() -> {
             Sensor9in1Manager.deleteByCustomName(customName);
@@ -635,11 +639,11 @@ public class Sensor9in1ViewTest {
                 createTestSensor9in1(4, "Sensor9in1 4"),
                 createTestSensor9in1(5, "Sensor9in1 5"));
 
-        when(Sensor9in1Manager.findAll()).thenReturn(largeDataset);
+        when(Sensor9in1Manager.count()).thenReturn((long) largeDataset.size());
 
         // La vue devrait gérer un dataset plus large sans problème
         assertDoesNotThrow(() -> {
-            Sensor9in1View newView = new Sensor9in1View(Sensor9in1Manager, roomManager);
+            Sensor9in1View newView = new Sensor9in1View(Sensor9in1Manager, roomManager, changeEventBus);
         });
 
         logger.info("Performance test with large dataset successful - " + largeDataset.size() + " data tables");
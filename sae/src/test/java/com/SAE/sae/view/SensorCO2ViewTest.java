@@ -18,6 +18,7 @@ import com.SAE.sae.entity.RoomObjects.SensorCO2;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.RoomObjects.SensorCO2Manager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 
 import com.vaadin.flow.component.UI;
@@ -36,6 +37,9 @@ public class SensorCO2ViewTest {
     @MockBean
     private RoomManager roomManager;
 
+    @MockBean
+    private ChangeEventBus changeEventBus;
+
     private SensorCO2View SensorCO2View;
     private SensorCO2 testSensorCO2;
     private SensorCO2 testSensorCO22;
@@ -74,7 +78,7 @@ public class SensorCO2ViewTest {
         testSensorCO22.setPosY(3.0);
 
         // Initialiser la SensorCO2View avec les mocks
-        SensorCO2View = new SensorCO2View(SensorCO2Manager, roomManager);
+        SensorCO2View = new SensorCO2View(SensorCO2Manager, roomManager, changeEventBus);
 
         logger.info("SensorCO2View test setup completed");
     }
@@ -94,22 +98,22 @@ public class SensorCO2ViewTest {
     @Test
     void testConstructorWithValidManagers() {
         // Vérifier que le constructeur fonctionne avec des managers valides
-        SensorCO2View view = new SensorCO2View(SensorCO2Manager, roomManager);
+        SensorCO2View view = new SensorCO2View(SensorCO2Manager, roomManager, changeEventBus);
         assertNotNull(view);
         logger.info("SensorCO2View constructor works with valid managers");
     }
 
     @Test
     void testConstructorCallsLoadData() {
-        // Mock des données pour vérifier l'appel à findAll lors de l'initialisation
+        // Mock des données pour vérifier l'appel à count lors de l'initialisation
         List<SensorCO2> mockSensorCO2s = Arrays.asList(testSensorCO2, testSensorCO22);
-        when(SensorCO2Manager.findAll()).thenReturn(mockSensorCO2s);
+        when(SensorCO2Manager.count()).thenReturn((long) mockSensorCO2s.size());
 
         // Créer une nouvelle instance pour tester l'initialisation
-        SensorCO2View newView = new SensorCO2View(SensorCO2Manager, roomManager);
+        SensorCO2View newView = new SensorCO2View(SensorCO2Manager, roomManager, changeEventBus);
         
-        // Vérifier que findAll a été appelé pendant l'initialisation
-        verify(SensorCO2Manager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé pendant l'initialisation
+        verify(SensorCO2Manager, atLeastOnce()).count();
         
         logger.info("Constructor correctly calls loadData method");
     }
@@ -118,16 +122,16 @@ public class SensorCO2ViewTest {
     void testLoadDataWithValidSensorCO2s() {
         // Mock des données
         List<SensorCO2> mockSensorCO2s = Arrays.asList(testSensorCO2, testSensorCO22);
-        when(SensorCO2Manager.findAll()).thenReturn(mockSensorCO2s);
+        when(SensorCO2Manager.count()).thenReturn((long) mockSensorCO2s.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
             // La méthode loadData est privée, on teste via l'effet du constructeur
-            SensorCO2View newView = new SensorCO2View(SensorCO2Manager, roomManager);
+            SensorCO2View newView = new SensorCO2View(SensorCO2Manager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(SensorCO2Manager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(SensorCO2Manager, atLeastOnce()).count();
 
         logger.info("Load data successful with " + mockSensorCO2s.size() + " data tables");
     }
@@ -135,15 +139,15 @@ public class SensorCO2ViewTest {
     @Test
     void testLoadDataWithEmptyList() {
         // Mock avec une liste vide
-        when(SensorCO2Manager.findAll()).thenReturn(Arrays.asList());
+        when(SensorCO2Manager.count()).thenReturn(0L);
 
         // Tester avec une liste vide
         assertDoesNotThrow(() -> {
-            SensorCO2View newView = new SensorCO2View(SensorCO2Manager, roomManager);
+            SensorCO2View newView = new SensorCO2View(SensorCO2Manager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(SensorCO2Manager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(SensorCO2Manager, atLeastOnce()).count();
 
         logger.info("Load data handles empty list correctly");
     }
@@ -151,12 +155,12 @@ public class SensorCO2ViewTest {
     @Test
     void testLoadDataWithException() {
         // Mock qui lance une exception
-        when(SensorCO2Manager.findAll())
+        when(SensorCO2Manager.count())
             .thenThrow(new RuntimeException("Database connection error"));
 
         // La vue devrait gérer l'exception sans planter
         assertDoesNotThrow(() -> {
-            SensorCO2View newView = new SensorCO2View(SensorCO2Manager, roomManager);
+            SensorCO2View newView = new SensorCO2View(SensorCO2Manager, roomManager, changeEventBus);
         });
 
         logger.info("Load data handles exceptions correctly");
@@ -368,7 +372,7 @@ public class SensorCO2ViewTest {
     void testDeleteByCustomNameOperation() {
         // Tester la suppression par nom personnalisé
         String customName = "Test SensorCO2 1";
-        doNothing().when(SensorCO2Manager).deleteByCustomName(customName);
+        when(SensorCO2Manager.deleteByCustomName(customName)).thenReturn(2);
 
         assertDoesNotThrow(() -> {
             SensorCO2Manager.deleteByCustomName(customName);
@@ -635,11 +639,11 @@ public class SensorCO2ViewTest {
             createTestSensorCO2(5, "SensorCO2 5")
         );
         
-        when(SensorCO2Manager.findAll()).thenReturn(largeDataset);
+        when(SensorCO2Manager.count()).thenReturn((long) largeDataset.size());
 
         // La vue devrait gérer un dataset plus large sans problème
         assertDoesNotThrow(() -> {
-            SensorCO2View newView = new SensorCO2View(SensorCO2Manager, roomManager);
+            SensorCO2View newView = new SensorCO2View(SensorCO2Manager, roomManager, changeEventBus);
         });
 
         logger.info("Performance test with large dataset successful - " + largeDataset.size() + " data tables");
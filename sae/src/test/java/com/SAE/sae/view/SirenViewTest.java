@@ -18,6 +18,7 @@ import com.SAE.sae.entity.RoomObjects.Siren;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.RoomObjects.SirenManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 
 import com.vaadin.flow.component.UI;
@@ -38,6 +39,9 @@ public class SirenViewTest {
     @Mock
     private RoomManager roomManager;
 
+    @Mock
+    private ChangeEventBus changeEventBus;
+
     private SirenView SirenView;
     private Siren testSiren;
     private Siren testSiren2;
@@ -77,7 +81,7 @@ public class SirenViewTest {
         testSiren2.setPosZ(4.0);
 
         // Initialiser la SirenView avec les mocks
-        SirenView = new SirenView(SirenManager, roomManager);
+        SirenView = new SirenView(SirenManager, roomManager, changeEventBus);
 
         logger.info("SirenView test setup completed");
     }
@@ -97,22 +101,22 @@ public class SirenViewTest {
     @Test
     void testConstructorWithValidManagers() {
         // Vérifier que le constructeur fonctionne avec des managers valides
-        SirenView view = new SirenView(SirenManager, roomManager);
+        SirenView view = new SirenView(SirenManager, roomManager, changeEventBus);
         assertNotNull(view);
         logger.info("SirenView constructor works with valid managers");
     }
 
     @Test
     void testConstructorCallsLoadData() {
-        // Mock des données pour vérifier l'appel à findAll lors de l'initialisation
+        // Mock des données pour vérifier l'appel à count lors de l'initialisation
         List<Siren> mockSirens = Arrays.asList(testSiren, testSiren2);
-        when(SirenManager.findAll()).thenReturn(mockSirens);
+        when(SirenManager.count()).thenReturn((long) mockSirens.size());
 
         // Créer une nouvelle instance pour tester l'initialisation
-        SirenView newView = new SirenView(SirenManager, roomManager);
+        SirenView newView = new SirenView(SirenManager, roomManager, changeEventBus);
 
-        // Vérifier que findAll a été appelé pendant l'initialisation
-        verify(SirenManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé pendant l'initialisation
+        verify(SirenManager, atLeastOnce()).count();
 
         logger.info("Constructor correctly calls loadData method");
     }
@@ -121,16 +125,16 @@ public class SirenViewTest {
     void testLoadDataWithValidSirens() {
         // Mock des données
         List<Siren> mockSirens = Arrays.asList(testSiren, testSiren2);
-        when(SirenManager.findAll()).thenReturn(mockSirens);
+        when(SirenManager.count()).thenReturn((long) mockSirens.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
             // La méthode loadData est privée, on teste via l'effet du constructeur
-            SirenView newView = new SirenView(SirenManager, roomManager);
+            SirenView newView = new SirenView(SirenManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(SirenManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(SirenManager, atLeastOnce()).count();
 
         logger.info("Load data successful with " + mockSirens.size() + " data tables");
     }
@@ -138,15 +142,15 @@ public class SirenViewTest {
     @Test
     void testLoadDataWithEmptyList() {
         // Mock avec une liste vide
-        when(SirenManager.findAll()).thenReturn(Arrays.asList());
+        when(SirenManager.count()).thenReturn(0L);
 
         // Tester avec une liste vide
         assertDoesNotThrow(() -> {
-            SirenView newView = new SirenView(SirenManager, roomManager);
+            SirenView newView = new SirenView(SirenManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(SirenManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(SirenManager, atLeastOnce()).count();
 
         logger.info("Load data handles empty list correctly");
     }
@@ -154,12 +158,12 @@ public class SirenViewTest {
     @Test
     void testLoadDataWithException() {
         // Mock qui lance une exception
-        when(SirenManager.findAll())
+        when(SirenManager.count())
                 .thenThrow(new RuntimeException("Database connection error"));
 
         // La vue devrait gérer l'exception sans planter
         assertDoesNotThrow(() -> {
-            SirenView newView = new SirenView(SirenManager, roomManager);
+            SirenView newView = new SirenView(SirenManager, roomManager, changeEventBus);
         });
 
         logger.info("Load data handles exceptions correctly");
@@ -371,7 +375,7 @@ public class SirenViewTest {
     void testDeleteByCustomNameOperation() {
         // Tester la suppression par nom personnalisé
         String customName = "Test Siren 1";
-        doNothing().when(SirenManager).deleteByCustomName(customName);
+        when(SirenManager.deleteByCustomName(customName)).thenReturn(2);
 
         assertDoesNotThrow(() -> {
             SirenManager.deleteByCustomName(customName);
@@ -626,11 +630,11 @@ public class SirenViewTest {
                 createTestSiren(4, "Siren 4"),
                 createTestSiren(5, "Siren 5"));
 
-        when(SirenManager.findAll()).thenReturn(largeDataset);
+        when(SirenManager.count()).thenReturn((long) largeDataset.size());
 
         // La vue devrait gérer un dataset plus large sans problème
         assertDoesNotThrow(() -> {
-            SirenView newView = new SirenView(SirenManager, roomManager);
+            SirenView newView = new SirenView(SirenManager, roomManager, changeEventBus);
         });
 
         logger.info("Performance test with large dataset successful - " + largeDataset.size() + " data tables");
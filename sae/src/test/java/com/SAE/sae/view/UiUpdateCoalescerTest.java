@@ -0,0 +1,86 @@
+package com.SAE.sae.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.server.Command;
+
+/**
+ * Regroupement des mises à jour poussées vers une UI : une exécution par fenêtre, quel que soit le nombre de demandes
+ */
+public class UiUpdateCoalescerTest {
+
+    private UI ui;
+    private AtomicInteger updates;
+
+    @BeforeEach
+    void setUp() {
+        ui = mock(UI.class);
+        updates = new AtomicInteger();
+        doAnswer(invocation -> {
+            invocation.<Command>getArgument(0).execute();
+            return null;
+        }).when(ui).access(any(Command.class));
+    }
+
+    @Test
+    void testBurstOfRequestsRunsOneUpdate() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        UiUpdateCoalescer coalescer = new UiUpdateCoalescer(ui, () -> {
+            updates.incrementAndGet();
+            done.countDown();
+        });
+
+        for (int i = 0; i < 50; i++) {
+            coalescer.request();
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(UiUpdateCoalescer.DELAY_MILLIS * 2);
+        assertThat(updates).hasValue(1);
+    }
+
+    @Test
+    void testRequestAfterFlushRunsAnotherUpdate() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(2);
+        UiUpdateCoalescer coalescer = new UiUpdateCoalescer(ui, () -> {
+            updates.incrementAndGet();
+            done.countDown();
+        });
+
+        coalescer.request();
+        Thread.sleep(UiUpdateCoalescer.DELAY_MILLIS * 3);
+        coalescer.request();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(updates).hasValue(2);
+    }
+
+    @Test
+    void testDetachedUiIsIgnoredAndLaterRequestsStillFlush() throws InterruptedException {
+        doThrow(new UIDetachedException()).when(ui).access(any(Command.class));
+        UiUpdateCoalescer coalescer = new UiUpdateCoalescer(ui, updates::incrementAndGet);
+
+        coalescer.request();
+        Thread.sleep(UiUpdateCoalescer.DELAY_MILLIS * 3);
+        coalescer.request();
+        Thread.sleep(UiUpdateCoalescer.DELAY_MILLIS * 3);
+
+        verify(ui, times(2)).access(any(Command.class));
+        assertThat(updates).hasValue(0);
+    }
+}
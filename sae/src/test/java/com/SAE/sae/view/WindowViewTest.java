@@ -18,6 +18,7 @@ import com.SAE.sae.entity.RoomObjects.Window;
 import com.SAE.sae.entity.Room;
 import com.SAE.sae.entity.Building;
 import com.SAE.sae.service.RoomObjects.WindowManager;
+import com.SAE.sae.service.ChangeEventBus;
 import com.SAE.sae.service.RoomManager;
 
 import com.vaadin.flow.component.UI;
@@ -38,6 +39,9 @@ public class WindowViewTest {
     @Mock
     private RoomManager roomManager;
 
+    @Mock
+    private ChangeEventBus changeEventBus;
+
     private WindowView WindowView;
     private Window testWindow;
     private Window testWindow2;
@@ -83,7 +87,7 @@ public class WindowViewTest {
         testWindow2.setSizeZ(1.0);
 
         // Initialiser la WindowView avec les mocks
-        WindowView = new WindowView(WindowManager, roomManager);
+        WindowView = new WindowView(WindowManager, roomManager, changeEventBus);
 
         logger.info("WindowView test setup completed");
     }
@@ -103,22 +107,22 @@ public class WindowViewTest {
     @Test
     void testConstructorWithValidManagers() {
         // Vérifier que le constructeur fonctionne avec des managers valides
-        WindowView view = new WindowView(WindowManager, roomManager);
+        WindowView view = new WindowView(WindowManager, roomManager, changeEventBus);
         assertNotNull(view);
         logger.info("WindowView constructor works with valid managers");
     }
 
     @Test
     void testConstructorCallsLoadData() {
-        // Mock des données pour vérifier l'appel à findAll lors de l'initialisation
+        // Mock des données pour vérifier l'appel à count lors de l'initialisation
         List<Window> mockWindows = Arrays.asList(testWindow, testWindow2);
-        when(WindowManager.findAll()).thenReturn(mockWindows);
+        when(WindowManager.count()).thenReturn((long) mockWindows.size());
 
         // Créer une nouvelle instance pour tester l'initialisation
-        WindowView newView = new WindowView(WindowManager, roomManager);
+        WindowView newView = new WindowView(WindowManager, roomManager, changeEventBus);
 
-        // Vérifier que findAll a été appelé pendant l'initialisation
-        verify(WindowManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé pendant l'initialisation
+        verify(WindowManager, atLeastOnce()).count();
 
         logger.info("Constructor correctly calls loadData method");
     }
@@ -127,16 +131,16 @@ public class WindowViewTest {
     void testLoadDataWithValidWindows() {
         // Mock des données
         List<Window> mockWindows = Arrays.asList(testWindow, testWindow2);
-        when(WindowManager.findAll()).thenReturn(mockWindows);
+        when(WindowManager.count()).thenReturn((long) mockWindows.size());
 
         // Tester le chargement des données
         assertDoesNotThrow(() -> {
             // La méthode loadData est privée, on teste via l'effet du constructeur
-            WindowView newView = new WindowView(WindowManager, roomManager);
+            WindowView newView = new WindowView(WindowManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(WindowManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(WindowManager, atLeastOnce()).count();
 
         logger.info("Load data successful with " + mockWindows.size() + " data tables");
     }
@@ -144,15 +148,15 @@ public class WindowViewTest {
     @Test
     void testLoadDataWithEmptyList() {
         // Mock avec une liste vide
-        when(WindowManager.findAll()).thenReturn(Arrays.asList());
+        when(WindowManager.count()).thenReturn(0L);
 
         // Tester avec une liste vide
         assertDoesNotThrow(() -> {
-            WindowView newView = new WindowView(WindowManager, roomManager);
+            WindowView newView = new WindowView(WindowManager, roomManager, changeEventBus);
         });
 
-        // Vérifier que findAll a été appelé
-        verify(WindowManager, atLeastOnce()).findAll();
+        // Vérifier que count a été appelé
+        verify(WindowManager, atLeastOnce()).count();
 
         logger.info("Load data handles empty list correctly");
     }
@@ -363,7 +367,7 @@ public class WindowViewTest {
     void testDeleteByCustomNameOperation() {
         // Tester la suppression par nom personnalisé
         String customName = "Test Window 1";
-        doNothing().when(WindowManager).deleteByCustomName(customName);
+        when(WindowManager.deleteByCustomName(customName)).thenReturn(2);
 
         assertDoesNotThrow(() -> {
             WindowManager.deleteByCustomName(customName);
@@ -644,11 +648,11 @@ public class WindowViewTest {
                 createTestWindow(4, "Window 4"),
                 createTestWindow(5, "Window 5"));
 
-        when(WindowManager.findAll()).thenReturn(largeDataset);
+        when(WindowManager.count()).thenReturn((long) largeDataset.size());
 
         // La vue devrait gérer un dataset plus large sans problème
         assertDoesNotThrow(() -> {
-            WindowView newView = new WindowView(WindowManager, roomManager);
+            WindowView newView = new WindowView(WindowManager, roomManager, changeEventBus);
         });
 
         logger.info("Performance test with large dataset successful - " + largeDataset.size() + " data tables");
@@ -13,10 +13,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Logger;
 
-import com.SAE.sae.entity.Building;
-import com.SAE.sae.entity.Room;
-import com.SAE.sae.repository.BuildingRepository;
-import com.SAE.sae.repository.RoomRepository;
+import com.SAE.sae.dto.NavigationNode;
+import com.SAE.sae.service.NavigationTreeService;
 
 @ExtendWith(MockitoExtension.class)
 /**
@@ -27,10 +25,7 @@ import com.SAE.sae.repository.RoomRepository;
 public class MainLayoutTest {
 
     @Mock
-    private BuildingRepository buildingRepository;
-
-    @Mock
-    private RoomRepository roomRepository;
+    private NavigationTreeService navigationTreeService;
 
     private MainLayout mainLayout;
 
@@ -39,7 +34,7 @@ public class MainLayoutTest {
     @BeforeEach
     void setUp() {
         // Initialiser le MainLayout avec les mocks
-        mainLayout = new MainLayout(buildingRepository, roomRepository);
+        mainLayout = new MainLayout(navigationTreeService);
     }
 
     @Test
@@ -78,61 +73,39 @@ public class MainLayoutTest {
     @Test
     void testBuildingDataIntegration() {
         // Mock des données de bâtiments
-        Building building1 = new Building();
-        building1.setId(1);
-        building1.setName("Building 1");
-
-        Building building2 = new Building();
-        building2.setId(2);
-        building2.setName("Building 2");
-
-        List<Building> mockBuildings = Arrays.asList(building1, building2);
-        when(buildingRepository.findAll()).thenReturn(mockBuildings);
+        List<NavigationNode> mockBuildings = Arrays.asList(
+                NavigationNode.building(1, "Building 1", 0),
+                NavigationNode.building(2, "Building 2", 0));
+        when(navigationTreeService.getBuildings()).thenReturn(mockBuildings);
 
         logger.info("Mocked " + mockBuildings.size() + " buildings");
 
         // Créer un nouveau MainLayout pour tester avec les données mockées
-        MainLayout testLayout = new MainLayout(buildingRepository, roomRepository);
+        MainLayout testLayout = new MainLayout(navigationTreeService);
         assertNotNull(testLayout);
 
-        // Vérifier que findAll a été appelé
-        verify(buildingRepository, atLeastOnce()).findAll();
+        // Vérifier que les bâtiments ont été lus depuis l'instantané partagé
+        verify(navigationTreeService, atLeastOnce()).getBuildings();
 
         logger.info("MainLayout created successfully with mocked building data");
     }
 
     @Test
     void testBuildingWithRoomsIntegration() {
-        // Mock des données
-        Building testBuilding = new Building();
-        testBuilding.setId(1);
-        testBuilding.setName("Test Building");
-
-        Room testRoom1 = new Room();
-        testRoom1.setId(1);
-        testRoom1.setName("Test Room 1");
-        testRoom1.setBuilding(testBuilding);
-
-        Room testRoom2 = new Room();
-        testRoom2.setId(2);
-        testRoom2.setName("Test Room 2");
-        testRoom2.setBuilding(testBuilding);
-
-        List<Room> mockRooms = Arrays.asList(testRoom1, testRoom2);
-        List<Building> mockBuildings = Arrays.asList(testBuilding);
+        // Mock des données : un bâtiment de deux salles
+        List<NavigationNode> mockBuildings = Arrays.asList(NavigationNode.building(1, "Test Building", 2));
 
-        when(buildingRepository.findAll()).thenReturn(mockBuildings);
-        when(roomRepository.findByBuilding_Id(1)).thenReturn(mockRooms);
+        when(navigationTreeService.getBuildings()).thenReturn(mockBuildings);
 
-        logger.info("Mocked building with rooms: " + testRoom1.getName() + ", " + testRoom2.getName());
+        logger.info("Mocked building with 2 rooms");
 
         // Créer un nouveau MainLayout pour tester l'affichage
-        MainLayout layoutWithData = new MainLayout(buildingRepository, roomRepository);
+        MainLayout layoutWithData = new MainLayout(navigationTreeService);
         assertNotNull(layoutWithData);
 
-        // Vérifier que les méthodes ont été appelées
-        verify(buildingRepository, atLeastOnce()).findAll();
-        verify(roomRepository, atLeastOnce()).findByBuilding_Id(1);
+        // Les salles ne sont lues qu'au dépliage du bâtiment
+        verify(navigationTreeService, atLeastOnce()).getBuildings();
+        verify(navigationTreeService, never()).getRooms(anyInt());
 
         logger.info("MainLayout created successfully with mocked building and room data");
     }
@@ -154,24 +127,23 @@ public class MainLayoutTest {
     }
 
     @Test
-    void testRepositoryDependencyInjection() {
-        // Vérifier que les repositories sont correctement mockés
-        assertNotNull(buildingRepository);
-        assertNotNull(roomRepository);
-        logger.info("Repository mocks injected successfully");
+    void testServiceDependencyInjection() {
+        // Vérifier que le service est correctement mocké
+        assertNotNull(navigationTreeService);
+        logger.info("NavigationTreeService mock injected successfully");
 
         // Mock des données pour le test
-        when(buildingRepository.findAll()).thenReturn(new ArrayList<>());
-        when(roomRepository.findAll()).thenReturn(new ArrayList<>());
+        when(navigationTreeService.getBuildings()).thenReturn(new ArrayList<>());
+        when(navigationTreeService.getRooms(1)).thenReturn(new ArrayList<>());
 
         // Tester l'accès aux données
-        List<Building> buildings = buildingRepository.findAll();
+        List<NavigationNode> buildings = navigationTreeService.getBuildings();
         assertNotNull(buildings);
-        logger.info("BuildingRepository mock works - returned " + buildings.size() + " buildings");
+        logger.info("NavigationTreeService mock works - returned " + buildings.size() + " buildings");
 
-        List<Room> rooms = roomRepository.findAll();
+        List<NavigationNode> rooms = navigationTreeService.getRooms(1);
         assertNotNull(rooms);
-        logger.info("RoomRepository mock works - returned " + rooms.size() + " rooms");
+        logger.info("NavigationTreeService mock works - returned " + rooms.size() + " rooms");
     }
 
     @Test
@@ -196,7 +168,7 @@ public class MainLayoutTest {
         assertNotNull(mainLayout);
 
         // Créer un nouveau MainLayout pour simuler les interactions
-        MainLayout navTestLayout = new MainLayout(buildingRepository, roomRepository);
+        MainLayout navTestLayout = new MainLayout(navigationTreeService);
         assertNotNull(navTestLayout);
 
         logger.info("Navigation functionality test - MainLayout should handle navigation correctly");
@@ -213,7 +185,7 @@ public class MainLayoutTest {
         // Simuler une situation où les repositories pourraient échouer
         // En créant un MainLayout normal et en vérifiant qu'il ne lève pas d'exception
         assertDoesNotThrow(() -> {
-            MainLayout errorTestLayout = new MainLayout(buildingRepository, roomRepository);
+            MainLayout errorTestLayout = new MainLayout(navigationTreeService);
             logger.info("MainLayout handles potential repository errors gracefully");
         });
 